@@ -0,0 +1,76 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@Fork(5)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CookieBench {
+
+  private static final String SECRET = "7f3a9b1c5d2e8f4a6b0c9d1e3f5a7b9c";
+
+  private Cookie cookie;
+
+  private Map<String, String> attributes;
+
+  private String signed;
+
+  private CookieSigner signer;
+
+  @Setup
+  public void setup() {
+    cookie =
+        new Cookie("jooby.sid", "f8e7d6c5b4a39281")
+            .setPath("/")
+            .setDomain("jooby.io")
+            .setHttpOnly(true)
+            .setSecure(true)
+            .setMaxAge(3600)
+            .setSameSite(SameSite.LAX);
+    attributes = Map.of("user", "edgar", "role", "admin", "locale", "en-US");
+    signed = Cookie.sign("f8e7d6c5b4a39281", SECRET);
+    signer = new CookieSigner(SECRET);
+  }
+
+  @Benchmark
+  public void toCookieString(Blackhole bh) {
+    bh.consume(cookie.toCookieString());
+  }
+
+  @Benchmark
+  public void encode(Blackhole bh) {
+    bh.consume(Cookie.encode(attributes));
+  }
+
+  @Benchmark
+  public void sign(Blackhole bh) {
+    bh.consume(Cookie.sign("f8e7d6c5b4a39281", SECRET));
+  }
+
+  @Benchmark
+  public void unsign(Blackhole bh) {
+    bh.consume(Cookie.unsign(signed, SECRET));
+  }
+
+  @Benchmark
+  public void signer(Blackhole bh) {
+    bh.consume(signer.sign(Cookie.encode(attributes)));
+  }
+
+  @Benchmark
+  public void signerUnsign(Blackhole bh) {
+    bh.consume(signer.unsign(signed));
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@Fork(5)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MediaTypeBench {
+
+  private String contentType = "application/json; charset=UTF-8";
+
+  private String accept = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+
+  @Benchmark
+  public void valueOf(Blackhole bh) {
+    bh.consume(MediaType.valueOf(contentType));
+  }
+
+  @Benchmark
+  public void parseAccept(Blackhole bh) {
+    bh.consume(MediaType.parse(accept));
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.jooby.test.MockContext;
+
+@Fork(5)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class QueryStringBench {
+
+  private MockContext ctx;
+
+  private String queryString;
+
+  @Setup
+  public void setup() {
+    ctx = new MockContext();
+    queryString = "?q=jooby+framework&page=2&size=20&sort=name&sort=-date&filter%5Bname%5D=edgar";
+  }
+
+  @Benchmark
+  public void singleParam(Blackhole bh) {
+    bh.consume(QueryString.create(ctx, queryString).get("page").intValue());
+  }
+
+  @Benchmark
+  public void allParams(Blackhole bh) {
+    bh.consume(QueryString.create(ctx, queryString).toMultimap());
+  }
+}
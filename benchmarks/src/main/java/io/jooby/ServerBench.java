@@ -0,0 +1,104 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.jooby.jackson.JacksonModule;
+import io.jooby.jetty.JettyServer;
+import io.jooby.netty.NettyServer;
+import io.jooby.undertow.UndertowServer;
+
+/**
+ * End-to-end request benchmark: starts an application on each web server and sends requests over a
+ * local socket.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ServerBench {
+
+  @Param({"netty", "undertow", "jetty"})
+  private String server;
+
+  private Server instance;
+
+  private HttpClient client;
+
+  private HttpRequest plaintext;
+
+  private HttpRequest json;
+
+  private HttpRequest path;
+
+  @Setup
+  public void setup() {
+    instance =
+        switch (server) {
+          case "netty" -> new NettyServer();
+          case "undertow" -> new UndertowServer();
+          default -> new JettyServer();
+        };
+    // 0 picks a free port, so forks and concurrent runs never collide
+    instance.setOptions(
+        new ServerOptions().setPort(Integer.parseInt(System.getProperty("jmh.port", "0"))));
+    var app =
+        new Jooby() {
+          {
+            setStartupSummary(List.of(StartupSummary.NONE));
+            install(new JacksonModule());
+
+            get("/plaintext", ctx -> ctx.send("Hello, World!"));
+
+            get("/json", ctx -> Map.of("message", "Hello, World!"));
+
+            get("/user/{id}", ctx -> ctx.path("id").value());
+          }
+        };
+    instance.start(app);
+    int port = instance.getOptions().getPort();
+
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    plaintext = request(port, "/plaintext");
+    json = request(port, "/json");
+    path = request(port, "/user/123");
+  }
+
+  @TearDown
+  public void tearDown() {
+    instance.stop();
+  }
+
+  @Benchmark
+  public String plaintext() throws Exception {
+    return client.send(plaintext, HttpResponse.BodyHandlers.ofString()).body();
+  }
+
+  @Benchmark
+  public String json() throws Exception {
+    return client.send(json, HttpResponse.BodyHandlers.ofString()).body();
+  }
+
+  @Benchmark
+  public String pathVariable() throws Exception {
+    return client.send(path, HttpResponse.BodyHandlers.ofString()).body();
+  }
+
+  private static HttpRequest request(int port, String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+  }
+}
@@ -14,6 +14,7 @@ import io.avaje.jsonb.Jsonb;
 import io.jooby.buffer.DataBufferFactory;
 import io.jooby.buffer.DefaultDataBuffer;
 import io.jooby.buffer.DefaultDataBufferFactory;
+import io.jooby.internal.avaje.jsonb.DataBufferJsonOutput;
 
 @Fork(5)
 @Warmup(iterations = 5, time = 1)
@@ -11,6 +11,7 @@ import org.openjdk.jmh.annotations.*;
 
 import io.jooby.MessageEncoder;
 import io.jooby.Route;
+import io.jooby.Router;
 
 @Fork(5)
 @Warmup(iterations = 5, time = 1)
@@ -32,6 +33,8 @@ public class ChiBench {
     router.insert(route("GET", "/api/page/edit", stringHandler("static")));
     router.insert(route("GET", "/api/page/{id}", stringHandler("id")));
     router.insert(route("GET", "/api/page/*", stringHandler("tail")));
+    // same as application startup
+    router.compile();
   }
 
   @Benchmark
@@ -39,6 +42,11 @@ public class ChiBench {
     router.find("GET", "/api/user/123").matches();
   }
 
+  @Benchmark
+  public String pathVariable() {
+    return router.find("GET", "/api/user/123").pathMap().get("id");
+  }
+
   @Benchmark
   public void staticPath() {
     router.find("GET", "/api/page/edit").matches();
@@ -49,6 +57,8 @@ public class ChiBench {
   }
 
   private Route route(String method, String pattern, Route.Handler handler) {
-    return new Route(method, pattern, handler).setEncoder(MessageEncoder.TO_STRING);
+    return new Route(method, pattern, handler)
+        .setPathKeys(Router.pathKeys(pattern))
+        .setEncoder(MessageEncoder.TO_STRING);
   }
 }
@@ -0,0 +1,51 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.jackson;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.jooby.buffer.DataBufferUtils;
+import io.jooby.test.MockContext;
+
+@Fork(5)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JacksonEncoderBench {
+
+  private JacksonModule module;
+
+  private MockContext ctx;
+
+  private Map<String, Object> message;
+
+  private List<Map<String, Object>> messages;
+
+  @Setup
+  public void setup() {
+    module = new JacksonModule();
+    ctx = new MockContext();
+    message = Map.of("id", 98, "value", "Hello World");
+    messages = Collections.nCopies(100, message);
+  }
+
+  @Benchmark
+  public void encodeMessage() throws Exception {
+    DataBufferUtils.release(module.encode(ctx, message));
+  }
+
+  @Benchmark
+  public void encodeList() throws Exception {
+    DataBufferUtils.release(module.encode(ctx, messages));
+  }
+}
@@ -67,4 +67,11 @@ public interface AvailableSettings {
    * Paths.get(System.getProperty("user.dir"), "tmp")</code>
    */
   String TMP_DIR = "application.tmpdir";
+
+  /**
+   * Report virtual threads pinned to their carrier thread for longer than the given duration, for
+   * example: <code>50ms</code>. Applies to routes running in {@link ExecutionMode#VIRTUAL}. Set to
+   * <code>off</code> to turn it off. Default value is <code>20ms</code>.
+   */
+  String PINNED_THREADS = "application.pinnedThreads";
 }
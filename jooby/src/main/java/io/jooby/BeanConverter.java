@@ -31,4 +31,18 @@ public interface BeanConverter extends ValueConverter<ValueNode> {
    * @return Converted value.
    */
   Object convert(@NonNull ValueNode node, @NonNull Class type);
+
+  /**
+   * Convert a node value into more specific type. Converters might return <code>null</code> when
+   * node has none of the bean properties and <code>allowEmpty</code> is <code>false</code>.
+   *
+   * @param node Value value.
+   * @param type Requested type.
+   * @param allowEmpty True to create a bean when none of its properties are present.
+   * @return Converted value.
+   * @since 3.5.4
+   */
+  default Object convert(@NonNull ValueNode node, @NonNull Class type, boolean allowEmpty) {
+    return convert(node, type);
+  }
 }
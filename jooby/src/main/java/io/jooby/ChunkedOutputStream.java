@@ -0,0 +1,152 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+
+/**
+ * Output stream with bounded buffering. Output is kept in memory up to <code>bufferSize</code>
+ * bytes. Small outputs are returned by {@link #finish()} and sent as usual (with a <code>
+ * Content-Length</code> header). Once the buffer is full, the response is started and output is
+ * written to {@link Context#responseStream()} in chunks, so memory usage doesn't depend on the
+ * output size.
+ *
+ * <pre>{@code
+ * var output = new ChunkedOutputStream(ctx);
+ * template.render(model, output);
+ * DataBuffer buffer = output.finish();
+ * if (buffer != null) {
+ *   ctx.send(buffer);
+ * }
+ * }</pre>
+ *
+ * Once streaming started, the response status and headers can't be changed, so errors produced
+ * while writing can't be reported with an error page. Call {@link #abort()} on errors: the client
+ * sees a truncated response.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class ChunkedOutputStream extends OutputStream {
+  private final Context ctx;
+
+  private final int bufferSize;
+
+  private DataBuffer buffer;
+
+  private OutputStream response;
+
+  /**
+   * Creates a new output stream.
+   *
+   * @param ctx Web context.
+   * @param bufferSize Max number of bytes to keep in memory before streaming.
+   */
+  public ChunkedOutputStream(@NonNull Context ctx, int bufferSize) {
+    this.ctx = ctx;
+    this.bufferSize = bufferSize;
+    this.buffer = ctx.getBufferFactory().allocateBuffer(bufferSize);
+  }
+
+  /**
+   * Creates a new output stream that keeps up to {@link ServerOptions#getBufferSize()} bytes in
+   * memory.
+   *
+   * @param ctx Web context.
+   */
+  public ChunkedOutputStream(@NonNull Context ctx) {
+    this(ctx, ctx.getRouter().getServerOptions().getBufferSize());
+  }
+
+  /**
+   * True when output doesn't fit in the buffer and it is being streamed to the response.
+   *
+   * @return True when output is being streamed to the response.
+   */
+  public boolean isStreaming() {
+    return response != null;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (response == null && buffer.readableByteCount() < bufferSize) {
+      buffer.write((byte) b);
+    } else {
+      stream().write(b);
+    }
+  }
+
+  @Override
+  public void write(@NonNull byte[] bytes, int offset, int length) throws IOException {
+    if (response == null && buffer.readableByteCount() + length <= bufferSize) {
+      buffer.write(bytes, offset, length);
+    } else {
+      stream().write(bytes, offset, length);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (response != null) {
+      response.flush();
+    }
+  }
+
+  /**
+   * Finish writing. Returns the buffered output when it fits in the buffer, the caller is
+   * responsible for sending it. Otherwise, completes the streamed response and returns <code>null
+   * </code>.
+   *
+   * @return Buffered output or <code>null</code> when output was streamed to the response.
+   * @throws IOException If something goes wrong.
+   */
+  public @Nullable DataBuffer finish() throws IOException {
+    if (response == null) {
+      return buffer;
+    }
+    response.close();
+    return null;
+  }
+
+  /**
+   * Give up writing after an error. Releases the buffered output when nothing was sent. Otherwise,
+   * closes the connection without completing the streamed response (see {@link Context#abort()}).
+   */
+  public void abort() {
+    if (response == null) {
+      if (buffer != null) {
+        DataBufferUtils.release(buffer);
+        buffer = null;
+      }
+    } else {
+      ctx.abort();
+    }
+  }
+
+  private OutputStream stream() throws IOException {
+    if (response == null) {
+      response = ctx.responseStream();
+      try {
+        int length = buffer.readableByteCount();
+        if (length > 0) {
+          byte[] bytes = new byte[length];
+          buffer.read(bytes);
+          response.write(bytes);
+        }
+      } finally {
+        DataBufferUtils.release(buffer);
+        buffer = null;
+      }
+    }
+    return response;
+  }
+}
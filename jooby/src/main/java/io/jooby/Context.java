@@ -767,6 +767,15 @@ public interface Context extends Registry {
    */
   @NonNull FileUpload file(@NonNull String name);
 
+  /**
+   * Streaming multipart. Parts are parsed from request body as they are consumed. Only for <code>
+   * multipart/form-data</code> requests on streaming routes, see {@link
+   * Route#setStreamingBody(boolean)}.
+   *
+   * @return Streaming multipart.
+   */
+  @NonNull Multipart multipart();
+
   /* **********************************************************************************************
    * Parameter Lookup
    * **********************************************************************************************
@@ -1373,6 +1382,15 @@ public interface Context extends Registry {
    */
   @NonNull Context sendError(@NonNull Throwable cause, @NonNull StatusCode statusCode);
 
+  /**
+   * Close the connection without completing the response. Use it when an error happens once the
+   * response started, like while writing to {@link #responseStream()}: status and headers were
+   * already sent, so the error can't be reported and the client must see a truncated response.
+   *
+   * @return This context.
+   */
+  @NonNull Context abort();
+
   /**
    * True if response already started.
    *
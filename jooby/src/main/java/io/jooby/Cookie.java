@@ -5,7 +5,6 @@
  */
 package io.jooby;
 
-import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -13,19 +12,16 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-
 import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -42,6 +38,11 @@ public class Cookie {
   /** Algorithm name. */
   public static final String HMAC_SHA256 = "HmacSHA256";
 
+  /** Signers by secret, applications usually have one or two secrets. */
+  private static final Map<String, CookieSigner> SIGNERS = new ConcurrentHashMap<>();
+
+  private static final int MAX_SIGNERS = 16;
+
   private static final DateTimeFormatter fmt =
       DateTimeFormatter.ofPattern("EEE, dd-MMM-yyyy HH:mm:ss z", Locale.US)
           .withZone(ZoneId.of("GMT"));
@@ -452,19 +453,14 @@ public class Cookie {
    *   [signed value] '|' [raw value]
    * </pre>
    *
+   * Signers are cached by secret, see {@link CookieSigner}.
+   *
    * @param value A value to sign.
    * @param secret A secret key.
    * @return A signed value.
    */
   public static @NonNull String sign(final @NonNull String value, final @NonNull String secret) {
-    try {
-      Mac mac = Mac.getInstance(HMAC_SHA256);
-      mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
-      byte[] bytes = mac.doFinal(value.getBytes());
-      return Base64.getEncoder().withoutPadding().encodeToString(bytes) + "|" + value;
-    } catch (Exception x) {
-      throw SneakyThrows.propagate(x);
-    }
+    return signer(secret).sign(value);
   }
 
   /**
@@ -476,12 +472,18 @@ public class Cookie {
    * @return A new signed value or null.
    */
   public static @Nullable String unsign(final @NonNull String value, final @NonNull String secret) {
-    int sep = value.indexOf("|");
-    if (sep <= 0) {
-      return null;
+    return signer(secret).unsign(value);
+  }
+
+  private static CookieSigner signer(String secret) {
+    CookieSigner signer = SIGNERS.get(secret);
+    if (signer == null) {
+      signer = new CookieSigner(secret);
+      if (SIGNERS.size() < MAX_SIGNERS) {
+        SIGNERS.putIfAbsent(secret, signer);
+      }
     }
-    String str = value.substring(sep + 1);
-    return sign(str, secret).equals(value) ? str : null;
+    return signer;
   }
 
   /**
@@ -495,23 +497,15 @@ public class Cookie {
     if (attributes == null || attributes.size() == 0) {
       return "";
     }
-    try {
-      StringBuilder joiner = new StringBuilder();
-      String enc = StandardCharsets.UTF_8.name();
-      for (Map.Entry<String, String> attribute : attributes.entrySet()) {
-        joiner
-            .append(URLEncoder.encode(attribute.getKey(), enc))
-            .append('=')
-            .append(URLEncoder.encode(attribute.getValue(), enc))
-            .append('&');
-      }
+    StringBuilder joiner = new StringBuilder(attributes.size() * 16);
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
       if (joiner.length() > 0) {
-        joiner.setLength(joiner.length() - 1);
+        joiner.append('&');
       }
-      return joiner.toString();
-    } catch (UnsupportedEncodingException x) {
-      throw SneakyThrows.propagate(x);
+      urlEncode(joiner, attribute.getKey()).append('=');
+      urlEncode(joiner, attribute.getValue());
     }
+    return joiner.toString();
   }
 
   /**
@@ -526,33 +520,50 @@ public class Cookie {
     if (value == null || value.length() == 0) {
       return Collections.emptyMap();
     }
-    try {
-      Map<String, String> attributes = new HashMap<>();
-      String enc = StandardCharsets.UTF_8.name();
-      int start = 0;
-      int len = value.length();
-      do {
-        int end = value.indexOf('&', start + 1);
-        if (end < 0) {
-          end = len;
-        }
-        // parse attribute
-        int eq = value.indexOf('=', start);
-        if (eq > 0 && eq < len - 1) {
-          attributes.put(
-              URLDecoder.decode(value.substring(start, eq), enc),
-              URLDecoder.decode(value.substring(eq + 1, end), enc));
-        }
+    Map<String, String> attributes = new HashMap<>();
+    int start = 0;
+    int len = value.length();
+    do {
+      int end = value.indexOf('&', start + 1);
+      if (end < 0) {
+        end = len;
+      }
+      // parse attribute
+      int eq = value.indexOf('=', start);
+      if (eq > 0 && eq < len - 1) {
+        attributes.put(urlDecode(value, start, eq), urlDecode(value, eq + 1, end));
+      }
+
+      start = end + 1;
+    } while (start < len);
+
+    return attributes.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(attributes);
+  }
 
-        start = end + 1;
-      } while (start < len);
+  /** Same as {@link URLEncoder}, but skip encoding (and allocation) for safe values. */
+  private static StringBuilder urlEncode(StringBuilder buffer, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (!((ch >= 'a' && ch <= 'z')
+          || (ch >= 'A' && ch <= 'Z')
+          || (ch >= '0' && ch <= '9')
+          || ch == '.'
+          || ch == '-'
+          || ch == '*'
+          || ch == '_')) {
+        return buffer.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+      }
+    }
+    return buffer.append(value);
+  }
 
-      return attributes.isEmpty()
-          ? Collections.emptyMap()
-          : Collections.unmodifiableMap(attributes);
-    } catch (UnsupportedEncodingException x) {
-      throw SneakyThrows.propagate(x);
+  /** Same as {@link URLDecoder}, but skip decoding for values without escape sequences. */
+  private static String urlDecode(String value, int start, int end) {
+    String result = value.substring(start, end);
+    if (result.indexOf('%') >= 0 || result.indexOf('+') >= 0) {
+      return URLDecoder.decode(result, StandardCharsets.UTF_8);
     }
+    return result;
   }
 
   /**
@@ -0,0 +1,130 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Sign and verify values using {@link Cookie#HMAC_SHA256} and a secret key. Signed values looks
+ * like:
+ *
+ * <pre>
+ *   [signature] '|' [raw value]
+ * </pre>
+ *
+ * Where <code>signature</code> is the unpadded base64 encoded HMAC of the raw value. Output is
+ * identical to {@link Cookie#sign(String, String)}.
+ *
+ * <p>The key is initialized once and keyed {@link Mac} instances are reused from a small pool, so a
+ * signer is thread-safe and must be reused. Verification runs in constant time.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public final class CookieSigner {
+
+  private static final Base64.Encoder BASE64 = Base64.getEncoder().withoutPadding();
+
+  /** Length of a base64 encoded (without padding) HMAC-SHA256 signature. */
+  private static final int SIGNATURE_LENGTH = 43;
+
+  private final SecretKeySpec key;
+
+  private final Mac prototype;
+
+  private final BlockingQueue<Mac> pool =
+      new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+  /**
+   * Creates a new signer.
+   *
+   * @param secret Secret key.
+   */
+  public CookieSigner(@NonNull String secret) {
+    try {
+      key = new SecretKeySpec(secret.getBytes(), Cookie.HMAC_SHA256);
+      prototype = Mac.getInstance(Cookie.HMAC_SHA256);
+      prototype.init(key);
+    } catch (GeneralSecurityException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  /**
+   * Sign a value.
+   *
+   * @param value A value to sign.
+   * @return A signed value.
+   */
+  public @NonNull String sign(@NonNull String value) {
+    byte[] signature = signature(value, 0);
+    return new StringBuilder(signature.length + 1 + value.length())
+        .append(new String(signature, StandardCharsets.ISO_8859_1))
+        .append('|')
+        .append(value)
+        .toString();
+  }
+
+  /**
+   * Verify and un-sign a value, previously signed with {@link #sign(String)}.
+   *
+   * @param value A signed value.
+   * @return Raw value or <code>null</code> when signature doesn't match.
+   */
+  public @Nullable String unsign(@NonNull String value) {
+    int sep = value.indexOf('|');
+    if (sep != SIGNATURE_LENGTH) {
+      return null;
+    }
+    byte[] expected = signature(value, sep + 1);
+    int diff = 0;
+    for (int i = 0; i < sep; i++) {
+      diff |= expected[i] ^ value.charAt(i);
+    }
+    return diff == 0 ? value.substring(sep + 1) : null;
+  }
+
+  private byte[] signature(String value, int offset) {
+    byte[] bytes = offset == 0 ? value.getBytes() : value.substring(offset).getBytes();
+    Mac mac = pool.poll();
+    if (mac == null) {
+      mac = newMac();
+    }
+    try {
+      return BASE64.encode(mac.doFinal(bytes));
+    } finally {
+      // doFinal resets the mac, ready for next value
+      pool.offer(mac);
+    }
+  }
+
+  private Mac newMac() {
+    try {
+      synchronized (prototype) {
+        return (Mac) prototype.clone();
+      }
+    } catch (CloneNotSupportedException x) {
+      // provider without clone support: create and key a new instance
+      try {
+        Mac mac = Mac.getInstance(Cookie.HMAC_SHA256);
+        mac.init(key);
+        return mac;
+      } catch (GeneralSecurityException cause) {
+        throw SneakyThrows.propagate(cause);
+      }
+    }
+  }
+}
@@ -395,6 +395,11 @@ public interface DefaultContext extends Context {
     return form().file(name);
   }
 
+  @Override
+  @NonNull default Multipart multipart() {
+    return Multipart.create(this);
+  }
+
   @Override
   default @NonNull <T> T body(@NonNull Class<T> type) {
     return body().to(type);
@@ -594,6 +599,25 @@ public interface DefaultContext extends Context {
     return this;
   }
 
+  /**
+   * Complete the response by closing the {@link #responseStream()}, so the client doesn't wait
+   * forever for the rest of the response. Servers override this method and close the connection
+   * instead.
+   *
+   * @return This context.
+   */
+  @Override
+  @NonNull default Context abort() {
+    try {
+      responseStream().close();
+    } catch (IOException | IllegalStateException x) {
+      getRouter()
+          .getLog()
+          .debug("abort resulted in exception {} {}", getMethod(), getRequestPath(), x);
+    }
+    return this;
+  }
+
   /**
    * Send an error response. This method set the error code.
    *
@@ -86,5 +86,35 @@ public enum ExecutionMode {
    * }
    * }</pre>
    */
-  DEFAULT
+  DEFAULT,
+
+  /**
+   * Execute handler in a new virtual thread (blocking). Handler is allowed to block, without sizing
+   * a worker thread pool. Requires Java 21 or higher.
+   *
+   * <p>Like {@link ExecutionMode#DEFAULT}, routes returning a reactive type run in the event-loop
+   * thread.
+   *
+   * <p>Virtual threads pinned to their carrier thread (usually a blocking call inside a <code>
+   * synchronized</code> block) are reported as warnings. See {@link
+   * AvailableSettings#PINNED_THREADS}.
+   *
+   * <p>Examples:
+   *
+   * <pre>{@code
+   * {
+   *
+   *   setExecutionMode(VIRTUAL);
+   *
+   *   get("/virtual", ctx -> {
+   *     // remote call: another service, database, etc..
+   *     return "Safe to block";
+   *   });
+   * }
+   *
+   * }</pre>
+   *
+   * @since 3.5.4
+   */
+  VIRTUAL
 }
@@ -910,6 +910,11 @@ public class ForwardingContext implements Context {
     return ctx.form();
   }
 
+  @Override
+  @NonNull public Multipart multipart() {
+    return ctx.multipart();
+  }
+
   @NonNull @Override
   public ValueNode form(@NonNull String name) {
     return ctx.form(name);
@@ -1287,6 +1292,12 @@ public class ForwardingContext implements Context {
     return this;
   }
 
+  @NonNull @Override
+  public Context abort() {
+    ctx.abort();
+    return this;
+  }
+
   @Override
   public boolean isResponseStarted() {
     return ctx.isResponseStarted();
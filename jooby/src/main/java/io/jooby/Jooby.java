@@ -697,6 +697,11 @@ public class Jooby implements Router, Registry {
     return router.match(ctx);
   }
 
+  @Override
+  public boolean isStreamingBody(@NonNull Context ctx) {
+    return router.isStreamingBody(ctx);
+  }
+
   @Override
   public boolean match(@NonNull String pattern, @NonNull String path) {
     return router.match(pattern, path);
@@ -733,6 +738,17 @@ public class Jooby implements Router, Registry {
     return this;
   }
 
+  @Nullable @Override
+  public RequestScheduler getRequestScheduler() {
+    return router.getRequestScheduler();
+  }
+
+  @NonNull @Override
+  public Jooby setRequestScheduler(@NonNull RequestScheduler scheduler) {
+    this.router.setRequestScheduler(scheduler);
+    return this;
+  }
+
   @NonNull @Override
   public DataBufferFactory getBufferFactory() {
     return router.getBufferFactory();
@@ -882,6 +898,9 @@ public class Jooby implements Router, Registry {
   @NonNull @Override
   public Jooby setSessionStore(@NonNull SessionStore store) {
     router.setSessionStore(store);
+    if (store instanceof AutoCloseable closeable) {
+      onStop(closeable);
+    }
     return this;
   }
 
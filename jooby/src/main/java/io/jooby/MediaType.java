@@ -36,6 +36,9 @@ public final class MediaType implements Comparable<MediaType> {
   /** APPLICATION_JSON. */
   public static final String JSON = "application/json";
 
+  /** APPLICATION_NDJSON, newline delimited JSON. */
+  public static final String NDJSON = "application/x-ndjson";
+
   /** APPLICATION_PROBLEM_JSON. */
   public static final String PROBLEM_JSON = "application/problem+json";
 
@@ -75,6 +78,9 @@ public final class MediaType implements Comparable<MediaType> {
   /** APPLICATION_JSON. */
   public static final MediaType json = new MediaType(JSON, UTF_8);
 
+  /** APPLICATION_NDJSON, newline delimited JSON. */
+  public static final MediaType ndjson = new MediaType(NDJSON, UTF_8);
+
   /** YAML. */
   public static final MediaType yaml = new MediaType(YAML, UTF_8);
 
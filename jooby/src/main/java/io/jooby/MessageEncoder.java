@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
 import io.jooby.exception.NotAcceptableException;
 
 /**
@@ -39,4 +40,30 @@ public interface MessageEncoder {
    * @throws Exception If something goes wrong.
    */
   @Nullable DataBuffer encode(@NonNull Context ctx, @NonNull Object value) throws Exception;
+
+  /**
+   * Encode a value into the given buffer. Used by streaming responses ({@link
+   * java.util.concurrent.Flow.Publisher}, {@link java.util.stream.Stream}, {@link
+   * java.util.Iterator}) where elements are written one after another into the same chunk.
+   *
+   * <p>Default implementation copies the output of {@link #encode(Context, Object)}. Encoders able
+   * to write directly into a buffer should override it.
+   *
+   * @param ctx Web context.
+   * @param value Value to render.
+   * @param buffer Destination buffer.
+   * @return True when the value was written into the buffer.
+   * @throws Exception If something goes wrong.
+   * @since 3.5.4
+   */
+  default boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer)
+      throws Exception {
+    var data = encode(ctx, value);
+    if (data == null) {
+      return false;
+    }
+    buffer.write(data);
+    DataBufferUtils.release(data);
+    return true;
+  }
 }
@@ -0,0 +1,159 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.internal.MultipartParser;
+
+/**
+ * Streaming <code>multipart/form-data</code> request. Parts are parsed from the request body as
+ * they are consumed, nothing is buffered in memory or disk:
+ *
+ * <pre>{@code
+ * post("/upload", ctx -> {
+ *   for (Multipart.Part part : ctx.multipart()) {
+ *     if (part.isFile()) {
+ *       part.transferTo(uploads.resolve(part.getFileName()));
+ *     } else {
+ *       String value = part.value();
+ *     }
+ *   }
+ *   return "OK";
+ * }).setStreamingBody(true);
+ * }</pre>
+ *
+ * Parts must be consumed in order: moving to the next part skips what is left of the current one.
+ *
+ * <p>The multipart can be iterated once. Combine it with {@link Route#setStreamingBody(boolean)} so
+ * the server doesn't read the request body before executing the route.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public interface Multipart extends Iterable<Multipart.Part> {
+
+  /** A multipart part. Content is available until moving to the next part. */
+  interface Part {
+    /**
+     * Form field name.
+     *
+     * @return Form field name.
+     */
+    @NonNull String getName();
+
+    /**
+     * File name or <code>null</code> for form fields.
+     *
+     * @return File name or <code>null</code> for form fields.
+     */
+    @Nullable String getFileName();
+
+    /**
+     * Content type or <code>null</code>.
+     *
+     * @return Content type or <code>null</code>.
+     */
+    @Nullable String getContentType();
+
+    /**
+     * Part header.
+     *
+     * @param name Header name, case-insensitive.
+     * @return Header value or <code>null</code>.
+     */
+    @Nullable String header(@NonNull String name);
+
+    /**
+     * True for file uploads.
+     *
+     * @return True for file uploads.
+     */
+    default boolean isFile() {
+      return getFileName() != null;
+    }
+
+    /**
+     * Part content, read from request body on demand.
+     *
+     * @return Part content.
+     */
+    @NonNull InputStream stream();
+
+    /**
+     * Read part content as UTF-8 string.
+     *
+     * @return Part content.
+     */
+    @NonNull String value();
+
+    /**
+     * Write content to the given channel.
+     *
+     * @param channel Destination channel.
+     * @return Number of bytes written.
+     */
+    long transferTo(@NonNull WritableByteChannel channel);
+
+    /**
+     * Write content to the given file. File is created or truncated.
+     *
+     * @param file Destination file.
+     * @return Number of bytes written.
+     */
+    long transferTo(@NonNull Path file);
+  }
+
+  /**
+   * Next part.
+   *
+   * @return Next part or <code>null</code> when there is no more parts.
+   */
+  @Nullable Part next();
+
+  @NonNull @Override
+  default Iterator<Part> iterator() {
+    return new Iterator<>() {
+      private Part next;
+
+      @Override
+      public boolean hasNext() {
+        if (next == null) {
+          next = Multipart.this.next();
+        }
+        return next != null;
+      }
+
+      @Override
+      public Part next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Part part = next;
+        next = null;
+        return part;
+      }
+    };
+  }
+
+  /**
+   * Creates a streaming multipart from request body.
+   *
+   * @param ctx Web context.
+   * @return Streaming multipart.
+   * @throws io.jooby.exception.UnsupportedMediaType When request isn't <code>multipart/form-data
+   *     </code>.
+   */
+  static @NonNull Multipart create(@NonNull Context ctx) {
+    return MultipartParser.create(ctx);
+  }
+}
@@ -0,0 +1,319 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Request scheduler with priorities, deadlines and load shedding.
+ *
+ * <p>Pending requests are kept in a queue per executor (the worker executor and each executor set
+ * via {@link Router#dispatch(Executor, Runnable)}), so executors work as bulkheads: a saturated
+ * executor doesn't delay requests of others. An executor gets at most as many requests as it has
+ * threads, the others wait in the queue where requests with higher {@link #PRIORITY} run first,
+ * then those with the closest deadline. Each request runs inside its own {@link
+ * Context#dispatch(Executor, Runnable)} call.
+ *
+ * <pre>{@code
+ * {
+ *   setRequestScheduler(new PriorityScheduler()
+ *       .maxQueueSize(1000));
+ *
+ *   get("/checkout", ctx -> ...)
+ *       .attribute(PriorityScheduler.PRIORITY, 10);
+ *
+ *   get("/report", ctx -> ...)
+ *       .attribute(PriorityScheduler.DEADLINE, Duration.ofSeconds(5));
+ * }
+ * }</pre>
+ *
+ * <p>The request deadline comes from the {@link #deadlineHeader(String)} (milliseconds, default
+ * <code>X-Request-Timeout</code>), the {@link #DEADLINE} route attribute or {@link
+ * #deadline(Duration)}. When the estimated queue wait exceeds the deadline or the queue is full,
+ * the request is rejected right away with <code>503</code> and a <code>Retry-After</code> header.
+ * Requests whose deadline expires while waiting are rejected too, without running the route.
+ *
+ * <p>The queue wait is estimated from the average route execution time and the number of threads of
+ * the executor. The number of threads is the max number of requests an executor runs at a time, see
+ * {@link #parallelism(int)}.
+ *
+ * <p>Routes running in {@link ExecutionMode#VIRTUAL} bypass the scheduler, virtual threads don't
+ * queue.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class PriorityScheduler implements RequestScheduler {
+
+  /**
+   * Route attribute with the request priority, a number. Higher first. Default is <code>0</code>.
+   */
+  public static final String PRIORITY = "priority";
+
+  /** Route attribute with the request deadline, a {@link Duration} or a number of milliseconds. */
+  public static final String DEADLINE = "deadline";
+
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  /**
+   * A pending request. It is the executor given to {@link Context#dispatch(Executor, Runnable)}, so
+   * the server hands over the runnable of this request, which is queued until its lane grants a
+   * permit. Each request runs inside its own dispatch.
+   */
+  private static final class Task implements Executor, Runnable, Comparable<Task> {
+    private final Lane lane;
+    private final Context ctx;
+    private final Runnable action;
+    private final int priority;
+    private final long deadline;
+    private final long seq;
+
+    /** Server runnable of this request, wraps {@link #run()}. */
+    private Runnable command;
+
+    Task(Lane lane, Context ctx, Runnable action, int priority, long deadline, long seq) {
+      this.lane = lane;
+      this.ctx = ctx;
+      this.action = action;
+      this.priority = priority;
+      this.deadline = deadline;
+      this.seq = seq;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      this.command = command;
+      lane.submit(this);
+    }
+
+    @Override
+    public void run() {
+      long start = System.nanoTime();
+      if (deadline < start) {
+        reject(ctx, lane.estimatedWait());
+        return;
+      }
+      try {
+        action.run();
+      } finally {
+        lane.record(System.nanoTime() - start);
+      }
+    }
+
+    @Override
+    public int compareTo(Task that) {
+      int result = Integer.compare(that.priority, priority);
+      if (result == 0) {
+        result = Long.compare(deadline, that.deadline);
+        if (result == 0) {
+          result = Long.compare(seq, that.seq);
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Pending requests of an executor. At most <code>parallelism</code> requests are handed to the
+   * executor at a time, the others wait here in priority order.
+   */
+  private static final class Lane {
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    /** Moving average of route execution time, in nanoseconds. */
+    private volatile long serviceTime;
+
+    Lane(Executor executor, int parallelism) {
+      this.executor = executor;
+      this.parallelism = parallelism;
+    }
+
+    long estimatedWait() {
+      return (queue.size() + 1) * serviceTime / parallelism;
+    }
+
+    void record(long elapsed) {
+      long average = serviceTime;
+      serviceTime = average == 0 ? elapsed : average + (elapsed - average) / 8;
+    }
+
+    void submit(Task task) {
+      queue.offer(task);
+      drain();
+    }
+
+    /** Hand the most urgent requests to the executor while there are free permits. */
+    private void drain() {
+      while (!queue.isEmpty()) {
+        int permits = running.get();
+        if (permits >= parallelism) {
+          return;
+        }
+        if (running.compareAndSet(permits, permits + 1)) {
+          var task = queue.poll();
+          if (task == null) {
+            running.decrementAndGet();
+          } else {
+            try {
+              executor.execute(() -> release(task));
+            } catch (RuntimeException x) {
+              running.decrementAndGet();
+              task.ctx.sendError(x);
+            }
+          }
+        }
+      }
+    }
+
+    private void release(Task task) {
+      try {
+        task.command.run();
+      } finally {
+        running.decrementAndGet();
+        drain();
+      }
+    }
+  }
+
+  private final Map<Executor, Lane> lanes = new ConcurrentHashMap<>();
+
+  private final AtomicLong seq = new AtomicLong();
+
+  private String deadlineHeader = "X-Request-Timeout";
+
+  private long deadline;
+
+  private int maxQueueSize = Integer.MAX_VALUE;
+
+  private int parallelism;
+
+  private int workerThreads = ServerOptions.WORKER_THREADS;
+
+  /**
+   * Request header with the client deadline in milliseconds. Default is: <code>X-Request-Timeout
+   * </code>.
+   *
+   * @param name Header name.
+   * @return This scheduler.
+   */
+  public @NonNull PriorityScheduler deadlineHeader(@NonNull String name) {
+    this.deadlineHeader = name;
+    return this;
+  }
+
+  /**
+   * Deadline for requests without a deadline header or route attribute. Default is: no deadline.
+   *
+   * @param deadline Deadline.
+   * @return This scheduler.
+   */
+  public @NonNull PriorityScheduler deadline(@NonNull Duration deadline) {
+    this.deadline = deadline.toNanos();
+    return this;
+  }
+
+  /**
+   * Max number of pending requests per executor. Default is: unbounded.
+   *
+   * @param maxQueueSize Max number of pending requests per executor.
+   * @return This scheduler.
+   */
+  public @NonNull PriorityScheduler maxQueueSize(int maxQueueSize) {
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  /**
+   * Max number of requests running at a time on executors other than {@link ThreadPoolExecutor}
+   * and {@link ForkJoinPool}, like the server worker executor. Requests over this limit wait in the
+   * queue, so it must match the number of threads of the executor. Also used to estimate queue
+   * wait. Default is: {@link ServerOptions#getWorkerThreads()} of the running server.
+   *
+   * @param parallelism Max number of requests running at a time.
+   * @return This scheduler.
+   */
+  public @NonNull PriorityScheduler parallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  @Override
+  public void start(@NonNull ServerOptions options) {
+    this.workerThreads = options.getWorkerThreads();
+  }
+
+  @Override
+  public void schedule(@NonNull Context ctx, @NonNull Executor executor, @NonNull Runnable task) {
+    var lane = lanes.computeIfAbsent(executor, it -> new Lane(it, parallelism(it)));
+    long now = System.nanoTime();
+    long deadline = deadline(ctx, now);
+    long wait = lane.estimatedWait();
+    if (lane.queue.size() >= maxQueueSize || (deadline != NO_DEADLINE && now + wait > deadline)) {
+      reject(ctx, wait);
+    } else {
+      var pending = new Task(lane, ctx, task, priority(ctx), deadline, seq.incrementAndGet());
+      ctx.dispatch(pending, pending);
+    }
+  }
+
+  private long deadline(Context ctx, long now) {
+    long timeout = deadline;
+    var header = ctx.header(deadlineHeader).valueOrNull();
+    Object attribute;
+    if (header != null) {
+      try {
+        timeout = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(header.trim()));
+      } catch (NumberFormatException x) {
+        // ignore bad values
+      }
+    } else if ((attribute = ctx.getRoute().attribute(DEADLINE)) != null) {
+      if (attribute instanceof Duration duration) {
+        timeout = duration.toNanos();
+      } else if (attribute instanceof Number number) {
+        timeout = TimeUnit.MILLISECONDS.toNanos(number.longValue());
+      }
+    }
+    return timeout > 0 ? now + timeout : NO_DEADLINE;
+  }
+
+  private static int priority(Context ctx) {
+    return ctx.getRoute().attribute(PRIORITY) instanceof Number number ? number.intValue() : 0;
+  }
+
+  private int parallelism(Executor executor) {
+    if (executor instanceof ThreadPoolExecutor pool) {
+      return Math.max(1, pool.getMaximumPoolSize());
+    }
+    if (executor instanceof ForkJoinPool pool) {
+      return pool.getParallelism();
+    }
+    return Math.max(1, parallelism > 0 ? parallelism : workerThreads);
+  }
+
+  private static void reject(Context ctx, long wait) {
+    long seconds =
+        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+    ctx.setResponseHeader("Retry-After", seconds);
+    ctx.send(StatusCode.SERVICE_UNAVAILABLE);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.util.concurrent.Executor;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Decides when and whether a blocking route runs. Blocking routes are dispatched to the worker
+ * executor or to the executor set via {@link Router#dispatch(Executor, Runnable)}. Without a
+ * scheduler, requests are dispatched in arrival order and wait in the executor queue without bound.
+ *
+ * <p>A scheduler might reorder pending requests (see {@link PriorityScheduler}) or reject them
+ * early when they can't be served on time.
+ *
+ * <p>Routes running in {@link ExecutionMode#VIRTUAL} are not scheduled: each request starts its own
+ * virtual thread right away.
+ *
+ * <pre>{@code
+ * {
+ *   setRequestScheduler(new PriorityScheduler());
+ * }
+ * }</pre>
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public interface RequestScheduler {
+
+  /**
+   * Called once at application startup, before any request is scheduled.
+   *
+   * @param options Options of the running server.
+   */
+  default void start(@NonNull ServerOptions options) {}
+
+  /**
+   * Schedule a request. Implementations must eventually call {@link Context#dispatch(Executor,
+   * Runnable)} or generate a response when the request is rejected.
+   *
+   * @param ctx Web context.
+   * @param executor Executor where the request must run.
+   * @param task Route pipeline.
+   */
+  void schedule(@NonNull Context ctx, @NonNull Executor executor, @NonNull Runnable task);
+}
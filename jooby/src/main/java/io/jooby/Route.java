@@ -463,6 +463,8 @@ public class Route {
 
   private String executorKey;
 
+  private ExecutionMode executionMode;
+
   private List<String> tags = EMPTY_LIST;
 
   private String summary;
@@ -475,6 +477,8 @@ public class Route {
 
   private boolean httpHead;
 
+  private boolean streamingBody;
+
   /**
    * Creates a new route.
    *
@@ -935,6 +939,32 @@ public class Route {
     return this;
   }
 
+  /**
+   * True when the route is executed before reading the request body. See {@link
+   * #setStreamingBody(boolean)}.
+   *
+   * @return True when the route is executed before reading the request body.
+   */
+  public boolean isStreamingBody() {
+    return streamingBody;
+  }
+
+  /**
+   * Execute the route before reading the request body. By default, servers read (and decode) the
+   * entire body before executing a route. A streaming route reads the body from {@link
+   * Context#body()} or {@link Context#multipart()} as it arrives, the server stops reading from the
+   * socket while the route doesn't consume it.
+   *
+   * <p>Streaming routes never run on the event loop, because reading the body blocks.
+   *
+   * @param streamingBody True to execute the route before reading the request body.
+   * @return This route.
+   */
+  public @NonNull Route setStreamingBody(boolean streamingBody) {
+    this.streamingBody = streamingBody;
+    return this;
+  }
+
   /**
    * Specify the name of the executor where the route is going to run. Default is <code>null</code>.
    *
@@ -961,6 +991,39 @@ public class Route {
     return this;
   }
 
+  /**
+   * Execution mode for this route or <code>null</code> to use the application {@link
+   * ExecutionMode}.
+   *
+   * @return Execution mode for this route or <code>null</code>.
+   */
+  public @Nullable ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  /**
+   * Set the execution mode for this route, overriding the application {@link ExecutionMode}. Useful
+   * to run blocking routes in {@link ExecutionMode#VIRTUAL} threads:
+   *
+   * <pre>{@code
+   * {
+   *   get("/report", ctx -> {
+   *     // JDBC, remote call, etc..
+   *     return "Safe to block";
+   *   }).setExecutionMode(ExecutionMode.VIRTUAL);
+   * }
+   * }</pre>
+   *
+   * Ignored when the route has an {@link #getExecutorKey()}.
+   *
+   * @param executionMode Execution mode or <code>null</code>.
+   * @return This route.
+   */
+  public @NonNull Route setExecutionMode(@Nullable ExecutionMode executionMode) {
+    this.executionMode = executionMode;
+    return this;
+  }
+
   /**
    * Route tags.
    *
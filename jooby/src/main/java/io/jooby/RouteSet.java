@@ -148,6 +148,19 @@ public class RouteSet {
     return this;
   }
 
+  /**
+   * Set the execution mode for all the routes in this set, unless a route sets its own. See {@link
+   * Route#setExecutionMode(ExecutionMode)}.
+   *
+   * @param executionMode Execution mode or <code>null</code>.
+   * @return This route.
+   */
+  public @NonNull RouteSet setExecutionMode(@Nullable ExecutionMode executionMode) {
+    routes.forEach(
+        it -> it.setExecutionMode(ofNullable(it.getExecutionMode()).orElse(executionMode)));
+    return this;
+  }
+
   /**
    * Route tags.
    *
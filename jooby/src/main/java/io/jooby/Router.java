@@ -535,6 +535,26 @@ public interface Router extends Registry {
    */
   @NonNull Router setDefaultWorker(@NonNull Executor worker);
 
+  /**
+   * Request scheduler for blocking routes or <code>null</code> when requests are dispatched in
+   * arrival order.
+   *
+   * @return Request scheduler or <code>null</code>.
+   * @since 3.5.4
+   */
+  @Nullable RequestScheduler getRequestScheduler();
+
+  /**
+   * Set a request scheduler. The scheduler controls how blocking routes are dispatched to the
+   * worker and to the executors set via {@link #dispatch(Executor, Runnable)}. See {@link
+   * PriorityScheduler}.
+   *
+   * @param scheduler Request scheduler.
+   * @return This router.
+   * @since 3.5.4
+   */
+  @NonNull Router setRequestScheduler(@NonNull RequestScheduler scheduler);
+
   @NonNull DataBufferFactory getBufferFactory();
 
   @NonNull Router setBufferFactory(@NonNull DataBufferFactory bufferFactory);
@@ -788,6 +808,17 @@ public interface Router extends Registry {
    */
   @NonNull Match match(@NonNull Context ctx);
 
+  /**
+   * True when the request matches a streaming route, see {@link Route#setStreamingBody(boolean)}.
+   * Servers use it to execute the route before reading the request body.
+   *
+   * @param ctx Web Context.
+   * @return True when the request matches a streaming route. Default is: <code>false</code>.
+   */
+  default boolean isStreamingBody(@NonNull Context ctx) {
+    return false;
+  }
+
   /**
    * Find a matching route using the given context.
    *
@@ -88,12 +88,28 @@ public interface Server {
 
     private final AtomicBoolean stopping = new AtomicBoolean();
 
+    private TimerWheel timer;
+
     protected void fireStart(@NonNull List<Jooby> applications, @NonNull Executor defaultWorker) {
       for (Jooby app : applications) {
+        app.getServices().put(TimerWheel.class, getTimer());
         app.setDefaultWorker(defaultWorker).start(this);
       }
     }
 
+    /**
+     * Server timer, shared by all the connections. Used for server-sent event keep-alive and idle
+     * timeouts.
+     *
+     * @return Server timer.
+     */
+    protected synchronized @NonNull TimerWheel getTimer() {
+      if (timer == null) {
+        timer = new TimerWheel(getName() + "-timer");
+      }
+      return timer;
+    }
+
     protected void fireReady(@NonNull List<Jooby> applications) {
       for (Jooby app : applications) {
         app.ready(this);
@@ -102,9 +118,17 @@ public interface Server {
 
     protected void fireStop(@NonNull List<Jooby> applications) {
       if (stopping.compareAndSet(false, true)) {
-        if (applications != null) {
-          for (Jooby app : applications) {
-            app.stop();
+        try {
+          if (applications != null) {
+            for (Jooby app : applications) {
+              app.stop();
+            }
+          }
+        } finally {
+          synchronized (this) {
+            if (timer != null) {
+              timer.close();
+            }
           }
         }
       }
@@ -5,7 +5,9 @@
  */
 package io.jooby;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -29,7 +31,13 @@ import edu.umd.cs.findbugs.annotations.Nullable;
  */
 public interface ServerSentEmitter {
 
-  /** Keep-alive task. */
+  /**
+   * Keep-alive task.
+   *
+   * @deprecated Server implementations use {@link Heartbeat}, this task schedules one task per
+   *     connection per interval.
+   */
+  @Deprecated
   class KeepAlive implements Runnable {
 
     private final Logger log = LoggerFactory.getLogger(ServerSentEmitter.class);
@@ -65,6 +73,150 @@ public interface ServerSentEmitter {
     }
   }
 
+  /**
+   * Keep-alive and idle timeout of an emitter, driven by the server {@link TimerWheel}. Intended
+   * for server implementations.
+   *
+   * <p>The heartbeat frame is encoded once per emitter and written as raw bytes on the connection
+   * executor. Emitters idle for longer than the idle timeout (no message sent, heartbeats excluded)
+   * are closed.
+   */
+  final class Heartbeat implements Runnable {
+    private final Logger log = LoggerFactory.getLogger(ServerSentEmitter.class);
+
+    private final ServerSentEmitter emitter;
+
+    private final TimerWheel timer;
+
+    private final Executor executor;
+
+    private final SneakyThrows.Consumer<byte[]> writer;
+
+    private volatile long keepAlive;
+
+    private volatile long idleTimeout;
+
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    private long nextBeat;
+
+    private String frameId;
+
+    private byte[] frame;
+
+    private TimerWheel.Timeout timeout;
+
+    /**
+     * Creates a heartbeat.
+     *
+     * @param emitter Emitter.
+     * @param timer Server timer.
+     * @param executor Executor where heartbeats are written, usually the connection event loop.
+     * @param writer Write raw bytes to the connection.
+     */
+    public Heartbeat(
+        @NonNull ServerSentEmitter emitter,
+        @NonNull TimerWheel timer,
+        @NonNull Executor executor,
+        @NonNull SneakyThrows.Consumer<byte[]> writer) {
+      this.emitter = emitter;
+      this.timer = timer;
+      this.executor = executor;
+      this.writer = writer;
+    }
+
+    /**
+     * Set keep-alive interval.
+     *
+     * @param timeInMillis Keep-alive interval, zero or negative turns it off.
+     */
+    public void keepAlive(long timeInMillis) {
+      this.keepAlive = Math.max(0, timeInMillis);
+      synchronized (this) {
+        this.nextBeat = System.currentTimeMillis() + keepAlive;
+        schedule();
+      }
+    }
+
+    /**
+     * Set idle timeout.
+     *
+     * @param timeInMillis Idle timeout, zero or negative turns it off.
+     */
+    public void idleTimeout(long timeInMillis) {
+      this.idleTimeout = Math.max(0, timeInMillis);
+      synchronized (this) {
+        schedule();
+      }
+    }
+
+    /** Record activity on the emitter, a message was sent. */
+    public void touch() {
+      lastActivity = System.currentTimeMillis();
+    }
+
+    /** Cancel any pending heartbeat. */
+    public synchronized void cancel() {
+      if (timeout != null) {
+        timeout.cancel();
+        timeout = null;
+      }
+    }
+
+    @Override
+    public void run() {
+      if (!emitter.isOpen()) {
+        return;
+      }
+      long now = System.currentTimeMillis();
+      long idleTimeout = this.idleTimeout;
+      if (idleTimeout > 0 && now - lastActivity >= idleTimeout) {
+        log.debug("closing idle sse {}", emitter.getId());
+        emitter.close();
+        return;
+      }
+      synchronized (this) {
+        if (keepAlive > 0 && now >= nextBeat) {
+          String sseId = emitter.getId();
+          try {
+            log.debug("running heart beat for {}", sseId);
+            writer.accept(frame(sseId));
+          } catch (Exception x) {
+            log.debug("connection lost for {}", sseId, x);
+            emitter.close();
+            return;
+          }
+          nextBeat = now + keepAlive;
+        }
+        schedule();
+      }
+    }
+
+    private void schedule() {
+      cancel();
+      long now = System.currentTimeMillis();
+      long delay = Long.MAX_VALUE;
+      if (keepAlive > 0) {
+        delay = nextBeat - now;
+      }
+      if (idleTimeout > 0) {
+        delay = Math.min(delay, lastActivity + idleTimeout - now);
+      }
+      if (delay != Long.MAX_VALUE && emitter.isOpen()) {
+        timeout = timer.schedule(executor, delay, TimeUnit.MILLISECONDS, this);
+      }
+    }
+
+    private byte[] frame(String sseId) {
+      // same as send(":" + id), encoded once
+      if (!sseId.equals(frameId)) {
+        frame = ("data: :" + sseId + "\n\n").getBytes(StandardCharsets.UTF_8);
+        frameId = sseId;
+      }
+      return frame;
+    }
+  }
+
   /** Server-Sent event handler. */
   interface Handler {
     /**
@@ -200,6 +352,30 @@ public interface ServerSentEmitter {
    */
   @NonNull ServerSentEmitter keepAlive(long timeInMillis);
 
+  /**
+   * Close the connection when no message was sent for the given amount of time. Keep-alive messages
+   * don't count as activity.
+   *
+   * @param time Period of time.
+   * @param unit Time unit.
+   * @return This emitter.
+   */
+  default @NonNull ServerSentEmitter idleTimeout(final long time, final @NonNull TimeUnit unit) {
+    return idleTimeout(unit.toMillis(time));
+  }
+
+  /**
+   * Close the connection when no message was sent for the given amount of time. Keep-alive messages
+   * don't count as activity.
+   *
+   * @param timeInMillis Period of time in millis, zero or negative turns it off.
+   * @return This emitter.
+   * @throws UnsupportedOperationException When emitter doesn't support idle timeout.
+   */
+  default @NonNull ServerSentEmitter idleTimeout(long timeInMillis) {
+    throw new UnsupportedOperationException("idleTimeout");
+  }
+
   /**
    * Read the <code>Last-Event-ID</code> header and retrieve it. Might be null.
    *
@@ -49,6 +49,33 @@ public interface SessionStore {
         Duration timeElapsed = Duration.between(lastAccessedTime, Instant.now());
         return timeElapsed.compareTo(timeout) > 0;
       }
+
+      /**
+       * Session creation time.
+       *
+       * @return Session creation time.
+       */
+      public @NonNull Instant getCreationTime() {
+        return creationTime;
+      }
+
+      /**
+       * Session last accessed time.
+       *
+       * @return Session last accessed time.
+       */
+      public @NonNull Instant getLastAccessedTime() {
+        return lastAccessedTime;
+      }
+
+      /**
+       * Session attributes.
+       *
+       * @return Session attributes.
+       */
+      public @NonNull Map<String, String> getAttributes() {
+        return hash;
+      }
     }
 
     private SessionToken token;
@@ -307,6 +334,22 @@ public interface SessionStore {
     return new MemorySessionStore(token, timeout);
   }
 
+  /**
+   * Creates a session store that save data in memory and keeps up to <code>maxSessions</code>. Once
+   * the limit is reached, least recently used sessions are evicted. Session data is not keep after
+   * restart.
+   *
+   * @param token Session token.
+   * @param timeout Expires session after amount of inactivity time.
+   * @param maxSessions Maximum number of sessions. Use <code>0</code> for no limit.
+   * @return Session store.
+   * @since 3.5.4
+   */
+  static @NonNull SessionStore memory(
+      @NonNull SessionToken token, @NonNull Duration timeout, int maxSessions) {
+    return new MemorySessionStore(token, timeout, maxSessions);
+  }
+
   /**
    * Creates a session store that uses (un)signed data. Session data is signed it using <code>
    * HMAC_SHA256</code>.
@@ -345,9 +388,10 @@ public interface SessionStore {
    * @return A browser session store.
    */
   static @NonNull SessionStore signed(@NonNull String secret, @NonNull SessionToken token) {
+    CookieSigner signer = new CookieSigner(secret);
     SneakyThrows.Function<String, Map<String, String>> decoder =
         value -> {
-          String unsign = Cookie.unsign(value, secret);
+          String unsign = signer.unsign(value);
           if (unsign == null) {
             return null;
           }
@@ -355,7 +399,7 @@ public interface SessionStore {
         };
 
     SneakyThrows.Function<Map<String, String>, String> encoder =
-        attributes -> Cookie.sign(Cookie.encode(attributes), secret);
+        attributes -> signer.sign(Cookie.encode(attributes));
 
     return signed(token, decoder, encoder);
   }
@@ -0,0 +1,90 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.io.OutputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.buffer.DataBuffer;
+
+/**
+ * Template engine that writes template output to an {@link OutputStream}.
+ *
+ * <p>When {@link #isStreaming()} is enabled, output is written to a {@link ChunkedOutputStream}:
+ * pages up to {@link ServerOptions#getBufferSize()} are sent as usual, larger pages are streamed to
+ * the response while the template is rendered. This reduces time to first byte and memory usage of
+ * large pages.
+ *
+ * <p>Streamed responses are neither compressed by {@link io.jooby.handler.CompressionHandler} nor
+ * cached by {@link io.jooby.handler.ResponseCacheHandler}. Errors produced once streaming started
+ * can't be reported with an error page: the connection is closed and the client sees a truncated
+ * response.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public interface StreamingTemplateEngine extends TemplateEngine {
+
+  /**
+   * Render a model and view to the given output. Output must be flushed but not closed.
+   *
+   * @param ctx Web context.
+   * @param modelAndView Model and view.
+   * @param output Output.
+   * @throws Exception If something goes wrong.
+   */
+  void render(
+      @NonNull Context ctx, @NonNull ModelAndView<?> modelAndView, @NonNull OutputStream output)
+      throws Exception;
+
+  /**
+   * True to stream large pages to the response. Default is <code>false</code>.
+   *
+   * @return True to stream large pages to the response.
+   */
+  default boolean isStreaming() {
+    return false;
+  }
+
+  @Override
+  default DataBuffer render(Context ctx, ModelAndView<?> modelAndView) throws Exception {
+    var buffer = ctx.getBufferFactory().allocateBuffer();
+    render(ctx, modelAndView, buffer.asOutputStream());
+    return buffer;
+  }
+
+  @Override
+  default DataBuffer encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
+    if (!isStreaming()) {
+      return TemplateEngine.super.encode(ctx, value);
+    }
+    // flash and session might set cookies: resolve them before headers are sent
+    ctx.flash();
+    ctx.sessionOrNull();
+
+    ctx.setDefaultResponseType(MediaType.html);
+    var output = new ChunkedOutputStream(ctx);
+    try {
+      render(ctx, (ModelAndView) value, output);
+      return output.finish();
+    } catch (Throwable x) {
+      output.abort();
+      throw x;
+    }
+  }
+
+  /**
+   * Render directly into the given buffer. Used by chunked responses, where output is never
+   * streamed.
+   */
+  @Override
+  default boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer)
+      throws Exception {
+    ctx.setDefaultResponseType(MediaType.html);
+    render(ctx, (ModelAndView) value, buffer.asOutputStream());
+    return true;
+  }
+}
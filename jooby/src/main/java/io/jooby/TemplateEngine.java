@@ -7,9 +7,11 @@ package io.jooby;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.buffer.DataBuffer;
+import io.jooby.internal.TemplateModel;
 
 /**
  * Template engine renderer. This class renderer instances of {@link ModelAndView} objects. Template
@@ -38,14 +40,29 @@ public interface TemplateEngine extends MessageEncoder {
 
   @Override
   default DataBuffer encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
-    // initialize flash and session attributes (if any)
-    ctx.flash();
-    ctx.sessionOrNull();
-
     ctx.setDefaultResponseType(MediaType.html);
     return render(ctx, (ModelAndView) value);
   }
 
+  /**
+   * Attributes available to templates: a view of {@link Context#getAttributes()} including the
+   * {@link FlashMap#NAME} attribute and, when one exists, the {@link Session#NAME} attribute.
+   * Template engines must build their model from here.
+   *
+   * <p>Flash scope is always resolved, so the flash cookie is discarded even when the template
+   * doesn't read it. Session is looked up on first access of the {@link Session#NAME} attribute and
+   * never created.
+   *
+   * @param ctx Web context.
+   * @return A new mutable map with template attributes. Values put here don't modify the context.
+   * @since 3.5.4
+   */
+  static @NonNull Map<String, Object> attributes(@NonNull Context ctx) {
+    // consume flash scope
+    ctx.flash();
+    return new TemplateModel(ctx);
+  }
+
   /**
    * True if the template engine is able to render the given view. This method checks if the view
    * name matches one of the {@link #extensions()}.
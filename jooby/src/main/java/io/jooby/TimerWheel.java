@@ -0,0 +1,253 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Hashed timer wheel for large number of low precision timeouts, like server-sent event heartbeats
+ * or idle connections. A single thread advances the wheel, scheduling and cancelling are constant
+ * time operations.
+ *
+ * <p>Each timeout runs on the executor given at schedule time (usually the event loop owning the
+ * connection). Timeouts expiring on the same tick are batched: a single task per executor runs all
+ * of them.
+ *
+ * <p>Servers own a timer wheel, available from {@link ServiceRegistry} once the server is started.
+ * The timer thread starts on first use.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public final class TimerWheel implements AutoCloseable {
+
+  /** A scheduled task. */
+  public interface Timeout {
+    /**
+     * Cancel this timeout.
+     *
+     * @return True if it was cancelled, false if it already ran or was cancelled.
+     */
+    boolean cancel();
+  }
+
+  private static final class Entry implements Timeout {
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final Executor executor;
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private long rounds;
+
+    private Entry(Executor executor, Runnable task, long deadline) {
+      this.executor = executor;
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean cancel() {
+      return state.compareAndSet(PENDING, CANCELLED);
+    }
+
+    private boolean expire() {
+      return state.compareAndSet(PENDING, EXPIRED);
+    }
+
+    private boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+  }
+
+  private static final int INIT = 0;
+  private static final int STARTED = 1;
+  private static final int CLOSED = 2;
+
+  private static final Timeout CANCELLED = () -> false;
+
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final String name;
+
+  private final long tickNanos;
+
+  private final ArrayDeque<Entry>[] wheel;
+
+  private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger state = new AtomicInteger(INIT);
+
+  private volatile long startTime;
+
+  private long tick;
+
+  /**
+   * Creates a timer wheel with a tick of 50ms and 512 buckets.
+   *
+   * @param name Name of timer thread.
+   */
+  public TimerWheel(@NonNull String name) {
+    this(name, 50, TimeUnit.MILLISECONDS, 512);
+  }
+
+  /**
+   * Creates a timer wheel.
+   *
+   * @param name Name of timer thread.
+   * @param tick Tick duration, timeouts expire on tick boundaries.
+   * @param unit Tick unit.
+   * @param buckets Number of buckets. Rounded up to a power of two.
+   */
+  @SuppressWarnings("unchecked")
+  public TimerWheel(@NonNull String name, long tick, @NonNull TimeUnit unit, int buckets) {
+    if (tick <= 0) {
+      throw new IllegalArgumentException("Tick must be positive: " + tick);
+    }
+    this.name = name;
+    this.tickNanos = unit.toNanos(tick);
+    int size = Integer.highestOneBit(Math.max(1, buckets - 1)) << 1;
+    this.wheel = new ArrayDeque[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new ArrayDeque<>();
+    }
+  }
+
+  /**
+   * Run a task on the given executor once the delay expires. Tasks scheduled after {@link #close()}
+   * never run.
+   *
+   * @param executor Executor.
+   * @param delay Delay.
+   * @param unit Delay unit.
+   * @param task Task to run.
+   * @return Timeout.
+   */
+  public @NonNull Timeout schedule(
+      @NonNull Executor executor, long delay, @NonNull TimeUnit unit, @NonNull Runnable task) {
+    start();
+    if (state.get() == CLOSED) {
+      return CANCELLED;
+    }
+    var entry = new Entry(executor, task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+    pending.add(entry);
+    return entry;
+  }
+
+  /** Stop the timer thread. Pending timeouts never run. */
+  @Override
+  public void close() {
+    state.set(CLOSED);
+    pending.clear();
+  }
+
+  private void start() {
+    if (state.get() == INIT && state.compareAndSet(INIT, STARTED)) {
+      startTime = System.nanoTime();
+      Thread thread = new Thread(this::run, name);
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  private void run() {
+    int mask = wheel.length - 1;
+    while (state.get() == STARTED) {
+      waitForNextTick();
+      transferPending();
+      expire(wheel[(int) (tick & mask)]);
+      tick += 1;
+    }
+    for (ArrayDeque<Entry> bucket : wheel) {
+      bucket.clear();
+    }
+  }
+
+  private void waitForNextTick() {
+    long deadline = startTime + (tick + 1) * tickNanos;
+    long now;
+    while ((now = System.nanoTime()) < deadline && state.get() == STARTED) {
+      LockSupport.parkNanos(this, deadline - now);
+    }
+  }
+
+  private void transferPending() {
+    int mask = wheel.length - 1;
+    Entry entry;
+    while ((entry = pending.poll()) != null) {
+      if (entry.isCancelled()) {
+        continue;
+      }
+      long ticks = (entry.deadline - startTime + tickNanos - 1) / tickNanos;
+      long target = Math.max(ticks, tick);
+      entry.rounds = (target - tick) / wheel.length;
+      wheel[(int) (target & mask)].add(entry);
+    }
+  }
+
+  private void expire(ArrayDeque<Entry> bucket) {
+    Map<Executor, List<Runnable>> batches = null;
+    Iterator<Entry> iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.isCancelled()) {
+        iterator.remove();
+      } else if (entry.rounds > 0) {
+        entry.rounds -= 1;
+      } else {
+        iterator.remove();
+        if (entry.expire()) {
+          if (batches == null) {
+            batches = new IdentityHashMap<>();
+          }
+          batches.computeIfAbsent(entry.executor, key -> new ArrayList<>()).add(entry.task);
+        }
+      }
+    }
+    if (batches != null) {
+      batches.forEach(this::execute);
+    }
+  }
+
+  private void execute(Executor executor, List<Runnable> tasks) {
+    try {
+      executor.execute(
+          () -> {
+            for (Runnable task : tasks) {
+              try {
+                task.run();
+              } catch (Throwable x) {
+                log.error("timeout resulted in exception", x);
+                if (SneakyThrows.isFatal(x)) {
+                  throw SneakyThrows.propagate(x);
+                }
+              }
+            }
+          });
+    } catch (Throwable x) {
+      // executor shutdown
+      log.debug("unable to run {} timeout(s)", tasks.size(), x);
+    }
+  }
+}
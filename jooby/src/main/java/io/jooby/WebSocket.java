@@ -6,12 +6,16 @@
 package io.jooby;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+import io.jooby.internal.WebSocketSender;
 
 /**
  * Websocket. Usage:
@@ -195,6 +199,126 @@ public interface WebSocket {
    */
   void forEach(SneakyThrows.Consumer<WebSocket> callback);
 
+  /**
+   * Send a text message to all the sessions connected to the same path (including this).
+   *
+   * @param message Text message.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcast(@NonNull String message) {
+    return broadcast(message, ws -> true);
+  }
+
+  /**
+   * Send a text message to the sessions connected to the same path (including this) matching the
+   * given filter.
+   *
+   * @param message Text message.
+   * @param filter Session filter.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcast(
+      @NonNull String message, @NonNull Predicate<WebSocket> filter) {
+    return broadcast(
+        getContext().getBufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8)), filter);
+  }
+
+  /**
+   * Send a text message to the sessions connected to the same path (including this) matching the
+   * given filter. Message is encoded once and the resulting payload is shared by all the sessions,
+   * instead of encoding it again for each of them (like {@link #forEach(SneakyThrows.Consumer)}
+   * does). Buffer is released once sent.
+   *
+   * <p>Errors are logged per session, a failure on one session doesn't stop the broadcast.
+   *
+   * @param message Text message.
+   * @param filter Session filter.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcast(
+      @NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    var bytes = new byte[message.readableByteCount()];
+    message.read(bytes);
+    DataBufferUtils.release(message);
+    forEach(
+        ws -> {
+          if (filter.test(ws)) {
+            ws.send(bytes);
+          }
+        });
+    return this;
+  }
+
+  /**
+   * Send a binary message to all the sessions connected to the same path (including this).
+   *
+   * @param message Binary message.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcastBinary(@NonNull byte[] message) {
+    return broadcastBinary(message, ws -> true);
+  }
+
+  /**
+   * Send a binary message to the sessions connected to the same path (including this) matching the
+   * given filter.
+   *
+   * @param message Binary message.
+   * @param filter Session filter.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcastBinary(
+      @NonNull byte[] message, @NonNull Predicate<WebSocket> filter) {
+    return broadcastBinary(getContext().getBufferFactory().wrap(message), filter);
+  }
+
+  /**
+   * Send a binary message to the sessions connected to the same path (including this) matching the
+   * given filter. See {@link #broadcast(DataBuffer, Predicate)}.
+   *
+   * @param message Binary message.
+   * @param filter Session filter.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcastBinary(
+      @NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    var bytes = new byte[message.readableByteCount()];
+    message.read(bytes);
+    DataBufferUtils.release(message);
+    forEach(
+        ws -> {
+          if (filter.test(ws)) {
+            ws.sendBinary(bytes);
+          }
+        });
+    return this;
+  }
+
+  /**
+   * Encode a value once and send it as text message to all the sessions connected to the same path
+   * (including this).
+   *
+   * @param value Value to send.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket renderBroadcast(@NonNull Object value) {
+    return renderBroadcast(value, ws -> true);
+  }
+
+  /**
+   * Encode a value once and send it as text message to the sessions connected to the same path
+   * (including this) matching the given filter.
+   *
+   * @param value Value to send.
+   * @param filter Session filter.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket renderBroadcast(
+      @NonNull Object value, @NonNull Predicate<WebSocket> filter) {
+    new WebSocketSender(getContext(), this, false, WriteCallback.NOOP, filter).render(value);
+    return this;
+  }
+
   /**
    * Send a text message to client.
    *
@@ -41,7 +41,7 @@ public class DefaultDataBuffer implements DataBuffer {
 
   private int writePosition;
 
-  private DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
+  DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
     Assert.notNull(dataBufferFactory, "DefaultDataBufferFactory must not be null");
     Assert.notNull(byteBuffer, "ByteBuffer must not be null");
     this.dataBufferFactory = dataBufferFactory;
@@ -74,7 +74,7 @@ public class DefaultDataBuffer implements DataBuffer {
     return this.byteBuffer.duplicate().position(this.readPosition).limit(this.writePosition);
   }
 
-  private void setNativeBuffer(ByteBuffer byteBuffer) {
+  void setNativeBuffer(ByteBuffer byteBuffer) {
     this.byteBuffer = byteBuffer;
     this.capacity = byteBuffer.capacity();
   }
@@ -218,7 +218,7 @@ public class DefaultDataBuffer implements DataBuffer {
     return this;
   }
 
-  private static ByteBuffer allocate(int capacity, boolean direct) {
+  ByteBuffer allocate(int capacity, boolean direct) {
     return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
   }
 
@@ -0,0 +1,99 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@link DefaultDataBuffer} backed by a {@link ByteBuffer} borrowed from a {@link
+ * PooledDataBufferFactory}. Memory goes back to the pool once the reference count reaches zero.
+ *
+ * <p>Buffers created by {@link #split(int)} or {@link #duplicate()} share memory with this buffer
+ * and must not be used after this buffer has been released.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+final class DefaultPooledDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+  private static final AtomicIntegerFieldUpdater<DefaultPooledDataBuffer> REF_CNT =
+      AtomicIntegerFieldUpdater.newUpdater(DefaultPooledDataBuffer.class, "refCnt");
+
+  private final PooledDataBufferFactory pool;
+
+  private ByteBuffer chunk;
+
+  private ByteBuffer nextChunk;
+
+  private volatile int refCnt = 1;
+
+  DefaultPooledDataBuffer(PooledDataBufferFactory pool, ByteBuffer chunk, int capacity) {
+    super(pool, chunk.duplicate().limit(capacity));
+    this.pool = pool;
+    this.chunk = chunk;
+  }
+
+  @Override
+  ByteBuffer allocate(int capacity, boolean direct) {
+    // size class might be bigger than requested, expose the requested capacity only
+    nextChunk = pool.acquire(capacity);
+    return nextChunk.slice(0, capacity);
+  }
+
+  @Override
+  void setNativeBuffer(ByteBuffer byteBuffer) {
+    super.setNativeBuffer(byteBuffer);
+    var previous = chunk;
+    chunk = nextChunk;
+    nextChunk = null;
+    if (previous != null) {
+      pool.recycle(previous);
+    }
+  }
+
+  @Override
+  public boolean isAllocated() {
+    return refCnt > 0;
+  }
+
+  @Override
+  public PooledDataBuffer retain() {
+    for (; ; ) {
+      int count = refCnt;
+      if (count <= 0) {
+        throw new IllegalStateException("Buffer has been released: " + this);
+      }
+      if (REF_CNT.compareAndSet(this, count, count + 1)) {
+        return this;
+      }
+    }
+  }
+
+  @Override
+  public PooledDataBuffer touch(Object hint) {
+    return this;
+  }
+
+  @Override
+  public boolean release() {
+    for (; ; ) {
+      int count = refCnt;
+      if (count <= 0) {
+        throw new IllegalStateException("Buffer has been released: " + this);
+      }
+      if (REF_CNT.compareAndSet(this, count, count - 1)) {
+        if (count == 1) {
+          var memory = chunk;
+          chunk = null;
+          pool.release(memory);
+          return true;
+        }
+        return false;
+      }
+    }
+  }
+}
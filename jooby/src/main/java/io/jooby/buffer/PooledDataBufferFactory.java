@@ -0,0 +1,282 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link DataBufferFactory} that recycles memory. Allocated buffers are {@link PooledDataBuffer}
+ * and go back to the pool once released. Web servers release the buffer after writing it to the
+ * client, so encoders (JSON, templates, etc.) reuse memory across requests.
+ *
+ * <p>Memory is organized in power-of-two size classes, starting at {@link
+ * #getDefaultInitialCapacity()} up to {@link #getMaxPooledCapacity()}. Bigger buffers are never
+ * pooled. Each thread keeps a small cache per size class, backed by a shared bounded pool.
+ *
+ * <pre>{@code
+ * {
+ *   setBufferFactory(new PooledDataBufferFactory());
+ * }
+ * }</pre>
+ *
+ * Pool usage is available from {@link #getHits()}, {@link #getMisses()} and {@link
+ * #getOutstanding()}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+  /** Largest pooled buffer by default: <code>64kb</code>. */
+  public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+  /** Number of buffers per size class cached by each thread. */
+  public static final int DEFAULT_THREAD_CACHE_SIZE = 16;
+
+  /** Number of buffers per size class kept in the shared pool. */
+  public static final int DEFAULT_SHARED_POOL_SIZE = 256;
+
+  private final int maxPooledCapacity;
+
+  private final int threadCacheSize;
+
+  private final SizeClass[] sizeClasses;
+
+  private final ThreadLocal<ByteBuffer[][]> threadCache;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder outstanding = new LongAdder();
+
+  /** Creates a new heap-based pooled factory with default settings. */
+  public PooledDataBufferFactory() {
+    this(false);
+  }
+
+  /**
+   * Creates a new pooled factory with default settings.
+   *
+   * @param preferDirect {@code true} if direct buffers are to be preferred; {@code false} otherwise
+   */
+  public PooledDataBufferFactory(boolean preferDirect) {
+    this(
+        preferDirect,
+        DEFAULT_INITIAL_CAPACITY,
+        DEFAULT_MAX_POOLED_CAPACITY,
+        DEFAULT_THREAD_CACHE_SIZE,
+        DEFAULT_SHARED_POOL_SIZE);
+  }
+
+  /**
+   * Creates a new pooled factory.
+   *
+   * @param preferDirect {@code true} if direct buffers are to be preferred; {@code false} otherwise
+   * @param defaultInitialCapacity Smallest size class and default buffer capacity.
+   * @param maxPooledCapacity Largest size class. Bigger buffers are allocated on demand.
+   * @param threadCacheSize Number of buffers per size class cached by each thread.
+   * @param sharedPoolSize Number of buffers per size class kept in the shared pool.
+   */
+  public PooledDataBufferFactory(
+      boolean preferDirect,
+      int defaultInitialCapacity,
+      int maxPooledCapacity,
+      int threadCacheSize,
+      int sharedPoolSize) {
+    super(preferDirect, defaultInitialCapacity);
+    Assert.isTrue(
+        maxPooledCapacity >= defaultInitialCapacity,
+        "'maxPooledCapacity' should be larger or equal than 'defaultInitialCapacity'");
+    Assert.isTrue(threadCacheSize >= 0, "'threadCacheSize' should be 0 or higher");
+    Assert.isTrue(sharedPoolSize >= 0, "'sharedPoolSize' should be 0 or higher");
+    int minCapacity = Integer.highestOneBit(defaultInitialCapacity);
+    int count = 1;
+    while ((long) minCapacity << (count - 1) < maxPooledCapacity) {
+      count++;
+    }
+    this.sizeClasses = new SizeClass[count];
+    for (int i = 0; i < count; i++) {
+      sizeClasses[i] = new SizeClass(minCapacity << i, sharedPoolSize);
+    }
+    this.maxPooledCapacity = sizeClasses[count - 1].capacity;
+    this.threadCacheSize = threadCacheSize;
+    this.threadCache = ThreadLocal.withInitial(() -> new ByteBuffer[sizeClasses.length][]);
+  }
+
+  /**
+   * Largest buffer capacity kept by this pool.
+   *
+   * @return Largest buffer capacity kept by this pool.
+   */
+  public int getMaxPooledCapacity() {
+    return maxPooledCapacity;
+  }
+
+  /**
+   * Number of allocations served from pooled memory.
+   *
+   * @return Number of allocations served from pooled memory.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of allocations that required new memory.
+   *
+   * @return Number of allocations that required new memory.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Number of buffers currently in use (allocated and not yet released).
+   *
+   * @return Number of buffers currently in use.
+   */
+  public long getOutstanding() {
+    return outstanding.sum();
+  }
+
+  @Override
+  public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+    outstanding.increment();
+    return new DefaultPooledDataBuffer(this, acquire(initialCapacity), initialCapacity);
+  }
+
+  /**
+   * Get memory from pool or allocate a new one.
+   *
+   * @param capacity Minimum capacity.
+   * @return Cleared byte buffer.
+   */
+  ByteBuffer acquire(int capacity) {
+    int index = sizeClassIndex(capacity);
+    if (index < 0) {
+      misses.increment();
+      return newByteBuffer(capacity);
+    }
+    var sizeClass = sizeClasses[index];
+    var cache = threadCache.get()[index];
+    ByteBuffer buffer = null;
+    if (cache != null) {
+      for (int i = cache.length - 1; i >= 0 && buffer == null; i--) {
+        buffer = cache[i];
+        cache[i] = null;
+      }
+    }
+    if (buffer == null) {
+      buffer = sizeClass.poll();
+    }
+    if (buffer == null) {
+      misses.increment();
+      return newByteBuffer(sizeClass.capacity);
+    }
+    hits.increment();
+    return buffer.clear();
+  }
+
+  /**
+   * Called when a buffer reached a reference count of zero.
+   *
+   * @param buffer Memory to recycle.
+   */
+  void release(ByteBuffer buffer) {
+    outstanding.decrement();
+    recycle(buffer);
+  }
+
+  /**
+   * Put memory back into the pool. Buffers that don't match a size class or a pool that is full are
+   * left for the garbage collector.
+   *
+   * @param buffer Memory to recycle.
+   */
+  void recycle(ByteBuffer buffer) {
+    int index = sizeClassIndex(buffer.capacity());
+    if (index < 0
+        || sizeClasses[index].capacity != buffer.capacity()
+        || buffer.isDirect() != isDirect()) {
+      return;
+    }
+    if (threadCacheSize > 0) {
+      var caches = threadCache.get();
+      var cache = caches[index];
+      if (cache == null) {
+        cache = new ByteBuffer[threadCacheSize];
+        caches[index] = cache;
+      }
+      for (int i = 0; i < cache.length; i++) {
+        if (cache[i] == null) {
+          cache[i] = buffer;
+          return;
+        }
+      }
+    }
+    sizeClasses[index].offer(buffer);
+  }
+
+  private int sizeClassIndex(int capacity) {
+    if (capacity > maxPooledCapacity) {
+      return -1;
+    }
+    for (int i = 0; i < sizeClasses.length; i++) {
+      if (capacity <= sizeClasses[i].capacity) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private ByteBuffer newByteBuffer(int capacity) {
+    return isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  @Override
+  public String toString() {
+    return "PooledDataBufferFactory (preferDirect="
+        + isDirect()
+        + ", maxPooledCapacity="
+        + maxPooledCapacity
+        + ")";
+  }
+
+  private static final class SizeClass {
+    private final int capacity;
+
+    private final int maxSize;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final ConcurrentLinkedQueue<ByteBuffer> queue = new ConcurrentLinkedQueue<>();
+
+    SizeClass(int capacity, int maxSize) {
+      this.capacity = capacity;
+      this.maxSize = maxSize;
+    }
+
+    ByteBuffer poll() {
+      var buffer = queue.poll();
+      if (buffer != null) {
+        size.decrementAndGet();
+      }
+      return buffer;
+    }
+
+    void offer(ByteBuffer buffer) {
+      if (size.incrementAndGet() <= maxSize) {
+        queue.offer(buffer);
+      } else {
+        size.decrementAndGet();
+      }
+    }
+  }
+}
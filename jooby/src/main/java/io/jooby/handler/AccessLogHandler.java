@@ -7,6 +7,13 @@ package io.jooby.handler;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -24,6 +31,8 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
 import io.jooby.Route;
 import io.jooby.Router;
+import io.jooby.SneakyThrows;
+import io.jooby.internal.handler.AccessLogBuffer;
 
 /**
  * Access Log Handler.
@@ -143,10 +152,28 @@ import io.jooby.Router;
  * }
  * }</pre>
  *
+ * <h2>async</h2>
+ *
+ * <pre>{@code
+ * {
+ *   var accessLog = new AccessLogHandler()
+ *       .async();
+ *   use("*", accessLog);
+ *   onStop(accessLog);
+ * }
+ * }</pre>
+ *
+ * <p>Request threads only copy the log fields into a preallocated buffer. Formatting and writing
+ * happens on a background thread in batches. Use {@link #log(Path)} to append lines straight into a
+ * file, bypassing the logging system.
+ *
  * @author edgar
  * @since 2.5.2
  */
-public class AccessLogHandler implements Route.Filter {
+public class AccessLogHandler implements Route.Filter, AutoCloseable {
+  /** Default number of pending entries on asynchronous mode. */
+  public static final int ASYNC_CAPACITY = 8192;
+
   private static final String USER_AGENT = "User-Agent";
 
   private static final String REFERER = "Referer";
@@ -159,6 +186,7 @@ public class AccessLogHandler implements Route.Filter {
   private static final char BL = '[';
   private static final char BR = ']';
   private static final char Q = '\"';
+  private static final char NL = '\n';
 
   private static final Function<Context, String> USER_OR_DASH =
       ctx -> Optional.ofNullable(ctx.getUser()).map(Object::toString).orElse(DASH);
@@ -179,6 +207,15 @@ public class AccessLogHandler implements Route.Filter {
 
   private List<String> responseHeaders = Collections.emptyList();
 
+  /** True when the date formatter has second precision (default formatter). */
+  private boolean secondPrecision;
+
+  private int capacity;
+
+  private Path file;
+
+  private AccessLogBuffer buffer;
+
   /**
    * Creates a new {@link AccessLogHandler} and use the given function and userId provider. Please
    * note, if the user isn't present this function is allowed to returns <code>-</code> (dash
@@ -188,7 +225,7 @@ public class AccessLogHandler implements Route.Filter {
    */
   public AccessLogHandler(@NonNull Function<Context, String> userId) {
     this.userId = requireNonNull(userId, "User ID provider required.");
-    dateFormatter(FORMATTER);
+    dateFormatter(ZoneId.systemDefault());
   }
 
   /** Creates a new {@link AccessLogHandler} without user identifier. */
@@ -199,50 +236,270 @@ public class AccessLogHandler implements Route.Filter {
   @NonNull @Override
   public Route.Handler apply(@NonNull Route.Handler next) {
     long timestamp = System.currentTimeMillis();
+    AccessLogBuffer buffer = capacity > 0 ? buffer() : null;
     return ctx -> {
       // Take remote address here (less chances of loosing it on interrupted requests).
       String remoteAddr = ctx.getRemoteAddress();
-      ctx.onComplete(
-          context -> {
-            StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
-            sb.append(remoteAddr);
-            sb.append(SP).append(DASH).append(SP);
-            sb.append(userId.apply(ctx));
-            sb.append(SP);
-            sb.append(BL).append(df.apply(timestamp)).append(BR);
-            sb.append(SP);
-            sb.append(Q).append(ctx.getMethod());
-            sb.append(SP);
-            sb.append(ctx.getRequestPath());
-            sb.append(ctx.queryString());
-            sb.append(SP);
-            sb.append(ctx.getProtocol());
-            sb.append(Q).append(SP);
-            sb.append(ctx.getResponseCode().value());
-            sb.append(SP);
-            long responseLength = ctx.getResponseLength();
-            sb.append(responseLength >= 0 ? responseLength : DASH);
-            long now = System.currentTimeMillis();
-            sb.append(SP);
-            sb.append(now - timestamp);
-            appendHeaders(sb, requestHeaders, h -> ctx.header(h).valueOrNull());
-            appendHeaders(sb, responseHeaders, h -> ctx.getResponseHeader(h));
-            logRecord.accept(sb.toString());
-          });
+      if (buffer == null) {
+        ctx.onComplete(context -> log(ctx, remoteAddr, timestamp));
+      } else {
+        ctx.onComplete(context -> enqueue(buffer, ctx, remoteAddr, timestamp));
+      }
       return next.apply(ctx);
     };
   }
 
-  private void appendHeaders(
-      StringBuilder buff, List<String> requestHeaders, Function<String, String> headers) {
+  private void log(Context ctx, String remoteAddr, long timestamp) {
+    StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
+    append(
+        sb,
+        remoteAddr,
+        userId.apply(ctx),
+        df.apply(timestamp),
+        ctx.getMethod(),
+        ctx.getRequestPath(),
+        ctx.queryString(),
+        ctx.getProtocol(),
+        ctx.getResponseCode().value(),
+        ctx.getResponseLength(),
+        System.currentTimeMillis() - timestamp,
+        headers(ctx, new String[requestHeaders.size() + responseHeaders.size()]));
+    logRecord.accept(sb.toString());
+  }
+
+  /** Copy raw fields only, formatting happens on the access log thread. */
+  private void enqueue(AccessLogBuffer buffer, Context ctx, String remoteAddr, long timestamp) {
+    AccessLogBuffer.Entry entry = buffer.claim();
+    if (entry != null) {
+      try {
+        entry.timestamp = timestamp;
+        entry.latency = System.currentTimeMillis() - timestamp;
+        entry.remoteAddress = remoteAddr;
+        entry.user = userId.apply(ctx);
+        entry.method = ctx.getMethod();
+        entry.path = ctx.getRequestPath();
+        entry.query = ctx.queryString();
+        entry.protocol = ctx.getProtocol();
+        entry.status = ctx.getResponseCode().value();
+        entry.length = ctx.getResponseLength();
+        headers(ctx, entry.headers);
+      } finally {
+        buffer.publish(entry);
+      }
+    }
+  }
+
+  private String[] headers(Context ctx, String[] values) {
+    int i = 0;
     for (String header : requestHeaders) {
-      String value = headers.apply(header);
-      if (value == null) {
-        buff.append(SP).append(Q).append(DASH).append(Q);
-      } else {
-        buff.append(SP).append(Q).append(value).append(Q);
+      values[i++] = ctx.header(header).valueOrNull();
+    }
+    for (String header : responseHeaders) {
+      values[i++] = ctx.getResponseHeader(header);
+    }
+    return values;
+  }
+
+  private static void append(
+      StringBuilder sb,
+      String remoteAddr,
+      String user,
+      String date,
+      String method,
+      String path,
+      String query,
+      String protocol,
+      int status,
+      long responseLength,
+      long latency,
+      String[] headers) {
+    sb.append(remoteAddr);
+    sb.append(SP).append(DASH).append(SP);
+    sb.append(user);
+    sb.append(SP);
+    sb.append(BL).append(date).append(BR);
+    sb.append(SP);
+    sb.append(Q).append(method);
+    sb.append(SP);
+    sb.append(path);
+    sb.append(query);
+    sb.append(SP);
+    sb.append(protocol);
+    sb.append(Q).append(SP);
+    sb.append(status);
+    sb.append(SP);
+    if (responseLength >= 0) {
+      sb.append(responseLength);
+    } else {
+      sb.append(DASH);
+    }
+    sb.append(SP);
+    sb.append(latency);
+    for (String value : headers) {
+      sb.append(SP).append(Q).append(value == null ? DASH : value).append(Q);
+    }
+  }
+
+  private synchronized AccessLogBuffer buffer() {
+    if (buffer == null) {
+      int headers = requestHeaders.size() + responseHeaders.size();
+      AccessLogBuffer.Sink sink = file == null ? new LogSink() : new FileSink(file);
+      buffer = new AccessLogBuffer("access-log", capacity, headers, sink);
+    }
+    return buffer;
+  }
+
+  /**
+   * Stop the background thread of an asynchronous access log, once all the pending entries are
+   * written. Does nothing on synchronous mode.
+   */
+  @Override
+  public void close() {
+    AccessLogBuffer buffer;
+    synchronized (this) {
+      buffer = this.buffer;
+    }
+    if (buffer != null) {
+      buffer.close();
+    }
+  }
+
+  /**
+   * Log entries asynchronously using a buffer of {@link #ASYNC_CAPACITY} entries. See {@link
+   * #async(int)}.
+   *
+   * @return This instance.
+   */
+  public @NonNull AccessLogHandler async() {
+    return async(ASYNC_CAPACITY);
+  }
+
+  /**
+   * Log entries asynchronously. Request threads copy the log fields into a preallocated buffer, a
+   * background thread formats and writes them in batches. Entries are dropped (and reported) while
+   * the buffer is full.
+   *
+   * <p>Make sure to close the handler on application shutdown, so pending entries are written:
+   *
+   * <pre>{@code
+   * {
+   *   var accessLog = new AccessLogHandler().async();
+   *   use(accessLog);
+   *   onStop(accessLog);
+   * }
+   * }</pre>
+   *
+   * @param capacity Max number of pending entries, rounded up to a power of two.
+   * @return This instance.
+   */
+  public @NonNull AccessLogHandler async(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    return this;
+  }
+
+  /**
+   * Append NCSA lines to the given file, instead of using the logging system. File is written
+   * asynchronously in batches, see {@link #async(int)}.
+   *
+   * @param file Destination file.
+   * @return This instance.
+   */
+  public @NonNull AccessLogHandler log(@NonNull Path file) {
+    this.file = requireNonNull(file, "File is required.");
+    if (capacity == 0) {
+      async();
+    }
+    return this;
+  }
+
+  /** Format entries on the access log thread. */
+  private abstract class FormatSink implements AccessLogBuffer.Sink {
+    protected final StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
+
+    private long second = Long.MIN_VALUE;
+
+    private String date;
+
+    protected void append(AccessLogBuffer.Entry entry) {
+      AccessLogHandler.append(
+          sb,
+          entry.remoteAddress,
+          entry.user,
+          date(entry.timestamp),
+          entry.method,
+          entry.path,
+          entry.query,
+          entry.protocol,
+          entry.status,
+          entry.length,
+          entry.latency,
+          entry.headers);
+    }
+
+    /** Entries of a batch mostly share the same second, so the date is formatted once. */
+    private String date(long timestamp) {
+      if (!secondPrecision) {
+        return df.apply(timestamp);
+      }
+      long second = Math.floorDiv(timestamp, 1000L);
+      if (second != this.second) {
+        this.date = df.apply(timestamp);
+        this.second = second;
+      }
+      return date;
+    }
+  }
+
+  private class LogSink extends FormatSink {
+    @Override
+    public void write(@NonNull AccessLogBuffer.Entry entry) {
+      sb.setLength(0);
+      append(entry);
+      logRecord.accept(sb.toString());
+    }
+
+    @Override
+    public void flush() {}
+  }
+
+  private class FileSink extends FormatSink {
+    private final FileChannel channel;
+
+    FileSink(Path file) {
+      try {
+        this.channel =
+            FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+      } catch (IOException x) {
+        throw SneakyThrows.propagate(x);
       }
     }
+
+    @Override
+    public void write(@NonNull AccessLogBuffer.Entry entry) {
+      append(entry);
+      sb.append(NL);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(sb));
+      sb.setLength(0);
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
   }
 
   /**
@@ -283,6 +540,7 @@ public class AccessLogHandler implements Route.Filter {
   public @NonNull AccessLogHandler dateFormatter(final Function<Long, String> formatter) {
     requireNonNull(formatter, "Formatter required.");
     this.df = formatter;
+    this.secondPrecision = false;
     return this;
   }
 
@@ -293,7 +551,9 @@ public class AccessLogHandler implements Route.Filter {
    * @return This instance.
    */
   public @NonNull AccessLogHandler dateFormatter(@NonNull ZoneId zoneId) {
-    return dateFormatter(FORMATTER.withZone(zoneId));
+    dateFormatter(FORMATTER.withZone(zoneId));
+    this.secondPrecision = true;
+    return this;
   }
 
   /**
@@ -16,6 +16,8 @@ import java.util.function.Function;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.*;
+import io.jooby.internal.AssetCache;
+import io.jooby.internal.CachedAsset;
 
 /**
  * Handler for static resources represented by the {@link Asset} contract.
@@ -29,6 +31,8 @@ public class AssetHandler implements Route.Handler {
   private static final SneakyThrows.Consumer<Context> NOT_FOUND =
       ctx -> ctx.send(StatusCode.NOT_FOUND);
   private static final int ONE_SEC = 1000;
+  private static final int DEFAULT_MAX_ASSET_SIZE = 256 * 1024;
+  private static final long DEFAULT_CACHE_SIZE = 32 * 1024 * 1024;
 
   private final AssetSource[] sources;
 
@@ -43,6 +47,10 @@ public class AssetHandler implements Route.Handler {
   private Function<Asset, MediaType> mediaTypeResolver = Asset::getContentType;
   private SneakyThrows.Consumer<Context> notFound = NOT_FOUND;
 
+  private AssetCache cache;
+
+  private boolean precompressed;
+
   /**
    * Creates a new asset handler that fallback to the given fallback asset when the asset is not
    * found. Instead of produces a <code>404</code> its fallback to the given asset.
@@ -76,10 +84,10 @@ public class AssetHandler implements Route.Handler {
   public Object apply(@NonNull Context ctx) throws Exception {
     final String resolvedPath;
     String filepath = ctx.path(filekey).value("index.html");
-    Asset asset = resolve(filepath);
+    Asset asset = lookup(filepath);
     if (asset == null) {
       if (fallback != null) {
-        asset = resolve(fallback);
+        asset = lookup(fallback);
       }
       // Still null?
       if (asset == null) {
@@ -92,28 +100,41 @@ public class AssetHandler implements Route.Handler {
       resolvedPath = filepath;
     }
 
+    // pre-compressed
+    Asset content = asset;
+    if (precompressed) {
+      ctx.setResponseHeader("Vary", "Accept-Encoding");
+      // Ranges are resolved against identity encoding
+      if (ctx.header("Range").isMissing()) {
+        String acceptEncoding = ctx.header("Accept-Encoding").valueOrNull();
+        if (acceptEncoding != null) {
+          content = encoded(resolvedPath, asset, acceptEncoding, ctx);
+        }
+      }
+    }
+
     CacheControl cacheParams = cacheControl.apply(resolvedPath);
 
     // handle If-None-Match
     if (cacheParams.isEtag()) {
       String ifnm = ctx.header("If-None-Match").valueOrNull();
-      if (ifnm != null && ifnm.equals(asset.getEtag())) {
+      if (ifnm != null && ifnm.equals(content.getEtag())) {
         ctx.send(StatusCode.NOT_MODIFIED);
-        asset.close();
+        close(asset, content);
         return ctx;
       } else {
-        ctx.setResponseHeader("ETag", asset.getEtag());
+        ctx.setResponseHeader("ETag", content.getEtag());
       }
     }
 
     // Handle If-Modified-Since
     if (cacheParams.isLastModified()) {
-      long lastModified = asset.getLastModified();
+      long lastModified = content.getLastModified();
       if (lastModified > 0) {
         long ifms = ctx.header("If-Modified-Since").longValue(-1);
         if (lastModified / ONE_SEC <= ifms / ONE_SEC) {
           ctx.send(StatusCode.NOT_MODIFIED);
-          asset.close();
+          close(asset, content);
           return ctx;
         }
         ctx.setResponseHeader("Last-Modified", Instant.ofEpochMilli(lastModified));
@@ -127,12 +148,19 @@ public class AssetHandler implements Route.Handler {
       ctx.setResponseHeader("Cache-Control", "no-store, must-revalidate");
     }
 
-    long length = asset.getSize();
+    ctx.setResponseType(mediaTypeResolver.apply(asset));
+    if (content != asset) {
+      asset.close();
+    }
+    if (content instanceof CachedAsset cached && ctx.header("Range").isMissing()) {
+      return ctx.send(cached.getContent());
+    }
+    long length = content.getSize();
     if (length != -1) {
       ctx.setResponseLength(length);
     }
-    ctx.setResponseType(mediaTypeResolver.apply(asset));
-    return ctx.send(asset.stream());
+    // File assets are sent using FileChannel (zero-copy when possible)
+    return ctx.send(content.stream());
   }
 
   /**
@@ -243,6 +271,134 @@ public class AssetHandler implements Route.Handler {
     return this;
   }
 
+  /**
+   * Keep small assets in memory, ready to send. E-tag, last modified and media type are computed
+   * once. Assets up to <code>256kb</code> are cached, least recently used assets are evicted once
+   * cache reaches <code>32mb</code>.
+   *
+   * <p>A cached asset is never checked for changes, so this is for production (or any other
+   * environment where assets don't change).
+   *
+   * @param cache True for turning on. Default is: false.
+   * @return This handler.
+   * @since 3.5.4
+   */
+  public AssetHandler setCache(boolean cache) {
+    this.cache = cache ? new AssetCache(DEFAULT_MAX_ASSET_SIZE, DEFAULT_CACHE_SIZE) : null;
+    return this;
+  }
+
+  /**
+   * Keep small assets in memory, ready to send. E-tag, last modified and media type are computed
+   * once.
+   *
+   * <p>A cached asset is never checked for changes, so this is for production (or any other
+   * environment where assets don't change).
+   *
+   * @param maxAssetSize Assets larger than this (in bytes) are never cached.
+   * @param maxCacheSize Max memory (in bytes) used by all the cached assets.
+   * @return This handler.
+   * @since 3.5.4
+   */
+  public AssetHandler setCache(int maxAssetSize, long maxCacheSize) {
+    this.cache = new AssetCache(maxAssetSize, maxCacheSize);
+    return this;
+  }
+
+  /**
+   * Serve pre-compressed assets based on the <code>Accept-Encoding</code> header. For an asset like
+   * <code>app.js</code> it looks for <code>app.js.br</code> (brotli) and <code>app.js.gz</code>
+   * (gzip), in that order.
+   *
+   * <p>When {@link #setCache(boolean)} is on, cached textual assets without a <code>.gz</code>
+   * version are compressed once, when loaded into the cache.
+   *
+   * @param precompressed True for turning on. Default is: false.
+   * @return This handler.
+   * @since 3.5.4
+   */
+  public AssetHandler setPrecompressed(boolean precompressed) {
+    this.precompressed = precompressed;
+    return this;
+  }
+
+  private @Nullable Asset lookup(String filepath) {
+    AssetCache cache = this.cache;
+    if (cache == null) {
+      return resolve(filepath);
+    }
+    Asset asset = cache.get(filepath);
+    if (asset == null) {
+      asset = resolve(filepath);
+      if (asset != null) {
+        asset = cache.put(filepath, asset, this::resolve, precompressed);
+      }
+    }
+    return asset;
+  }
+
+  private Asset encoded(String filepath, Asset asset, String acceptEncoding, Context ctx) {
+    for (String encoding : AssetCache.ENCODINGS.keySet()) {
+      if (accepts(acceptEncoding, encoding)) {
+        Asset encoded;
+        if (asset instanceof CachedAsset cached) {
+          encoded = cached.getEncoding(encoding);
+        } else {
+          encoded = resolve(filepath + AssetCache.ENCODINGS.get(encoding));
+        }
+        if (encoded != null) {
+          ctx.setResponseHeader("Content-Encoding", encoding);
+          return encoded;
+        }
+      }
+    }
+    return asset;
+  }
+
+  static boolean accepts(String acceptEncoding, String encoding) {
+    // explicit encoding wins over *, like: *, br;q=0
+    boolean wildcard = false;
+    int start = 0;
+    int len = acceptEncoding.length();
+    while (start < len) {
+      int end = acceptEncoding.indexOf(',', start);
+      if (end < 0) {
+        end = len;
+      }
+      String value = acceptEncoding.substring(start, end).trim();
+      int q = value.indexOf(';');
+      String name = q < 0 ? value : value.substring(0, q).trim();
+      if (name.equalsIgnoreCase(encoding)) {
+        return q < 0 || quality(value.substring(q + 1)) > 0;
+      }
+      if (name.equals("*")) {
+        wildcard = q < 0 || quality(value.substring(q + 1)) > 0;
+      }
+      start = end + 1;
+    }
+    return wildcard;
+  }
+
+  private static double quality(String params) {
+    // gzip;q=0 means not acceptable
+    int q = params.indexOf("q=");
+    if (q >= 0) {
+      try {
+        return Double.parseDouble(params.substring(q + 2).trim());
+      } catch (NumberFormatException x) {
+        // ignore
+      }
+    }
+    return 1;
+  }
+
+  private static void close(Asset asset, Asset content) throws Exception {
+    asset.close();
+    if (content != asset) {
+      content.close();
+    }
+  }
+
   private @Nullable Asset resolve(String filepath) {
     for (AssetSource source : sources) {
       Asset asset = source.resolve(filepath);
@@ -0,0 +1,174 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.Route;
+import io.jooby.ServerOptions;
+import io.jooby.internal.handler.Compression;
+import io.jooby.internal.handler.CompressionContext;
+import io.jooby.internal.handler.DefaultHandler;
+
+/**
+ * Compress responses using the best <code>Content-Encoding</code> accepted by the client. Works the
+ * same on every server:
+ *
+ * <pre>{@code
+ * {
+ *   use(new CompressionHandler());
+ *
+ *   get("/", ctx -> views.render("index.html"));
+ * }
+ * }</pre>
+ *
+ * Only responses produced from a <code>byte[]</code>, <code>String</code> or <code>ByteBuffer
+ * </code> (including encoded route results) are compressed. Files and streaming responses are sent
+ * as they are.
+ *
+ * <p>A response is compressed when:
+ *
+ * <ul>
+ *   <li>Its content type is in the allowlist. Defaults to: text, json, javascript, xml and svg.
+ *   <li>It is at least {@link #minSize(int)} bytes long. Defaults to <code>1024</code>.
+ *   <li>It doesn't have a <code>Content-Encoding</code> header.
+ * </ul>
+ *
+ * Compressors are tried in registration order. The default is {@link Compressor#gzip(int)} using
+ * {@link ServerOptions#DEFAULT_COMPRESSION_LEVEL}.
+ *
+ * <h2>Cache</h2>
+ *
+ * Responses with a strong <code>ETag</code> header are repeatable: compressed content is kept in
+ * memory (up to {@link #cacheSize(long)} bytes) and reused by the next request to the same method,
+ * path and query string with the same <code>ETag</code>. The <code>ETag</code> of compressed
+ * responses gets the encoding as suffix: <code>
+ * "xyz"</code> becomes <code>"xyz-gzip"</code>.
+ *
+ * <p>Don't combine this handler with {@link ServerOptions#setCompressionLevel(Integer)}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class CompressionHandler implements Route.Filter {
+
+  /** Default allowlist of content types. */
+  private static final List<MediaType> CONTENT_TYPES =
+      List.of(
+          MediaType.valueOf("text/*"),
+          MediaType.valueOf("application/json"),
+          MediaType.valueOf("application/*+json"),
+          MediaType.valueOf("application/javascript"),
+          MediaType.valueOf("application/xml"),
+          MediaType.valueOf("application/*+xml"),
+          MediaType.valueOf("image/svg+xml"));
+
+  private final List<Compressor> compressors = new ArrayList<>();
+
+  private List<MediaType> contentTypes = CONTENT_TYPES;
+
+  private int minSize = 1024;
+
+  private long cacheSize = 0;
+
+  private Compression compression;
+
+  /**
+   * Add a compressor. Compressors are tried in the order they were added.
+   *
+   * @param compressor Compressor.
+   * @return This handler.
+   */
+  public @NonNull CompressionHandler compressor(@NonNull Compressor compressor) {
+    compressors.add(compressor);
+    return this;
+  }
+
+  /**
+   * Set content types allowlist. Wildcards are supported: <code>text/*</code>.
+   *
+   * @param contentTypes Content types.
+   * @return This handler.
+   */
+  public @NonNull CompressionHandler contentTypes(@NonNull MediaType... contentTypes) {
+    this.contentTypes = List.of(contentTypes);
+    return this;
+  }
+
+  /**
+   * Responses smaller than this are sent uncompressed.
+   *
+   * @param minSize Minimum size in bytes.
+   * @return This handler.
+   */
+  public @NonNull CompressionHandler minSize(int minSize) {
+    this.minSize = minSize;
+    return this;
+  }
+
+  /**
+   * Keep compressed content of responses with a strong <code>ETag</code>. Off by default.
+   *
+   * @param cacheSize Max memory used by compressed content, in bytes.
+   * @return This handler.
+   */
+  public @NonNull CompressionHandler cacheSize(long cacheSize) {
+    this.cacheSize = cacheSize;
+    return this;
+  }
+
+  @NonNull @Override
+  public Route.Handler apply(@NonNull Route.Handler next) {
+    if (compressors.isEmpty()) {
+      compressors.add(Compressor.gzip(ServerOptions.DEFAULT_COMPRESSION_LEVEL));
+    }
+    if (compression == null) {
+      // shared by all the routes, so is the cache
+      compression = new Compression(contentTypes, minSize, cacheSize);
+    }
+    return ctx -> {
+      vary(ctx);
+      Compressor compressor = negotiate(ctx.header("Accept-Encoding").valueOrNull());
+      if (compressor == null) {
+        return next.apply(ctx);
+      }
+      return DefaultHandler.DEFAULT
+          .apply(next)
+          .apply(new CompressionContext(ctx, compression, compressor));
+    };
+  }
+
+  /** Add <code>Accept-Encoding</code> to the <code>Vary</code> header, keeping existing values. */
+  private static void vary(Context ctx) {
+    String vary = ctx.getResponseHeader("Vary");
+    if (vary == null) {
+      ctx.setResponseHeader("Vary", "Accept-Encoding");
+    } else {
+      for (String name : vary.split(",")) {
+        String value = name.trim();
+        if (value.equals("*") || value.equalsIgnoreCase("Accept-Encoding")) {
+          return;
+        }
+      }
+      ctx.setResponseHeader("Vary", vary + ", Accept-Encoding");
+    }
+  }
+
+  private Compressor negotiate(String acceptEncoding) {
+    if (acceptEncoding != null) {
+      for (Compressor compressor : compressors) {
+        if (AssetHandler.accepts(acceptEncoding, compressor.getEncoding())) {
+          return compressor;
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.internal.handler.GzipCompressor;
+
+/**
+ * Compress response content for a given <code>Content-Encoding</code>. Used by {@link
+ * CompressionHandler}. Implementations must be thread-safe.
+ *
+ * <p>Only <code>gzip</code> is built-in. Other encodings like <code>br</code> or <code>zstd</code>
+ * are added by implementing this interface on top of a native library:
+ *
+ * <pre>{@code
+ * use(new CompressionHandler()
+ *     .compressor(new Compressor() {
+ *       public String getEncoding() {
+ *         return "zstd";
+ *       }
+ *
+ *       public byte[] compress(byte[] data, int offset, int length) {
+ *         return Zstd.compress(Arrays.copyOfRange(data, offset, offset + length));
+ *       }
+ *     })
+ *     .compressor(Compressor.gzip(6)));
+ * }</pre>
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public interface Compressor {
+
+  /**
+   * Content encoding, like <code>gzip</code>.
+   *
+   * @return Content encoding.
+   */
+  @NonNull String getEncoding();
+
+  /**
+   * Compress content.
+   *
+   * @param data Content.
+   * @param offset Content offset.
+   * @param length Content length.
+   * @return Compressed content.
+   */
+  @NonNull byte[] compress(@NonNull byte[] data, int offset, int length);
+
+  /**
+   * Gzip compressor. Native deflater state is pooled and reused between responses.
+   *
+   * @param level Compression level <code>1..9</code>.
+   * @return Gzip compressor.
+   */
+  static @NonNull Compressor gzip(int level) {
+    return new GzipCompressor(level);
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.internal.LruCache;
+
+/**
+ * Storage for {@link ResponseCacheHandler}. Implementations must be thread-safe and bounded.
+ *
+ * <p>The <code>jooby-caffeine</code> module provides a Caffeine implementation.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public interface ResponseCache {
+
+  /** A cached response: status, headers and encoded body. */
+  final class Entry {
+    private final int statusCode;
+
+    private final String contentType;
+
+    private final Map<String, String> headers;
+
+    private final byte[] body;
+
+    private final String etag;
+
+    private final long created;
+
+    private final long expires;
+
+    /**
+     * Creates a new cache entry.
+     *
+     * @param statusCode Response status code.
+     * @param contentType Response content type, including charset.
+     * @param headers Response headers to replay.
+     * @param body Response body.
+     * @param etag Entity tag of the response.
+     * @param created Creation time, in millis.
+     * @param expires Expiration time, in millis.
+     */
+    public Entry(
+        int statusCode,
+        @NonNull String contentType,
+        @NonNull Map<String, String> headers,
+        @NonNull byte[] body,
+        @NonNull String etag,
+        long created,
+        long expires) {
+      this.statusCode = statusCode;
+      this.contentType = contentType;
+      this.headers = headers;
+      this.body = body;
+      this.etag = etag;
+      this.created = created;
+      this.expires = expires;
+    }
+
+    /**
+     * Response status code.
+     *
+     * @return Response status code.
+     */
+    public int getStatusCode() {
+      return statusCode;
+    }
+
+    /**
+     * Response content type, including charset.
+     *
+     * @return Response content type, including charset.
+     */
+    public @NonNull String getContentType() {
+      return contentType;
+    }
+
+    /**
+     * Response headers to replay.
+     *
+     * @return Response headers to replay.
+     */
+    public @NonNull Map<String, String> getHeaders() {
+      return headers;
+    }
+
+    /**
+     * Response body.
+     *
+     * @return Response body.
+     */
+    public @NonNull byte[] getBody() {
+      return body;
+    }
+
+    /**
+     * Entity tag of the response.
+     *
+     * @return Entity tag of the response.
+     */
+    public @NonNull String getEtag() {
+      return etag;
+    }
+
+    /**
+     * Creation time, in millis.
+     *
+     * @return Creation time, in millis.
+     */
+    public long getCreated() {
+      return created;
+    }
+
+    /**
+     * Expiration time, in millis.
+     *
+     * @return Expiration time, in millis.
+     */
+    public long getExpires() {
+      return expires;
+    }
+
+    /**
+     * True when entry is expired.
+     *
+     * @param now Current time, in millis.
+     * @return True when entry is expired.
+     */
+    public boolean isExpired(long now) {
+      return now >= expires;
+    }
+
+    /**
+     * Approximated memory used by this entry, in bytes.
+     *
+     * @return Approximated memory used by this entry, in bytes.
+     */
+    public int getWeight() {
+      int weight = body.length + contentType.length() + etag.length() + 64;
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        weight += header.getKey().length() + header.getValue().length();
+      }
+      return weight;
+    }
+  }
+
+  /**
+   * Find a cached response.
+   *
+   * @param key Cache key.
+   * @return Cached response or <code>null</code>.
+   */
+  @Nullable Entry get(@NonNull String key);
+
+  /**
+   * Save a response.
+   *
+   * @param key Cache key.
+   * @param entry Response.
+   */
+  void put(@NonNull String key, @NonNull Entry entry);
+
+  /**
+   * Remove a response.
+   *
+   * @param key Cache key.
+   */
+  void invalidate(@NonNull String key);
+
+  /** Remove all the responses. */
+  void invalidateAll();
+
+  /**
+   * In-memory cache, evicts least recently used responses once the given size is reached.
+   *
+   * @param maxSize Max memory used by cached responses, in bytes.
+   * @return In-memory cache.
+   */
+  static @NonNull ResponseCache memory(long maxSize) {
+    var entries = new LruCache<String, Entry>(maxSize, Entry::getWeight);
+    return new ResponseCache() {
+      @Override
+      public @Nullable Entry get(@NonNull String key) {
+        return entries.get(key);
+      }
+
+      @Override
+      public void put(@NonNull String key, @NonNull Entry entry) {
+        entries.put(key, entry);
+      }
+
+      @Override
+      public void invalidate(@NonNull String key) {
+        entries.remove(key);
+      }
+
+      @Override
+      public void invalidateAll() {
+        entries.clear();
+      }
+    };
+  }
+}
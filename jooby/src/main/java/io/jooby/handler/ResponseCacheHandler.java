@@ -0,0 +1,206 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Route;
+import io.jooby.Router;
+import io.jooby.internal.handler.DefaultHandler;
+import io.jooby.internal.handler.ResponseCacheContext;
+import io.jooby.internal.handler.ResponseCacheStore;
+
+/**
+ * Server side response cache. Successful <code>GET</code> and <code>HEAD</code> responses are kept
+ * in a {@link ResponseCache} and served from there until they expire:
+ *
+ * <pre>{@code
+ * {
+ *   use(new ResponseCacheHandler()
+ *       .ttl(Duration.ofSeconds(30))
+ *       .keyHeaders("Accept-Language"));
+ *
+ *   get("/catalog", ctx -> catalog.findAll());
+ * }
+ * }</pre>
+ *
+ * <p>The cache key is made of: method, path, query string, the {@link #keyHeaders(String...)} and
+ * the request headers listed in the <code>Vary</code> response header.
+ *
+ * <p>A response is cached when:
+ *
+ * <ul>
+ *   <li>Status code is <code>200</code>.
+ *   <li>Response is produced from a <code>byte[]</code>, <code>String</code>, <code>ByteBuffer
+ *       </code> or an encoded route result. Files and streaming responses are never cached.
+ *   <li>There is no <code>Set-Cookie</code> header, <code>Vary: *</code> or <code>Cache-Control:
+ *       no-store/no-cache/private</code>.
+ * </ul>
+ *
+ * Entries expire after <code>Cache-Control: max-age</code> (when present) or {@link
+ * #ttl(Duration)}. Each entry has an <code>ETag</code> (generated when missing) and requests with a
+ * matching <code>If-None-Match</code> get a <code>304</code> response.
+ *
+ * <p>Concurrent requests for the same missing entry are coalesced: one request executes the route,
+ * the others wait for it and get the same response. Requests running on the event loop never wait,
+ * they execute the route. Requests with an <code>Authorization</code> or <code>Cookie</code> header
+ * always execute the route: they are never answered from cache.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class ResponseCacheHandler implements Route.Filter {
+
+  private static final long MAX_WAIT = TimeUnit.SECONDS.toMillis(30);
+
+  private final ResponseCache cache;
+
+  private final Map<String, CompletableFuture<ResponseCache.Entry>> inflight =
+      new ConcurrentHashMap<>();
+
+  private List<String> keyHeaders = List.of();
+
+  private List<String> responseHeaders =
+      List.of("Cache-Control", "Content-Encoding", "Content-Language", "Last-Modified", "Vary");
+
+  private long ttl = TimeUnit.MINUTES.toMillis(1);
+
+  private ResponseCacheStore store;
+
+  /**
+   * Creates a new response cache handler.
+   *
+   * @param cache Cache to use.
+   */
+  public ResponseCacheHandler(@NonNull ResponseCache cache) {
+    this.cache = cache;
+  }
+
+  /** Creates a new response cache handler backed by an in-memory cache of <code>64mb</code>. */
+  public ResponseCacheHandler() {
+    this(ResponseCache.memory(64 * 1024 * 1024));
+  }
+
+  /**
+   * Time to live of responses without <code>Cache-Control: max-age</code>. Default is: <code>1
+   * minute</code>.
+   *
+   * @param ttl Time to live.
+   * @return This handler.
+   */
+  public @NonNull ResponseCacheHandler ttl(@NonNull Duration ttl) {
+    this.ttl = ttl.toMillis();
+    return this;
+  }
+
+  /**
+   * Request headers to include in the cache key, like <code>Accept-Language</code>.
+   *
+   * @param headers Request header names.
+   * @return This handler.
+   */
+  public @NonNull ResponseCacheHandler keyHeaders(@NonNull String... headers) {
+    this.keyHeaders = List.of(headers);
+    return this;
+  }
+
+  /**
+   * Additional response headers to save and replay from cache. Content type, <code>ETag</code>,
+   * <code>Cache-Control</code>, <code>Content-Encoding</code>, <code>Content-Language</code>,
+   * <code>Last-Modified</code> and <code>Vary</code> are always saved.
+   *
+   * @param headers Response header names.
+   * @return This handler.
+   */
+  public @NonNull ResponseCacheHandler responseHeaders(@NonNull String... headers) {
+    List<String> list = new ArrayList<>(responseHeaders);
+    list.addAll(List.of(headers));
+    this.responseHeaders = List.copyOf(list);
+    return this;
+  }
+
+  /**
+   * Cache used by this handler.
+   *
+   * @return Cache used by this handler.
+   */
+  public @NonNull ResponseCache getCache() {
+    return cache;
+  }
+
+  @NonNull @Override
+  public Route.Handler apply(@NonNull Route.Handler next) {
+    if (store == null) {
+      // shared by all the routes using this handler
+      store = new ResponseCacheStore(cache, keyHeaders, responseHeaders, ttl);
+    }
+    Route.Handler handler = DefaultHandler.DEFAULT.apply(next);
+    return ctx -> {
+      String method = ctx.getMethod();
+      if (!method.equals(Router.GET) && !method.equals(Router.HEAD)) {
+        return next.apply(ctx);
+      }
+      String key = store.key(ctx);
+      if (store.isPrivate(ctx)) {
+        // never answer requests with credentials from cache
+        return handler.apply(new ResponseCacheContext(ctx, store, key));
+      }
+      ResponseCache.Entry entry = store.find(key);
+      if (entry != null) {
+        return store.send(ctx, entry);
+      }
+      if (ctx.isInIoThread()) {
+        return handler.apply(new ResponseCacheContext(ctx, store, key));
+      }
+      CompletableFuture<ResponseCache.Entry> leader = new CompletableFuture<>();
+      CompletableFuture<ResponseCache.Entry> running = inflight.putIfAbsent(key, leader);
+      if (running != null) {
+        entry = await(running);
+        if (entry != null) {
+          return store.send(ctx, entry);
+        }
+        // not cacheable, execute it
+        return handler.apply(new ResponseCacheContext(ctx, store, key));
+      }
+      ResponseCacheContext capture = new ResponseCacheContext(ctx, store, key);
+      ctx.onComplete(
+          done -> {
+            inflight.remove(key, leader);
+            ResponseCache.Entry shared = capture.getEntry();
+            // waiters might have different values for the Vary headers
+            leader.complete(
+                shared == null || shared.getHeaders().containsKey("Vary") ? null : shared);
+          });
+      try {
+        return handler.apply(capture);
+      } catch (Throwable x) {
+        inflight.remove(key, leader);
+        leader.complete(null);
+        throw x;
+      }
+    };
+  }
+
+  private static ResponseCache.Entry await(CompletableFuture<ResponseCache.Entry> future) {
+    try {
+      return future.get(MAX_WAIT, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException | TimeoutException x) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram. Values are grouped in buckets: each power of two is split into 16
+ * linear sub-buckets, which gives a relative error below 6.25% for any recorded value, with a fixed
+ * memory footprint (about 5kb).
+ *
+ * <p>Recording a value is a couple of atomic increments, no locking and no allocation. Reported
+ * percentiles are the upper bound of the bucket where the percentile falls.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public final class Histogram {
+  private static final int SUB_BUCKET_BITS = 4;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  private static final int MAX_BITS = 42;
+
+  /** Larger values are recorded as this one. */
+  public static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+
+  private static final int BUCKETS = (MAX_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder sum = new LongAdder();
+
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a value. Negative values are recorded as <code>0</code>.
+   *
+   * @param value Value to record.
+   */
+  public void record(long value) {
+    long v = Math.min(Math.max(value, 0), MAX_VALUE);
+    counts.incrementAndGet(indexOf(v));
+    count.increment();
+    sum.add(v);
+    if (v > max.get()) {
+      max.accumulateAndGet(v, Math::max);
+    }
+  }
+
+  /**
+   * Number of recorded values.
+   *
+   * @return Number of recorded values.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Sum of recorded values.
+   *
+   * @return Sum of recorded values.
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * Max recorded value.
+   *
+   * @return Max recorded value.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Mean of recorded values or <code>0</code>.
+   *
+   * @return Mean of recorded values or <code>0</code>.
+   */
+  public double getMean() {
+    long n = getCount();
+    return n == 0 ? 0 : (double) getSum() / n;
+  }
+
+  /**
+   * Value at the given percentile.
+   *
+   * @param percentile Percentile between <code>0</code> and <code>100</code>.
+   * @return Value at the given percentile or <code>0</code> when empty.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    double p = Math.min(Math.max(percentile, 0), 100);
+    long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /** Clear all recorded values. Concurrent recordings might be partially lost. */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.set(0);
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + sub;
+  }
+
+  static long highestValueOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  @Override
+  public String toString() {
+    return "count="
+        + getCount()
+        + ", p50="
+        + getValueAtPercentile(50)
+        + ", p99="
+        + getValueAtPercentile(99)
+        + ", max="
+        + getMax();
+  }
+}
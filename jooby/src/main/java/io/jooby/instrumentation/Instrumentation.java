@@ -0,0 +1,143 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.instrumentation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Extension;
+import io.jooby.Jooby;
+import io.jooby.Route;
+
+/**
+ * Collect per-route latency histograms for each request {@link Stage}: time on the event loop, time
+ * waiting in the executor queue, handler time, encode time and write time, plus response sizes.
+ *
+ * <pre>{@code
+ * {
+ *   install(new Instrumentation().exporter(MetricsExporter.log(), Duration.ofMinutes(1)));
+ *
+ *   get("/users/{id}", ctx -> ...);
+ * }
+ * }</pre>
+ *
+ * Metrics are keyed by route pattern (not by request path), so the number of metrics is bounded by
+ * the number of routes. Recording is lock-free and allocates a small object per request. Metrics
+ * are cumulative, an exporter might call {@link RouteMetrics#reset()} after publishing them.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class Instrumentation implements Extension {
+  private final List<RouteMetrics> routes = new CopyOnWriteArrayList<>();
+
+  private MetricsExporter exporter;
+
+  private Duration interval;
+
+  /**
+   * Periodically export metrics.
+   *
+   * @param exporter Metrics exporter.
+   * @param interval Export interval.
+   * @return This instance.
+   */
+  public @NonNull Instrumentation exporter(
+      @NonNull MetricsExporter exporter, @NonNull Duration interval) {
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("Export interval must be positive: " + interval);
+    }
+    this.exporter = exporter;
+    this.interval = interval;
+    return this;
+  }
+
+  /**
+   * All the route metrics.
+   *
+   * @return All the route metrics.
+   */
+  public @NonNull List<RouteMetrics> getRoutes() {
+    return Collections.unmodifiableList(routes);
+  }
+
+  /**
+   * Find metrics for the given method and pattern.
+   *
+   * @param method HTTP method.
+   * @param pattern Route pattern.
+   * @return Route metrics or <code>null</code>.
+   */
+  public @Nullable RouteMetrics getRoute(@NonNull String method, @NonNull String pattern) {
+    for (RouteMetrics route : routes) {
+      if (route.getMethod().equalsIgnoreCase(method) && route.getPattern().equals(pattern)) {
+        return route;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Creates metrics for a route. Called by the router at startup time.
+   *
+   * @param route Route.
+   * @return Route metrics.
+   */
+  public @NonNull RouteMetrics register(@NonNull Route route) {
+    RouteMetrics metrics = new RouteMetrics(route.getMethod(), route.getPattern());
+    routes.add(metrics);
+    return metrics;
+  }
+
+  @Override
+  public void install(@NonNull Jooby application) throws Exception {
+    application.getServices().put(Instrumentation.class, this);
+    if (exporter != null) {
+      application.onStarted(() -> schedule(application));
+    }
+  }
+
+  private void schedule(Jooby application) {
+    ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "metrics-exporter");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long millis = interval.toMillis();
+    scheduler.scheduleAtFixedRate(() -> export(application), millis, millis, TimeUnit.MILLISECONDS);
+    application.onStop(
+        () -> {
+          scheduler.shutdownNow();
+          export(application);
+        });
+  }
+
+  private void export(Jooby application) {
+    try {
+      List<RouteMetrics> active = new ArrayList<>(routes.size());
+      for (RouteMetrics route : routes) {
+        if (route.getCount() > 0) {
+          active.add(route);
+        }
+      }
+      if (!active.isEmpty()) {
+        exporter.export(active);
+      }
+    } catch (Throwable x) {
+      application.getLog().error("metrics exporter resulted in exception", x);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.instrumentation;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Publish route metrics somewhere: logs, a monitoring system, etc. Exporter runs periodically from
+ * a background thread, see {@link Instrumentation#exporter(MetricsExporter, java.time.Duration)}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+  /**
+   * Export metrics.
+   *
+   * @param routes Route metrics, routes without requests are excluded.
+   * @throws Exception If something goes wrong.
+   */
+  void export(@NonNull List<RouteMetrics> routes) throws Exception;
+
+  /**
+   * Log metrics using the <code>io.jooby.instrumentation</code> logger at info level.
+   *
+   * @return Log exporter.
+   */
+  static @NonNull MetricsExporter log() {
+    return log(LoggerFactory.getLogger(MetricsExporter.class.getPackageName()));
+  }
+
+  /**
+   * Log metrics using the given logger at info level. Output looks like:
+   *
+   * <pre>{@code
+   * GET /users/{id} count=10 total(p50=120 p99=900 max=1200) event_loop(...) ... bytes(...)
+   * }</pre>
+   *
+   * Times are in microseconds.
+   *
+   * @param log Logger.
+   * @return Log exporter.
+   */
+  static @NonNull MetricsExporter log(@NonNull Logger log) {
+    return routes -> {
+      if (log.isInfoEnabled()) {
+        for (RouteMetrics route : routes) {
+          StringBuilder line = new StringBuilder();
+          line.append(route).append(" count=").append(route.getCount());
+          for (Stage stage : Stage.values()) {
+            append(line, stage.name().toLowerCase(), route.getHistogram(stage));
+          }
+          append(line, "bytes", route.getBytes());
+          log.info("{}", line);
+        }
+      }
+    };
+  }
+
+  private static void append(StringBuilder line, String name, Histogram histogram) {
+    line.append(' ')
+        .append(name)
+        .append("(p50=")
+        .append(histogram.getValueAtPercentile(50))
+        .append(" p99=")
+        .append(histogram.getValueAtPercentile(99))
+        .append(" max=")
+        .append(histogram.getMax())
+        .append(')');
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.instrumentation;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Metrics of a route: a latency {@link Histogram} per {@link Stage}, expressed in microseconds and
+ * a {@link Histogram} of response sizes, expressed in bytes.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public final class RouteMetrics {
+  private final String method;
+
+  private final String pattern;
+
+  private final Map<Stage, Histogram> stages = new EnumMap<>(Stage.class);
+
+  private final Histogram bytes = new Histogram();
+
+  /**
+   * Creates a new route metrics.
+   *
+   * @param method HTTP method.
+   * @param pattern Route pattern.
+   */
+  public RouteMetrics(@NonNull String method, @NonNull String pattern) {
+    this.method = method;
+    this.pattern = pattern;
+    for (Stage stage : Stage.values()) {
+      stages.put(stage, new Histogram());
+    }
+  }
+
+  /**
+   * HTTP method.
+   *
+   * @return HTTP method.
+   */
+  public @NonNull String getMethod() {
+    return method;
+  }
+
+  /**
+   * Route pattern.
+   *
+   * @return Route pattern.
+   */
+  public @NonNull String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Latency histogram of a stage, in microseconds.
+   *
+   * @param stage Stage.
+   * @return Latency histogram of a stage, in microseconds.
+   */
+  public @NonNull Histogram getHistogram(@NonNull Stage stage) {
+    return stages.get(stage);
+  }
+
+  /**
+   * Histogram of response sizes, in bytes.
+   *
+   * @return Histogram of response sizes, in bytes.
+   */
+  public @NonNull Histogram getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Number of completed requests.
+   *
+   * @return Number of completed requests.
+   */
+  public long getCount() {
+    return stages.get(Stage.TOTAL).getCount();
+  }
+
+  /**
+   * Record the time spent in a stage.
+   *
+   * @param stage Stage.
+   * @param nanos Time spent, in nanoseconds.
+   */
+  public void record(@NonNull Stage stage, long nanos) {
+    stages.get(stage).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+
+  /**
+   * Record a response size.
+   *
+   * @param bytes Response size in bytes.
+   */
+  public void recordBytes(long bytes) {
+    this.bytes.record(bytes);
+  }
+
+  /** Clear all recorded values. */
+  public void reset() {
+    stages.values().forEach(Histogram::reset);
+    bytes.reset();
+  }
+
+  @Override
+  public String toString() {
+    return method + " " + pattern;
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.instrumentation;
+
+/**
+ * Request processing stages tracked by {@link Instrumentation}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public enum Stage {
+  /**
+   * Time spent on the IO thread, from the time the route is matched until it is dispatched to an
+   * executor. For routes running on the event loop this is the routing time only.
+   */
+  EVENT_LOOP,
+
+  /** Time spent waiting in the executor queue, for dispatched routes only. */
+  QUEUE,
+
+  /** Time spent running the route pipeline: decorators and handler. */
+  HANDLER,
+
+  /** Time spent encoding the response, see {@link io.jooby.MessageEncoder}. */
+  ENCODE,
+
+  /** Time from the end of the handler (minus encoding time) until the response is complete. */
+  WRITE,
+
+  /** Time from the time the route is matched until the response is complete. */
+  TOTAL
+}
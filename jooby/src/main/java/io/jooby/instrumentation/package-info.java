@@ -0,0 +1,3 @@
+/** Per-route latency histograms and metrics exporter. */
+@edu.umd.cs.findbugs.annotations.ReturnValuesAreNonnullByDefault
+package io.jooby.instrumentation;
@@ -0,0 +1,168 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.SneakyThrows;
+import io.jooby.handler.Asset;
+
+/**
+ * Keep small assets in memory. Assets are loaded on first access, least recently used assets are
+ * evicted once the cache is full. Once loaded, an asset is never checked for changes.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class AssetCache {
+  /** Content encoding to file extension, in order of preference. */
+  public static final Map<String, String> ENCODINGS;
+
+  static {
+    Map<String, String> encodings = new LinkedHashMap<>();
+    encodings.put("br", ".br");
+    encodings.put("gzip", ".gz");
+    ENCODINGS = Collections.unmodifiableMap(encodings);
+  }
+
+  /** Don't bother compressing smaller assets. */
+  private static final int MIN_COMPRESS_SIZE = 256;
+
+  private final LruCache<String, CachedAsset> assets;
+
+  private final int maxAssetSize;
+
+  /**
+   * Creates a new asset cache.
+   *
+   * @param maxAssetSize Assets larger than this are never cached.
+   * @param maxSize Max memory used by all the cached assets.
+   */
+  public AssetCache(int maxAssetSize, long maxSize) {
+    this.maxAssetSize = maxAssetSize;
+    this.assets = new LruCache<>(maxSize, CachedAsset::getWeight);
+  }
+
+  /**
+   * Find a cached asset.
+   *
+   * @param path Asset path.
+   * @return Cached asset or <code>null</code>.
+   */
+  public @Nullable CachedAsset get(@NonNull String path) {
+    return assets.get(path);
+  }
+
+  /**
+   * Load an asset in memory, when small enough.
+   *
+   * @param path Asset path.
+   * @param asset Asset.
+   * @param resolver Resolve precompressed siblings, like <code>app.js.br</code>.
+   * @param compress True to gzip textual assets without a precompressed sibling.
+   * @return Cached asset or given asset when it is too large.
+   */
+  public @NonNull Asset put(
+      @NonNull String path,
+      @NonNull Asset asset,
+      @NonNull Function<String, Asset> resolver,
+      boolean compress) {
+    if (!cacheable(asset)) {
+      return asset;
+    }
+    var content = read(asset);
+    var etag = asset.getEtag();
+    var lastModified = asset.getLastModified();
+    var contentType = asset.getContentType();
+    Map<String, CachedAsset> encodings = new HashMap<>();
+    for (var encoding : ENCODINGS.entrySet()) {
+      byte[] bytes = null;
+      var sibling = resolver.apply(path + encoding.getValue());
+      if (sibling != null) {
+        if (cacheable(sibling)) {
+          bytes = read(sibling);
+        } else {
+          close(sibling);
+        }
+      } else if (compress && encoding.getKey().equals("gzip")) {
+        bytes = gzip(content, contentType.isTextual());
+      }
+      if (bytes != null) {
+        encodings.put(
+            encoding.getKey(),
+            new CachedAsset(
+                bytes, etag(etag, encoding.getKey()), lastModified, contentType, Map.of()));
+      }
+    }
+    var cached = new CachedAsset(content, etag, lastModified, contentType, encodings);
+    var existing = assets.putIfAbsent(path, cached);
+    return existing == null ? cached : existing;
+  }
+
+  private boolean cacheable(Asset asset) {
+    if (asset.isDirectory()) {
+      return false;
+    }
+    var length = asset.getSize();
+    return length >= 0 && length <= maxAssetSize;
+  }
+
+  /**
+   * Entity tag of an encoded representation.
+   *
+   * @param etag Entity tag.
+   * @param encoding Content encoding.
+   * @return Entity tag for encoded content.
+   */
+  public static @NonNull String etag(@NonNull String etag, @NonNull String encoding) {
+    // "xyz" => "xyz-gzip", W/"xyz" => W/"xyz-gzip"
+    if (etag.endsWith("\"")) {
+      return etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+    }
+    return etag + "-" + encoding;
+  }
+
+  private static byte[] read(Asset asset) {
+    try (asset;
+        var in = asset.stream()) {
+      return in.readAllBytes();
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private static void close(Asset asset) {
+    try {
+      asset.close();
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private static byte[] gzip(byte[] content, boolean textual) {
+    if (!textual || content.length < MIN_COMPRESS_SIZE) {
+      return null;
+    }
+    try {
+      var out = new ByteArrayOutputStream(content.length / 2);
+      try (var gzip = new GZIPOutputStream(out)) {
+        gzip.write(content);
+      }
+      return out.size() < content.length ? out.toByteArray() : null;
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.MediaType;
+import io.jooby.handler.Asset;
+
+/**
+ * Asset loaded in memory, ready to send. E-tag, last modified and media type are computed once.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class CachedAsset implements Asset {
+  private final byte[] content;
+
+  private final String etag;
+
+  private final long lastModified;
+
+  private final MediaType contentType;
+
+  private final Map<String, CachedAsset> encodings;
+
+  /**
+   * Creates a cached asset.
+   *
+   * @param content Asset content.
+   * @param etag E-tag.
+   * @param lastModified Last modified or <code>-1</code>.
+   * @param contentType Media type.
+   * @param encodings Compressed versions of this asset by content encoding.
+   */
+  public CachedAsset(
+      @NonNull byte[] content,
+      @NonNull String etag,
+      long lastModified,
+      @NonNull MediaType contentType,
+      @NonNull Map<String, CachedAsset> encodings) {
+    this.content = content;
+    this.etag = etag;
+    this.lastModified = lastModified;
+    this.contentType = contentType;
+    this.encodings = encodings;
+  }
+
+  /**
+   * Compressed version of this asset.
+   *
+   * @param encoding Content encoding, like <code>gzip</code>.
+   * @return Compressed asset or <code>null</code>.
+   */
+  public @Nullable CachedAsset getEncoding(@NonNull String encoding) {
+    return encodings.get(encoding);
+  }
+
+  /**
+   * Asset content. Callers must not modify it.
+   *
+   * @return Asset content.
+   */
+  public @NonNull byte[] getContent() {
+    return content;
+  }
+
+  /**
+   * Memory used by this asset, including compressed versions.
+   *
+   * @return Memory used by this asset.
+   */
+  public long getWeight() {
+    long weight = content.length;
+    for (var encoding : encodings.values()) {
+      weight += encoding.getWeight();
+    }
+    return weight;
+  }
+
+  @Override
+  public long getSize() {
+    return content.length;
+  }
+
+  @Override
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  @Override
+  public boolean isDirectory() {
+    return false;
+  }
+
+  @NonNull @Override
+  public String getEtag() {
+    return etag;
+  }
+
+  @NonNull @Override
+  public MediaType getContentType() {
+    return contentType;
+  }
+
+  @Override
+  public InputStream stream() {
+    return new ByteArrayInputStream(content);
+  }
+
+  @Override
+  public void close() {
+    // NOOP
+  }
+}
@@ -6,6 +6,7 @@
 package io.jooby.internal;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -969,8 +970,8 @@ class Chi implements RouteTree {
                 }
 
                 // rctx.routeParams.Values = append(rctx.routeParams.Values, xsearch[:p])
-                int prevlen = rctx.vars.size();
-                rctx.value(xsearch.substring(0, p).toString());
+                int prevlen = rctx.size();
+                rctx.value(xsearch.base, xsearch.startIndex, xsearch.startIndex + p);
                 xsearch = xsearch.substring(p);
 
                 if (xsearch.length() == 0) {
@@ -999,7 +1000,7 @@ class Chi implements RouteTree {
               // catch-all nodes
               // rctx.routeParams.Values = append(rctx.routeParams.Values, search)
               if (xsearch.length() > 0) {
-                rctx.value(xsearch.toString());
+                rctx.value(xsearch.base, xsearch.startIndex, xsearch.endIndex);
               }
               xn = nds[0];
               xsearch = EMPTY_SLICE;
@@ -1208,6 +1209,11 @@ class Chi implements RouteTree {
 
   private StaticMap staticPaths = StaticMap.INIT;
 
+  /** Static routes by path and method, available until {@link #compile()}. */
+  private Map<String, Map<String, Route>> staticRoutes = new LinkedHashMap<>();
+
+  private StaticDispatchTable dispatchTable;
+
   public void insert(String method, String pattern, Route route) {
     String baseCatchAll = baseCatchAll(pattern);
     if (baseCatchAll.length() > 1) {
@@ -1223,6 +1229,9 @@ class Chi implements RouteTree {
       StaticRoute staticRoute = new StaticRoute();
       staticPaths = staticPaths.put(pattern, staticRoute);
       staticRoute.put(method, route);
+      if (staticRoutes != null) {
+        staticRoutes.computeIfAbsent(pattern, k -> new LinkedHashMap<>()).put(method, route);
+      }
     }
     root.insertRoute(method, pattern, route);
   }
@@ -1239,6 +1248,18 @@ class Chi implements RouteTree {
     insert(route.getMethod(), route.getPattern(), route);
   }
 
+  /**
+   * Freeze static routes into a {@link StaticDispatchTable}. Must be called once all the routes
+   * have been inserted, usually at application startup.
+   */
+  public void compile() {
+    if (staticRoutes != null) {
+      dispatchTable = StaticDispatchTable.create(staticRoutes);
+      staticPaths = StaticMap.INIT;
+      staticRoutes = null;
+    }
+  }
+
   public void destroy() {
     root.destroy();
   }
@@ -1249,6 +1270,10 @@ class Chi implements RouteTree {
 
   @Override
   public Router.Match find(String method, String path) {
+    if (dispatchTable != null) {
+      StaticRouterMatch match = dispatchTable.get(method, path);
+      return match == null ? findInternal(method, path) : match;
+    }
     StaticRoute staticRoute = staticPaths.get(path);
     if (staticRoute == null) {
       return findInternal(method, path);
@@ -12,6 +12,7 @@ import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Stream;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
@@ -22,6 +23,7 @@ import io.jooby.ModelAndView;
 import io.jooby.StatusCode;
 import io.jooby.TemplateEngine;
 import io.jooby.buffer.DataBuffer;
+import io.jooby.internal.handler.ChunkedIterator;
 
 public class HttpMessageEncoder implements MessageEncoder {
 
@@ -96,6 +98,26 @@ public class HttpMessageEncoder implements MessageEncoder {
       ctx.send((ByteBuffer) value);
       return null;
     }
+    /** Stream, Iterator and NDJSON collections: */
+    if (value instanceof Stream || value instanceof Iterator || value instanceof Collection) {
+      if (isNdjson(ctx) || !(value instanceof Collection)) {
+        ChunkedIterator.send(ctx, value);
+        return null;
+      }
+    }
+    return encoder(ctx).encode(ctx, value);
+  }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer)
+      throws Exception {
+    if (value instanceof CharSequence || value instanceof Number || value instanceof byte[]) {
+      return MessageEncoder.super.encode(ctx, value, buffer);
+    }
+    return encoder(ctx).encode(ctx, value, buffer);
+  }
+
+  private MessageEncoder encoder(Context ctx) {
     if (encoders != null) {
       // Content negotiation, find best:
       List<MediaType> produces = ctx.getRoute().getProduces();
@@ -103,10 +125,25 @@ public class HttpMessageEncoder implements MessageEncoder {
         produces = new ArrayList<>(encoders.keySet());
       }
       MediaType type = ctx.accept(produces);
-      MessageEncoder encoder = encoders.getOrDefault(type, MessageEncoder.TO_STRING);
-      return encoder.encode(ctx, value);
+      if (MediaType.ndjson.equals(type)) {
+        // each line is a json document
+        type = MediaType.json;
+      }
+      return encoders.getOrDefault(type, MessageEncoder.TO_STRING);
     } else {
-      return MessageEncoder.TO_STRING.encode(ctx, value);
+      return MessageEncoder.TO_STRING;
+    }
+  }
+
+  private static boolean isNdjson(Context ctx) {
+    if (MediaType.ndjson.equals(ctx.getResponseType())) {
+      return true;
+    }
+    List<MediaType> produces = ctx.getRoute().getProduces();
+    if (produces.contains(MediaType.ndjson) && MediaType.ndjson.equals(ctx.accept(produces))) {
+      ctx.setResponseType(MediaType.ndjson);
+      return true;
     }
+    return false;
   }
 }
@@ -0,0 +1,111 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Weight bounded cache. Least recently used entries are evicted once the total weight exceeds the
+ * max weight. Entries heavier than the max weight are never cached.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author edgar
+ * @since 3.5.4
+ */
+public class LruCache<K, V> {
+  private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final long maxWeight;
+
+  private final ToLongFunction<V> weigher;
+
+  private long weight;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxWeight Max weight of all the entries.
+   * @param weigher Weight of an entry, usually its size in bytes.
+   */
+  public LruCache(long maxWeight, @NonNull ToLongFunction<V> weigher) {
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  /**
+   * Find an entry and mark it as recently used.
+   *
+   * @param key Key.
+   * @return Value or <code>null</code>.
+   */
+  public synchronized @Nullable V get(@NonNull K key) {
+    return entries.get(key);
+  }
+
+  /**
+   * Save an entry, replacing the existing one.
+   *
+   * @param key Key.
+   * @param value Value.
+   */
+  public synchronized void put(@NonNull K key, @NonNull V value) {
+    long valueWeight = weigher.applyAsLong(value);
+    if (valueWeight > maxWeight) {
+      return;
+    }
+    V existing = entries.put(key, value);
+    weight += valueWeight - (existing == null ? 0 : weigher.applyAsLong(existing));
+    evict();
+  }
+
+  /**
+   * Save an entry, unless there is one already.
+   *
+   * @param key Key.
+   * @param value Value.
+   * @return Existing value or <code>null</code>.
+   */
+  public synchronized @Nullable V putIfAbsent(@NonNull K key, @NonNull V value) {
+    V existing = entries.get(key);
+    if (existing == null) {
+      put(key, value);
+    }
+    return existing;
+  }
+
+  /**
+   * Remove an entry.
+   *
+   * @param key Key.
+   */
+  public synchronized void remove(@NonNull K key) {
+    V existing = entries.remove(key);
+    if (existing != null) {
+      weight -= weigher.applyAsLong(existing);
+    }
+  }
+
+  /** Remove all the entries. */
+  public synchronized void clear() {
+    entries.clear();
+    weight = 0;
+  }
+
+  private void evict() {
+    var it = entries.values().iterator();
+    while (weight > maxWeight && it.hasNext()) {
+      // least recently used first
+      weight -= weigher.applyAsLong(it.next());
+      it.remove();
+    }
+  }
+}
@@ -5,11 +5,16 @@
  */
 package io.jooby.internal;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import io.jooby.Context;
@@ -17,59 +22,369 @@ import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 
+/**
+ * In-memory session store.
+ *
+ * <p>While a session is in use, requests share one live attribute map, so concurrent updates of
+ * different attributes are never lost. Once the last request saves it, the session goes idle and
+ * attributes are kept encoded as a single string, which is way smaller than a map per session.
+ *
+ * <p>Expiration uses a timer wheel: sessions are scheduled into the bucket of their expiration time
+ * and every request process only the buckets that are due, instead of iterating all the sessions.
+ *
+ * <p>When a capacity is set, the least recently used session (from a small sample) is evicted once
+ * the store is full.
+ */
 public class MemorySessionStore extends SessionStore.InMemory {
 
-  private ConcurrentHashMap<String, Data> sessions = new ConcurrentHashMap<>();
+  /** Number of buckets in the timer wheel, must be power of two. */
+  private static final int WHEEL_SIZE = 64;
+
+  /** Number of sessions inspected to find an eviction candidate. */
+  private static final int EVICTION_SAMPLE = 8;
+
+  private static class Entry {
+    private final long creationTime;
+
+    private volatile long lastAccessedTime;
+
+    private volatile long deadline;
+
+    /** Live attributes, shared by requests using the session. Null while idle. */
+    private Map<String, String> attributes;
 
-  private Duration timeout;
+    /** Encoded attributes while idle. */
+    private String encoded;
+
+    /** Number of requests using the session. */
+    private int users;
+
+    Entry(long creationTime, long lastAccessedTime, Map<String, String> attributes) {
+      this.creationTime = creationTime;
+      this.lastAccessedTime = lastAccessedTime;
+      this.attributes = attributes;
+      this.users = 1;
+    }
+
+    /**
+     * Session data for a new request. Attributes are decoded only when the session was idle.
+     *
+     * @return Session data.
+     */
+    synchronized Data acquire() {
+      users += 1;
+      return toData();
+    }
+
+    /** Request is done. Encode attributes once there are no more requests using the session. */
+    synchronized void release() {
+      if (users > 0) {
+        users -= 1;
+      }
+      if (users == 0 && attributes != null) {
+        encoded = encode(attributes);
+        attributes = null;
+      }
+    }
+
+    synchronized Data toData() {
+      if (attributes == null) {
+        attributes = decode(encoded);
+        encoded = null;
+      }
+      return new Data(
+          Instant.ofEpochMilli(creationTime), Instant.ofEpochMilli(lastAccessedTime), attributes);
+    }
+
+    synchronized void update(Map<String, String> attributes) {
+      // same map for requests sharing the session, nothing to do
+      if (this.attributes != attributes) {
+        this.attributes = attributes;
+        this.encoded = null;
+      }
+    }
+  }
+
+  private final ConcurrentHashMap<String, Entry> sessions = new ConcurrentHashMap<>();
+
+  @SuppressWarnings("unchecked")
+  private final Set<String>[] wheel = new Set[WHEEL_SIZE];
+
+  private final AtomicLong processedTick = new AtomicLong();
+
+  private final AtomicBoolean evicting = new AtomicBoolean();
+
+  private Iterator<Map.Entry<String, Entry>> evictionCursor;
+
+  private final int maxSessions;
+
+  private final Clock clock;
+
+  private volatile long timeout;
+
+  private volatile long tick;
 
   public MemorySessionStore(SessionToken token, Duration timeout) {
+    this(token, timeout, 0);
+  }
+
+  public MemorySessionStore(SessionToken token, Duration timeout, int maxSessions) {
+    this(token, timeout, maxSessions, Clock.systemUTC());
+  }
+
+  public MemorySessionStore(SessionToken token, Duration timeout, int maxSessions, Clock clock) {
     super(token);
-    this.timeout = Optional.ofNullable(timeout).filter(t -> t.toMillis() > 0).orElse(null);
+    this.maxSessions = maxSessions;
+    this.clock = clock;
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel[i] = ConcurrentHashMap.newKeySet();
+    }
+    setTimeout(timeout);
   }
 
   @Override
   protected Data getOrCreate(String sessionId, Function<String, Data> factory) {
-    return sessions.computeIfAbsent(sessionId, factory);
+    var created = new Data[1];
+    var entry =
+        sessions.computeIfAbsent(
+            sessionId,
+            id -> {
+              created[0] = factory.apply(id);
+              return newEntry(created[0]);
+            });
+    if (created[0] == null) {
+      return entry.acquire();
+    }
+    schedule(sessionId, entry);
+    evict();
+    return created[0];
   }
 
   @Override
   protected Data getOrNull(String sessionId) {
-    return sessions.get(sessionId);
+    var entry = sessions.get(sessionId);
+    if (entry == null) {
+      return null;
+    }
+    if (isExpired(entry, clock.millis())) {
+      // Not yet processed by timer wheel
+      sessions.remove(sessionId, entry);
+      return null;
+    }
+    return entry.acquire();
   }
 
   @Override
   protected Data remove(String sessionId) {
-    return sessions.remove(sessionId);
+    var entry = sessions.remove(sessionId);
+    return entry == null ? null : entry.toData();
   }
 
   @Override
   protected void put(String sessionId, Data data) {
-    sessions.put(sessionId, data);
+    var entry = sessions.get(sessionId);
+    if (entry == null) {
+      entry = newEntry(data);
+      var existing = sessions.putIfAbsent(sessionId, entry);
+      if (existing == null) {
+        schedule(sessionId, entry);
+        evict();
+        return;
+      }
+      entry = existing;
+    }
+    entry.update(data.getAttributes());
+    entry.lastAccessedTime = data.getLastAccessedTime().toEpochMilli();
+    schedule(sessionId, entry);
+  }
+
+  @Override
+  public void touchSession(Context ctx, Session session) {
+    // attributes are live: just move the expiration time
+    var entry = sessions.get(session.getId());
+    if (entry == null) {
+      super.saveSession(ctx, session);
+    } else {
+      entry.lastAccessedTime = clock.millis();
+      schedule(session.getId(), entry);
+    }
+    getToken().saveToken(ctx, session.getId());
+  }
+
+  @Override
+  public void saveSession(Context ctx, Session session) {
+    super.saveSession(ctx, session);
+    var entry = sessions.get(session.getId());
+    if (entry != null) {
+      entry.release();
+    }
   }
 
   @Override
   public Session findSession(Context ctx) {
-    purge();
+    expire(clock.millis());
     return super.findSession(ctx);
   }
 
-  /** Check for expired session and delete them. */
-  private void purge() {
-    if (timeout != null) {
-      Iterator<Map.Entry<String, Data>> iterator = sessions.entrySet().iterator();
-      while (iterator.hasNext()) {
-        Map.Entry<String, Data> entry = iterator.next();
-        Data session = entry.getValue();
-        if (session.isExpired(timeout)) {
-          iterator.remove();
+  @Override
+  public Session newSession(Context ctx) {
+    expire(clock.millis());
+    return super.newSession(ctx);
+  }
+
+  public SessionStore setTimeout(Duration timeout) {
+    this.timeout =
+        Optional.ofNullable(timeout).map(Duration::toMillis).filter(t -> t > 0).orElse(0L);
+    // a session never expires later than one turn of the wheel
+    this.tick = Math.max(1, this.timeout / (WHEEL_SIZE - 2));
+    this.processedTick.set(clock.millis() / tick);
+    for (var bucket : wheel) {
+      bucket.clear();
+    }
+    // buckets are empty now: reset deadlines so every live session goes back into the wheel
+    sessions.forEach(
+        (sessionId, entry) -> {
+          entry.deadline = 0;
+          schedule(sessionId, entry);
+        });
+    return this;
+  }
+
+  /**
+   * Number of sessions in memory, including expired sessions not yet removed.
+   *
+   * @return Number of sessions.
+   */
+  public int size() {
+    return sessions.size();
+  }
+
+  private Entry newEntry(Data data) {
+    return new Entry(
+        data.getCreationTime().toEpochMilli(),
+        data.getLastAccessedTime().toEpochMilli(),
+        data.getAttributes());
+  }
+
+  private boolean isExpired(Entry entry, long now) {
+    return timeout > 0 && now - entry.lastAccessedTime > timeout;
+  }
+
+  /**
+   * Move the session to the bucket of its expiration time. Previous bucket keeps a stale reference,
+   * which is discarded once the bucket is processed.
+   */
+  private void schedule(String sessionId, Entry entry) {
+    if (timeout > 0) {
+      long deadline = (entry.lastAccessedTime + timeout) / tick;
+      if (entry.deadline != deadline) {
+        entry.deadline = deadline;
+        wheel[(int) (deadline & (WHEEL_SIZE - 1))].add(sessionId);
+      }
+    }
+  }
+
+  /**
+   * Process buckets due since last call. Only one thread does the work, others keep going.
+   *
+   * @param now Current time.
+   */
+  private void expire(long now) {
+    if (timeout <= 0) {
+      return;
+    }
+    long current = now / tick;
+    long processed = processedTick.get();
+    if (processed >= current || !processedTick.compareAndSet(processed, current)) {
+      return;
+    }
+    // one turn is enough after long idle periods
+    long from = Math.max(processed, current - WHEEL_SIZE);
+    for (long t = from; t < current; t++) {
+      var bucket = wheel[(int) (t & (WHEEL_SIZE - 1))];
+      var it = bucket.iterator();
+      while (it.hasNext()) {
+        var sessionId = it.next();
+        var entry = sessions.get(sessionId);
+        if (entry == null || entry.deadline > t) {
+          // removed or rescheduled
+          if (entry == null || (entry.deadline & (WHEEL_SIZE - 1)) != (t & (WHEEL_SIZE - 1))) {
+            it.remove();
+          }
+        } else if (isExpired(entry, now)) {
+          sessions.remove(sessionId, entry);
+          it.remove();
         }
       }
     }
   }
 
-  public SessionStore setTimeout(Duration timeout) {
-    this.timeout = timeout;
-    return this;
+  /**
+   * Encode attributes as <code>length:key length:value</code> pairs, without separators.
+   *
+   * @param attributes Session attributes.
+   * @return Encoded attributes.
+   */
+  static String encode(Map<String, String> attributes) {
+    if (attributes.isEmpty()) {
+      return "";
+    }
+    var buffer = new StringBuilder();
+    for (var e : attributes.entrySet()) {
+      buffer.append(e.getKey().length()).append(':').append(e.getKey());
+      buffer.append(e.getValue().length()).append(':').append(e.getValue());
+    }
+    return buffer.toString();
+  }
+
+  /**
+   * Decode attributes created by {@link #encode(Map)}.
+   *
+   * @param value Encoded attributes.
+   * @return Mutable session attributes.
+   */
+  static Map<String, String> decode(String value) {
+    var attributes = new ConcurrentHashMap<String, String>();
+    int i = 0;
+    while (i < value.length()) {
+      int sep = value.indexOf(':', i);
+      int end = sep + 1 + Integer.parseInt(value, i, sep, 10);
+      var key = value.substring(sep + 1, end);
+      sep = value.indexOf(':', end);
+      i = sep + 1 + Integer.parseInt(value, end, sep, 10);
+      attributes.put(key, value.substring(sep + 1, i));
+    }
+    return attributes;
+  }
+
+  /** Evict least recently used sessions, from a sample, until size is back under capacity. */
+  private void evict() {
+    if (maxSessions <= 0
+        || sessions.size() <= maxSessions
+        || !evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      while (sessions.size() > maxSessions) {
+        String candidate = null;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLE; i++) {
+          if (evictionCursor == null || !evictionCursor.hasNext()) {
+            evictionCursor = sessions.entrySet().iterator();
+            if (!evictionCursor.hasNext()) {
+              return;
+            }
+          }
+          var e = evictionCursor.next();
+          if (e.getValue().lastAccessedTime < oldest) {
+            oldest = e.getValue().lastAccessedTime;
+            candidate = e.getKey();
+          }
+        }
+        sessions.remove(candidate);
+      }
+    } finally {
+      evicting.set(false);
+    }
   }
 }
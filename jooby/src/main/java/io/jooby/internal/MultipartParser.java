@@ -0,0 +1,450 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.Multipart;
+import io.jooby.SneakyThrows;
+import io.jooby.exception.BadRequestException;
+import io.jooby.exception.UnsupportedMediaType;
+
+/**
+ * Pull based <code>multipart/form-data</code> parser (RFC 7578). It keeps a single buffer: part
+ * content is read from the underlying stream as the caller consumes it.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class MultipartParser implements Multipart {
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final int MAX_HEADERS_SIZE = 8192;
+
+  private static final byte CR = '\r';
+
+  private static final byte LF = '\n';
+
+  private static final byte DASH = '-';
+
+  private final InputStream in;
+
+  /** CRLF + "--" + boundary. */
+  private final byte[] delimiter;
+
+  private final byte[] buffer;
+
+  private int pos;
+
+  private int limit;
+
+  private boolean started;
+
+  private boolean done;
+
+  private PartImpl current;
+
+  /**
+   * Creates a new parser.
+   *
+   * @param in Request body.
+   * @param boundary Multipart boundary.
+   */
+  public MultipartParser(@NonNull InputStream in, @NonNull String boundary) {
+    this.in = in;
+    this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+    this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 4)];
+    // First boundary isn't preceded by CRLF, add it so it looks like any other delimiter
+    this.buffer[0] = CR;
+    this.buffer[1] = LF;
+    this.limit = 2;
+  }
+
+  /**
+   * Creates a streaming multipart from request body.
+   *
+   * @param ctx Web context.
+   * @return Streaming multipart.
+   */
+  public static @NonNull Multipart create(@NonNull Context ctx) {
+    if (!ctx.getRoute().isStreamingBody()) {
+      throw new IllegalStateException(
+          "Streaming multipart requires a streaming route: "
+              + ctx.getMethod()
+              + " "
+              + ctx.getRoute().getPattern()
+              + ", see Route.setStreamingBody(boolean)");
+    }
+    MediaType type = ctx.getRequestType();
+    if (type == null || !type.getValue().equals(MediaType.MULTIPART_FORMDATA)) {
+      throw new UnsupportedMediaType(type == null ? null : type.getValue());
+    }
+    String boundary = type.getParameter("boundary");
+    if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"")) {
+      boundary = boundary.substring(1, boundary.length() - 1);
+    }
+    if (boundary == null || boundary.isEmpty()) {
+      throw new BadRequestException("Missing multipart boundary");
+    }
+    return new MultipartParser(ctx.body().stream(), boundary);
+  }
+
+  @Nullable @Override
+  public Part next() {
+    try {
+      if (!started) {
+        started = true;
+        // skip preamble
+        new PartImpl(null, null, null).skip();
+      } else if (current != null) {
+        current.skip();
+      }
+      current = null;
+      if (done) {
+        return null;
+      }
+      current = readHeaders();
+      return current;
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private PartImpl readHeaders() throws IOException {
+    Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    int size = 0;
+    while (true) {
+      int eol = indexOfCRLF();
+      while (eol < 0) {
+        if (limit - pos == buffer.length || !fill()) {
+          throw malformed("headers are too large or incomplete");
+        }
+        eol = indexOfCRLF();
+      }
+      int len = eol - pos;
+      size += len;
+      if (size > MAX_HEADERS_SIZE) {
+        throw malformed("headers are too large");
+      }
+      if (len == 0) {
+        pos += 2;
+        break;
+      }
+      String line = new String(buffer, pos, len, StandardCharsets.UTF_8);
+      pos = eol + 2;
+      int sep = line.indexOf(':');
+      if (sep > 0) {
+        headers.put(line.substring(0, sep).trim(), line.substring(sep + 1).trim());
+      }
+    }
+    String disposition = headers.get("Content-Disposition");
+    if (disposition == null) {
+      throw malformed("missing Content-Disposition");
+    }
+    String name = dispositionParameter(disposition, "name");
+    if (name == null) {
+      throw malformed("missing part name");
+    }
+    return new PartImpl(name, dispositionParameter(disposition, "filename"), headers);
+  }
+
+  /**
+   * Number of bytes of current part available in buffer or <code>-1</code> when the part ends at
+   * current position.
+   */
+  private int readable() throws IOException {
+    while (true) {
+      int index = indexOfDelimiter();
+      if (index == pos) {
+        return -1;
+      }
+      if (index > pos) {
+        return index - pos;
+      }
+      // bytes that can't be the start of a delimiter
+      int safe = limit - pos - (delimiter.length - 1);
+      if (safe > 0) {
+        return safe;
+      }
+      if (!fill()) {
+        throw malformed("unexpected end of body");
+      }
+    }
+  }
+
+  /** Consume delimiter and what follows: CRLF (next part) or "--" (end of multipart). */
+  private void consumeDelimiter() throws IOException {
+    pos += delimiter.length;
+    if (!ensure(2)) {
+      throw malformed("unexpected end of body");
+    }
+    if (buffer[pos] == DASH && buffer[pos + 1] == DASH) {
+      pos += 2;
+      done = true;
+      return;
+    }
+    // transport padding
+    while (ensure(1) && (buffer[pos] == ' ' || buffer[pos] == '\t')) {
+      pos += 1;
+    }
+    if (!ensure(2) || buffer[pos] != CR || buffer[pos + 1] != LF) {
+      throw malformed("missing CRLF after boundary");
+    }
+    pos += 2;
+  }
+
+  private int indexOfDelimiter() {
+    int last = limit - delimiter.length;
+    byte first = delimiter[0];
+    for (int i = pos; i <= last; i++) {
+      if (buffer[i] == first && matches(i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean matches(int offset) {
+    for (int j = 1; j < delimiter.length; j++) {
+      if (buffer[offset + j] != delimiter[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int indexOfCRLF() {
+    for (int i = pos; i < limit - 1; i++) {
+      if (buffer[i] == CR && buffer[i + 1] == LF) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean ensure(int count) throws IOException {
+    while (limit - pos < count) {
+      if (!fill()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Compact buffer and read more bytes from request body. */
+  private boolean fill() throws IOException {
+    if (pos > 0) {
+      System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+      limit -= pos;
+      pos = 0;
+    }
+    int count = in.read(buffer, limit, buffer.length - limit);
+    if (count < 0) {
+      return false;
+    }
+    limit += count;
+    return true;
+  }
+
+  private static String dispositionParameter(String disposition, String name) {
+    int i = disposition.indexOf(';');
+    while (i >= 0 && i < disposition.length()) {
+      int start = i + 1;
+      int eq = disposition.indexOf('=', start);
+      if (eq < 0) {
+        return null;
+      }
+      String key = disposition.substring(start, eq).trim();
+      String value;
+      int end;
+      if (eq + 1 < disposition.length() && disposition.charAt(eq + 1) == '"') {
+        StringBuilder quoted = new StringBuilder();
+        end = eq + 2;
+        while (end < disposition.length() && disposition.charAt(end) != '"') {
+          char ch = disposition.charAt(end);
+          if (ch == '\\' && end + 1 < disposition.length()) {
+            end += 1;
+            ch = disposition.charAt(end);
+          }
+          quoted.append(ch);
+          end += 1;
+        }
+        value = quoted.toString();
+        end = disposition.indexOf(';', end);
+      } else {
+        end = disposition.indexOf(';', eq);
+        value = disposition.substring(eq + 1, end < 0 ? disposition.length() : end).trim();
+      }
+      if (key.equalsIgnoreCase(name)) {
+        return value;
+      }
+      i = end;
+    }
+    return null;
+  }
+
+  private static BadRequestException malformed(String message) {
+    return new BadRequestException("Malformed multipart body: " + message);
+  }
+
+  private class PartImpl extends InputStream implements Part {
+    private final String name;
+
+    private final String fileName;
+
+    private final Map<String, String> headers;
+
+    private boolean ended;
+
+    PartImpl(String name, String fileName, Map<String, String> headers) {
+      this.name = name;
+      this.fileName = fileName;
+      this.headers = headers;
+    }
+
+    @NonNull @Override
+    public String getName() {
+      return name;
+    }
+
+    @Nullable @Override
+    public String getFileName() {
+      return fileName;
+    }
+
+    @Nullable @Override
+    public String getContentType() {
+      return header("Content-Type");
+    }
+
+    @Nullable @Override
+    public String header(@NonNull String name) {
+      return headers.get(name);
+    }
+
+    @NonNull @Override
+    public InputStream stream() {
+      return this;
+    }
+
+    @NonNull @Override
+    public String value() {
+      try {
+        return new String(readAllBytes(), StandardCharsets.UTF_8);
+      } catch (IOException x) {
+        throw SneakyThrows.propagate(x);
+      }
+    }
+
+    @Override
+    public long transferTo(@NonNull WritableByteChannel channel) {
+      try {
+        long total = 0;
+        int count;
+        while ((count = next()) > 0) {
+          ByteBuffer bytes = ByteBuffer.wrap(buffer, pos, count);
+          while (bytes.hasRemaining()) {
+            channel.write(bytes);
+          }
+          pos += count;
+          total += count;
+        }
+        return total;
+      } catch (IOException x) {
+        throw SneakyThrows.propagate(x);
+      }
+    }
+
+    @Override
+    public long transferTo(@NonNull Path file) {
+      try (FileChannel channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING)) {
+        return transferTo(channel);
+      } catch (IOException x) {
+        throw SneakyThrows.propagate(x);
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (next() <= 0) {
+        return -1;
+      }
+      return buffer[pos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      int count = next();
+      if (count <= 0) {
+        return -1;
+      }
+      count = Math.min(count, len);
+      System.arraycopy(buffer, pos, b, off, count);
+      pos += count;
+      return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = 0;
+      int count;
+      while (skipped < n && (count = next()) > 0) {
+        count = (int) Math.min(count, n - skipped);
+        pos += count;
+        skipped += count;
+      }
+      return skipped;
+    }
+
+    /** Skip what is left of this part. */
+    void skip() throws IOException {
+      int count;
+      while ((count = next()) > 0) {
+        pos += count;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return fileName == null ? name : name + "=" + fileName;
+    }
+
+    /** Bytes available for this part, 0 once ended. */
+    private int next() throws IOException {
+      if (ended || current != this && name != null) {
+        return 0;
+      }
+      int count = readable();
+      if (count < 0) {
+        ended = true;
+        consumeDelimiter();
+        return 0;
+      }
+      return count;
+    }
+  }
+}
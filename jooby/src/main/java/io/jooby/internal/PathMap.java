@@ -0,0 +1,156 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Path variables captured while matching a route. Values are kept as start/end offsets into the
+ * request path and become {@link String} on first access, so routes that never read a path variable
+ * don't pay for it.
+ *
+ * <p>Variables are positional while matching, names are assigned from {@link
+ * io.jooby.Route#getPathKeys()} once the route has been found.
+ */
+final class PathMap extends AbstractMap<String, String> {
+  /** Enough for four path variables. */
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final String path;
+
+  private int[] offsets = new int[INITIAL_CAPACITY * 2];
+
+  private String[] values;
+
+  private List<String> keys = List.of();
+
+  private int size;
+
+  private Set<Entry<String, String>> entrySet;
+
+  PathMap(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Capture a value.
+   *
+   * @param start Start index, inclusive.
+   * @param end End index, exclusive.
+   */
+  void push(int start, int end) {
+    int i = size * 2;
+    if (i == offsets.length) {
+      offsets = Arrays.copyOf(offsets, i * 2);
+    }
+    offsets[i] = start;
+    offsets[i + 1] = end;
+    size += 1;
+  }
+
+  /**
+   * Discard captured values.
+   *
+   * @param size New size.
+   */
+  void truncate(int size) {
+    if (size < this.size) {
+      this.size = size;
+    }
+  }
+
+  int captured() {
+    return size;
+  }
+
+  /**
+   * Name captured values.
+   *
+   * @param keys Route path keys.
+   */
+  void keys(List<String> keys) {
+    this.keys = keys;
+  }
+
+  @Override
+  public int size() {
+    return Math.min(keys.size(), size);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public String get(Object key) {
+    int index = indexOf(key);
+    return index < 0 ? null : value(index);
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    if (entrySet == null) {
+      entrySet =
+          new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+              return new Iterator<>() {
+                int index;
+
+                @Override
+                public boolean hasNext() {
+                  return index < size();
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                  if (!hasNext()) {
+                    throw new NoSuchElementException();
+                  }
+                  int i = index++;
+                  return new SimpleImmutableEntry<>(keys.get(i), value(i));
+                }
+              };
+            }
+
+            @Override
+            public int size() {
+              return PathMap.this.size();
+            }
+          };
+    }
+    return entrySet;
+  }
+
+  private int indexOf(Object key) {
+    int size = size();
+    for (int i = 0; i < size; i++) {
+      if (keys.get(i).equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private String value(int index) {
+    if (values == null) {
+      values = new String[size];
+    }
+    String value = values[index];
+    if (value == null) {
+      value = path.substring(offsets[index * 2], offsets[index * 2 + 1]);
+      values[index] = value;
+    }
+    return value;
+  }
+}
@@ -7,15 +7,21 @@ package io.jooby.internal;
 
 import static io.jooby.internal.handler.DefaultHandler.DEFAULT;
 import static io.jooby.internal.handler.DetachHandler.DETACH;
+import static io.jooby.internal.handler.InstrumentationHandler.HANDLER;
+import static io.jooby.internal.handler.InstrumentationHandler.START;
 import static io.jooby.internal.handler.WorkerHandler.WORKER;
 
 import java.util.concurrent.Executor;
 
 import io.jooby.ExecutionMode;
+import io.jooby.RequestScheduler;
 import io.jooby.Route;
 import io.jooby.Route.Handler;
+import io.jooby.instrumentation.RouteMetrics;
 import io.jooby.internal.handler.DispatchHandler;
+import io.jooby.internal.handler.InstrumentationHandler;
 import io.jooby.internal.handler.PostDispatchInitializerHandler;
+import io.jooby.internal.handler.SchedulerHandler;
 
 public class Pipeline {
 
@@ -24,7 +30,9 @@ public class Pipeline {
       Route route,
       ExecutionMode mode,
       Executor executor,
-      ContextInitializer initializer) {
+      ContextInitializer initializer,
+      RouteMetrics metrics,
+      RequestScheduler scheduler) {
     // Set default wrapper and blocking mode
     if (!route.isNonBlockingSet()) {
       route.setNonBlocking(isDefaultNonblocking(executor, mode));
@@ -42,8 +50,18 @@ public class Pipeline {
     } else {
       pipeline = route.getPipeline();
     }
-    return dispatchHandler(
-        mode, executor, decorate(initializer, wrapper.then(pipeline)), route.isNonBlocking());
+    if (metrics == null) {
+      return dispatchHandler(
+          mode,
+          executor,
+          scheduler,
+          decorate(initializer, wrapper.then(pipeline)),
+          route.isNonBlocking());
+    }
+    // Instrumented: arrival -> dispatch -> start -> default -> handler -> pipeline
+    Handler handler = START.then(decorate(initializer, wrapper.then(HANDLER.then(pipeline))));
+    return InstrumentationHandler.arrival(metrics)
+        .then(dispatchHandler(mode, executor, scheduler, handler, route.isNonBlocking()));
   }
 
   private static boolean isDefaultNonblocking(Executor executor, ExecutionMode mode) {
@@ -57,16 +75,27 @@ public class Pipeline {
   }
 
   private static Handler dispatchHandler(
-      ExecutionMode mode, Executor executor, Handler handler, boolean nonblocking) {
+      ExecutionMode mode,
+      Executor executor,
+      RequestScheduler scheduler,
+      Handler handler,
+      boolean nonblocking) {
     if (executor == null) {
       if (mode == ExecutionMode.WORKER) {
-        return WORKER.then(handler);
+        return dispatch(scheduler, null).then(handler);
       }
       if (mode == ExecutionMode.DEFAULT && !nonblocking) {
-        return WORKER.then(handler);
+        return dispatch(scheduler, null).then(handler);
       }
       return handler;
     }
-    return new DispatchHandler(executor).apply(handler);
+    return dispatch(scheduler, executor).apply(handler);
+  }
+
+  private static Route.Filter dispatch(RequestScheduler scheduler, Executor executor) {
+    if (scheduler != null) {
+      return new SchedulerHandler(scheduler, executor);
+    }
+    return executor == null ? WORKER : new DispatchHandler(executor);
   }
 }
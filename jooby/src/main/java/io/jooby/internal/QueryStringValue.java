@@ -5,24 +5,122 @@
  */
 package io.jooby.internal;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
 import io.jooby.QueryString;
+import io.jooby.ValueNode;
 
+/**
+ * Query string backed by the raw string and an index of parameter offsets. Parameters are decoded
+ * on access. Looking up a top-level parameter scans the index and decodes matching values only, the
+ * hash tree is built on first access that requires it (iteration, nested keys, bean conversion,
+ * etc.).
+ */
 public class QueryStringValue extends HashValue implements QueryString {
-  private String queryString;
+  private static final int[] NO_PARAMS = {};
+
+  private final Context ctx;
+
+  private final String queryString;
+
+  /** Name start, name end, value start and value end of each parameter. */
+  private final int[] index;
+
+  /** True when at least one parameter name might be a nested key, like: <code>a.b</code>. */
+  private final boolean nested;
+
+  private boolean materialized;
 
   public QueryStringValue(Context ctx, String queryString) {
+    this(ctx, queryString, NO_PARAMS);
+  }
+
+  public QueryStringValue(Context ctx, String queryString, int[] index) {
     super(ctx);
+    this.ctx = ctx;
     this.queryString = queryString;
+    this.index = index;
+    this.nested = hasNestedKey(queryString, index);
+    this.materialized = index.length == 0;
   }
 
   protected boolean allowEmptyBean() {
     return true;
   }
 
+  @Override
+  public ValueNode get(@NonNull String name) {
+    if (materialized || nested || !isSimpleKey(name)) {
+      materialize();
+      return super.get(name);
+    }
+    ValueNode result = null;
+    for (int i = 0; i < index.length; i += 4) {
+      if (nameEquals(i, name)) {
+        String value = UrlParser.decodeQueryComponent(queryString, index[i + 2], index[i + 3]);
+        if (result == null) {
+          result = new SingleValue(ctx, name, value);
+        } else if (result instanceof ArrayValue array) {
+          array.add(value);
+        } else {
+          result = new ArrayValue(ctx, name).add(result).add(value);
+        }
+      }
+    }
+    return result == null ? new MissingValue(name) : result;
+  }
+
+  @Override
+  public int size() {
+    materialize();
+    return super.size();
+  }
+
+  @Override
+  public String value() {
+    materialize();
+    return super.value();
+  }
+
+  @Override
+  public Iterator<ValueNode> iterator() {
+    materialize();
+    return super.iterator();
+  }
+
+  @NonNull @Override
+  public <T> List<T> toList(@NonNull Class<T> type) {
+    materialize();
+    return super.toList(type);
+  }
+
+  @NonNull @Override
+  public <T> Set<T> toSet(@NonNull Class<T> type) {
+    materialize();
+    return super.toSet(type);
+  }
+
+  @NonNull @Override
+  public <T> Optional<T> toOptional(@NonNull Class<T> type) {
+    materialize();
+    return super.toOptional(type);
+  }
+
+  @NonNull @Override
+  public <T> T to(@NonNull Class<T> type) {
+    materialize();
+    return super.to(type);
+  }
+
   @Override
   protected <T> T toNullable(@NonNull Context ctx, @NonNull Class<T> type, boolean allowEmpty) {
+    materialize();
     // NOTE: 2.x backward compatible. Make sure Query object are almost always created
     // GET /search?
     // with class Search (q="*")
@@ -30,8 +128,71 @@ public class QueryStringValue extends HashValue implements QueryString {
     return ValueConverters.convert(this, type, ctx.getRouter(), allowEmpty);
   }
 
+  @Override
+  public Map<String, List<String>> toMultimap() {
+    materialize();
+    return super.toMultimap();
+  }
+
+  @Override
+  public String toString() {
+    materialize();
+    return super.toString();
+  }
+
   @NonNull @Override
   public String queryString() {
     return queryString;
   }
+
+  /**
+   * Build the hash tree, required for nested keys, iteration, etc. All the pairs are decoded before
+   * building the tree, so an invalid escape sequence fails every access, not just the first one.
+   */
+  private void materialize() {
+    if (!materialized) {
+      var decoded = new String[index.length / 2];
+      for (int i = 0; i < index.length; i += 2) {
+        decoded[i / 2] = UrlParser.decodeQueryComponent(queryString, index[i], index[i + 1]);
+      }
+      for (int i = 0; i < decoded.length; i += 2) {
+        put(decoded[i], decoded[i + 1]);
+      }
+      materialized = true;
+    }
+  }
+
+  private boolean nameEquals(int i, String name) {
+    int start = index[i];
+    int len = index[i + 1] - start;
+    return len == name.length() && queryString.regionMatches(start, name, 0, len);
+  }
+
+  /**
+   * Names with path separators or escaped chars (which might decode to a path separator) are
+   * resolved from the hash tree.
+   */
+  private static boolean hasNestedKey(String queryString, int[] index) {
+    for (int i = 0; i < index.length; i += 4) {
+      for (int j = index[i]; j < index[i + 1]; j++) {
+        if (!isSimpleChar(queryString.charAt(j))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSimpleKey(String name) {
+    for (int i = 0; i < name.length(); i++) {
+      if (!isSimpleChar(name.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSimpleChar(char ch) {
+    return ch != '.' && ch != '[' && ch != ']' && ch != '%' && ch != '+';
+  }
 }
@@ -12,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -40,11 +41,15 @@ import org.slf4j.LoggerFactory;
 
 import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.*;
 import io.jooby.buffer.DataBufferFactory;
 import io.jooby.buffer.DefaultDataBufferFactory;
 import io.jooby.exception.RegistryException;
 import io.jooby.exception.StatusCodeException;
+import io.jooby.instrumentation.Instrumentation;
+import io.jooby.instrumentation.RouteMetrics;
+import io.jooby.internal.handler.InstrumentedEncoder;
 import io.jooby.internal.handler.ServerSentEventHandler;
 import io.jooby.internal.handler.WebSocketHandler;
 import io.jooby.problem.ProblemDetailsHandler;
@@ -142,6 +147,10 @@ public class RouterImpl implements Router {
 
   private Map<Predicate<Context>, RouteTree> predicateMap;
 
+  private Executor virtualThreads;
+
+  private RequestScheduler scheduler;
+
   private Executor worker = new ForwardingExecutor();
 
   private Map<Route, Executor> routeExecutor = new HashMap<>();
@@ -174,6 +183,8 @@ public class RouterImpl implements Router {
 
   private boolean stopped;
 
+  private boolean streamingBody;
+
   public RouterImpl() {
     stack.addLast(new Stack(chi, null));
 
@@ -398,6 +409,17 @@ public class RouterImpl implements Router {
     return this;
   }
 
+  @Nullable @Override
+  public RequestScheduler getRequestScheduler() {
+    return scheduler;
+  }
+
+  @NonNull @Override
+  public Router setRequestScheduler(@NonNull RequestScheduler scheduler) {
+    this.scheduler = scheduler;
+    return this;
+  }
+
   @NonNull @Override
   public Router setDefaultWorker(@NonNull Executor worker) {
     ForwardingExecutor workerRef = (ForwardingExecutor) this.worker;
@@ -595,6 +617,9 @@ public class RouterImpl implements Router {
 
   @NonNull public Router start(@NonNull Jooby app, @NonNull Server server) {
     started = true;
+    if (scheduler != null) {
+      scheduler.start(server.getOptions());
+    }
     var globalErrHandler = defineGlobalErrorHandler(app);
     if (err == null) {
       err = globalErrHandler;
@@ -603,6 +628,7 @@ public class RouterImpl implements Router {
     }
 
     ExecutionMode mode = app.getExecutionMode();
+    Instrumentation instrumentation = services.getOrNull(Instrumentation.class);
     for (Route route : routes) {
       String executorKey = route.getExecutorKey();
       Executor executor;
@@ -637,16 +663,43 @@ public class RouterImpl implements Router {
             prependMediaType(route.getConsumes(), route.getFilter(), Route.SUPPORT_MEDIA_TYPE));
         route.setFilter(prependMediaType(route.getProduces(), route.getFilter(), Route.ACCEPT));
       }
+      streamingBody |= route.isStreamingBody();
+      ExecutionMode routeMode = forceMode(route, mode);
+      RequestScheduler routeScheduler = scheduler;
+      if (routeMode == ExecutionMode.VIRTUAL && executor == null && !route.isNonBlocking()) {
+        executor = virtualThreads(app);
+        /** A virtual thread per request, nothing to wait for: */
+        routeScheduler = null;
+      }
       boolean requiresDetach = server.getName().equals("undertow");
+      /** Web socket and server-sent events are long-lived, not instrumented: */
+      RouteMetrics metrics =
+          instrumentation == null
+                  || route.getHandler() instanceof WebSocketHandler
+                  || route.getHandler() instanceof ServerSentEventHandler
+              ? null
+              : instrumentation.register(route);
       Route.Handler pipeline =
           Pipeline.build(
-              requiresDetach, route, forceMode(route, mode), executor, postDispatchInitializer);
+              requiresDetach,
+              route,
+              routeMode,
+              executor,
+              postDispatchInitializer,
+              metrics,
+              routeScheduler);
       route.setPipeline(pipeline);
       /** Final render */
-      route.setEncoder(encoder);
+      route.setEncoder(metrics == null ? encoder : new InstrumentedEncoder(encoder));
     }
     ((Chi) chi).setEncoder(encoder);
 
+    /** Static routes are resolved from a dispatch table: */
+    ((Chi) chi).compile();
+    if (predicateMap != null) {
+      predicateMap.values().forEach(tree -> ((Chi) tree).compile());
+    }
+
     /** router options: */
     if (routerOptions.contains(RouterOption.IGNORE_CASE)) {
       chi = new RouteTreeLowerCasePath(chi);
@@ -688,7 +741,44 @@ public class RouterImpl implements Router {
       // websocket always run in worker executor
       return ExecutionMode.WORKER;
     }
-    return mode;
+    ExecutionMode routeMode = route.getExecutionMode() == null ? mode : route.getExecutionMode();
+    if (route.isStreamingBody()
+        && (routeMode == ExecutionMode.EVENT_LOOP || routeMode == ExecutionMode.DEFAULT)) {
+      // reading the body blocks
+      return ExecutionMode.WORKER;
+    }
+    return routeMode;
+  }
+
+  /**
+   * Virtual thread executor, shared by all the routes running in {@link ExecutionMode#VIRTUAL}.
+   * Created on first use, along with pinning diagnostics.
+   *
+   * @param app Application.
+   * @return Virtual thread executor.
+   */
+  private Executor virtualThreads(Jooby app) {
+    if (virtualThreads == null) {
+      var executor = VirtualThreads.newExecutor();
+      app.onStop(executor::shutdown);
+      virtualThreads = executor;
+
+      var config = app.getConfig();
+      var threshold = Duration.ofMillis(20);
+      if (config.hasPath(AvailableSettings.PINNED_THREADS)) {
+        threshold =
+            config.getString(AvailableSettings.PINNED_THREADS).equals("off")
+                ? null
+                : config.getDuration(AvailableSettings.PINNED_THREADS);
+      }
+      if (threshold != null) {
+        var monitor = VirtualThreads.pinningMonitor(app.getLog(), threshold);
+        if (monitor != null) {
+          app.onStop(monitor);
+        }
+      }
+    }
+    return virtualThreads;
   }
 
   private Route.Filter prependMediaType(
@@ -736,6 +826,16 @@ public class RouterImpl implements Router {
     if (preDispatchInitializer != null) {
       preDispatchInitializer.apply(ctx);
     }
+    return find(ctx);
+  }
+
+  @Override
+  public boolean isStreamingBody(@NonNull Context ctx) {
+    // No context initializers: they might read the body (like hidden method lookup)
+    return streamingBody && find(ctx).route().isStreamingBody();
+  }
+
+  private Match find(Context ctx) {
     if (predicateMap != null) {
       for (Map.Entry<Predicate<Context>, RouteTree> e : predicateMap.entrySet()) {
         if (e.getKey().test(ctx)) {
@@ -927,12 +1027,14 @@ public class RouterImpl implements Router {
     it.setConsumes(src.getConsumes());
     it.setAttributes(src.getAttributes());
     it.setExecutorKey(src.getExecutorKey());
+    it.setExecutionMode(src.getExecutionMode());
     it.setTags(src.getTags());
     it.setDescription(src.getDescription());
     // DO NOT COPY: See https://github.com/jooby-project/jooby/issues/3500
     // it.setDecoders(src.getDecoders());
     it.setMvcMethod(src.getMvcMethod());
     it.setNonBlocking(src.isNonBlocking());
+    it.setStreamingBody(src.isStreamingBody());
     it.setSummary(src.getSummary());
   }
 
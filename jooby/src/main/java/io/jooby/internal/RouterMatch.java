@@ -6,7 +6,6 @@
 package io.jooby.internal;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,33 +22,40 @@ public class RouterMatch implements Router.Match {
 
   private Route route;
 
-  Map vars = Collections.EMPTY_MAP;
+  private PathMap vars;
 
   private Route.Handler handler;
 
   public RouterMatch() {}
 
   public void key(List<String> keys) {
-    for (int i = 0; i < Math.min(keys.size(), vars.size()); i++) {
-      vars.put(keys.get(i), vars.remove(i));
+    if (vars != null) {
+      vars.keys(keys);
     }
   }
 
+  public int size() {
+    return vars == null ? 0 : vars.captured();
+  }
+
   public void truncate(int size) {
-    while (size < vars.size()) {
-      vars.remove(size++);
+    if (vars != null) {
+      vars.truncate(size);
     }
   }
 
-  public void value(String value) {
-    if (vars == Collections.EMPTY_MAP) {
-      vars = new LinkedHashMap();
+  public void value(String path, int start, int end) {
+    if (vars == null) {
+      vars = new PathMap(path);
     }
-    vars.put(vars.size(), value);
+    vars.push(start, end);
   }
 
   public void pop() {
-    vars.remove(vars.size() - 1);
+    int size = size();
+    if (size > 0) {
+      truncate(size - 1);
+    }
   }
 
   public void methodNotAllowed(Set<String> allow) {
@@ -75,7 +81,7 @@ public class RouterMatch implements Router.Match {
 
   @Override
   public Map<String, String> pathMap() {
-    return vars;
+    return vars == null ? Collections.emptyMap() : vars;
   }
 
   public RouterMatch found(Route route) {
@@ -86,7 +92,7 @@ public class RouterMatch implements Router.Match {
 
   @Override
   public Object execute(@NonNull Context context, @NonNull Route.Handler pipeline) {
-    context.setPathMap(vars);
+    context.setPathMap(pathMap());
     context.setRoute(route);
     try {
       return pipeline.apply(context);
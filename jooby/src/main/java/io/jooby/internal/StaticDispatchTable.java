@@ -0,0 +1,127 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.Map;
+
+import io.jooby.Route;
+
+/**
+ * Immutable lookup table for static paths (no path variables), built once the route tree is
+ * complete. Path hashes are spread over a power-of-two table, which grows until every path owns a
+ * slot (perfect hash), so a lookup is one hash, one array read and one string comparison. Tables
+ * that can't be made collision-free fall back to linear probing.
+ *
+ * <p>Each slot holds a small array of method/match pairs, usually one or two entries. Methods are
+ * compared by identity first, which is the common case for constant method names.
+ */
+final class StaticDispatchTable {
+  /** Give up looking for a perfect hash once the table is this many times bigger than entries. */
+  private static final int MAX_LOAD_FACTOR = 16;
+
+  private final int mask;
+
+  private final String[] paths;
+
+  private final String[][] methods;
+
+  private final StaticRouterMatch[][] matches;
+
+  private StaticDispatchTable(int size) {
+    this.mask = size - 1;
+    this.paths = new String[size];
+    this.methods = new String[size][];
+    this.matches = new StaticRouterMatch[size][];
+  }
+
+  /**
+   * Creates a dispatch table.
+   *
+   * @param routes Static routes: path to method to route.
+   * @return Dispatch table.
+   */
+  public static StaticDispatchTable create(Map<String, Map<String, Route>> routes) {
+    int min = tableSizeFor(routes.size() * 2);
+    int size = min;
+    while (size <= min * MAX_LOAD_FACTOR && !perfect(routes, size - 1)) {
+      size <<= 1;
+    }
+    if (size > min * MAX_LOAD_FACTOR) {
+      size = min;
+    }
+    var table = new StaticDispatchTable(size);
+    for (var e : routes.entrySet()) {
+      int slot = hash(e.getKey()) & table.mask;
+      while (table.paths[slot] != null) {
+        slot = (slot + 1) & table.mask;
+      }
+      var endpoints = e.getValue();
+      var methods = new String[endpoints.size()];
+      var matches = new StaticRouterMatch[endpoints.size()];
+      int i = 0;
+      for (var endpoint : endpoints.entrySet()) {
+        methods[i] = endpoint.getKey();
+        matches[i] = new StaticRouterMatch(endpoint.getValue());
+        i += 1;
+      }
+      table.paths[slot] = e.getKey();
+      table.methods[slot] = methods;
+      table.matches[slot] = matches;
+    }
+    return table;
+  }
+
+  /**
+   * Find a static route.
+   *
+   * @param method HTTP method.
+   * @param path Request path.
+   * @return Matching route or <code>null</code>.
+   */
+  public StaticRouterMatch get(String method, String path) {
+    int slot = hash(path) & mask;
+    String candidate;
+    while ((candidate = paths[slot]) != null) {
+      if (candidate.equals(path)) {
+        var methods = this.methods[slot];
+        for (int i = 0; i < methods.length; i++) {
+          if (methods[i] == method) {
+            return matches[slot][i];
+          }
+        }
+        for (int i = 0; i < methods.length; i++) {
+          if (methods[i].equals(method)) {
+            return matches[slot][i];
+          }
+        }
+        return null;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  private static boolean perfect(Map<String, ?> routes, int mask) {
+    var used = new boolean[mask + 1];
+    for (String path : routes.keySet()) {
+      int slot = hash(path) & mask;
+      if (used[slot]) {
+        return false;
+      }
+      used[slot] = true;
+    }
+    return true;
+  }
+
+  private static int hash(String path) {
+    int h = path.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int tableSizeFor(int n) {
+    return n <= 1 ? 2 : Integer.highestOneBit(n - 1) << 1;
+  }
+}
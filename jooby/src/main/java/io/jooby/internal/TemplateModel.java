@@ -0,0 +1,75 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import io.jooby.Context;
+import io.jooby.Session;
+
+/**
+ * Template model backed by {@link Context#getAttributes()}. Values put here shadow context
+ * attributes without copying them. The {@link Session#NAME} attribute is looked up on first access,
+ * so templates not reading the session never pay for it.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class TemplateModel extends AbstractMap<String, Object> {
+  private final Context ctx;
+
+  private final Map<String, Object> model = new HashMap<>();
+
+  private boolean session;
+
+  public TemplateModel(Context ctx) {
+    this.ctx = ctx;
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (model.containsKey(key)) {
+      return model.get(key);
+    }
+    return attributes(key).get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return model.containsKey(key) || attributes(key).containsKey(key);
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    return model.put(key, value);
+  }
+
+  @Override
+  public int size() {
+    return entrySet().size();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    // iteration exposes all the attributes, session included
+    var all = new HashMap<>(attributes(Session.NAME));
+    all.putAll(model);
+    return Collections.unmodifiableMap(all).entrySet();
+  }
+
+  private Map<String, Object> attributes(Object key) {
+    if (!session && Session.NAME.equals(key)) {
+      session = true;
+      // look up existing session, never creates one
+      ctx.sessionOrNull();
+    }
+    return ctx.getAttributes();
+  }
+}
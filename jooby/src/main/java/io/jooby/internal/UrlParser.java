@@ -12,6 +12,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import io.jooby.Context;
 import io.jooby.QueryString;
@@ -24,9 +25,8 @@ public final class UrlParser {
     if (queryString == null || queryString.length() == 0) {
       return new QueryStringValue(ctx, "");
     }
-    QueryStringValue result = new QueryStringValue(ctx, "?" + queryString);
-    decodeParams(result, queryString, 0, StandardCharsets.UTF_8, 1024);
-    return result;
+    String value = "?" + queryString;
+    return new QueryStringValue(ctx, value, index(value, 1, 1024));
   }
 
   public static String decodePathSegment(String value) {
@@ -36,13 +36,15 @@ public final class UrlParser {
     return decodeComponent(value, 0, value.length(), StandardCharsets.UTF_8, true);
   }
 
-  private static void decodeParams(
-      HashValue root, String s, int from, Charset charset, int paramsLimit) {
+  /**
+   * Index parameters without decoding them. Each parameter takes four slots: name start, name end,
+   * value start and value end.
+   */
+  private static int[] index(String s, int from, int paramsLimit) {
     int len = s.length();
-    if (from >= len) {
-      return;
-    }
-    if (s.charAt(from) == '?') {
+    int[] index = new int[16];
+    int size = 0;
+    if (from < len && s.charAt(from) == '?') {
       from++;
     }
     int nameStart = from;
@@ -60,10 +62,12 @@ public final class UrlParser {
           break;
         case '&':
         case ';':
-          if (addParam(root, s, nameStart, valueStart, i, charset)) {
+          if (nameStart < i) {
+            index = addParam(index, size, nameStart, valueStart, i);
+            size += 4;
             paramsLimit--;
             if (paramsLimit == 0) {
-              return;
+              return Arrays.copyOf(index, size);
             }
           }
           nameStart = i + 1;
@@ -74,21 +78,38 @@ public final class UrlParser {
           // continue
       }
     }
-    addParam(root, s, nameStart, valueStart, i, charset);
+    if (nameStart < i) {
+      index = addParam(index, size, nameStart, valueStart, i);
+      size += 4;
+    }
+    return Arrays.copyOf(index, size);
   }
 
-  private static boolean addParam(
-      HashValue root, String s, int nameStart, int valueStart, int valueEnd, Charset charset) {
-    if (nameStart >= valueEnd) {
-      return false;
+  private static int[] addParam(
+      int[] index, int size, int nameStart, int valueStart, int valueEnd) {
+    if (size == index.length) {
+      index = Arrays.copyOf(index, size * 2);
     }
     if (valueStart <= nameStart) {
       valueStart = valueEnd + 1;
     }
-    String name = decodeComponent(s, nameStart, valueStart - 1, charset, false);
-    String value = decodeComponent(s, valueStart, valueEnd, charset, false);
-    root.put(name, value);
-    return true;
+    index[size] = nameStart;
+    index[size + 1] = valueStart - 1;
+    index[size + 2] = Math.min(valueStart, valueEnd);
+    index[size + 3] = valueEnd;
+    return index;
+  }
+
+  /**
+   * Decode a query string component (<code>+</code> is a space).
+   *
+   * @param s Source.
+   * @param from Start offset.
+   * @param toExcluded End offset.
+   * @return Decoded value.
+   */
+  static String decodeQueryComponent(String s, int from, int toExcluded) {
+    return decodeComponent(s, from, toExcluded, StandardCharsets.UTF_8, false);
   }
 
   private static String decodeComponent(
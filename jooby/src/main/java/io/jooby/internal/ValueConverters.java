@@ -122,7 +122,7 @@ public class ValueConverters {
     } else if (value.isObject()) {
       for (BeanConverter converter : router.getBeanConverters()) {
         if (converter.supports(type)) {
-          return (T) converter.convert(value, type);
+          return (T) converter.convert(value, type, allowEmptyBean);
         }
       }
     }
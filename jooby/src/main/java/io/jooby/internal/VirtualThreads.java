@@ -0,0 +1,110 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+
+import io.jooby.ExecutionMode;
+import io.jooby.SneakyThrows;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Support for {@link ExecutionMode#VIRTUAL}. Jooby is compiled for Java 17, so virtual threads are
+ * looked up reflectively and require Java 21 or higher at runtime.
+ */
+public class VirtualThreads {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final int STACK_DEPTH = 10;
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @return Virtual thread executor.
+   * @throws IllegalStateException When virtual threads are not supported by the current JVM.
+   */
+  public static ExecutorService newExecutor() {
+    try {
+      var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      var ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      builder =
+          ofVirtual.getMethod("name", String.class, long.class).invoke(builder, "virtual-", 0L);
+      var factory = (ThreadFactory) ofVirtual.getMethod("factory").invoke(builder);
+      return (ExecutorService)
+          Executors.class
+              .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+              .invoke(null, factory);
+    } catch (NoSuchMethodException | ClassNotFoundException x) {
+      throw new IllegalStateException(
+          "Execution mode: "
+              + ExecutionMode.VIRTUAL
+              + " requires Java 21 or higher, found: "
+              + Runtime.version(),
+          x);
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  /**
+   * Report virtual threads pinned to their carrier thread for longer than the given threshold. A
+   * pinned virtual thread blocks its carrier (usually <code>synchronized</code> blocks or native
+   * calls), which reduces the number of requests served concurrently.
+   *
+   * @param log Logger.
+   * @param threshold Minimum pinned time to report.
+   * @return A handle to stop monitoring or <code>null</code> when JFR isn't available.
+   */
+  public static AutoCloseable pinningMonitor(Logger log, Duration threshold) {
+    if (!ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+      log.debug("virtual thread pinning diagnostics off: jdk.jfr module not found");
+      return null;
+    }
+    var stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(PINNED_EVENT, event -> log.warn(pinned(event)));
+    stream.startAsync();
+    return stream;
+  }
+
+  private static String pinned(RecordedEvent event) {
+    var thread = event.getThread();
+    var message =
+        new StringBuilder("virtual thread pinned for ")
+            .append(event.getDuration().toMillis())
+            .append("ms: ")
+            .append(thread == null ? "unknown" : thread.getJavaName());
+    var stackTrace = event.getStackTrace();
+    if (stackTrace != null) {
+      message.append(
+          stackTrace.getFrames().stream()
+              .limit(STACK_DEPTH)
+              .map(VirtualThreads::frame)
+              .collect(Collectors.joining()));
+    }
+    return message.toString();
+  }
+
+  private static String frame(RecordedFrame frame) {
+    var method = frame.getMethod();
+    return "\n\tat "
+        + method.getType().getName()
+        + "."
+        + method.getName()
+        + "("
+        + frame.getLineNumber()
+        + ")";
+  }
+}
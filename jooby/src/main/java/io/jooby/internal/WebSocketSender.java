@@ -9,6 +9,7 @@ import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.time.Instant;
 import java.util.Date;
+import java.util.function.Predicate;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -26,20 +27,43 @@ public class WebSocketSender extends ForwardingContext implements DefaultContext
   private final WebSocket ws;
   private final boolean binary;
   private final WebSocket.WriteCallback callback;
+  private final Predicate<WebSocket> broadcast;
 
   public WebSocketSender(
       @NonNull Context context,
       @NonNull WebSocket ws,
       boolean binary,
       WebSocket.WriteCallback callback) {
+    this(context, ws, binary, callback, null);
+  }
+
+  /**
+   * Creates a sender.
+   *
+   * @param context Web context.
+   * @param ws Web socket.
+   * @param binary True for binary messages.
+   * @param callback Write callback.
+   * @param broadcast Not null to broadcast to the sessions matching the filter.
+   */
+  public WebSocketSender(
+      @NonNull Context context,
+      @NonNull WebSocket ws,
+      boolean binary,
+      WebSocket.WriteCallback callback,
+      @Nullable Predicate<WebSocket> broadcast) {
     super(context);
     this.ws = ws;
     this.binary = binary;
     this.callback = callback;
+    this.broadcast = broadcast;
   }
 
   @NonNull @Override
   public Context send(@NonNull String data, @NonNull Charset charset) {
+    if (broadcast != null) {
+      return send(getBufferFactory().wrap(data.getBytes(charset)));
+    }
     if (binary) {
       ws.sendBinary(data.getBytes(charset), callback);
     } else {
@@ -50,6 +74,9 @@ public class WebSocketSender extends ForwardingContext implements DefaultContext
 
   @NonNull @Override
   public Context send(@NonNull byte[] data) {
+    if (broadcast != null) {
+      return send(getBufferFactory().wrap(data));
+    }
     if (binary) {
       ws.sendBinary(data, callback);
     } else {
@@ -60,6 +87,9 @@ public class WebSocketSender extends ForwardingContext implements DefaultContext
 
   @NonNull @Override
   public Context send(@NonNull ByteBuffer data) {
+    if (broadcast != null) {
+      return send(getBufferFactory().wrap(data));
+    }
     if (binary) {
       ws.sendBinary(data, callback);
     } else {
@@ -70,7 +100,13 @@ public class WebSocketSender extends ForwardingContext implements DefaultContext
 
   @NonNull @Override
   public Context send(@NonNull DataBuffer data) {
-    if (binary) {
+    if (broadcast != null) {
+      if (binary) {
+        ws.broadcastBinary(data, broadcast);
+      } else {
+        ws.broadcast(data, broadcast);
+      }
+    } else if (binary) {
       ws.sendBinary(data, callback);
     } else {
       ws.send(data, callback);
@@ -0,0 +1,284 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer of access log entries. Entries are allocated
+ * once, producers (request threads) copy raw fields into a free slot and a single background thread
+ * drains them in batches.
+ *
+ * <p>Producers never block: when the buffer is full the entry is dropped and counted.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class AccessLogBuffer implements AutoCloseable {
+
+  /** Raw access log fields. Reused, never keep a reference once consumed. */
+  public static final class Entry {
+    public long timestamp;
+    public long latency;
+    public int status;
+    public long length;
+    public String remoteAddress;
+    public String user;
+    public String method;
+    public String path;
+    public String query;
+    public String protocol;
+    public final String[] headers;
+    private final int index;
+    private long position;
+
+    private Entry(int index, int headers) {
+      this.index = index;
+      this.headers = new String[headers];
+    }
+
+    private void clear() {
+      remoteAddress = null;
+      user = null;
+      method = null;
+      path = null;
+      query = null;
+      protocol = null;
+      for (int i = 0; i < headers.length; i++) {
+        headers[i] = null;
+      }
+    }
+  }
+
+  /** Consume entries from the background thread. */
+  public interface Sink {
+    /**
+     * Write an entry.
+     *
+     * @param entry Entry.
+     * @throws Exception If something goes wrong.
+     */
+    void write(@NonNull Entry entry) throws Exception;
+
+    /**
+     * Called at the end of a batch.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    void flush() throws Exception;
+
+    /**
+     * Called once the buffer has been closed and drained.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    default void close() throws Exception {}
+  }
+
+  /** Max number of entries consumed before calling {@link Sink#flush()}. */
+  private static final int BATCH_SIZE = 256;
+
+  /** Time to wait for new entries when the buffer is empty. */
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /** Minimum time between two dropped-entries warnings. */
+  private static final long DROPPED_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final Entry[] entries;
+
+  private final AtomicLongArray sequences;
+
+  private final int mask;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  private final Sink sink;
+
+  private final String name;
+
+  private volatile boolean closed;
+
+  private volatile Thread consumer;
+
+  private long head;
+
+  private long lastDroppedWarning;
+
+  private long reportedDropped;
+
+  /**
+   * Creates a new buffer.
+   *
+   * @param name Name of background thread.
+   * @param capacity Capacity, rounded up to a power of two.
+   * @param headers Number of header values per entry.
+   * @param sink Entry consumer.
+   */
+  public AccessLogBuffer(@NonNull String name, int capacity, int headers, @NonNull Sink sink) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    int size = capacity == 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+    this.name = name;
+    this.sink = sink;
+    this.mask = size - 1;
+    this.entries = new Entry[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      entries[i] = new Entry(i, headers);
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Claim a free slot. Caller must fill the entry and then call {@link #publish(Entry)}.
+   *
+   * @return A free entry or <code>null</code> when full or closed.
+   */
+  public Entry claim() {
+    if (closed) {
+      return null;
+    }
+    start();
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long sequence = sequences.getAcquire(index);
+      if (sequence == position) {
+        if (tail.weakCompareAndSetVolatile(position, position + 1)) {
+          Entry entry = entries[index];
+          entry.position = position;
+          return entry;
+        }
+        position = tail.get();
+      } else if (sequence < position) {
+        dropped.increment();
+        return null;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Make a claimed entry available to the background thread.
+   *
+   * @param entry Claimed entry.
+   */
+  public void publish(@NonNull Entry entry) {
+    sequences.setRelease(entry.index, entry.position + 1);
+  }
+
+  /**
+   * Number of dropped entries because buffer was full.
+   *
+   * @return Number of dropped entries.
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /** Stop accepting entries, drain pending ones and stop the background thread. */
+  @Override
+  public void close() {
+    closed = true;
+    Thread thread = consumer;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+      try {
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void start() {
+    if (!started.get() && started.compareAndSet(false, true)) {
+      Thread thread = new Thread(this::run, name);
+      thread.setDaemon(true);
+      consumer = thread;
+      thread.start();
+    }
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        boolean done = closed;
+        int count = drain();
+        if (count == 0) {
+          if (done) {
+            break;
+          }
+          LockSupport.parkNanos(this, IDLE_NANOS);
+        }
+        warnDropped();
+      }
+    } finally {
+      try {
+        sink.close();
+      } catch (Exception x) {
+        log.error("access log failed to close", x);
+      }
+    }
+  }
+
+  private int drain() {
+    int count = 0;
+    try {
+      while (count < BATCH_SIZE) {
+        int index = (int) (head & mask);
+        if (sequences.getAcquire(index) != head + 1) {
+          break;
+        }
+        Entry entry = entries[index];
+        try {
+          sink.write(entry);
+        } finally {
+          entry.clear();
+          sequences.setRelease(index, head + entries.length);
+          head += 1;
+          count += 1;
+        }
+      }
+      if (count > 0) {
+        sink.flush();
+      }
+    } catch (Exception x) {
+      log.error("access log failed to write", x);
+    }
+    return count;
+  }
+
+  private void warnDropped() {
+    long now = System.nanoTime();
+    if (now - lastDroppedWarning >= DROPPED_NANOS) {
+      long total = dropped.sum();
+      if (total > reportedDropped) {
+        log.warn("access log buffer is full, {} entries were dropped", total - reportedDropped);
+        reportedDropped = total;
+        lastDroppedWarning = now;
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.ForwardingContext;
+import io.jooby.MessageEncoder;
+import io.jooby.SneakyThrows;
+
+/**
+ * Base class for contexts that work on in-memory responses: strings and encoded route results are
+ * sent as bytes or buffers, so subclasses only intercept those.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public abstract class BufferedResponseContext extends ForwardingContext {
+
+  /**
+   * Creates a new buffered response context.
+   *
+   * @param context Source context.
+   */
+  protected BufferedResponseContext(@NonNull Context context) {
+    super(context);
+  }
+
+  @NonNull @Override
+  public abstract Context send(@NonNull byte[] data);
+
+  @NonNull @Override
+  public Context send(@NonNull String data) {
+    return send(data, StandardCharsets.UTF_8);
+  }
+
+  @NonNull @Override
+  public Context send(@NonNull String data, @NonNull Charset charset) {
+    return send(data.getBytes(charset));
+  }
+
+  @NonNull @Override
+  public Context render(@NonNull Object value) {
+    try {
+      MessageEncoder encoder = getRoute().getEncoder();
+      var bytes = encoder.encode(this, value);
+      if (bytes == null) {
+        if (!isResponseStarted()) {
+          throw new IllegalStateException("The response was not encoded");
+        }
+      } else {
+        send(bytes);
+      }
+      return this;
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+}
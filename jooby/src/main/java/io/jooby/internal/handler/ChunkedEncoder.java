@@ -0,0 +1,91 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.MessageEncoder;
+import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+
+/**
+ * Encode elements of a streaming response. Elements are written as a JSON array for JSON responses,
+ * one per line for NDJSON responses or one after another for anything else.
+ *
+ * <p>Response type is known after encoding the first element (encoders set it), unless it was
+ * explicitly set to NDJSON.
+ */
+class ChunkedEncoder {
+  private static final byte JSON_LBRACKET = '[';
+  private static final byte JSON_SEP = ',';
+  private static final byte NEW_LINE = '\n';
+  private static final byte[] JSON_RBRACKET = {']'};
+
+  private final Context ctx;
+
+  private final MessageEncoder encoder;
+
+  private MediaType responseType;
+
+  ChunkedEncoder(Context ctx) {
+    this.ctx = ctx;
+    this.encoder = ctx.getRoute().getEncoder();
+    if (MediaType.ndjson.equals(ctx.getResponseType())) {
+      this.responseType = MediaType.ndjson;
+    }
+  }
+
+  /**
+   * Encode an element into the given buffer, including separators.
+   *
+   * @param item Element.
+   * @param buffer Destination buffer.
+   * @throws Exception If encoding fails.
+   */
+  public void encode(Object item, DataBuffer buffer) throws Exception {
+    if (responseType == null) {
+      var first = ctx.getBufferFactory().allocateBuffer();
+      try {
+        encoder.encode(ctx, item, first);
+        responseType = ctx.getResponseType();
+        if (responseType.isJson()) {
+          buffer.write(JSON_LBRACKET);
+        }
+        buffer.write(first);
+        if (MediaType.ndjson.equals(responseType)) {
+          buffer.write(NEW_LINE);
+        }
+      } finally {
+        DataBufferUtils.release(first);
+      }
+    } else {
+      if (responseType.isJson()) {
+        buffer.write(JSON_SEP);
+      }
+      encoder.encode(ctx, item, buffer);
+      if (MediaType.ndjson.equals(responseType)) {
+        buffer.write(NEW_LINE);
+      }
+    }
+  }
+
+  /**
+   * Bytes to write after last element or <code>null</code>.
+   *
+   * @return Bytes to write after last element or <code>null</code>.
+   */
+  public byte[] end() {
+    if (responseType != null && responseType.isJson()) {
+      return JSON_RBRACKET;
+    }
+    return null;
+  }
+
+  /** Mark the response as errored, so we don't sent a trailing json response. */
+  public void reset() {
+    responseType = null;
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.Sender;
+import io.jooby.Server;
+import io.jooby.SneakyThrows;
+import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+
+/**
+ * Send a {@link Stream}, {@link Iterator} or {@link Iterable} as chunked response. Elements are
+ * encoded into a buffer until it reaches {@link #CHUNK_SIZE}, then the chunk is written and the
+ * next one is produced once the write completes. So, there is at most one chunk in memory
+ * regardless of number of elements.
+ *
+ * <p>Elements are pulled from the calling thread. Once a write completes on an IO thread,
+ * production continues on the worker executor, so a blocking iterator (like a database cursor)
+ * never runs on an IO thread.
+ */
+public class ChunkedIterator implements Sender.Callback {
+
+  /** Flush a chunk once it reaches this size. */
+  static final int CHUNK_SIZE = 8192;
+
+  private final Context ctx;
+
+  private final Iterator<?> iterator;
+
+  private final AutoCloseable resource;
+
+  private final ChunkedEncoder encoder;
+
+  private final AtomicInteger wip = new AtomicInteger();
+
+  private Sender sender;
+
+  private ChunkedIterator(Context ctx, Iterator<?> iterator, AutoCloseable resource) {
+    this.ctx = ctx;
+    this.iterator = iterator;
+    this.resource = resource;
+    this.encoder = new ChunkedEncoder(ctx);
+  }
+
+  /**
+   * Send a {@link Stream}, {@link Iterator} or {@link Iterable}.
+   *
+   * @param ctx Web context.
+   * @param value Value to send.
+   */
+  public static void send(@NonNull Context ctx, @NonNull Object value) {
+    Iterator<?> iterator;
+    AutoCloseable resource = null;
+    if (value instanceof Stream<?> stream) {
+      iterator = stream.iterator();
+      resource = stream;
+    } else if (value instanceof Iterable<?> iterable) {
+      iterator = iterable.iterator();
+    } else {
+      iterator = (Iterator<?>) value;
+    }
+    if (iterator instanceof AutoCloseable closeable) {
+      resource = closeable;
+    }
+    try {
+      if (!iterator.hasNext()) {
+        close(resource);
+        if (MediaType.ndjson.equals(ctx.getResponseType())) {
+          ctx.send("");
+        } else {
+          ctx.render(List.of());
+        }
+        return;
+      }
+    } catch (Throwable x) {
+      close(resource);
+      throw SneakyThrows.propagate(x);
+    }
+    new ChunkedIterator(ctx, iterator, resource).next();
+  }
+
+  @Override
+  public void onComplete(@NonNull Context ctx, @Nullable Throwable cause) {
+    if (cause != null) {
+      onError(cause);
+    } else if (ctx.isInIoThread()) {
+      ctx.getRouter().getWorker().execute(this::next);
+    } else {
+      next();
+    }
+  }
+
+  /**
+   * Write next chunk. A write might complete synchronously and call us again, in that case the
+   * current loop produces the next chunk, instead of going deeper into the call stack.
+   */
+  private void next() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      if (!writeChunk()) {
+        return;
+      }
+    } while (wip.decrementAndGet() != 0);
+  }
+
+  /**
+   * Write a chunk.
+   *
+   * @return True when there are more elements.
+   */
+  private boolean writeChunk() {
+    DataBuffer buffer = ctx.getBufferFactory().allocateBuffer(CHUNK_SIZE);
+    try {
+      boolean hasNext;
+      do {
+        encoder.encode(iterator.next(), buffer);
+        hasNext = iterator.hasNext();
+      } while (hasNext && buffer.readableByteCount() < CHUNK_SIZE);
+
+      if (hasNext) {
+        sender().write(buffer, this);
+        return true;
+      }
+      close(resource);
+      var end = encoder.end();
+      if (end != null) {
+        buffer.write(end);
+      }
+      sender()
+          .write(
+              buffer,
+              (context, x) -> {
+                if (x != null) {
+                  onError(x);
+                }
+              });
+      sender().close();
+      return false;
+    } catch (Throwable x) {
+      DataBufferUtils.release(buffer);
+      onError(x);
+      return false;
+    }
+  }
+
+  private void onError(Throwable x) {
+    encoder.reset();
+    try {
+      var log = ctx.getRouter().getLog();
+      if (Server.connectionLost(x)) {
+        log.debug("connection lost: {} {}", ctx.getMethod(), ctx.getRequestPath(), x);
+      } else {
+        ctx.sendError(x);
+      }
+    } finally {
+      close(resource);
+    }
+  }
+
+  private Sender sender() {
+    if (this.sender == null) {
+      this.sender = ctx.responseSender();
+    }
+    return sender;
+  }
+
+  private static void close(AutoCloseable resource) {
+    if (resource != null) {
+      try {
+        resource.close();
+      } catch (Exception ignored) {
+        // ignored
+      }
+    }
+  }
+}
@@ -10,25 +10,21 @@ import java.util.concurrent.Flow;
 import org.slf4j.Logger;
 
 import io.jooby.Context;
-import io.jooby.MediaType;
-import io.jooby.MessageEncoder;
 import io.jooby.Route;
 import io.jooby.Sender;
 import io.jooby.Server;
-import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
 
 public class ChunkedSubscriber implements Flow.Subscriber {
 
-  private static final byte JSON_LBRACKET = '[';
-  private static final byte JSON_SEP = ',';
-  private static final byte[] JSON_RBRACKET = {']'};
   private Flow.Subscription subscription;
   private Context ctx;
   private Sender sender;
-  private MediaType responseType;
+  private ChunkedEncoder encoder;
 
   public ChunkedSubscriber(Context ctx) {
     this.ctx = ctx;
+    this.encoder = new ChunkedEncoder(ctx);
   }
 
   @Override
@@ -44,18 +40,12 @@ public class ChunkedSubscriber implements Flow.Subscriber {
       if (after != null) {
         after.apply(ctx, item, null);
       }
-      MessageEncoder encoder = route.getEncoder();
-      var data = encoder.encode(ctx, item);
-
-      if (responseType == null) {
-        responseType = ctx.getResponseType();
-        if (responseType.isJson()) {
-          data = prepend(ctx, data, JSON_LBRACKET);
-        }
-      } else {
-        if (responseType.isJson()) {
-          data = prepend(ctx, data, JSON_SEP);
-        }
+      var data = ctx.getBufferFactory().allocateBuffer();
+      try {
+        encoder.encode(item, data);
+      } catch (Exception x) {
+        DataBufferUtils.release(data);
+        throw x;
       }
 
       sender()
@@ -79,7 +69,7 @@ public class ChunkedSubscriber implements Flow.Subscriber {
 
   private void onError(Throwable x, boolean cancel) {
     // we use it to mark the response as errored so we don't sent a possible trailing json response.
-    responseType = null;
+    encoder.reset();
     try {
       Route.After after = ctx.getRoute().getAfter();
       if (after != null) {
@@ -103,11 +93,12 @@ public class ChunkedSubscriber implements Flow.Subscriber {
   }
 
   public void onComplete() {
-    if (responseType != null && responseType.isJson()) {
-      responseType = null;
+    var end = encoder.end();
+    if (end != null) {
+      encoder.reset();
       sender()
           .write(
-              JSON_RBRACKET,
+              end,
               (ctx, x) -> {
                 if (x != null) {
                   onError(x);
@@ -117,13 +108,6 @@ public class ChunkedSubscriber implements Flow.Subscriber {
     sender().close();
   }
 
-  private static DataBuffer prepend(Context ctx, DataBuffer data, byte c) {
-    var buffer = ctx.getBufferFactory().allocateBuffer();
-    buffer.write(c);
-    buffer.write(data);
-    return buffer;
-  }
-
   private Sender sender() {
     if (this.sender == null) {
       this.sender = ctx.responseSender();
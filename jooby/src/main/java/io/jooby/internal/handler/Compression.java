@@ -0,0 +1,129 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.StatusCode;
+import io.jooby.handler.CompressionHandler;
+import io.jooby.handler.Compressor;
+import io.jooby.internal.AssetCache;
+import io.jooby.internal.LruCache;
+
+/**
+ * Compression rules and cache of compressed content, see {@link CompressionHandler}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class Compression {
+  private final List<MediaType> contentTypes;
+
+  private final int minSize;
+
+  private final LruCache<String, byte[]> cache;
+
+  /**
+   * Creates a new compression.
+   *
+   * @param contentTypes Content types allowlist.
+   * @param minSize Responses smaller than this are sent uncompressed.
+   * @param cacheSize Max memory used by compressed content or <code>0</code> for no cache.
+   */
+  public Compression(@NonNull List<MediaType> contentTypes, int minSize, long cacheSize) {
+    this.contentTypes = contentTypes;
+    this.minSize = minSize;
+    this.cache = cacheSize > 0 ? new LruCache<>(cacheSize, bytes -> bytes.length) : null;
+  }
+
+  /**
+   * Compress response content when possible.
+   *
+   * @param ctx Web context.
+   * @param compressor Compressor.
+   * @param data Content.
+   * @param offset Content offset.
+   * @param length Content length.
+   * @return Compressed content or <code>null</code> when response must be sent as it is.
+   */
+  public @Nullable byte[] compress(
+      @NonNull Context ctx,
+      @NonNull Compressor compressor,
+      @NonNull byte[] data,
+      int offset,
+      int length) {
+    if (!isCompressible(ctx, length)) {
+      return null;
+    }
+    String encoding = compressor.getEncoding();
+    String etag = ctx.getResponseHeader("ETag");
+    // weak etag doesn't guarantee same bytes
+    String key =
+        cache == null || etag == null || etag.startsWith("W/") ? null : key(ctx, encoding, etag);
+    byte[] bytes = key == null ? null : cache.get(key);
+    if (bytes == null) {
+      bytes = compressor.compress(data, offset, length);
+      if (bytes.length >= length) {
+        return null;
+      }
+      if (key != null) {
+        cache.put(key, bytes);
+      }
+    }
+    ctx.setResponseHeader("Content-Encoding", encoding);
+    if (etag != null) {
+      ctx.setResponseHeader("ETag", AssetCache.etag(etag, encoding));
+    }
+    return bytes;
+  }
+
+  /**
+   * True when a response of the given length must be compressed.
+   *
+   * @param ctx Web context.
+   * @param length Content length.
+   * @return True when a response of the given length must be compressed.
+   */
+  public boolean isCompressible(@NonNull Context ctx, int length) {
+    return length >= minSize
+        && ctx.getResponseHeader("Content-Encoding") == null
+        && ctx.getResponseCode() != StatusCode.NO_CONTENT
+        && ctx.getResponseCode() != StatusCode.NOT_MODIFIED
+        && compressible(ctx.getResponseType());
+  }
+
+  /**
+   * An <code>ETag</code> is unique per resource only, so the key includes the resource too.
+   *
+   * @param ctx Web context.
+   * @param encoding Content encoding.
+   * @param etag Response etag.
+   * @return Cache key.
+   */
+  private static String key(Context ctx, String encoding, String etag) {
+    return ctx.getMethod()
+        + ' '
+        + ctx.getRequestPath()
+        + ctx.queryString()
+        + '\n'
+        + encoding
+        + '\n'
+        + etag;
+  }
+
+  private boolean compressible(MediaType type) {
+    for (MediaType contentType : contentTypes) {
+      if (contentType.matches(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.nio.ByteBuffer;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+import io.jooby.handler.CompressionHandler;
+import io.jooby.handler.Compressor;
+
+/**
+ * Compress in-memory responses, see {@link CompressionHandler}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class CompressionContext extends BufferedResponseContext {
+  private final Compression compression;
+
+  private final Compressor compressor;
+
+  /**
+   * Creates a new compression context.
+   *
+   * @param context Source context.
+   * @param compression Compression rules.
+   * @param compressor Compressor negotiated with client.
+   */
+  public CompressionContext(
+      @NonNull Context context, @NonNull Compression compression, @NonNull Compressor compressor) {
+    super(context);
+    this.compression = compression;
+    this.compressor = compressor;
+  }
+
+  @NonNull @Override
+  public Context send(@NonNull byte[] data) {
+    byte[] compressed = compression.compress(ctx, compressor, data, 0, data.length);
+    ctx.send(compressed == null ? data : compressed);
+    return this;
+  }
+
+  @NonNull @Override
+  public Context send(@NonNull ByteBuffer data) {
+    byte[] compressed;
+    if (data.hasArray()) {
+      compressed =
+          compression.compress(
+              ctx,
+              compressor,
+              data.array(),
+              data.arrayOffset() + data.position(),
+              data.remaining());
+    } else {
+      byte[] bytes = new byte[data.remaining()];
+      data.duplicate().get(bytes);
+      compressed = compression.compress(ctx, compressor, bytes, 0, bytes.length);
+    }
+    ctx.send(compressed == null ? data : ByteBuffer.wrap(compressed));
+    return this;
+  }
+
+  @NonNull @Override
+  public Context send(@NonNull DataBuffer data) {
+    int length = data.readableByteCount();
+    if (!compression.isCompressible(ctx, length)) {
+      ctx.send(data);
+      return this;
+    }
+    byte[] bytes = new byte[length];
+    data.toByteBuffer(data.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+    byte[] compressed = compression.compress(ctx, compressor, bytes, 0, length);
+    if (compressed == null) {
+      ctx.send(data);
+    } else {
+      DataBufferUtils.release(data);
+      ctx.send(compressed);
+    }
+    return this;
+  }
+}
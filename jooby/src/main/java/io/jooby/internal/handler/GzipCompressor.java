@@ -0,0 +1,90 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.handler.Compressor;
+
+/**
+ * Gzip compressor (RFC 1952). Deflaters own native memory and are expensive to create, so they are
+ * kept in a pool and reset after each use.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class GzipCompressor implements Compressor {
+  private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+  private static final int TRAILER_SIZE = 8;
+
+  private final int level;
+
+  private final BlockingQueue<Deflater> pool;
+
+  /**
+   * Creates a new gzip compressor.
+   *
+   * @param level Compression level.
+   */
+  public GzipCompressor(int level) {
+    if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Compression level must be between 1 and 9: " + level);
+    }
+    this.level = level;
+    this.pool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+  }
+
+  @NonNull @Override
+  public String getEncoding() {
+    return "gzip";
+  }
+
+  @NonNull @Override
+  public byte[] compress(@NonNull byte[] data, int offset, int length) {
+    Deflater deflater = pool.poll();
+    if (deflater == null) {
+      deflater = new Deflater(level, true);
+    }
+    try {
+      byte[] out = new byte[HEADER.length + length / 2 + 64];
+      System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+      int size = HEADER.length;
+      deflater.setInput(data, offset, length);
+      deflater.finish();
+      while (!deflater.finished()) {
+        if (size == out.length) {
+          out = Arrays.copyOf(out, out.length * 2);
+        }
+        size += deflater.deflate(out, size, out.length - size);
+      }
+      CRC32 crc = new CRC32();
+      crc.update(data, offset, length);
+      out = Arrays.copyOf(out, size + TRAILER_SIZE);
+      writeInt(out, size, (int) crc.getValue());
+      writeInt(out, size + 4, length);
+      return out;
+    } finally {
+      deflater.reset();
+      if (!pool.offer(deflater)) {
+        deflater.end();
+      }
+    }
+  }
+
+  private static void writeInt(byte[] out, int offset, int value) {
+    // little endian
+    out[offset] = (byte) value;
+    out[offset + 1] = (byte) (value >> 8);
+    out[offset + 2] = (byte) (value >> 16);
+    out[offset + 3] = (byte) (value >> 24);
+  }
+}
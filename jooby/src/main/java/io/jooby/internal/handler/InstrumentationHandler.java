@@ -0,0 +1,156 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.Route;
+import io.jooby.instrumentation.RouteMetrics;
+import io.jooby.instrumentation.Stage;
+
+/**
+ * Record request timings of a route. Pipeline looks like:
+ *
+ * <pre>
+ *   arrival -> dispatch -> start -> default -> handler -> route pipeline
+ * </pre>
+ *
+ * The {@link RequestTimings} is saved as context attribute and reported once the response
+ * completes. Time spent encoding is tracked by {@link InstrumentedEncoder}.
+ */
+public class InstrumentationHandler {
+  private static final String KEY = RequestTimings.class.getName();
+
+  /** Stamp the time the handler starts to run, after dispatch. */
+  public static final Route.Filter START =
+      next ->
+          ctx -> {
+            var timings = timings(ctx);
+            if (timings != null) {
+              timings.start(System.nanoTime());
+            }
+            return next.apply(ctx);
+          };
+
+  /** Stamp the time the handler ends, before rendering. */
+  public static final Route.Filter HANDLER =
+      next ->
+          ctx -> {
+            try {
+              return next.apply(ctx);
+            } finally {
+              var timings = timings(ctx);
+              if (timings != null) {
+                timings.handlerEnd = System.nanoTime();
+              }
+            }
+          };
+
+  private InstrumentationHandler() {}
+
+  /**
+   * Creates the request timings and report them on completion. Time spent in the caller thread
+   * (usually the event loop) is recorded as {@link Stage#EVENT_LOOP}: for dispatched routes that is
+   * the time it takes to dispatch the request, for non-blocking routes it is the entire handler.
+   *
+   * @param metrics Route metrics.
+   * @return Arrival filter.
+   */
+  public static @NonNull Route.Filter arrival(@NonNull RouteMetrics metrics) {
+    return next ->
+        ctx -> {
+          var arrival = System.nanoTime();
+          var timings = new RequestTimings(metrics, arrival);
+          ctx.setAttribute(KEY, timings);
+          ctx.onComplete(timings);
+          try {
+            return next.apply(ctx);
+          } finally {
+            metrics.record(Stage.EVENT_LOOP, System.nanoTime() - arrival);
+          }
+        };
+  }
+
+  /**
+   * Request timings or <code>null</code> when route isn't instrumented.
+   *
+   * @param ctx Web context.
+   * @return Request timings or <code>null</code>.
+   */
+  public static @Nullable RequestTimings timings(@NonNull Context ctx) {
+    return ctx.getAttribute(KEY);
+  }
+
+  /** Timings of a single request. */
+  public static class RequestTimings implements Route.Complete {
+    private final RouteMetrics metrics;
+
+    private final long arrival;
+
+    private final Thread thread;
+
+    private volatile long start;
+
+    private volatile boolean dispatched;
+
+    private volatile long handlerEnd;
+
+    private volatile long encode;
+
+    private volatile long bytes;
+
+    private int depth;
+
+    RequestTimings(RouteMetrics metrics, long arrival) {
+      this.metrics = metrics;
+      this.arrival = arrival;
+      this.thread = Thread.currentThread();
+    }
+
+    void start(long now) {
+      this.start = now;
+      this.dispatched = Thread.currentThread() != thread;
+    }
+
+    /**
+     * Enter an encoder. Encoders might call each other, only the outer call is timed.
+     *
+     * @return True for the outer call.
+     */
+    boolean enterEncoder() {
+      return depth++ == 0;
+    }
+
+    /**
+     * Exit an encoder.
+     *
+     * @param nanos Time spent encoding, only for outer call.
+     * @param bytes Encoded bytes, only for outer call.
+     */
+    void exitEncoder(long nanos, long bytes) {
+      if (--depth == 0) {
+        this.encode += nanos;
+        this.bytes += bytes;
+      }
+    }
+
+    @Override
+    public void apply(@NonNull Context ctx) {
+      var now = System.nanoTime();
+      var start = this.start == 0 ? arrival : this.start;
+      var handlerEnd = this.handlerEnd == 0 ? now : this.handlerEnd;
+      if (dispatched) {
+        metrics.record(Stage.QUEUE, start - arrival);
+      }
+      metrics.record(Stage.HANDLER, handlerEnd - start);
+      metrics.record(Stage.ENCODE, encode);
+      metrics.record(Stage.WRITE, Math.max(0, now - handlerEnd - encode));
+      metrics.record(Stage.TOTAL, now - arrival);
+      metrics.recordBytes(Math.max(bytes, ctx.getResponseLength()));
+    }
+  }
+}
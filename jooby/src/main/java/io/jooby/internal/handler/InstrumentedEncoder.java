@@ -0,0 +1,69 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.MessageEncoder;
+import io.jooby.buffer.DataBuffer;
+
+/** Track encoding time and encoded bytes of instrumented routes. */
+public class InstrumentedEncoder implements MessageEncoder {
+  private final MessageEncoder encoder;
+
+  public InstrumentedEncoder(MessageEncoder encoder) {
+    this.encoder = encoder;
+  }
+
+  @Nullable @Override
+  public DataBuffer encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
+    var timings = InstrumentationHandler.timings(ctx);
+    if (timings == null || !timings.enterEncoder()) {
+      try {
+        return encoder.encode(ctx, value);
+      } finally {
+        if (timings != null) {
+          timings.exitEncoder(0, 0);
+        }
+      }
+    }
+    var start = System.nanoTime();
+    long bytes = 0;
+    try {
+      var result = encoder.encode(ctx, value);
+      bytes = result == null ? 0 : result.readableByteCount();
+      return result;
+    } finally {
+      timings.exitEncoder(System.nanoTime() - start, bytes);
+    }
+  }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer)
+      throws Exception {
+    var timings = InstrumentationHandler.timings(ctx);
+    if (timings == null || !timings.enterEncoder()) {
+      try {
+        return encoder.encode(ctx, value, buffer);
+      } finally {
+        if (timings != null) {
+          timings.exitEncoder(0, 0);
+        }
+      }
+    }
+    var start = System.nanoTime();
+    var offset = buffer.readableByteCount();
+    long bytes = 0;
+    try {
+      var encoded = encoder.encode(ctx, value, buffer);
+      bytes = buffer.readableByteCount() - offset;
+      return encoded;
+    } finally {
+      timings.exitEncoder(System.nanoTime() - start, bytes);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.nio.ByteBuffer;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+import io.jooby.handler.ResponseCache;
+import io.jooby.handler.ResponseCacheHandler;
+
+/**
+ * Capture in-memory responses, see {@link ResponseCacheHandler}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class ResponseCacheContext extends BufferedResponseContext {
+  private final ResponseCacheStore store;
+
+  private final String key;
+
+  private volatile ResponseCache.Entry entry;
+
+  /**
+   * Creates a new response cache context.
+   *
+   * @param context Source context.
+   * @param store Response cache store.
+   * @param key Cache key.
+   */
+  public ResponseCacheContext(
+      @NonNull Context context, @NonNull ResponseCacheStore store, @NonNull String key) {
+    super(context);
+    this.store = store;
+    this.key = key;
+  }
+
+  /**
+   * Cached response or <code>null</code> when response wasn't cacheable.
+   *
+   * @return Cached response or <code>null</code> when response wasn't cacheable.
+   */
+  public @Nullable ResponseCache.Entry getEntry() {
+    return entry;
+  }
+
+  @NonNull @Override
+  public Context send(@NonNull byte[] data) {
+    entry = store.save(ctx, key, data);
+    if (entry == null) {
+      ctx.send(data);
+    } else {
+      store.send(ctx, entry);
+    }
+    return this;
+  }
+
+  @NonNull @Override
+  public Context send(@NonNull ByteBuffer data) {
+    byte[] bytes = new byte[data.remaining()];
+    data.duplicate().get(bytes);
+    return send(bytes);
+  }
+
+  @NonNull @Override
+  public Context send(@NonNull DataBuffer data) {
+    int length = data.readableByteCount();
+    byte[] bytes = new byte[length];
+    data.toByteBuffer(data.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+    DataBufferUtils.release(data);
+    return send(bytes);
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.StatusCode;
+import io.jooby.handler.ResponseCache;
+import io.jooby.handler.ResponseCacheHandler;
+
+/**
+ * Cache keys, storage and replay rules of {@link ResponseCacheHandler}.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class ResponseCacheStore {
+  private static final String[] NO_VARY = new String[0];
+
+  private final ResponseCache cache;
+
+  /** Vary header names by route pattern. */
+  private final Map<String, String[]> vary = new ConcurrentHashMap<>();
+
+  private final List<String> keyHeaders;
+
+  private final List<String> responseHeaders;
+
+  private final long ttl;
+
+  /**
+   * Creates a new response cache store.
+   *
+   * @param cache Cache.
+   * @param keyHeaders Request headers to include in the cache key.
+   * @param responseHeaders Response headers to save and replay.
+   * @param ttl Time to live of responses without <code>Cache-Control: max-age</code>, in millis.
+   */
+  public ResponseCacheStore(
+      @NonNull ResponseCache cache,
+      @NonNull List<String> keyHeaders,
+      @NonNull List<String> responseHeaders,
+      long ttl) {
+    this.cache = cache;
+    this.keyHeaders = keyHeaders;
+    this.responseHeaders = responseHeaders;
+    this.ttl = ttl;
+  }
+
+  /**
+   * Cache key of a request, before executing the route.
+   *
+   * @param ctx Web context.
+   * @return Cache key.
+   */
+  public @NonNull String key(@NonNull Context ctx) {
+    return key(ctx, vary.getOrDefault(ctx.getRoute().getPattern(), NO_VARY));
+  }
+
+  /**
+   * True for requests with credentials: an <code>Authorization</code> or <code>Cookie</code>
+   * header. They might produce a response for that user only.
+   *
+   * @param ctx Web context.
+   * @return True for requests with credentials.
+   */
+  public boolean isPrivate(@NonNull Context ctx) {
+    return ctx.header("Authorization").isPresent() || ctx.header("Cookie").isPresent();
+  }
+
+  /**
+   * Find a fresh entry.
+   *
+   * @param key Cache key.
+   * @return Entry or <code>null</code>.
+   */
+  public @Nullable ResponseCache.Entry find(@NonNull String key) {
+    ResponseCache.Entry entry = cache.get(key);
+    if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+      cache.invalidate(key);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Save a response produced by a route.
+   *
+   * @param ctx Web context.
+   * @param key Cache key computed before executing the route.
+   * @param body Response body.
+   * @return Cache entry or <code>null</code> when response isn't cacheable.
+   */
+  public @Nullable ResponseCache.Entry save(
+      @NonNull Context ctx, @NonNull String key, @NonNull byte[] body) {
+    if (ctx.getResponseCode().value() != StatusCode.OK_CODE
+        || ctx.getResponseHeader("Set-Cookie") != null) {
+      return null;
+    }
+    long maxAge = ttl;
+    String cacheControl = ctx.getResponseHeader("Cache-Control");
+    String value = cacheControl == null ? "" : cacheControl.toLowerCase(Locale.ROOT);
+    // no-cache requires revalidation on every request, which isn't supported
+    if (value.contains("no-store") || value.contains("no-cache") || value.contains("private")) {
+      return null;
+    }
+    // responses to requests with credentials must be explicitly marked as shareable
+    if (isPrivate(ctx) && !value.contains("public") && !value.contains("s-maxage")) {
+      return null;
+    }
+    long seconds = maxAge(value);
+    if (seconds >= 0) {
+      maxAge = TimeUnit.SECONDS.toMillis(seconds);
+    }
+    if (maxAge <= 0) {
+      return null;
+    }
+    String varyHeader = ctx.getResponseHeader("Vary");
+    if (varyHeader != null) {
+      if (varyHeader.contains("*")) {
+        return null;
+      }
+      String[] names = varyHeader.split("\\s*,\\s*");
+      String pattern = ctx.getRoute().getPattern();
+      if (!List.of(names).equals(List.of(vary.getOrDefault(pattern, NO_VARY)))) {
+        vary.put(pattern, names);
+      }
+      key = key(ctx, names);
+    }
+    Map<String, String> headers = new LinkedHashMap<>();
+    for (String name : responseHeaders) {
+      String header = ctx.getResponseHeader(name);
+      if (header != null) {
+        headers.put(name, header);
+      }
+    }
+    String etag = ctx.getResponseHeader("ETag");
+    if (etag == null) {
+      CRC32 crc = new CRC32();
+      crc.update(body);
+      etag =
+          "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+    }
+    long now = System.currentTimeMillis();
+    ResponseCache.Entry entry =
+        new ResponseCache.Entry(
+            StatusCode.OK_CODE,
+            ctx.getResponseType().toContentTypeHeader(null),
+            headers,
+            body,
+            etag,
+            now,
+            now + maxAge);
+    cache.put(key, entry);
+    return entry;
+  }
+
+  /**
+   * Send a response, or a <code>304</code> when client has a fresh copy.
+   *
+   * @param ctx Web context.
+   * @param entry Response.
+   * @return Web context.
+   */
+  public @NonNull Context send(@NonNull Context ctx, @NonNull ResponseCache.Entry entry) {
+    for (Map.Entry<String, String> header : entry.getHeaders().entrySet()) {
+      ctx.setResponseHeader(header.getKey(), header.getValue());
+    }
+    ctx.setResponseHeader("ETag", entry.getEtag());
+    long age = (System.currentTimeMillis() - entry.getCreated()) / 1000;
+    if (age > 0) {
+      ctx.setResponseHeader("Age", age);
+    }
+    if (matches(ctx.header("If-None-Match").valueOrNull(), entry.getEtag())) {
+      return ctx.send(StatusCode.NOT_MODIFIED);
+    }
+    ctx.setResponseCode(entry.getStatusCode());
+    ctx.setResponseType(entry.getContentType());
+    return ctx.send(entry.getBody());
+  }
+
+  private String key(Context ctx, String[] vary) {
+    StringBuilder key = new StringBuilder(ctx.getMethod()).append(' ').append(ctx.getRequestPath());
+    String query = ctx.queryString();
+    if (!query.isEmpty()) {
+      key.append(query);
+    }
+    for (String name : keyHeaders) {
+      key.append('\n').append(name).append('=').append(ctx.header(name).value(""));
+    }
+    for (String name : vary) {
+      key.append('\n').append(name).append('=').append(ctx.header(name).value(""));
+    }
+    return key.toString();
+  }
+
+  private static long maxAge(String cacheControl) {
+    int i = cacheControl.indexOf("max-age=");
+    if (i < 0) {
+      return -1;
+    }
+    int start = i + "max-age=".length();
+    int end = start;
+    while (end < cacheControl.length() && Character.isDigit(cacheControl.charAt(end))) {
+      end += 1;
+    }
+    return end == start ? -1 : Long.parseLong(cacheControl.substring(start, end));
+  }
+
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    String opaque = opaque(etag);
+    for (String value : ifNoneMatch.split(",")) {
+      String candidate = value.trim();
+      if (candidate.equals("*") || opaque(candidate).equals(opaque)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Weak comparison: ignore the <code>W/</code> prefix. */
+  private static String opaque(String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+}
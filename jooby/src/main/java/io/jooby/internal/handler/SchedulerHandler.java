@@ -0,0 +1,51 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.util.concurrent.Executor;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.RequestScheduler;
+import io.jooby.Route;
+
+public class SchedulerHandler implements Route.Filter {
+  private final RequestScheduler scheduler;
+
+  private final Executor executor;
+
+  /**
+   * Creates a scheduler handler.
+   *
+   * @param scheduler Request scheduler.
+   * @param executor Executor or <code>null</code> for worker executor.
+   */
+  public SchedulerHandler(RequestScheduler scheduler, Executor executor) {
+    this.scheduler = scheduler;
+    this.executor = executor;
+  }
+
+  @NonNull @Override
+  public Route.Handler apply(@NonNull Route.Handler next) {
+    return ctx -> {
+      scheduler.schedule(
+          ctx,
+          executor == null ? ctx.getRouter().getWorker() : executor,
+          () -> {
+            try {
+              next.apply(ctx);
+            } catch (Throwable x) {
+              ctx.sendError(x);
+            }
+          });
+      return ctx;
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "scheduler";
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.WebSocket;
+
+/**
+ * Connected web sockets grouped by route pattern. Used by server implementations.
+ *
+ * <p>Each group is split in shards, sockets are assigned to a shard by identity hash code. Connect
+ * and disconnect are constant time operations (no copy of the group is made) and contention is
+ * spread across shards. Iteration is weakly consistent: sockets connected/disconnected while
+ * iterating might or might not be visited.
+ *
+ * @param <T> Web socket type.
+ * @author edgar
+ * @since 3.5.4
+ */
+public final class WebSocketRegistry<T extends WebSocket> {
+
+  /** Power of two, at least twice the number of processors, up to 64. */
+  private static final int SHARDS =
+      Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1));
+
+  private final ConcurrentMap<String, Set<T>[]> groups = new ConcurrentHashMap<>();
+
+  /**
+   * Add a web socket.
+   *
+   * @param key Route pattern.
+   * @param ws Web socket.
+   */
+  public void add(@NonNull String key, @NonNull T ws) {
+    shard(groups.computeIfAbsent(key, WebSocketRegistry::newGroup), ws).add(ws);
+  }
+
+  /**
+   * Remove a web socket.
+   *
+   * @param key Route pattern.
+   * @param ws Web socket.
+   */
+  public void remove(@NonNull String key, @NonNull T ws) {
+    Set<T>[] group = groups.get(key);
+    if (group != null) {
+      shard(group, ws).remove(ws);
+    }
+  }
+
+  /**
+   * Visit all the web sockets of a route pattern.
+   *
+   * @param key Route pattern.
+   * @param consumer Web socket consumer.
+   */
+  public void forEach(@NonNull String key, @NonNull Consumer<T> consumer) {
+    Set<T>[] group = groups.get(key);
+    if (group != null) {
+      for (Set<T> shard : group) {
+        shard.forEach(consumer);
+      }
+    }
+  }
+
+  /**
+   * Copy of the web sockets of a route pattern.
+   *
+   * @param key Route pattern.
+   * @return Web sockets.
+   */
+  public @NonNull List<T> list(@NonNull String key) {
+    List<T> result = new ArrayList<>();
+    forEach(key, result::add);
+    return result;
+  }
+
+  /**
+   * Number of web sockets of a route pattern.
+   *
+   * @param key Route pattern.
+   * @return Number of web sockets.
+   */
+  public int size(@NonNull String key) {
+    Set<T>[] group = groups.get(key);
+    int size = 0;
+    if (group != null) {
+      for (Set<T> shard : group) {
+        size += shard.size();
+      }
+    }
+    return size;
+  }
+
+  /** Remove all the web sockets. */
+  public void clear() {
+    groups.clear();
+  }
+
+  private Set<T> shard(Set<T>[] group, T ws) {
+    int hash = System.identityHashCode(ws);
+    return group[(hash ^ (hash >>> 16)) & (group.length - 1)];
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Set<T>[] newGroup(String key) {
+    Set<T>[] group = new Set[SHARDS];
+    for (int i = 0; i < group.length; i++) {
+      group[i] = ConcurrentHashMap.newKeySet();
+    }
+    return group;
+  }
+}
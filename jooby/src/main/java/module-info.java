@@ -11,8 +11,14 @@ module io.jooby {
   exports io.jooby.buffer;
   exports io.jooby.exception;
   exports io.jooby.handler;
+  exports io.jooby.instrumentation;
   exports io.jooby.validation;
   exports io.jooby.problem;
+  // server implementations
+  exports io.jooby.internal.websocket to
+      io.jooby.netty,
+      io.jooby.jetty,
+      io.jooby.undertow;
 
   uses io.jooby.MvcFactory;
   uses io.jooby.Server;
@@ -32,4 +38,9 @@ module io.jooby {
    * Optional dependency for rate limiting
    */
   requires static io.github.bucket4j.core;
+
+  /*
+   * Optional dependency for virtual thread pinning diagnostics
+   */
+  requires static jdk.jfr;
 }
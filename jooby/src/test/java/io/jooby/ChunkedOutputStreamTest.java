@@ -0,0 +1,60 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.buffer.DefaultDataBufferFactory;
+
+public class ChunkedOutputStreamTest {
+
+  @Test
+  public void shouldBufferSmallOutput() throws Exception {
+    Context ctx = context(new ByteArrayOutputStream());
+
+    ChunkedOutputStream output = new ChunkedOutputStream(ctx, 8);
+    output.write("Hello".getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(output.isStreaming());
+    assertEquals("Hello", output.finish().toString(StandardCharsets.UTF_8));
+    verify(ctx, never()).responseStream();
+  }
+
+  @Test
+  public void shouldStreamLargeOutput() throws Exception {
+    ByteArrayOutputStream response = new ByteArrayOutputStream();
+    Context ctx = context(response);
+
+    ChunkedOutputStream output = new ChunkedOutputStream(ctx, 8);
+    output.write("Hello".getBytes(StandardCharsets.UTF_8));
+    output.write(' ');
+    output.write("World!".getBytes(StandardCharsets.UTF_8));
+
+    assertTrue(output.isStreaming());
+    assertNull(output.finish());
+    assertArrayEquals("Hello World!".getBytes(StandardCharsets.UTF_8), response.toByteArray());
+  }
+
+  private Context context(ByteArrayOutputStream response) {
+    Context ctx = mock(Context.class);
+    when(ctx.getBufferFactory()).thenReturn(new DefaultDataBufferFactory());
+    when(ctx.responseStream()).thenReturn(response);
+    return ctx;
+  }
+}
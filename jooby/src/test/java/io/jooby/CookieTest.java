@@ -7,8 +7,12 @@ package io.jooby;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableMap;
@@ -53,6 +57,32 @@ public class CookieTest {
             "RcFzlzECN2Lv32Ie9jfSWVr13j6OjllJwDDZe4mVS4c|foo=bar&x=u iq", "987654345!$009P"));
   }
 
+  @Test
+  public void signer() {
+    CookieSigner signer = new CookieSigner("987654345!$009P");
+    assertEquals(Cookie.sign("foo=bar", "987654345!$009P"), signer.sign("foo=bar"));
+    assertEquals("foo=bar", signer.unsign(signer.sign("foo=bar")));
+    assertEquals("", signer.unsign(signer.sign("")));
+
+    String signed = signer.sign("foo=bar");
+    assertNull(signer.unsign(signed.replace("foo=bar", "foo=baz")));
+    assertNull(signer.unsign("X" + signed.substring(1)));
+    assertNull(signer.unsign(signed.substring(0, 42) + "=|foo=bar"));
+    assertNull(signer.unsign(signed.substring(1)));
+    assertNull(signer.unsign("foo=bar"));
+    assertNull(new CookieSigner("other").unsign(signed));
+  }
+
+  @Test
+  public void encodeDecodeEscaped() {
+    Map<String, String> attributes = new LinkedHashMap<>();
+    attributes.put("user.id", "a_b-c*d");
+    attributes.put("k&=", "v á+%");
+    String encoded = Cookie.encode(attributes);
+    assertEquals("user.id=a_b-c*d&k%26%3D=v+%C3%A1%2B%25", encoded);
+    assertEquals(attributes, Cookie.decode(encoded));
+  }
+
   @Test
   public void testCreateSameSite() {
     assertEquals(
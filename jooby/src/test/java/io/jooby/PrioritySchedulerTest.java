@@ -0,0 +1,162 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+public class PrioritySchedulerTest {
+
+  /** Executor of the lane, runs when asked to. */
+  private final List<Runnable> dispatched = new ArrayList<>();
+
+  private final Executor executor = dispatched::add;
+
+  /** Context of each dispatch call, then context of each dispatched runnable when it runs. */
+  private final List<Context> dispatchOwners = new ArrayList<>();
+
+  @Test
+  public void shouldRunHigherPriorityFirst() {
+    PriorityScheduler scheduler = new PriorityScheduler().parallelism(1);
+    List<String> values = new ArrayList<>();
+    scheduler.schedule(context(0, null), executor, () -> values.add("first"));
+    scheduler.schedule(context(0, null), executor, () -> values.add("low"));
+    scheduler.schedule(context(10, null), executor, () -> values.add("high"));
+    scheduler.schedule(context(5, null), executor, () -> values.add("medium"));
+
+    // one permit: only the first request reached the executor
+    assertEquals(1, dispatched.size());
+    runDispatched();
+
+    assertEquals(List.of("first", "high", "medium", "low"), values);
+  }
+
+  @Test
+  public void shouldRunEachRequestInsideItsOwnDispatch() {
+    PriorityScheduler scheduler = new PriorityScheduler().parallelism(1);
+    List<Context> running = new ArrayList<>();
+    Context first = context(0, null);
+    Context low = context(0, null);
+    Context high = context(10, null);
+    scheduler.schedule(first, executor, () -> {});
+    scheduler.schedule(low, executor, () -> running.add(low));
+    scheduler.schedule(high, executor, () -> running.add(high));
+
+    runDispatched();
+
+    // each task ran from the runnable given to the dispatch call of its own context
+    assertEquals(List.of(high, low), running);
+    assertEquals(List.of(first, low, high, first, high, low), dispatchOwners);
+  }
+
+  @Test
+  public void shouldRunAsManyRequestsAsWorkerThreads() {
+    PriorityScheduler scheduler = new PriorityScheduler();
+    scheduler.start(new ServerOptions().setWorkerThreads(3));
+    for (int i = 0; i < 4; i++) {
+      scheduler.schedule(context(0, null), executor, () -> {});
+    }
+
+    assertEquals(3, dispatched.size());
+  }
+
+  @Test
+  public void shouldShedWhenQueueIsFull() {
+    PriorityScheduler scheduler = new PriorityScheduler().parallelism(1).maxQueueSize(1);
+    Context running = context(0, null);
+    Context queued = context(0, null);
+    Context rejected = context(0, null);
+    scheduler.schedule(running, executor, () -> {});
+    scheduler.schedule(queued, executor, () -> {});
+    scheduler.schedule(rejected, executor, () -> {});
+
+    assertEquals(1, dispatched.size());
+    verify(rejected).setResponseHeader("Retry-After", 1L);
+    verify(rejected).send(StatusCode.SERVICE_UNAVAILABLE);
+    verify(running, never()).send(any(StatusCode.class));
+    verify(queued, never()).send(any(StatusCode.class));
+  }
+
+  @Test
+  public void shouldShedWhenWaitExceedsDeadline() {
+    PriorityScheduler scheduler = new PriorityScheduler().parallelism(1);
+    scheduler.schedule(context(0, null), executor, () -> sleep(20));
+    runDispatched();
+
+    Context ctx = context(0, "1");
+    scheduler.schedule(ctx, executor, () -> {});
+
+    assertEquals(0, dispatched.size());
+    verify(ctx).send(StatusCode.SERVICE_UNAVAILABLE);
+  }
+
+  @Test
+  public void shouldRejectExpiredRequests() {
+    PriorityScheduler scheduler = new PriorityScheduler();
+    List<String> values = new ArrayList<>();
+    Context ctx = context(0, "5");
+    scheduler.schedule(ctx, executor, () -> values.add("expired"));
+    sleep(20);
+    runDispatched();
+
+    assertEquals(List.of(), values);
+    verify(ctx).send(StatusCode.SERVICE_UNAVAILABLE);
+  }
+
+  private Context context(int priority, String timeout) {
+    Route route = new Route(Router.GET, "/", ctx -> ctx);
+    route.attribute(PriorityScheduler.PRIORITY, priority);
+    Context ctx = mock(Context.class);
+    when(ctx.getRoute()).thenReturn(route);
+    when(ctx.header(anyString()))
+        .thenAnswer(
+            invocation -> {
+              String name = invocation.getArgument(0);
+              return timeout == null ? Value.missing(name) : Value.value(ctx, name, timeout);
+            });
+    // like a server: hand the request runnable to the executor, record who owns it
+    when(ctx.dispatch(any(Executor.class), any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              Runnable action = invocation.getArgument(1);
+              dispatchOwners.add(ctx);
+              invocation
+                  .<Executor>getArgument(0)
+                  .execute(
+                      () -> {
+                        dispatchOwners.add(ctx);
+                        action.run();
+                      });
+              return ctx;
+            });
+    return ctx;
+  }
+
+  private void runDispatched() {
+    while (!dispatched.isEmpty()) {
+      dispatched.remove(0).run();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
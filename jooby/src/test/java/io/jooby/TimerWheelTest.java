@@ -0,0 +1,68 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class TimerWheelTest {
+
+  @Test
+  public void shouldRunInOrderAndBatchPerExecutor() throws Exception {
+    try (TimerWheel timer = new TimerWheel("test-timer", 10, TimeUnit.MILLISECONDS, 4)) {
+      AtomicInteger batches = new AtomicInteger();
+      Executor executor =
+          task -> {
+            batches.incrementAndGet();
+            task.run();
+          };
+      List<String> values = new CopyOnWriteArrayList<>();
+      CountDownLatch latch = new CountDownLatch(4);
+      // longer than a wheel turn
+      timer.schedule(executor, 120, TimeUnit.MILLISECONDS, record(values, "c", latch));
+      timer.schedule(executor, 50, TimeUnit.MILLISECONDS, record(values, "b", latch));
+      timer.schedule(executor, 0, TimeUnit.MILLISECONDS, record(values, "a1", latch));
+      timer.schedule(executor, 0, TimeUnit.MILLISECONDS, record(values, "a2", latch));
+
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      assertEquals(List.of("a1", "a2", "b", "c"), values);
+      assertEquals(3, batches.get());
+    }
+  }
+
+  @Test
+  public void shouldCancel() throws Exception {
+    try (TimerWheel timer = new TimerWheel("test-timer", 10, TimeUnit.MILLISECONDS, 8)) {
+      List<String> values = new CopyOnWriteArrayList<>();
+      CountDownLatch latch = new CountDownLatch(1);
+      TimerWheel.Timeout timeout =
+          timer.schedule(Runnable::run, 20, TimeUnit.MILLISECONDS, () -> values.add("cancelled"));
+      timer.schedule(Runnable::run, 50, TimeUnit.MILLISECONDS, record(values, "done", latch));
+      assertTrue(timeout.cancel());
+      assertFalse(timeout.cancel());
+
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      assertEquals(List.of("done"), values);
+    }
+  }
+
+  private static Runnable record(List<String> values, String value, CountDownLatch latch) {
+    return () -> {
+      values.add(value);
+      latch.countDown();
+    };
+  }
+}
@@ -7,12 +7,14 @@ package io.jooby;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -43,6 +45,12 @@ public class ValueTest {
           assertEquals("bar", queryString.get("foo").value());
           assertEquals(1, queryString.size());
         });
+    queryString(
+        "?foo=bar",
+        queryString -> {
+          assertEquals("bar", queryString.get("foo").value());
+          assertEquals(1, queryString.size());
+        });
     queryString(
         "foo=bar&&",
         queryString -> {
@@ -506,6 +514,37 @@ public class ValueTest {
         "Missing value: 'foo.1'");
   }
 
+  @Test
+  public void lazyQueryString() {
+    queryString(
+        "q=a+b&page=2&sort=name&sort=date&x=%2&empty&y=%C3%A1",
+        queryString -> {
+          // only accessed values are decoded: x has an invalid escape sequence
+          assertEquals("a b", queryString.get("q").value());
+          assertEquals(2, queryString.get("page").intValue());
+          assertEquals(List.of("name", "date"), queryString.get("sort").toList());
+          assertEquals("", queryString.get("empty").value());
+          assertEquals("á", queryString.get("y").value());
+          assertTrue(queryString.get("missing").isMissing());
+          assertEquals("2", queryString.get("page").value());
+          assertThrows(IllegalArgumentException.class, queryString::size);
+          // every access fails the same way, tree is never half built
+          assertThrows(IllegalArgumentException.class, queryString::size);
+          assertThrows(IllegalArgumentException.class, queryString::toMultimap);
+        });
+    queryString(
+        "q=foo&user.name=edgar&user.id=1&list[0]=a&list[1]=b",
+        queryString -> {
+          assertEquals("foo", queryString.get("q").value());
+          assertEquals("edgar", queryString.get("user").get("name").value());
+          assertEquals(List.of("a", "b"), queryString.get("list").toList());
+          assertEquals(3, queryString.size());
+        });
+    queryString(
+        "user%2Ename=edgar",
+        queryString -> assertEquals("edgar", queryString.get("user").get("name").value()));
+  }
+
   public static <T extends Throwable> void assertMessage(
       Class<T> expectedType, Executable executable, String message) {
     T x = assertThrows(expectedType, executable);
@@ -0,0 +1,55 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void buckets() {
+    for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123_456, Histogram.MAX_VALUE}) {
+      int index = Histogram.indexOf(value);
+      long highest = Histogram.highestValueOf(index);
+      assertTrue(highest >= value, value + " > " + highest);
+      assertTrue(highest - value <= Math.max(0, value / 16), value + " => " + highest);
+      if (index > 0) {
+        assertTrue(Histogram.highestValueOf(index - 1) < value);
+      }
+    }
+  }
+
+  @Test
+  public void percentiles() {
+    Histogram histogram = new Histogram();
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1000, histogram.getMax());
+    assertEquals(500.5, histogram.getMean());
+    assertRange(500, histogram.getValueAtPercentile(50));
+    assertRange(990, histogram.getValueAtPercentile(99));
+    assertEquals(1000, histogram.getValueAtPercentile(100));
+    assertEquals(1, histogram.getValueAtPercentile(0));
+
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(Histogram.MAX_VALUE, histogram.getMax());
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  private static void assertRange(long expected, long value) {
+    assertTrue(value >= expected && value <= expected + expected / 16, expected + " ~ " + value);
+  }
+}
@@ -11,6 +11,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import io.jooby.Context;
@@ -233,6 +237,64 @@ public class ChiTest {
         });
   }
 
+  @Test
+  public void compiledStaticRoutes() {
+    Chi router = new Chi();
+    for (int i = 0; i < 50; i++) {
+      router.insert(route("GET", "/static/" + i, stringHandler("get" + i)));
+      router.insert(route("POST", "/static/" + i, stringHandler("post" + i)));
+    }
+    Route foo = route("GET", "/foo", stringHandler("foo"));
+    Route bar = route("GET", "/foo", stringHandler("bar"));
+    router.insert(foo);
+    router.insert(bar);
+    router.insert(route("GET", "/user/{id}", stringHandler("user")));
+    router.compile();
+
+    for (int i = 0; i < 50; i++) {
+      Router.Match get = router.find("GET", "/static/" + i);
+      assertTrue(get.matches());
+      assertEquals("/static/" + i, get.route().getPattern());
+      assertEquals("GET", get.route().getMethod());
+
+      Router.Match post = router.find(new String("POST"), "/static/" + i);
+      assertTrue(post.matches());
+      assertEquals("POST", post.route().getMethod());
+    }
+    assertEquals(bar, router.find("GET", "/foo").route());
+    assertTrue(router.find("GET", "/user/123").matches());
+    assertFalse(router.find("PUT", "/static/1").matches());
+    assertFalse(router.find("GET", "/static/50").matches());
+
+    // routes added after compile are still reachable
+    router.insert(route("GET", "/late", stringHandler("late")));
+    assertTrue(router.find("GET", "/late").matches());
+  }
+
+  @Test
+  public void pathVariables() {
+    Chi router = new Chi();
+    router.insert(route("GET", "/user/{id}/{name:[a-z]+}", stringHandler("user")));
+    router.insert(route("GET", "/user/{id}/{age:[0-9]+}", stringHandler("age")));
+    router.insert(route("GET", "/static/*path", stringHandler("static")));
+
+    Router.Match user = router.find("GET", "/user/123/edgar");
+    assertTrue(user.matches());
+    assertEquals(Map.of("id", "123", "name", "edgar"), user.pathMap());
+    assertEquals(List.of("id", "name"), new ArrayList<>(user.pathMap().keySet()));
+
+    Router.Match age = router.find("GET", "/user/123/40");
+    assertTrue(age.matches());
+    assertEquals(Map.of("id", "123", "age", "40"), age.pathMap());
+    assertEquals(null, age.pathMap().get("name"));
+
+    Router.Match path = router.find("GET", "/static/js/index.js");
+    assertTrue(path.matches());
+    assertEquals(Map.of("path", "js/index.js"), path.pathMap());
+
+    assertEquals(Map.of(), router.find("GET", "/missing").pathMap());
+  }
+
   private void find(
       Chi router, String pattern, SneakyThrows.Consumer2<Context, Router.Match> consumer) {
     Router.Match result = router.find("GET", pattern);
@@ -244,7 +306,9 @@ public class ChiTest {
   }
 
   private Route route(String method, String pattern, Route.Handler handler) {
-    return new Route(method, pattern, handler).setEncoder(MessageEncoder.TO_STRING);
+    return new Route(method, pattern, handler)
+        .setPathKeys(Router.pathKeys(pattern))
+        .setEncoder(MessageEncoder.TO_STRING);
   }
 
   private Context ctx(String path) {
@@ -0,0 +1,39 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class LruCacheTest {
+
+  @Test
+  public void shouldEvictLeastRecentlyUsed() {
+    var cache = new LruCache<String, String>(6, String::length);
+    cache.put("a", "aa");
+    cache.put("b", "bb");
+    cache.put("c", "cc");
+    // a is now the most recently used
+    assertEquals("aa", cache.get("a"));
+
+    cache.put("d", "dd");
+    assertNull(cache.get("b"));
+    assertEquals("aa", cache.get("a"));
+    assertEquals("cc", cache.get("c"));
+    assertEquals("dd", cache.get("d"));
+  }
+
+  @Test
+  public void shouldIgnoreEntriesHeavierThanMaxWeight() {
+    var cache = new LruCache<String, String>(2, String::length);
+    cache.put("a", "aa");
+    assertNull(cache.putIfAbsent("b", "bbb"));
+    assertNull(cache.get("b"));
+    assertEquals("aa", cache.putIfAbsent("a", "a"));
+  }
+}
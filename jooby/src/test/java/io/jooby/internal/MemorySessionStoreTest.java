@@ -0,0 +1,149 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Router;
+import io.jooby.Session;
+import io.jooby.SessionToken;
+
+public class MemorySessionStoreTest {
+
+  /** Wall clock plus offset: the base store stamps sessions with {@link Instant#now()}. */
+  private static class TestClock extends Clock {
+    private Duration offset = Duration.ZERO;
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.now().plus(offset);
+    }
+
+    void advance(Duration duration) {
+      offset = offset.plus(duration);
+    }
+  }
+
+  @Test
+  public void shouldExpireSessions() {
+    var clock = new TestClock();
+    var store = new MemorySessionStore(token(), Duration.ofMillis(500), 0, clock);
+    var ctx = mock(Context.class);
+
+    store.newSession(ctx);
+    store.newSession(ctx);
+    assertEquals(2, store.size());
+
+    clock.advance(Duration.ofMillis(400));
+    store.findSession(ctx);
+    assertEquals(2, store.size());
+
+    clock.advance(Duration.ofMillis(700));
+    store.findSession(ctx);
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  public void shouldExpireExistingSessionsAfterSetTimeout() {
+    var clock = new TestClock();
+    var store = new MemorySessionStore(token(), Duration.ofMillis(500), 0, clock);
+    var ctx = mock(Context.class);
+
+    store.newSession(ctx);
+    store.newSession(ctx);
+
+    // same deadlines, sessions must go back into the cleared wheel
+    store.setTimeout(Duration.ofMillis(500));
+
+    clock.advance(Duration.ofSeconds(2));
+    store.findSession(ctx);
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsed() {
+    var clock = new TestClock();
+    var store = new MemorySessionStore(token(), Duration.ofMinutes(30), 1, clock);
+    var ctx = mock(Context.class);
+
+    store.newSession(ctx);
+    store.newSession(ctx);
+    assertEquals(1, store.size());
+  }
+
+  @Test
+  public void shouldNotLoseConcurrentUpdates() throws Exception {
+    var token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("sid");
+    when(token.findToken(any())).thenReturn("sid");
+    var store = new MemorySessionStore(token, Duration.ofMinutes(30));
+    var router = mock(Router.class);
+    when(router.getSessionStore()).thenReturn(store);
+
+    var init = context(router);
+    store.saveSession(init, store.newSession(init).put("init", "1"));
+
+    // two requests, same session, different attributes
+    var found = new CountDownLatch(2);
+    var a = CompletableFuture.runAsync(() -> update(store, context(router), found, "a"));
+    var b = CompletableFuture.runAsync(() -> update(store, context(router), found, "b"));
+    CompletableFuture.allOf(a, b).get();
+
+    var attributes = store.findSession(context(router)).toMap();
+    assertEquals("1", attributes.get("init"));
+    assertEquals("a", attributes.get("a"));
+    assertEquals("b", attributes.get("b"));
+  }
+
+  private static void update(
+      MemorySessionStore store, Context ctx, CountDownLatch found, String key) {
+    Session session = store.findSession(ctx);
+    found.countDown();
+    try {
+      found.await();
+    } catch (InterruptedException x) {
+      throw new IllegalStateException(x);
+    }
+    session.put(key, key);
+    store.saveSession(ctx, session);
+  }
+
+  private static Context context(Router router) {
+    var ctx = mock(Context.class);
+    when(ctx.getRouter()).thenReturn(router);
+    return ctx;
+  }
+
+  private static SessionToken token() {
+    var token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("a", "b", "c");
+    return token;
+  }
+}
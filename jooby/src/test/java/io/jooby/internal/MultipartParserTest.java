@@ -0,0 +1,138 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Multipart;
+import io.jooby.exception.BadRequestException;
+
+public class MultipartParserTest {
+
+  private static final String BOUNDARY = "----jooby";
+
+  @Test
+  public void parts() {
+    String body =
+        "preamble\r\n"
+            + "------jooby\r\n"
+            + "Content-Disposition: form-data; name=\"user\"\r\n"
+            + "\r\n"
+            + "edgar\r\n"
+            + "------jooby\r\n"
+            + "Content-Disposition: form-data; name=\"f\"; filename=\"a \\\"b\\\".txt\"\r\n"
+            + "Content-Type: text/plain\r\n"
+            + "\r\n"
+            + "line1\r\nline2\r\n"
+            + "------jooby\r\n"
+            + "Content-Disposition: form-data; name=\"empty\"\r\n"
+            + "\r\n"
+            + "\r\n"
+            + "------jooby--\r\n"
+            + "epilogue";
+    for (int chunk : new int[] {1, 3, 7, 8192}) {
+      Multipart multipart = parser(body.getBytes(StandardCharsets.UTF_8), chunk);
+      Multipart.Part user = multipart.next();
+      assertEquals("user", user.getName());
+      assertNull(user.getFileName());
+      assertEquals("edgar", user.value());
+
+      Multipart.Part file = multipart.next();
+      assertEquals("f", file.getName());
+      assertEquals("a \"b\".txt", file.getFileName());
+      assertEquals("text/plain", file.getContentType());
+      assertEquals("text/plain", file.header("content-type"));
+      assertEquals("line1\r\nline2", file.value());
+
+      Multipart.Part empty = multipart.next();
+      assertEquals("empty", empty.getName());
+      assertEquals("", empty.value());
+
+      assertNull(multipart.next());
+      assertNull(multipart.next());
+    }
+  }
+
+  @Test
+  public void skipAndTransfer() {
+    byte[] content = new byte[100_000];
+    new Random(3).nextBytes(content);
+    var body = new ByteArrayOutputStream();
+    body.writeBytes(part("skip", null, "skip me".getBytes(StandardCharsets.UTF_8)));
+    body.writeBytes(part("f", "f.bin", content));
+    body.writeBytes(part("last", null, "end".getBytes(StandardCharsets.UTF_8)));
+    body.writeBytes(("--" + BOUNDARY + "--").getBytes(StandardCharsets.UTF_8));
+
+    int count = 0;
+    for (Multipart.Part part : parser(body.toByteArray(), 1000)) {
+      count += 1;
+      if (part.isFile()) {
+        var out = new ByteArrayOutputStream();
+        assertEquals(content.length, part.transferTo(Channels.newChannel(out)));
+        assertArrayEquals(content, out.toByteArray());
+      } else if (part.getName().equals("last")) {
+        assertEquals("end", part.value());
+      }
+    }
+    assertEquals(3, count);
+  }
+
+  @Test
+  public void malformed() {
+    byte[] body =
+        ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"x\"\r\n\r\nno end")
+            .getBytes(StandardCharsets.UTF_8);
+    Multipart multipart = parser(body, 8192);
+    Multipart.Part part = multipart.next();
+    assertThrows(BadRequestException.class, part::value);
+
+    Multipart noDisposition =
+        parser(("--" + BOUNDARY + "\r\n\r\nvalue").getBytes(StandardCharsets.UTF_8), 8192);
+    assertThrows(BadRequestException.class, noDisposition::next);
+  }
+
+  private static byte[] part(String name, String fileName, byte[] content) {
+    var out = new ByteArrayOutputStream();
+    String headers =
+        "--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\""
+            + name
+            + "\""
+            + (fileName == null ? "" : "; filename=\"" + fileName + "\"")
+            + "\r\n\r\n";
+    out.writeBytes(headers.getBytes(StandardCharsets.UTF_8));
+    out.writeBytes(content);
+    out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    return out.toByteArray();
+  }
+
+  /** Body stream returning at most chunk bytes per read, like a socket. */
+  private static Multipart parser(byte[] body, int chunk) {
+    InputStream in =
+        new FilterInputStream(new ByteArrayInputStream(body)) {
+          @Override
+          public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, chunk));
+          }
+        };
+    return new MultipartParser(in, BOUNDARY);
+  }
+}
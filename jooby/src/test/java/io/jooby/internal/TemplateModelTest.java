@@ -0,0 +1,49 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.TemplateEngine;
+
+public class TemplateModelTest {
+
+  @Test
+  public void shouldConsumeFlashAndLookupSessionOnAccess() {
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put("user", "edgar");
+    var ctx = mock(Context.class);
+    when(ctx.getAttributes()).thenReturn(attributes);
+
+    var model = TemplateEngine.attributes(ctx);
+    model.put("name", "Jooby");
+    verify(ctx).flash();
+
+    assertEquals("Jooby", model.get("name"));
+    assertEquals("edgar", model.get("user"));
+    verify(ctx, never()).sessionOrNull();
+
+    assertNull(model.get("session"));
+    assertFalse(model.containsKey("session"));
+    verify(ctx, times(1)).sessionOrNull();
+
+    // model doesn't modify the context
+    assertFalse(attributes.containsKey("name"));
+  }
+}
@@ -0,0 +1,606 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.apt;
+
+import static io.jooby.internal.apt.AnnotationSupport.findAnnotationByName;
+import static io.jooby.internal.apt.AnnotationSupport.findAnnotationValue;
+import static io.jooby.internal.apt.CodeBlock.indent;
+import static io.jooby.internal.apt.CodeBlock.statement;
+import static io.jooby.internal.apt.CodeBlock.string;
+import static io.jooby.internal.apt.Types.BUILT_IN;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Generates a <code>io.jooby.BeanConverter</code> for bean/record types used by MVC routes. The
+ * generated converter mirrors <code>ReflectiveBeanConverter</code>: same constructor selection,
+ * setter binding, empty bean and error handling rules; but without reflection.
+ *
+ * <p>Converters are generated as nested classes of the MVC extension and registered at install
+ * time. Types not supported here (abstract, generic, kotlin classes, file uploads, etc...) are left
+ * to the reflective converter.
+ */
+public class BeanConverterGenerator {
+
+  private static final Set<String> INJECT =
+      Set.of("javax.inject.Inject", "jakarta.inject.Inject", "com.google.inject.Inject");
+
+  private static final Set<String> CONTAINERS =
+      Set.of("java.util.List", "java.util.Collection", "java.util.Set", "java.util.Optional");
+
+  /**
+   * Constructor argument or setter.
+   *
+   * @param variable Local variable name.
+   * @param key Node name.
+   * @param type Property type.
+   * @param nullable True for nullable properties.
+   * @param failure Error message.
+   * @param setter Setter name or <code>null</code> for constructor arguments.
+   */
+  private record Property(
+      String variable,
+      String key,
+      TypeMirror type,
+      boolean nullable,
+      String failure,
+      String setter) {}
+
+  private final MvcContext context;
+
+  private final TypeElement bean;
+
+  private final String className;
+
+  private final List<Property> arguments;
+
+  private final Map<String, Property> setters;
+
+  private BeanConverterGenerator(
+      MvcContext context,
+      TypeElement bean,
+      String className,
+      List<Property> arguments,
+      Map<String, Property> setters) {
+    this.context = context;
+    this.bean = bean;
+    this.className = className;
+    this.arguments = arguments;
+    this.setters = setters;
+  }
+
+  /**
+   * Name of the generated class.
+   *
+   * @return Name of the generated class.
+   */
+  public String getClassName() {
+    return className;
+  }
+
+  /**
+   * Collect bean types from route parameters, including nested beans, and creates a converter for
+   * each of them.
+   *
+   * @param context MVC context.
+   * @param routes MVC routes.
+   * @return Converter generators.
+   */
+  public static List<BeanConverterGenerator> create(MvcContext context, List<MvcRoute> routes) {
+    var types = context.getProcessingEnvironment().getTypeUtils();
+    var queue = new ArrayDeque<TypeMirror>();
+    for (var route : routes) {
+      for (var parameter : route.getParameters(true)) {
+        if (parameter.isBeanBinding()) {
+          queue.add(parameter.getType().getType());
+        }
+      }
+    }
+    var visited = new HashSet<String>();
+    var names = new HashSet<String>();
+    var result = new ArrayList<BeanConverterGenerator>();
+    while (!queue.isEmpty()) {
+      var bean = beanType(types, queue.poll());
+      if (bean != null && visited.add(bean.getQualifiedName().toString())) {
+        var generator = create(context, bean, names);
+        if (generator != null) {
+          result.add(generator);
+          generator.properties().forEach(it -> queue.add(it.type));
+        }
+      }
+    }
+    return result;
+  }
+
+  private static BeanConverterGenerator create(
+      MvcContext context, TypeElement bean, Set<String> names) {
+    if (!isAccessible(bean)
+        || bean.getModifiers().contains(Modifier.ABSTRACT)
+        || !bean.getTypeParameters().isEmpty()
+        || findAnnotationByName(bean, "kotlin.Metadata") != null) {
+      return null;
+    }
+    var constructor = constructor(bean);
+    if (constructor == null) {
+      return null;
+    }
+    var elements = context.getProcessingEnvironment().getElementUtils();
+    var arguments = new ArrayList<Property>();
+    for (var parameter : constructor.getParameters()) {
+      var named =
+          findAnnotationValue(
+              findAnnotationByName(parameter, "jakarta.inject.Named"), AnnotationSupport.VALUE);
+      var key =
+          named.isEmpty() || named.get(0).isEmpty()
+              ? parameter.getSimpleName().toString()
+              : named.get(0);
+      var property = property(context, constructor, parameter, "arg" + arguments.size(), key, null);
+      if (property == null) {
+        return null;
+      }
+      arguments.add(property);
+    }
+    var consumed = arguments.stream().map(Property::key).collect(Collectors.toSet());
+    var setters = new LinkedHashMap<String, Property>();
+    var methods =
+        elements.getAllMembers(bean).stream()
+            .filter(ExecutableElement.class::isInstance)
+            .map(ExecutableElement.class::cast)
+            .filter(BeanConverterGenerator::isSetter)
+            .toList();
+    // setFoo(value) first, then fluent foo(value)
+    for (var method : methods) {
+      var name = method.getSimpleName().toString();
+      if (name.length() > 3 && name.startsWith("set")) {
+        var key = propertyName(name.substring(3));
+        if (!consumed.contains(key) && !setters.containsKey(key)) {
+          var property = property(context, method, "set" + setters.size(), key);
+          if (property == null) {
+            return null;
+          }
+          setters.put(key, property);
+        }
+      }
+    }
+    for (var method : methods) {
+      var key = method.getSimpleName().toString();
+      if (!consumed.contains(key) && !setters.containsKey(key)) {
+        var property = property(context, method, "set" + setters.size(), key);
+        // unsupported fluent methods are rarely properties: compareTo(T), etc...
+        if (property != null) {
+          setters.put(key, property);
+        }
+      }
+    }
+    var simpleName = bean.getSimpleName() + "Converter";
+    var className = simpleName;
+    for (int i = 1; !names.add(className); i++) {
+      className = simpleName + i;
+    }
+    return new BeanConverterGenerator(context, bean, className, arguments, setters);
+  }
+
+  /**
+   * Generate the converter class:
+   *
+   * <pre>{@code
+   * private static class BeanConverter implements io.jooby.BeanConverter {
+   *   ...
+   * }
+   * }</pre>
+   *
+   * @return Source code.
+   */
+  public String toSourceCode() {
+    var beanType = bean.getQualifiedName().toString();
+    var buffer = new StringBuilder();
+    buffer.append(statement(indent(4), "@SuppressWarnings({\"rawtypes\", \"unchecked\"})"));
+    buffer.append(
+        statement(
+            indent(4), "private static class ", className, " implements io.jooby.BeanConverter {"));
+    buffer.append(statement(indent(6), "public boolean supports(Class type) {"));
+    buffer.append(statement(indent(8), "return type == ", beanType, ".class;"));
+    buffer.append(statement(indent(6), "}"));
+    buffer.append(System.lineSeparator());
+    buffer.append(
+        statement(indent(6), "public Object convert(io.jooby.ValueNode node, Class type) {"));
+    buffer.append(statement(indent(8), "return convert(node, type, false);"));
+    buffer.append(statement(indent(6), "}"));
+    buffer.append(System.lineSeparator());
+    buffer.append(
+        statement(
+            indent(6),
+            "public Object convert(io.jooby.ValueNode node, Class type, boolean allowEmpty) {"));
+    var emptyBean = findAnnotationByName(bean, "io.jooby.annotation.EmptyBean") != null;
+    if (!emptyBean) {
+      buffer.append(statement(indent(8), "var empty = true;"));
+    }
+    buffer.append(statement(indent(8), "String failure = null;"));
+    for (var property : properties()) {
+      buffer.append(
+          statement(
+              indent(8),
+              "var ",
+              property.variable,
+              "Node = node.get(",
+              string(property.key),
+              ");"));
+      buffer.append(
+          statement(
+              indent(8),
+              type(property.type),
+              " ",
+              property.variable,
+              " = ",
+              defaultValue(property.type),
+              ";"));
+    }
+    // constructor arguments
+    if (!arguments.isEmpty()) {
+      tryBlock(
+          buffer,
+          "io.jooby.exception.BadRequestException",
+          () -> {
+            for (var argument : arguments) {
+              buffer.append(statement(indent(10), "failure = ", string(argument.failure), ";"));
+              buffer.append(
+                  statement(
+                      indent(10),
+                      argument.variable,
+                      " = ",
+                      value(argument, argument.variable + "Node"),
+                      ";"));
+              if (!emptyBean) {
+                buffer.append(
+                    statement(
+                        indent(10),
+                        "empty &= ",
+                        argument.variable,
+                        "Node.isMissing()",
+                        argument.type.getKind().isPrimitive()
+                            ? ""
+                            : " || " + argument.variable + " == null",
+                        ";"));
+              }
+            }
+          });
+    }
+    // setters
+    if (!setters.isEmpty()) {
+      tryBlock(
+          buffer,
+          "RuntimeException",
+          () -> {
+            for (var setter : setters.values()) {
+              buffer.append(statement(indent(10), "if (!", setter.variable, "Node.isMissing()) {"));
+              buffer.append(statement(indent(12), "failure = ", string(setter.failure), ";"));
+              buffer.append(
+                  statement(
+                      indent(12),
+                      setter.variable,
+                      " = ",
+                      value(setter, setter.variable + "Node"),
+                      ";"));
+              if (!emptyBean) {
+                buffer.append(statement(indent(12), "empty = false;"));
+              }
+              buffer.append(statement(indent(10), "}"));
+            }
+          });
+    }
+    if (!emptyBean) {
+      buffer.append(statement(indent(8), "if (empty && !allowEmpty) {"));
+      buffer.append(statement(indent(10), "return null;"));
+      buffer.append(statement(indent(8), "}"));
+    }
+    buffer.append(
+        statement(
+            indent(8),
+            "var result = new ",
+            beanType,
+            "(",
+            arguments.stream().map(Property::variable).collect(Collectors.joining(", ")),
+            ");"));
+    for (var setter : setters.values()) {
+      buffer.append(statement(indent(8), "if (!", setter.variable, "Node.isMissing()) {"));
+      buffer.append(statement(indent(10), "result.", setter.setter, "(", setter.variable, ");"));
+      buffer.append(statement(indent(8), "}"));
+    }
+    buffer.append(statement(indent(8), "return result;"));
+    buffer.append(statement(indent(6), "}"));
+    buffer.append(System.lineSeparator());
+    // nullable helper
+    buffer.append(
+        statement(
+            indent(6), "private static Object nullable(io.jooby.ValueNode value, Class type) {"));
+    buffer.append(statement(indent(8), "if (value.isSingle()) {"));
+    buffer.append(statement(indent(10), "var str = value.valueOrNull();"));
+    buffer.append(statement(indent(10), "if (str == null || str.length() == 0) {"));
+    buffer.append(statement(indent(12), "// treat empty values as null"));
+    buffer.append(statement(indent(12), "return null;"));
+    buffer.append(statement(indent(10), "}"));
+    buffer.append(statement(indent(8), "}"));
+    buffer.append(statement(indent(8), "return value.toNullable(type);"));
+    buffer.append(statement(indent(6), "}"));
+    buffer.append(statement(indent(4), "}"));
+    return buffer.toString();
+  }
+
+  private List<Property> properties() {
+    var result = new ArrayList<>(arguments);
+    result.addAll(setters.values());
+    return result;
+  }
+
+  private void tryBlock(StringBuilder buffer, String exception, Runnable body) {
+    buffer.append(statement(indent(8), "try {"));
+    body.run();
+    buffer.append(statement(indent(8), "} catch (io.jooby.exception.ProvisioningException x) {"));
+    buffer.append(statement(indent(10), "throw x;"));
+    buffer.append(statement(indent(8), "} catch (", exception, " x) {"));
+    buffer.append(
+        statement(indent(10), "throw new io.jooby.exception.ProvisioningException(failure, x);"));
+    buffer.append(statement(indent(8), "}"));
+  }
+
+  private String value(Property property, String node) {
+    var type = property.type;
+    if (type.getKind() == TypeKind.DECLARED) {
+      var container = type(type);
+      if (CONTAINERS.contains(container)) {
+        var element = type(((DeclaredType) type).getTypeArguments().get(0));
+        var method =
+            switch (container) {
+              case "java.util.Set" -> "toSet";
+              case "java.util.Optional" -> "toOptional";
+              default -> "toList";
+            };
+        return CodeBlock.of(node, ".", method, "(", element, ".class)");
+      }
+    }
+    if (property.nullable) {
+      return CodeBlock.of("(", type(type), ") nullable(", node, ", ", type(type), ".class)");
+    }
+    return CodeBlock.of(node, ".to(", type(type), ".class)");
+  }
+
+  /** Raw type name, without type-use annotations. */
+  private static String type(TypeMirror type) {
+    return switch (type.getKind()) {
+      case ARRAY -> type(((ArrayType) type).getComponentType()) + "[]";
+      case DECLARED ->
+          ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+      default -> type.getKind().name().toLowerCase();
+    };
+  }
+
+  private static String defaultValue(TypeMirror type) {
+    return switch (type.getKind()) {
+      case BOOLEAN -> "false";
+      case CHAR -> "'\\0'";
+      case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "0";
+      default -> "null";
+    };
+  }
+
+  private static Property property(
+      MvcContext context, ExecutableElement setter, String variable, String key) {
+    return property(
+        context,
+        setter,
+        setter.getParameters().get(0),
+        variable,
+        key,
+        setter.getSimpleName().toString());
+  }
+
+  private static Property property(
+      MvcContext context,
+      ExecutableElement executable,
+      VariableElement parameter,
+      String variable,
+      String key,
+      String setter) {
+    var type = parameter.asType();
+    if (!isSupported(context, type)) {
+      return null;
+    }
+    var nullable =
+        !type.getKind().isPrimitive()
+            && (hasRuntimeAnnotation(parameter, AnnotationSupport.NULLABLE)
+                || !hasRuntimeAnnotation(parameter, AnnotationSupport.NON_NULL));
+    return new Property(
+        variable,
+        key,
+        type,
+        nullable,
+        "Unable to provision parameter: '"
+            + key
+            + ": "
+            + typeName(context, type)
+            + "', require by: "
+            + signature(context, executable),
+        setter);
+  }
+
+  private static boolean isSupported(MvcContext context, TypeMirror type) {
+    var env = context.getProcessingEnvironment();
+    var types = env.getTypeUtils();
+    if (type.getKind().isPrimitive()) {
+      return true;
+    }
+    if (type.getKind() == TypeKind.ARRAY) {
+      return isSupported(context, ((ArrayType) type).getComponentType());
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      // type variables, wildcards, errors
+      return false;
+    }
+    var rawType = types.erasure(type);
+    var arguments = ((DeclaredType) type).getTypeArguments();
+    if (CONTAINERS.contains(type(type))) {
+      return arguments.size() == 1
+          && arguments.get(0).getKind() == TypeKind.DECLARED
+          && isSupported(context, arguments.get(0));
+    }
+    // file uploads and collection implementations are left to reflective converter
+    var collection =
+        types.erasure(env.getElementUtils().getTypeElement("java.util.Collection").asType());
+    return !type(type).equals("io.jooby.FileUpload")
+        && !types.isAssignable(rawType, collection)
+        && arguments.stream().allMatch(it -> isSupported(context, it));
+  }
+
+  private static boolean hasRuntimeAnnotation(Element element, Predicate<String> filter) {
+    for (var annotation : element.getAnnotationMirrors()) {
+      var annotationType = annotation.getAnnotationType().asElement();
+      if (filter.test(annotationType.toString())) {
+        // Only runtime annotations are visible to reflective converter
+        var retention = annotationType.getAnnotation(Retention.class);
+        if (retention != null && retention.value() == RetentionPolicy.RUNTIME) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static String signature(MvcContext context, ExecutableElement executable) {
+    var owner = (TypeElement) executable.getEnclosingElement();
+    var buffer = new StringBuilder();
+    if (executable.getKind() == ElementKind.CONSTRUCTOR) {
+      buffer.append("constructor ").append(owner.getQualifiedName());
+    } else {
+      buffer
+          .append("method ")
+          .append(owner.getQualifiedName())
+          .append(".")
+          .append(executable.getSimpleName());
+    }
+    buffer.append(
+        executable.getParameters().stream()
+            .map(it -> typeName(context, it.asType()))
+            .collect(Collectors.joining(", ", "(", ")")));
+    return buffer.toString();
+  }
+
+  /** Same as {@link java.lang.reflect.Type#getTypeName()}. */
+  private static String typeName(MvcContext context, TypeMirror type) {
+    var env = context.getProcessingEnvironment();
+    if (type.getKind() == TypeKind.ARRAY) {
+      return typeName(context, ((ArrayType) type).getComponentType()) + "[]";
+    }
+    if (type.getKind() == TypeKind.DECLARED) {
+      var declared = (DeclaredType) type;
+      var name = env.getElementUtils().getBinaryName((TypeElement) declared.asElement()).toString();
+      if (declared.getTypeArguments().isEmpty()) {
+        return name;
+      }
+      return declared.getTypeArguments().stream()
+          .map(it -> typeName(context, it))
+          .collect(Collectors.joining(", ", name + "<", ">"));
+    }
+    return type(type);
+  }
+
+  private static TypeElement beanType(javax.lang.model.util.Types types, TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    var declared = (DeclaredType) type;
+    if (CONTAINERS.contains(type(type))) {
+      var arguments = declared.getTypeArguments();
+      return arguments.size() == 1 ? beanType(types, arguments.get(0)) : null;
+    }
+    var element = (TypeElement) declared.asElement();
+    var kind = element.getKind();
+    if (kind != ElementKind.CLASS && kind != ElementKind.RECORD) {
+      return null;
+    }
+    var name = element.getQualifiedName().toString();
+    var packageName = name.substring(0, Math.max(0, name.lastIndexOf('.')));
+    if (BUILT_IN.contains(name)
+        || packageName.equals("io.jooby")
+        || name.startsWith("java.")
+        || name.startsWith("javax.")
+        || name.startsWith("jakarta.")
+        || name.startsWith("kotlin.")) {
+      return null;
+    }
+    return element;
+  }
+
+  private static boolean isAccessible(TypeElement type) {
+    Element element = type;
+    while (element instanceof TypeElement it) {
+      if (!it.getModifiers().contains(Modifier.PUBLIC)) {
+        return false;
+      }
+      var owner = it.getEnclosingElement();
+      if (owner instanceof TypeElement && !it.getModifiers().contains(Modifier.STATIC)) {
+        return false;
+      }
+      element = owner;
+    }
+    return true;
+  }
+
+  private static ExecutableElement constructor(TypeElement bean) {
+    var constructors =
+        bean.getEnclosedElements().stream()
+            .filter(
+                it ->
+                    it.getKind() == ElementKind.CONSTRUCTOR
+                        && it.getModifiers().contains(Modifier.PUBLIC))
+            .map(ExecutableElement.class::cast)
+            .toList();
+    if (constructors.size() == 1) {
+      return constructors.get(0);
+    }
+    var inject =
+        constructors.stream()
+            .filter(it -> INJECT.stream().anyMatch(a -> findAnnotationByName(it, a) != null))
+            .toList();
+    if (inject.size() > 1) {
+      return null;
+    }
+    if (inject.size() == 1) {
+      return inject.get(0);
+    }
+    return constructors.stream()
+        .filter(it -> it.getParameters().isEmpty())
+        .findFirst()
+        .orElse(null);
+  }
+
+  private static boolean isSetter(ExecutableElement method) {
+    var owner = (TypeElement) method.getEnclosingElement();
+    return method.getKind() == ElementKind.METHOD
+        && method.getModifiers().contains(Modifier.PUBLIC)
+        && !method.getModifiers().contains(Modifier.STATIC)
+        && method.getParameters().size() == 1
+        && !method.getSimpleName().contentEquals("equals")
+        && !owner.getQualifiedName().contentEquals("java.lang.Object");
+  }
+
+  private static String propertyName(String name) {
+    if (name.length() > 1 && Character.isUpperCase(name.charAt(1))) {
+      // URL => URL
+      return name;
+    }
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+}
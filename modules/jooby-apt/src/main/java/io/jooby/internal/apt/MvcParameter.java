@@ -38,16 +38,7 @@ public class MvcParameter {
   }
 
   public String generateMapping(boolean kt) {
-    var strategy =
-        annotations.entrySet().stream()
-            .flatMap(
-                it -> {
-                  var found = ParameterGenerator.findByAnnotation(it.getKey());
-                  return found == null
-                      ? Stream.empty()
-                      : Stream.of(Map.entry(found, it.getValue()));
-                })
-            .findFirst();
+    var strategy = strategy();
     var defaultParameterName = parameter.getSimpleName().toString();
     var parameterName =
         strategy
@@ -110,6 +101,29 @@ public class MvcParameter {
     };
   }
 
+  /**
+   * True when parameter might be bound to a bean from query, form, path or body.
+   *
+   * @return True when parameter might be bound to a bean from query, form, path or body.
+   */
+  public boolean isBeanBinding() {
+    var generator = strategy().map(Map.Entry::getKey).orElse(ParameterGenerator.BodyParam);
+    return switch (generator) {
+      case BodyParam, FormParam, Lookup, PathParam, QueryParam -> true;
+      default -> false;
+    };
+  }
+
+  private Optional<Map.Entry<ParameterGenerator, AnnotationMirror>> strategy() {
+    return annotations.entrySet().stream()
+        .flatMap(
+            it -> {
+              var found = ParameterGenerator.findByAnnotation(it.getKey());
+              return found == null ? Stream.empty() : Stream.of(Map.entry(found, it.getValue()));
+            })
+        .findFirst();
+  }
+
   public boolean isNullable(boolean kt) {
     // Any that ends with `Nullable`
     if (hasAnnotation(NULLABLE)) {
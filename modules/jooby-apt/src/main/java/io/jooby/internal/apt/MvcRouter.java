@@ -147,6 +147,16 @@ public class MvcRouter {
         trimr(buffer);
         buffer.append(System.lineSeparator()).append(CodeBlock.statement(indent(6), "}"));
       }
+      // bean converters are generated for Java only
+      var converters =
+          kt
+              ? List.<BeanConverterGenerator>of()
+              : BeanConverterGenerator.create(context, getRoutes());
+      converters.forEach(
+          it ->
+              buffer.append(
+                  CodeBlock.statement(
+                      indent(6), "app.converter(new ", it.getClassName(), "())", semicolon(kt))));
       noSuspended.stream()
           .flatMap(it -> it.generateMapping(kt).stream())
           .forEach(line -> buffer.append(CodeBlock.indent(6)).append(line));
@@ -162,6 +172,10 @@ public class MvcRouter {
       routes.stream()
           .flatMap(it -> it.generateHandlerCall(kt).stream())
           .forEach(line -> buffer.append(CodeBlock.indent(4)).append(line));
+      for (var converter : converters) {
+        trimr(buffer).append(System.lineSeparator()).append(System.lineSeparator());
+        buffer.append(converter.toSourceCode());
+      }
       return new String(in.readAllBytes(), StandardCharsets.UTF_8)
           .replace("${packageName}", getPackageName())
           .replace("${imports}", imports)
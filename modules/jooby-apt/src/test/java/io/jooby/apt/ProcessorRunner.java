@@ -30,12 +30,12 @@ import io.jooby.internal.apt.MvcContext;
 public class ProcessorRunner {
 
   private static class GeneratedSourceClassLoader extends ClassLoader {
-    private final JavaFileObject classFile;
+    private final List<JavaFileObject> classFiles;
     private final String className;
 
     public GeneratedSourceClassLoader(ClassLoader parent, JavaFileObject source) {
       super(parent);
-      this.classFile = javac().compile(List.of(source)).generatedFiles().get(0);
+      this.classFiles = javac().compile(List.of(source)).generatedFiles();
       this.className = source.getName().replace('/', '.').replace(".java", "");
     }
 
@@ -44,7 +44,13 @@ public class ProcessorRunner {
     }
 
     protected Class<?> findClass(String name) throws ClassNotFoundException {
-      if (name.equals(className)) {
+      // generated class and its nested classes: bean converters
+      var classFile =
+          classFiles.stream()
+              .filter(it -> it.getName().endsWith(name.replace('.', '/') + ".class"))
+              .findFirst()
+              .orElse(null);
+      if (classFile != null && name.startsWith(className)) {
         try (var in = classFile.openInputStream()) {
           var bytes = in.readAllBytes();
           return defineClass(name, bytes, 0, bytes.length);
@@ -0,0 +1,68 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package tests.beanconverter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Formdata;
+import io.jooby.apt.ProcessorRunner;
+import io.jooby.exception.ProvisioningException;
+import io.jooby.test.MockContext;
+import io.jooby.test.MockRouter;
+
+public class BeanConverterTest {
+
+  @Test
+  public void shouldGenerateBeanConverters() throws Exception {
+    new ProcessorRunner(new CBeanConverter())
+        .withSourceCode(
+            source -> {
+              assertTrue(source.contains("app.converter(new SearchConverter());"));
+              assertTrue(source.contains("app.converter(new PointConverter());"));
+              assertTrue(source.contains("private static class SearchConverter"));
+            })
+        .withRouter(
+            (app, source) -> {
+              assertEquals(2, app.getBeanConverters().size());
+              assertTrue(
+                  app.getBeanConverters().stream()
+                      .allMatch(it -> it.getClass().getName().contains("CBeanConverter_")));
+
+              var router = new MockRouter(app);
+              assertEquals(
+                  "java:2:[a, b]:Point[x=1, y=null]:5",
+                  router
+                      .get(
+                          "/search",
+                          new MockContext()
+                              .setQueryString("?q=java&page=2&tags=a&tags=b&origin.x=1&limit=5"))
+                      .value());
+              assertEquals(
+                  "null:1:[]:null:10", router.get("/search", new MockContext()).value().toString());
+
+              var failure =
+                  assertThrows(
+                      ProvisioningException.class,
+                      () -> router.get("/search", new MockContext().setQueryString("?page=x")));
+              assertEquals(
+                  "Unable to provision parameter: 'page: int', require by: method"
+                      + " tests.beanconverter.CBeanConverter.Search.setPage(int)",
+                  failure.getMessage());
+
+              var ctx = new MockContext();
+              var form = Formdata.create(ctx);
+              form.put("x", "3");
+              form.put("y", "");
+              assertEquals(
+                  new CBeanConverter.Point(3, null),
+                  router.post("/point", ctx.setForm(form)).value());
+            });
+  }
+}
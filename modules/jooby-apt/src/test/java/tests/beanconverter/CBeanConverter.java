@@ -0,0 +1,73 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package tests.beanconverter;
+
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.annotation.FormParam;
+import io.jooby.annotation.GET;
+import io.jooby.annotation.HeaderParam;
+import io.jooby.annotation.POST;
+import io.jooby.annotation.QueryParam;
+
+public class CBeanConverter {
+
+  public static class Search {
+    private final String q;
+
+    private int page = 1;
+
+    private List<String> tags = List.of();
+
+    private Point origin;
+
+    private int limit = 10;
+
+    public Search(String q) {
+      this.q = q;
+    }
+
+    public void setPage(int page) {
+      this.page = page;
+    }
+
+    public void setTags(List<String> tags) {
+      this.tags = tags;
+    }
+
+    public void setOrigin(Point origin) {
+      this.origin = origin;
+    }
+
+    public Search limit(int limit) {
+      this.limit = limit;
+      return this;
+    }
+
+    @Override
+    public String toString() {
+      return q + ":" + page + ":" + tags + ":" + origin + ":" + limit;
+    }
+  }
+
+  public record Point(int x, @Nullable Integer y) {}
+
+  @GET("/search")
+  public String search(@QueryParam Search search) {
+    return search.toString();
+  }
+
+  @POST("/point")
+  public Point point(@FormParam Point point) {
+    return point;
+  }
+
+  @GET("/header")
+  public String header(@HeaderParam String name) {
+    return name;
+  }
+}
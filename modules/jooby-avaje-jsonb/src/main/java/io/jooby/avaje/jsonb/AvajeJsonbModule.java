@@ -106,12 +106,18 @@ public class AvajeJsonbModule implements Extension, MessageDecoder, MessageEncod
 
   @NonNull @Override
   public DataBuffer encode(@NonNull Context ctx, @NonNull Object value) {
-    ctx.setDefaultResponseType(MediaType.json);
     var factory = ctx.getBufferFactory();
     var buffer = factory.allocateBuffer(4096);
+    encode(ctx, value, buffer);
+    return buffer;
+  }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer) {
+    ctx.setDefaultResponseType(MediaType.json);
     try (var writer = jsonb.writer(new DataBufferJsonOutput(buffer))) {
       jsonb.toJson(value, writer);
-      return buffer;
+      return true;
     }
   }
 }
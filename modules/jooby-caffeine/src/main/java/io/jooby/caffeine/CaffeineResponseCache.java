@@ -0,0 +1,102 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.caffeine;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.handler.ResponseCache;
+
+/**
+ * Caffeine response cache for {@link io.jooby.handler.ResponseCacheHandler}.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * {
+ *   use(new ResponseCacheHandler(new CaffeineResponseCache()));
+ * }
+ * }</pre>
+ *
+ * Responses are evicted by size (<code>64mb</code> by default) and removed once expired.
+ *
+ * @author edgar
+ * @since 3.5.4
+ */
+public class CaffeineResponseCache implements ResponseCache {
+
+  private final Cache<String, Entry> cache;
+
+  /**
+   * Creates a new response cache using the given cache.
+   *
+   * @param cache Cache.
+   */
+  public CaffeineResponseCache(@NonNull Cache<String, Entry> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Creates a new response cache.
+   *
+   * @param maxSize Max memory used by cached responses, in bytes.
+   */
+  public CaffeineResponseCache(long maxSize) {
+    this(
+        Caffeine.newBuilder()
+            .maximumWeight(maxSize)
+            .<String, Entry>weigher((key, entry) -> entry.getWeight())
+            .expireAfter(new EntryExpiry())
+            .build());
+  }
+
+  /** Creates a new response cache of <code>64mb</code>. */
+  public CaffeineResponseCache() {
+    this(64 * 1024 * 1024);
+  }
+
+  @Nullable @Override
+  public Entry get(@NonNull String key) {
+    return cache.getIfPresent(key);
+  }
+
+  @Override
+  public void put(@NonNull String key, @NonNull Entry entry) {
+    cache.put(key, entry);
+  }
+
+  @Override
+  public void invalidate(@NonNull String key) {
+    cache.invalidate(key);
+  }
+
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static class EntryExpiry implements Expiry<String, Entry> {
+    @Override
+    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+      long ttl = entry.getExpires() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttl));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Entry entry, long currentTime, long duration) {
+      return expireAfterCreate(key, entry, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Entry entry, long currentTime, long duration) {
+      return duration;
+    }
+  }
+}
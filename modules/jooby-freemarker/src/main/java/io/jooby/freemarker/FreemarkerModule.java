@@ -236,6 +236,8 @@ public class FreemarkerModule implements Extension {
 
   private Path templatesPath;
 
+  private boolean streaming;
+
   /**
    * Creates a new freemarker module using a the given freemarker instance.
    *
@@ -269,6 +271,18 @@ public class FreemarkerModule implements Extension {
     this(TemplateEngine.PATH);
   }
 
+  /**
+   * Stream large pages to the response while the template is rendered, see {@link
+   * io.jooby.StreamingTemplateEngine}. Default is <code>false</code>.
+   *
+   * @param streaming True to stream large pages.
+   * @return This module.
+   */
+  public @NonNull FreemarkerModule setStreaming(boolean streaming) {
+    this.streaming = streaming;
+    return this;
+  }
+
   @Override
   public void install(@NonNull Jooby application) {
     if (freemarker == null) {
@@ -278,7 +292,7 @@ public class FreemarkerModule implements Extension {
               .setTemplatesPath(templatesPath)
               .build(application.getEnvironment());
     }
-    application.encoder(new FreemarkerTemplateEngine(freemarker, EXT));
+    application.encoder(new FreemarkerTemplateEngine(freemarker, EXT, streaming));
 
     ServiceRegistry services = application.getServices();
     services.put(Configuration.class, freemarker);
@@ -5,26 +5,51 @@
  */
 package io.jooby.freemarker;
 
-import static io.jooby.SneakyThrows.throwingConsumer;
-
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import freemarker.template.*;
 import io.jooby.Context;
 import io.jooby.ModelAndView;
+import io.jooby.StreamingTemplateEngine;
 import io.jooby.TemplateEngine;
-import io.jooby.buffer.DataBuffer;
 
-class FreemarkerTemplateEngine implements TemplateEngine {
+class FreemarkerTemplateEngine implements StreamingTemplateEngine {
+
+  /**
+   * Context attributes shadow the model, like global variables do. They are read on access, so the
+   * session is resolved only when a template reads it.
+   */
+  private record AttributesModel(
+      Map<String, Object> attributes, TemplateModel model, ObjectWrapper wrapper)
+      implements TemplateHashModel {
+    @Override
+    public TemplateModel get(String key) throws TemplateModelException {
+      if (attributes.containsKey(key)) {
+        return wrapper.wrap(attributes.get(key));
+      }
+      return model instanceof TemplateHashModel hash ? hash.get(key) : null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return false;
+    }
+  }
 
   private final Configuration freemarker;
   private final List<String> extensions;
+  private final boolean streaming;
 
-  FreemarkerTemplateEngine(Configuration freemarker, List<String> extensions) {
+  FreemarkerTemplateEngine(Configuration freemarker, List<String> extensions, boolean streaming) {
     this.freemarker = freemarker;
     this.extensions = Collections.unmodifiableList(extensions);
+    this.streaming = streaming;
   }
 
   @NonNull @Override
@@ -33,22 +58,26 @@ class FreemarkerTemplateEngine implements TemplateEngine {
   }
 
   @Override
-  public DataBuffer render(Context ctx, ModelAndView<?> modelAndView) throws Exception {
-    var buffer = ctx.getBufferFactory().allocateBuffer();
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  @Override
+  public void render(Context ctx, ModelAndView<?> modelAndView, OutputStream output)
+      throws Exception {
     var template = freemarker.getTemplate(modelAndView.getView());
-    var writer = buffer.asWriter();
+    var writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
     var wrapper = freemarker.getObjectWrapper();
     var model = modelAndView.getModel();
-    var engineModel = wrapper.wrap(model);
+    var engineModel =
+        new AttributesModel(TemplateEngine.attributes(ctx), wrapper.wrap(model), wrapper);
     var locale = modelAndView.getLocale();
     if (locale == null) {
       locale = ctx.locale();
     }
     var env = template.createProcessingEnvironment(engineModel, writer);
     env.setLocale(locale);
-    ctx.getAttributes()
-        .forEach(throwingConsumer((name, value) -> env.setVariable(name, wrapper.wrap(value))));
     env.process();
-    return buffer;
+    writer.flush();
   }
 }
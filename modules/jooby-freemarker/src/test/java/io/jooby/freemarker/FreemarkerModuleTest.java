@@ -66,7 +66,7 @@ public class FreemarkerModuleTest {
         FreemarkerModule.create()
             .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty(), "test"));
     FreemarkerTemplateEngine engine =
-        new FreemarkerTemplateEngine(freemarker, Arrays.asList(".ftl"));
+        new FreemarkerTemplateEngine(freemarker, Arrays.asList(".ftl"), false);
     MockContext ctx =
         new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
     ctx.getAttributes().put("local", "var");
@@ -83,7 +83,7 @@ public class FreemarkerModuleTest {
         FreemarkerModule.create()
             .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty(), "test"));
     FreemarkerTemplateEngine engine =
-        new FreemarkerTemplateEngine(freemarker, Arrays.asList(".ftl"));
+        new FreemarkerTemplateEngine(freemarker, Arrays.asList(".ftl"), false);
     MockContext ctx =
         new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
 
@@ -134,7 +134,7 @@ public class FreemarkerModuleTest {
         FreemarkerModule.create()
             .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty(), "test"));
     FreemarkerTemplateEngine engine =
-        new FreemarkerTemplateEngine(freemarker, Arrays.asList(".ftl"));
+        new FreemarkerTemplateEngine(freemarker, Arrays.asList(".ftl"), false);
     MockContext ctx =
         new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
     ctx.getAttributes().put("local", "var");
@@ -154,7 +154,8 @@ public class FreemarkerModuleTest {
                     getClass().getClassLoader(),
                     ConfigFactory.empty()
                         .withValue("templates.path", ConfigValueFactory.fromAnyRef("foo"))));
-    FreemarkerTemplateEngine engine = new FreemarkerTemplateEngine(freemarker, List.of(".ftl"));
+    FreemarkerTemplateEngine engine =
+        new FreemarkerTemplateEngine(freemarker, List.of(".ftl"), false);
     MockContext ctx =
         new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
     ctx.getAttributes().put("local", "var");
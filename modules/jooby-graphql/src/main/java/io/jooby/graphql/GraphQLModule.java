@@ -14,20 +14,26 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.dataloader.DataLoaderRegistry;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import graphql.GraphQL;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import io.jooby.Context;
 import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.Route;
 import io.jooby.ServiceRegistry;
 import io.jooby.SneakyThrows;
 import io.jooby.internal.graphql.BlockingGraphQLHandler;
+import io.jooby.internal.graphql.DocumentCache;
 import io.jooby.internal.graphql.GraphQLHandler;
 
 /**
@@ -44,17 +50,29 @@ import io.jooby.internal.graphql.GraphQLHandler;
  * the route path by setting the <code>graphql.path</code> property in your application
  * configuration file.
  *
+ * <p>Parsing and validating a query might take longer than executing it. Use {@link
+ * #setDocumentCache(int)} to keep parsed documents in memory and {@link
+ * #setPersistedQueries(boolean)} to let clients send a query hash instead of the query.
+ *
  * @author edgar
  * @since 2.4.0
  */
 public class GraphQLModule implements Extension {
 
+  private static final int DEFAULT_DOCUMENT_CACHE_SIZE = 1000;
+
   private GraphQL graphQL;
 
   private boolean async = true;
 
   private boolean supportGetRequest;
 
+  private int documentCacheSize;
+
+  private boolean persistedQueries;
+
+  private Function<Context, DataLoaderRegistry> dataLoaderRegistry;
+
   /**
    * Creates a new GraphQL module.
    *
@@ -107,8 +125,24 @@ public class GraphQLModule implements Extension {
   public void install(@NonNull Jooby application) throws Exception {
     String graphqlPath = application.getEnvironment().getProperty("graphql.path", "/graphql");
 
+    if (documentCacheSize > 0 || persistedQueries) {
+      if (graphQL.getPreparsedDocumentProvider() instanceof NoOpPreparsedDocumentProvider) {
+        DocumentCache cache =
+            new DocumentCache(
+                documentCacheSize > 0 ? documentCacheSize : DEFAULT_DOCUMENT_CACHE_SIZE,
+                persistedQueries);
+        graphQL = graphQL.transform(builder -> builder.preparsedDocumentProvider(cache));
+      } else {
+        application
+            .getLog()
+            .warn("GraphQL instance has a preparsed document provider, document cache is ignored");
+      }
+    }
+
     GraphQLHandler handler =
-        async ? new GraphQLHandler(graphQL) : new BlockingGraphQLHandler(graphQL);
+        async
+            ? new GraphQLHandler(graphQL, dataLoaderRegistry)
+            : new BlockingGraphQLHandler(graphQL, dataLoaderRegistry);
 
     if (supportGetRequest) {
       executionMode(application.get(graphqlPath, handler), async);
@@ -142,6 +176,54 @@ public class GraphQLModule implements Extension {
     return this;
   }
 
+  /**
+   * Keep up to <code>maxSize</code> parsed and validated documents in memory, so identical queries
+   * are parsed and validated once. Disabled by default.
+   *
+   * @param maxSize Max number of documents to keep.
+   * @return This module.
+   */
+  public GraphQLModule setDocumentCache(int maxSize) {
+    this.documentCacheSize = maxSize;
+    return this;
+  }
+
+  /**
+   * Whether to support automatic persisted queries: clients send the SHA-256 hash of a query in the
+   * <code>persistedQuery</code> extension. When the hash is unknown, the response has a <code>
+   * PersistedQueryNotFound</code> error and clients retry with the query and the hash. Persisted
+   * queries are kept in the document cache. Default is <code>false</code>.
+   *
+   * @param persistedQueries True to support automatic persisted queries.
+   * @return This module.
+   */
+  public GraphQLModule setPersistedQueries(boolean persistedQueries) {
+    this.persistedQueries = persistedQueries;
+    return this;
+  }
+
+  /**
+   * Creates a data loader registry per request. Data loaders batch and cache loads made while
+   * executing a query, so they must not be shared between requests.
+   *
+   * <pre>{@code
+   * install(new GraphQLModule(graphQL)
+   *     .setDataLoaderRegistry(ctx -> {
+   *       DataLoaderRegistry registry = new DataLoaderRegistry();
+   *       registry.register("author", DataLoaderFactory.newDataLoader(authorBatchLoader));
+   *       return registry;
+   *     }));
+   * }</pre>
+   *
+   * @param dataLoaderRegistry Data loader registry factory.
+   * @return This module.
+   */
+  public GraphQLModule setDataLoaderRegistry(
+      @NonNull Function<Context, DataLoaderRegistry> dataLoaderRegistry) {
+    this.dataLoaderRegistry = dataLoaderRegistry;
+    return this;
+  }
+
   private void executionMode(Route route, boolean async) {
     if (async) {
       route.setReturnType(CompletableFuture.class);
@@ -5,14 +5,19 @@
  */
 package io.jooby.internal.graphql;
 
+import java.util.function.Function;
+
+import org.dataloader.DataLoaderRegistry;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 import graphql.GraphQL;
 import io.jooby.Context;
 
 public class BlockingGraphQLHandler extends GraphQLHandler {
 
-  public BlockingGraphQLHandler(GraphQL graphQL) {
-    super(graphQL);
+  public BlockingGraphQLHandler(
+      GraphQL graphQL, Function<Context, DataLoaderRegistry> dataLoaderRegistry) {
+    super(graphQL, dataLoaderRegistry);
   }
 
   @NonNull @Override
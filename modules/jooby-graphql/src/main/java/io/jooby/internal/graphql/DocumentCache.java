@@ -0,0 +1,88 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.graphql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+/**
+ * Bounded cache of parsed and validated documents, keyed by query text. Optionally supports Apollo
+ * automatic persisted queries: documents are also saved by their SHA-256 hash, so clients can send
+ * the hash without the query. Documents with errors are never cached.
+ */
+public class DocumentCache implements PreparsedDocumentProvider {
+  private static final String PERSISTED_QUERY = "persistedQuery";
+
+  private final Map<String, PreparsedDocumentEntry> documents;
+
+  private final PreparsedDocumentProvider persistedQueries;
+
+  public DocumentCache(int maxSize, boolean persistedQueries) {
+    this.documents =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+            return size() > maxSize;
+          }
+        };
+    this.persistedQueries =
+        persistedQueries ? new ApolloPersistedQuerySupport(this::persistedQuery) : null;
+  }
+
+  @Override
+  public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+      ExecutionInput input, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+    if (persistedQueries != null && input.getExtensions().containsKey(PERSISTED_QUERY)) {
+      return persistedQueries.getDocumentAsync(input, parseAndValidate);
+    }
+    String query = input.getQuery();
+    PreparsedDocumentEntry entry = get(query);
+    if (entry == null) {
+      entry = parseAndValidate.apply(input);
+      put(query, entry);
+    }
+    return CompletableFuture.completedFuture(entry);
+  }
+
+  private CompletableFuture<PreparsedDocumentEntry> persistedQuery(
+      Object id, ExecutionInput input, PersistedQueryCacheMiss onMiss)
+      throws PersistedQueryNotFound {
+    String key = "sha256:" + id;
+    PreparsedDocumentEntry entry = get(key);
+    if (entry == null) {
+      String query = input.getQuery();
+      if (query == null
+          || query.isBlank()
+          || query.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER)) {
+        // client must send the query along with the hash
+        throw new PersistedQueryNotFound(id);
+      }
+      entry = onMiss.apply(query);
+      put(key, entry);
+    }
+    return CompletableFuture.completedFuture(entry);
+  }
+
+  private synchronized PreparsedDocumentEntry get(String key) {
+    return documents.get(key);
+  }
+
+  private synchronized void put(String key, PreparsedDocumentEntry entry) {
+    if (!entry.hasErrors()) {
+      documents.put(key, entry);
+    }
+  }
+}
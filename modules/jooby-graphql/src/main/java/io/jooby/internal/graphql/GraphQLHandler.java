@@ -5,26 +5,35 @@
  */
 package io.jooby.internal.graphql;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
+import java.util.function.Function;
+
+import org.dataloader.DataLoaderRegistry;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.jooby.Body;
 import io.jooby.Context;
+import io.jooby.ForwardingContext;
+import io.jooby.MediaType;
 import io.jooby.Route;
 import io.jooby.Router;
+import io.jooby.SneakyThrows;
+import io.jooby.exception.MissingValueException;
 
 public class GraphQLHandler implements Route.Handler {
-  private static final Gson json = new GsonBuilder().create();
-
   protected GraphQL graphQL;
 
-  public GraphQLHandler(GraphQL graphQL) {
+  private final Function<Context, DataLoaderRegistry> dataLoaderRegistry;
+
+  public GraphQLHandler(GraphQL graphQL, Function<Context, DataLoaderRegistry> dataLoaderRegistry) {
     this.graphQL = graphQL;
+    this.dataLoaderRegistry = dataLoaderRegistry;
   }
 
   @NonNull @Override
@@ -38,22 +47,51 @@ public class GraphQLHandler implements Route.Handler {
       request = ctx.body(GraphQLRequest.class);
     } else {
       request = new GraphQLRequest();
-      String query = ctx.query("query").value();
+      String query = ctx.query("query").valueOrNull();
       String operationName = ctx.query("operationName").valueOrNull();
-      Map<String, Object> variables =
-          ctx.query("variables")
-              .toOptional()
-              .filter(string -> !string.equals("{}"))
-              .map(str -> json.<Map<String, Object>>fromJson(str, Map.class))
-              .orElseGet(Collections::emptyMap);
       request.setOperationName(operationName);
       request.setQuery(query);
-      request.setVariables(variables);
+      request.setVariables(json(ctx, "variables"));
+      request.setExtensions(json(ctx, "extensions"));
+    }
+    String query = request.getQuery();
+    if (query == null) {
+      if (!request.getExtensions().containsKey("persistedQuery")) {
+        throw new MissingValueException("query");
+      }
+      // hash only request
+      query = PersistedQuerySupport.PERSISTED_QUERY_MARKER;
+    }
+    ExecutionInput.Builder input =
+        ExecutionInput.newExecutionInput(query)
+            .operationName(request.getOperationName())
+            .graphQLContext(Map.of(Context.class, ctx))
+            .variables(request.getVariables())
+            .extensions(request.getExtensions());
+    if (dataLoaderRegistry != null) {
+      input.dataLoaderRegistry(dataLoaderRegistry.apply(ctx));
+    }
+    return input.build();
+  }
+
+  /** Decode a JSON query parameter using the JSON decoder of the application. */
+  private static Map<String, Object> json(Context ctx, String name) {
+    String value = ctx.query(name).valueOrNull();
+    if (value == null || value.equals("{}")) {
+      return Collections.emptyMap();
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    try {
+      Context json =
+          new ForwardingContext(ctx) {
+            @NonNull @Override
+            public Body body() {
+              return Body.of(ctx, bytes);
+            }
+          };
+      return (Map<String, Object>) ctx.decoder(MediaType.json).decode(json, Map.class);
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
     }
-    return ExecutionInput.newExecutionInput(request.getQuery())
-        .operationName(request.getOperationName())
-        .graphQLContext(Map.of(Context.class, ctx))
-        .variables(request.getVariables())
-        .build();
   }
 }
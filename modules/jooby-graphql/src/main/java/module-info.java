@@ -10,6 +10,7 @@ module io.jooby.graphql {
   requires io.jooby;
   requires static com.github.spotbugs.annotations;
   requires typesafe.config;
+  requires org.slf4j;
   requires com.graphqljava;
-  requires com.google.gson;
+  requires org.dataloader;
 }
@@ -0,0 +1,146 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+
+public class DocumentCacheTest {
+
+  private static final String QUERY = "{ hello }";
+
+  private final AtomicInteger parsed = new AtomicInteger();
+
+  private final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate =
+      input -> {
+        parsed.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+      };
+
+  @Test
+  public void shouldParseQueryOnce() {
+    var cache = new DocumentCache(10, false);
+
+    var first = document(cache, QUERY, Map.of());
+    var second = document(cache, QUERY, Map.of());
+
+    assertSame(first, second);
+    assertEquals(1, parsed.get());
+
+    document(cache, "{ other }", Map.of());
+    assertEquals(2, parsed.get());
+  }
+
+  @Test
+  public void shouldNotCacheInvalidDocuments() {
+    var cache = new DocumentCache(10, false);
+    Function<ExecutionInput, PreparsedDocumentEntry> invalid =
+        input -> {
+          parsed.incrementAndGet();
+          return new PreparsedDocumentEntry(GraphQLError.newError().message("invalid").build());
+        };
+
+    cache.getDocumentAsync(input(QUERY, Map.of()), invalid).join();
+    cache.getDocumentAsync(input(QUERY, Map.of()), invalid).join();
+
+    assertEquals(2, parsed.get());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsed() {
+    var cache = new DocumentCache(1, false);
+
+    document(cache, QUERY, Map.of());
+    document(cache, "{ other }", Map.of());
+    document(cache, QUERY, Map.of());
+
+    assertEquals(3, parsed.get());
+  }
+
+  @Test
+  public void shouldRegisterPersistedQuery() throws Exception {
+    var cache = new DocumentCache(10, true);
+    var hash = sha256(QUERY);
+
+    // unknown hash: client must retry with the query
+    var miss = document(cache, PersistedQuerySupport.PERSISTED_QUERY_MARKER, persisted(hash));
+    assertError("PersistedQueryNotFound", miss);
+    assertEquals(0, parsed.get());
+
+    // registration
+    var registered = document(cache, QUERY, persisted(hash));
+    assertFalse(registered.hasErrors());
+    assertEquals(1, parsed.get());
+
+    // hash only
+    var hit = document(cache, PersistedQuerySupport.PERSISTED_QUERY_MARKER, persisted(hash));
+    assertSame(registered, hit);
+    assertEquals(1, parsed.get());
+  }
+
+  @Test
+  public void shouldRejectPersistedQueryWithWrongHash() throws Exception {
+    var cache = new DocumentCache(10, true);
+    var hash = sha256("{ other }");
+
+    var mismatch = document(cache, QUERY, persisted(hash));
+    assertError("PersistedQueryIdInvalid", mismatch);
+
+    // nothing was registered
+    var miss = document(cache, PersistedQuerySupport.PERSISTED_QUERY_MARKER, persisted(hash));
+    assertError("PersistedQueryNotFound", miss);
+  }
+
+  @Test
+  public void shouldIgnorePersistedQueryExtensionWhenDisabled() throws Exception {
+    var cache = new DocumentCache(10, false);
+
+    var document = document(cache, QUERY, persisted(sha256("{ other }")));
+
+    assertFalse(document.hasErrors());
+    assertEquals(1, parsed.get());
+  }
+
+  private PreparsedDocumentEntry document(
+      DocumentCache cache, String query, Map<String, Object> extensions) {
+    return cache.getDocumentAsync(input(query, extensions), parseAndValidate).join();
+  }
+
+  private static ExecutionInput input(String query, Map<String, Object> extensions) {
+    return ExecutionInput.newExecutionInput(query).extensions(extensions).build();
+  }
+
+  private static Map<String, Object> persisted(String hash) {
+    return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+  }
+
+  private static void assertError(String expected, PreparsedDocumentEntry entry) {
+    assertTrue(entry.hasErrors());
+    assertEquals(expected, entry.getErrors().get(0).getMessage());
+  }
+
+  private static String sha256(String query) throws Exception {
+    var digest = MessageDigest.getInstance("SHA-256");
+    return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Test;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.jooby.MediaType;
+import io.jooby.MessageDecoder;
+import io.jooby.Router;
+import io.jooby.exception.MissingValueException;
+import io.jooby.jackson.JacksonModule;
+import io.jooby.test.MockContext;
+
+public class GraphQLHandlerTest {
+
+  private static final String SCHEMA =
+      """
+      type Query {
+        hello(name: String): String
+        books: [Book]
+      }
+
+      type Book {
+        title: String
+        author: Author
+      }
+
+      type Author {
+        name: String
+      }
+      """;
+
+  private record Book(String title, String authorId) {}
+
+  private static final List<Book> BOOKS =
+      List.of(new Book("A", "1"), new Book("B", "2"), new Book("C", "1"));
+
+  @Test
+  public void shouldDecodeJsonParametersOnGet() {
+    var handler = new GraphQLHandler(graphQL(), null);
+    var ctx =
+        get(
+            "query",
+            "query Hello($name: String) { hello(name: $name) }",
+            "operationName",
+            "Hello",
+            "variables",
+            "{\"name\":\"GraphQL\"}",
+            "extensions",
+            "{\"trace\":{\"enabled\":true}}");
+
+    var input = handler.newExecutionInput(ctx);
+
+    assertEquals("Hello", input.getOperationName());
+    assertEquals(Map.of("name", "GraphQL"), input.getVariables());
+    assertEquals(Map.of("trace", Map.of("enabled", true)), input.getExtensions());
+    assertEquals(Map.of("hello", "Hello GraphQL"), data(handler.apply(ctx)));
+  }
+
+  @Test
+  public void shouldIgnoreEmptyJsonParametersOnGet() {
+    var handler = new GraphQLHandler(graphQL(), null);
+    var ctx = get("query", "{ hello }", "variables", "{}");
+
+    var input = handler.newExecutionInput(ctx);
+
+    assertTrue(input.getVariables().isEmpty());
+    assertTrue(input.getExtensions().isEmpty());
+  }
+
+  @Test
+  public void shouldRequireQuery() {
+    var handler = new GraphQLHandler(graphQL(), null);
+
+    assertThrows(MissingValueException.class, () -> handler.newExecutionInput(get()));
+
+    // hash only persisted query
+    var input =
+        handler.newExecutionInput(
+            get("extensions", "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"abc\"}}"));
+    assertTrue(input.getExtensions().containsKey("persistedQuery"));
+  }
+
+  @Test
+  public void shouldBatchDataLoaderPerRequest() {
+    Queue<List<String>> batches = new ConcurrentLinkedQueue<>();
+    BatchLoader<String, Map<String, Object>> authors =
+        ids -> {
+          batches.add(List.copyOf(ids));
+          return CompletableFuture.completedFuture(
+              ids.stream().map(id -> Map.<String, Object>of("name", "Author" + id)).toList());
+        };
+    var registries = new AtomicInteger();
+    var handler =
+        new GraphQLHandler(
+            graphQL(),
+            ctx -> {
+              registries.incrementAndGet();
+              var registry = new DataLoaderRegistry();
+              registry.register("author", DataLoaderFactory.newDataLoader(authors));
+              return registry;
+            });
+    var expected =
+        Map.of(
+            "books",
+            List.of(
+                Map.of("title", "A", "author", Map.of("name", "Author1")),
+                Map.of("title", "B", "author", Map.of("name", "Author2")),
+                Map.of("title", "C", "author", Map.of("name", "Author1"))));
+
+    var query = "{ books { title author { name } } }";
+    assertEquals(expected, data(handler.apply(post(query))));
+    // one load for all the books of the request
+    assertEquals(List.of(List.of("1", "2")), List.copyOf(batches));
+
+    assertEquals(expected, data(handler.apply(post(query))));
+    // data loader cache doesn't leak into other requests
+    assertEquals(List.of(List.of("1", "2"), List.of("1", "2")), List.copyOf(batches));
+    assertEquals(2, registries.get());
+  }
+
+  private static GraphQL graphQL() {
+    var wiring =
+        RuntimeWiring.newRuntimeWiring()
+            .type(
+                "Query",
+                type ->
+                    type.dataFetcher("hello", env -> "Hello " + env.getArgument("name"))
+                        .dataFetcher("books", env -> BOOKS))
+            .type(
+                "Book",
+                type ->
+                    type.dataFetcher(
+                        "author",
+                        env -> {
+                          Book book = env.getSource();
+                          return env.getDataLoader("author").load(book.authorId());
+                        }))
+            .build();
+    var schema =
+        new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+    return GraphQL.newGraphQL(schema).build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object data(Object result) {
+    var specification = ((CompletableFuture<Map<String, Object>>) result).join();
+    return specification.get("data");
+  }
+
+  private static MockContext get(String... query) {
+    var queryString = new StringBuilder();
+    for (int i = 0; i < query.length; i += 2) {
+      queryString
+          .append(i == 0 ? '?' : '&')
+          .append(query[i])
+          .append('=')
+          .append(URLEncoder.encode(query[i + 1], StandardCharsets.UTF_8));
+    }
+    var json = new JacksonModule();
+    var ctx =
+        new MockContext() {
+          @NonNull @Override
+          public MessageDecoder decoder(@NonNull MediaType contentType) {
+            return contentType.equals(MediaType.json) ? json : super.decoder(contentType);
+          }
+        };
+    ctx.setMethod(Router.GET);
+    ctx.setQueryString(queryString.toString());
+    return ctx;
+  }
+
+  private static MockContext post(String query) {
+    var request = new GraphQLRequest();
+    request.setQuery(query);
+    var ctx = new MockContext();
+    ctx.setMethod(Router.POST);
+    ctx.setBodyObject(request);
+    return ctx;
+  }
+}
@@ -111,8 +111,14 @@ public class GsonModule implements Extension, MessageDecoder, MessageEncoder {
   @NonNull @Override
   public DataBuffer encode(@NonNull Context ctx, @NonNull Object value) {
     var buffer = ctx.getBufferFactory().allocateBuffer();
+    encode(ctx, value, buffer);
+    return buffer;
+  }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer) {
     ctx.setDefaultResponseType(MediaType.json);
     gson.toJson(value, buffer.asWriter());
-    return buffer;
+    return true;
   }
 }
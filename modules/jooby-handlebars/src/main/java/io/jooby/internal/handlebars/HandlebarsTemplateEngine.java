@@ -12,6 +12,7 @@ import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.ValueResolver;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
+import io.jooby.MapModelAndView;
 import io.jooby.ModelAndView;
 import io.jooby.TemplateEngine;
 import io.jooby.buffer.DataBuffer;
@@ -37,11 +38,20 @@ public class HandlebarsTemplateEngine implements TemplateEngine {
   @Override
   public DataBuffer render(Context ctx, ModelAndView<?> modelAndView) throws Exception {
     var template = handlebars.compile(modelAndView.getView());
-    var engineModel =
-        com.github.jknack.handlebars.Context.newBuilder(modelAndView.getModel())
-            .resolver(resolvers)
-            .build()
-            .data(ctx.getAttributes());
+    var attributes = TemplateEngine.attributes(ctx);
+    com.github.jknack.handlebars.Context engineModel;
+    if (modelAndView instanceof MapModelAndView mapModelAndView) {
+      // lookup attributes on access, session is resolved only when a template reads it
+      attributes.putAll(mapModelAndView.getModel());
+      engineModel =
+          com.github.jknack.handlebars.Context.newBuilder(attributes).resolver(resolvers).build();
+    } else {
+      engineModel =
+          com.github.jknack.handlebars.Context.newBuilder(modelAndView.getModel())
+              .resolver(resolvers)
+              .build()
+              .data(attributes);
+    }
     var buffer = ctx.getBufferFactory().allocateBuffer();
     template.apply(engineModel, buffer.asWriter());
     return buffer;
@@ -155,9 +155,16 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
   @Override
   public DataBuffer encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
     var buffer = ctx.getBufferFactory().allocateBuffer();
+    encode(ctx, value, buffer);
+    return buffer;
+  }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer)
+      throws Exception {
     ctx.setDefaultResponseType(mediaType);
     mapper.writer().writeValue(buffer.asOutputStream(), value);
-    return buffer;
+    return true;
   }
 
   @Override
@@ -5,12 +5,19 @@
  */
 package io.jooby.internal.jetty;
 
+import java.io.EOFException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.RetainableByteBuffer;
 import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.IO;
+import org.eclipse.jetty.util.IteratingCallback;
 
 import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
 
 public class JettyCallbacks {
   public static class ByteBufferArrayCallback implements Callback {
@@ -48,12 +55,15 @@ public class JettyCallbacks {
 
     private final Response response;
     private final Callback cb;
+    private final DataBuffer buffer;
     private final DataBuffer.ByteBufferIterator it;
     private boolean closeOnLast;
+    private boolean done;
 
     public DataBufferCallback(Response response, Callback cb, DataBuffer buffer) {
       this.response = response;
       this.cb = cb;
+      this.buffer = buffer;
       this.it = buffer.readableByteBuffers();
     }
 
@@ -72,16 +82,21 @@ public class JettyCallbacks {
     }
 
     private void sendLast(boolean last, ByteBuffer buffer) {
-      try {
-        response.write(last, buffer, cb);
-      } finally {
-        it.close();
-      }
+      this.done = true;
+      response.write(last, buffer, this);
     }
 
     @Override
     public void succeeded() {
-      send(closeOnLast);
+      if (done) {
+        try {
+          release();
+        } finally {
+          cb.succeeded();
+        }
+      } else {
+        send(closeOnLast);
+      }
     }
 
     @Override
@@ -89,9 +104,116 @@ public class JettyCallbacks {
       try {
         cb.failed(x);
       } finally {
+        release();
+      }
+    }
+
+    @Override
+    public InvocationType getInvocationType() {
+      return cb.getInvocationType();
+    }
+
+    private void release() {
+      try {
         it.close();
+      } finally {
+        DataBufferUtils.release(buffer);
+      }
+    }
+  }
+
+  /**
+   * Sends a region of a file in bounded chunks. Each chunk is read into the same buffer, taken from
+   * the Jetty buffer pool and reused once the previous write completes. The buffer goes back to the
+   * pool and the file is closed when the region has been sent or when the write fails.
+   */
+  public static class FileChannelCallback extends IteratingCallback {
+    private final Response response;
+    private final Callback cb;
+    private final FileChannel file;
+    private final RetainableByteBuffer pooled;
+    private final ByteBuffer buffer;
+    private final int chunkSize;
+    private long position;
+    private long remaining;
+    private boolean last;
+
+    public FileChannelCallback(
+        Response response,
+        Callback cb,
+        ByteBufferPool pool,
+        FileChannel file,
+        long start,
+        long length,
+        int chunkSize) {
+      this.response = response;
+      this.cb = cb;
+      this.file = file;
+      this.position = start;
+      this.remaining = length;
+      this.chunkSize = (int) Math.max(1, Math.min(chunkSize, length));
+      this.pooled = pool.acquire(this.chunkSize, true);
+      this.buffer = pooled.getByteBuffer();
+    }
+
+    public void send() {
+      iterate();
+    }
+
+    @Override
+    protected Action process() throws Throwable {
+      if (last) {
+        return Action.SUCCEEDED;
       }
+      buffer.clear();
+      buffer.limit((int) Math.min(chunkSize, remaining));
+      int read = file.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException("File truncated while sending, at byte: " + position);
+      }
+      buffer.flip();
+      position += read;
+      remaining -= read;
+      last = remaining == 0;
+      response.write(last, buffer, this);
+      return Action.SCHEDULED;
+    }
+
+    @Override
+    protected void onCompleteSuccess() {
+      release();
+      cb.succeeded();
     }
+
+    @Override
+    protected void onCompleteFailure(Throwable x) {
+      release();
+      cb.failed(x);
+    }
+
+    private void release() {
+      try {
+        IO.close(file);
+      } finally {
+        pooled.release();
+      }
+    }
+
+    @Override
+    public InvocationType getInvocationType() {
+      return cb.getInvocationType();
+    }
+  }
+
+  public static FileChannelCallback fromFileChannel(
+      Response response,
+      Callback cb,
+      ByteBufferPool pool,
+      FileChannel file,
+      long start,
+      long length,
+      int chunkSize) {
+    return new FileChannelCallback(response, cb, pool, file, start, length, chunkSize);
   }
 
   public static DataBufferCallback fromDataBuffer(
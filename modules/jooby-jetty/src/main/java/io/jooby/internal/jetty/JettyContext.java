@@ -7,6 +7,7 @@ package io.jooby.internal.jetty;
 
 import static io.jooby.internal.jetty.JettyCallbacks.fromByteBufferArray;
 import static io.jooby.internal.jetty.JettyCallbacks.fromDataBuffer;
+import static io.jooby.internal.jetty.JettyCallbacks.fromFileChannel;
 import static org.eclipse.jetty.http.HttpHeader.*;
 import static org.eclipse.jetty.http.HttpHeader.CONTENT_TYPE;
 import static org.eclipse.jetty.http.HttpHeader.SET_COOKIE;
@@ -39,12 +40,14 @@ import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpHeaderValue;
 import org.eclipse.jetty.http.MimeTypes;
 import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.io.EofException;
 import org.eclipse.jetty.io.content.InputStreamContentSource;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.Fields;
+import org.eclipse.jetty.util.IO;
 import org.eclipse.jetty.websocket.server.ServerWebSocketContainer;
 import org.slf4j.Logger;
 
@@ -345,6 +348,10 @@ public class JettyContext implements DefaultContext, Callback {
     if (inEventLoop) {
       inEventLoop = false;
       executor.execute(action);
+    } else if (executor != router.getWorker()) {
+      // Already on a Jetty thread, move only when asked for another executor (virtual threads,
+      // named executors, etc.)
+      executor.execute(action);
     } else {
       action.run();
     }
@@ -386,7 +393,9 @@ public class JettyContext implements DefaultContext, Callback {
 
   @NonNull @Override
   public StatusCode getResponseCode() {
-    return StatusCode.valueOf(response.getStatus());
+    int status = response.getStatus();
+    // jetty reports 0 until the response is committed
+    return status == 0 ? StatusCode.OK : StatusCode.valueOf(status);
   }
 
   @NonNull @Override
@@ -548,14 +557,11 @@ public class JettyContext implements DefaultContext, Callback {
 
   @NonNull @Override
   public Context send(@NonNull InputStream in) {
-    try {
-      if (in instanceof FileInputStream) {
-        setResponseLength(((FileInputStream) in).getChannel().size());
-      }
-      return sendStreamInternal(in);
-    } catch (IOException x) {
-      throw SneakyThrows.propagate(x);
+    if (in instanceof FileInputStream) {
+      // use channel
+      return send(((FileInputStream) in).getChannel());
     }
+    return sendStreamInternal(in);
   }
 
   private Context sendStreamInternal(@NonNull InputStream in) {
@@ -580,13 +586,35 @@ public class JettyContext implements DefaultContext, Callback {
   @NonNull @Override
   public Context send(@NonNull FileChannel file) {
     try {
-      response.getHeaders().put(CONTENT_LENGTH, file.size());
-      return sendStreamInternal(Channels.newInputStream(file));
-    } catch (IOException x) {
+      long len = file.size();
+      response.getHeaders().put(CONTENT_LENGTH, len);
+      ByteRange range =
+          ByteRange.parse(request.getHeaders().get(HttpHeader.RANGE), len).apply(this);
+      responseStarted = true;
+      fromFileChannel(
+              response,
+              this,
+              request.getComponents().getByteBufferPool(),
+              file,
+              range.getStart(),
+              range.getContentLength(),
+              bufferSize)
+          .send();
+      return this;
+    } catch (Throwable x) {
+      IO.close(file);
       throw SneakyThrows.propagate(x);
     }
   }
 
+  @NonNull @Override
+  public Context abort() {
+    responseStarted = true;
+    // failing the callback of a committed response closes the connection
+    failed(new EofException("Response aborted: " + getMethod() + " " + getRequestPath()));
+    return this;
+  }
+
   @Override
   public boolean isResponseStarted() {
     return responseStarted || response.isCommitted();
@@ -7,8 +7,8 @@ package io.jooby.internal.jetty;
 
 import static io.jooby.internal.jetty.JettyCallbacks.fromDataBuffer;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jetty.io.EofException;
@@ -21,6 +21,7 @@ import io.jooby.Server;
 import io.jooby.ServerSentEmitter;
 import io.jooby.ServerSentMessage;
 import io.jooby.SneakyThrows;
+import io.jooby.TimerWheel;
 
 public class JettyServerSentEmitter implements ServerSentEmitter, Callback {
   private JettyContext jetty;
@@ -33,6 +34,8 @@ public class JettyServerSentEmitter implements ServerSentEmitter, Callback {
 
   private SneakyThrows.Runnable closeTask;
 
+  private volatile Heartbeat heartbeat;
+
   public JettyServerSentEmitter(JettyContext jetty, Response response) {
     this.jetty = jetty;
     this.response = response;
@@ -64,6 +67,9 @@ public class JettyServerSentEmitter implements ServerSentEmitter, Callback {
   public ServerSentEmitter send(@NonNull ServerSentMessage data) {
     if (isOpen()) {
       fromDataBuffer(response, this, data.encode(jetty)).send(false);
+      if (heartbeat != null) {
+        heartbeat.touch();
+      }
     }
     return this;
   }
@@ -80,12 +86,30 @@ public class JettyServerSentEmitter implements ServerSentEmitter, Callback {
   @Override
   public ServerSentEmitter keepAlive(long timeInMillis) {
     if (isOpen()) {
-      var scheduler = jetty.request.getConnectionMetaData().getConnector().getScheduler();
-      scheduler.schedule(new KeepAlive(this, timeInMillis), timeInMillis, TimeUnit.MILLISECONDS);
+      heartbeat().keepAlive(timeInMillis);
+    }
+    return this;
+  }
+
+  @Override
+  public ServerSentEmitter idleTimeout(long timeInMillis) {
+    if (isOpen()) {
+      heartbeat().idleTimeout(timeInMillis);
     }
     return this;
   }
 
+  private synchronized Heartbeat heartbeat() {
+    if (heartbeat == null) {
+      var timer = jetty.getRouter().getServices().require(TimerWheel.class);
+      var executor = jetty.request.getConnectionMetaData().getConnector().getExecutor();
+      heartbeat =
+          new Heartbeat(
+              this, timer, executor, bytes -> response.write(false, ByteBuffer.wrap(bytes), this));
+    }
+    return heartbeat;
+  }
+
   @Override
   public void onClose(SneakyThrows.Runnable task) {
     this.closeTask = task;
@@ -94,6 +118,9 @@ public class JettyServerSentEmitter implements ServerSentEmitter, Callback {
   @Override
   public void close() {
     if (open.compareAndSet(true, false)) {
+      if (heartbeat != null) {
+        heartbeat.cancel();
+      }
       try {
         if (closeTask != null) {
           closeTask.run();
@@ -10,15 +10,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadPendingException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.StaticException;
@@ -35,6 +32,8 @@ import io.jooby.WebSocketCloseStatus;
 import io.jooby.WebSocketConfigurer;
 import io.jooby.WebSocketMessage;
 import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+import io.jooby.internal.websocket.WebSocketRegistry;
 
 public class JettyWebSocket implements Session.Listener, WebSocketConfigurer, WebSocket {
 
@@ -84,7 +83,7 @@ public class JettyWebSocket implements Session.Listener, WebSocketConfigurer, We
   }
 
   /** All connected websocket. */
-  private static final ConcurrentMap<String, List<JettyWebSocket>> all = new ConcurrentHashMap<>();
+  private static final WebSocketRegistry<JettyWebSocket> all = new WebSocketRegistry<>();
 
   private final JettyContext ctx;
   private final String key;
@@ -227,11 +226,7 @@ public class JettyWebSocket implements Session.Listener, WebSocketConfigurer, We
 
   @NonNull @Override
   public List<WebSocket> getSessions() {
-    List<JettyWebSocket> sessions = all.get(key);
-    if (sessions == null) {
-      return Collections.emptyList();
-    }
-    List<WebSocket> result = new ArrayList<>(sessions);
+    List<WebSocket> result = new ArrayList<>(all.list(key));
     result.remove(this);
     return result;
   }
@@ -243,13 +238,59 @@ public class JettyWebSocket implements Session.Listener, WebSocketConfigurer, We
 
   @Override
   public void forEach(SneakyThrows.Consumer<WebSocket> callback) {
-    for (JettyWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-      try {
-        callback.accept(ws);
-      } catch (Exception cause) {
-        ctx.getRouter().getLog().debug("Broadcast of: {} resulted in exception", ws.path, cause);
-      }
+    all.forEach(
+        key,
+        ws -> {
+          try {
+            callback.accept(ws);
+          } catch (Exception cause) {
+            ctx.getRouter()
+                .getLog()
+                .debug("Broadcast of: {} resulted in exception", ws.path, cause);
+          }
+        });
+  }
+
+  @NonNull @Override
+  public WebSocket broadcast(@NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    // Jetty takes text messages as string: decode once
+    String text;
+    try {
+      text = message.toString(UTF_8);
+    } finally {
+      DataBufferUtils.release(message);
     }
+    return broadcastMessage(filter, (remote, callback) -> remote.sendText(text, callback));
+  }
+
+  @NonNull @Override
+  public WebSocket broadcastBinary(
+      @NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    ByteBuffer payload;
+    try {
+      payload = ByteBuffer.allocate(message.readableByteCount());
+      message.toByteBuffer(payload);
+    } finally {
+      DataBufferUtils.release(message);
+    }
+    return broadcastMessage(
+        filter, (remote, callback) -> remote.sendBinary(payload.asReadOnlyBuffer(), callback));
+  }
+
+  private WebSocket broadcastMessage(
+      Predicate<WebSocket> filter, BiConsumer<Session, Callback> writer) {
+    all.forEach(
+        key,
+        ws -> {
+          try {
+            if (ws.isOpen() && filter.test(ws)) {
+              ws.sendMessage(writer, new WriteCallbackAdaptor(ws, WriteCallback.NOOP));
+            }
+          } catch (Throwable x) {
+            ws.onWebSocketError(x);
+          }
+        });
+    return this;
   }
 
   @NonNull @Override
@@ -373,13 +414,10 @@ public class JettyWebSocket implements Session.Listener, WebSocketConfigurer, We
   }
 
   private static void addSession(JettyWebSocket ws) {
-    all.computeIfAbsent(ws.key, k -> new CopyOnWriteArrayList<>()).add(ws);
+    all.add(ws.key, ws);
   }
 
   private static void removeSession(JettyWebSocket ws) {
-    List<JettyWebSocket> sockets = all.get(ws.key);
-    if (sockets != null) {
-      sockets.remove(ws);
-    }
+    all.remove(ws.key, ws);
   }
 }
@@ -31,6 +31,7 @@ import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.*;
 import io.jooby.buffer.DataBufferFactory;
+import io.jooby.buffer.PooledDataBufferFactory;
 import io.jooby.internal.jetty.JettyHandler;
 import io.jooby.internal.jetty.JettyHttpExpectAndContinueHandler;
 import io.jooby.internal.jetty.http2.JettyHttp2Configurer;
@@ -54,11 +55,27 @@ public class JettyServer extends io.jooby.Server.Base {
   private Consumer<HttpConfiguration> httpConfigurer;
   private DataBufferFactory bufferFactory;
 
+  /**
+   * Creates a server.
+   *
+   * @param bufferFactory Byte buffer allocator.
+   * @param threadPool Thread-pool to use.
+   */
   public JettyServer(@NonNull DataBufferFactory bufferFactory, @NonNull ThreadPool threadPool) {
     this.bufferFactory = bufferFactory;
     this.threadPool = threadPool;
   }
 
+  /**
+   * Creates a server.
+   *
+   * @param bufferFactory Byte buffer allocator.
+   */
+  public JettyServer(@NonNull DataBufferFactory bufferFactory) {
+    this.bufferFactory = bufferFactory;
+  }
+
+  /** Creates a server. */
   public JettyServer() {}
 
   @NonNull @Override
@@ -96,6 +113,12 @@ public class JettyServer extends io.jooby.Server.Base {
           "org.eclipse.jetty.server.Request.maxFormContentSize",
           Long.toString(options.getMaxRequestSize()));
 
+      if (bufferFactory == null) {
+        // Direct memory is written to the socket as it is, without a heap to native copy
+        bufferFactory = new PooledDataBufferFactory(true);
+      }
+      // Make sure context use same buffer factory
+      application.setBufferFactory(bufferFactory);
       applications.add(application);
 
       addShutdownHook();
@@ -210,8 +233,10 @@ public class JettyServer extends io.jooby.Server.Base {
       }
 
       /* ********************************* Servlet *************************************/
+      // Virtual threads: don't block a worker thread, dispatch from the selector thread
+      var executionMode = application.getExecutionMode();
       var invocationType =
-          application.getExecutionMode() == ExecutionMode.EVENT_LOOP
+          executionMode == ExecutionMode.EVENT_LOOP || executionMode == ExecutionMode.VIRTUAL
               ? Invocable.InvocationType.NON_BLOCKING
               : Invocable.InvocationType.BLOCKING;
       Handler handler =
@@ -13,6 +13,8 @@ import java.nio.channels.FileChannel;
 
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpURI;
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.server.Components;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.util.Callback;
@@ -30,6 +32,8 @@ public class Issue3437 {
     var request = mock(Request.class);
     when(request.getMethod()).thenReturn("GET");
     when(request.getHttpURI()).thenReturn(uri);
+    when(request.getComponents()).thenReturn(components());
+    when(request.getHeaders()).thenReturn(mock(HttpFields.class));
 
     var headers = mock(HttpFields.Mutable.class);
 
@@ -48,4 +52,10 @@ public class Issue3437 {
     verify(headers).put(CONTENT_LENGTH, fileSize);
     verify(channel, never()).close();
   }
+
+  private static Components components() {
+    var components = mock(Components.class);
+    when(components.getByteBufferPool()).thenReturn(new ArrayByteBufferPool());
+    return components;
+  }
 }
@@ -0,0 +1,148 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.jetty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpURI;
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.server.Components;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.thread.Invocable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.jooby.Router;
+
+public class JettyFileChannelTest {
+
+  private static final long OFFSET = Integer.MAX_VALUE + 1L;
+
+  @Test
+  public void shouldSendRangeAfterTwoGigabytes(@TempDir Path dir) throws IOException {
+    var content = "Range after 2GB".getBytes(StandardCharsets.UTF_8);
+    var path = dir.resolve("large.bin");
+    // sparse file: only the last bytes take disk space
+    try (var file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.setLength(OFFSET + content.length);
+      file.seek(OFFSET);
+      file.write(content);
+    }
+
+    var requestHeaders = mock(HttpFields.class);
+    when(requestHeaders.get(HttpHeader.RANGE)).thenReturn("bytes=" + OFFSET + "-");
+    var request = mock(Request.class);
+    when(request.getMethod()).thenReturn("GET");
+    when(request.getHttpURI()).thenReturn(mock(HttpURI.class));
+    when(request.getComponents()).thenReturn(components());
+    when(request.getHeaders()).thenReturn(requestHeaders);
+
+    var body = new ByteArrayOutputStream();
+    var lasts = new ArrayList<Boolean>();
+    var response = writeTo(body, lasts);
+    var callback = mock(Callback.class);
+
+    var context =
+        new JettyContext(
+            Invocable.InvocationType.BLOCKING,
+            request,
+            response,
+            callback,
+            mock(Router.class),
+            4,
+            4000);
+
+    var channel = FileChannel.open(path);
+    context.send(channel);
+
+    assertArrayEquals(content, body.toByteArray());
+    // 4 bytes chunks, last one flagged
+    assertFalse(lasts.get(0));
+    assertTrue(lasts.get(lasts.size() - 1));
+    assertFalse(channel.isOpen());
+    verify(response).setStatus(206);
+    verify(callback).succeeded();
+    Files.delete(path);
+  }
+
+  @Test
+  public void shouldSendEmptyFile(@TempDir Path dir) throws IOException {
+    var path = Files.createFile(dir.resolve("empty.bin"));
+    var request = mock(Request.class);
+    when(request.getMethod()).thenReturn("GET");
+    when(request.getHttpURI()).thenReturn(mock(HttpURI.class));
+    when(request.getComponents()).thenReturn(components());
+    when(request.getHeaders()).thenReturn(mock(HttpFields.class));
+
+    var body = new ByteArrayOutputStream();
+    var lasts = new ArrayList<Boolean>();
+    var response = writeTo(body, lasts);
+    var callback = mock(Callback.class);
+
+    var context =
+        new JettyContext(
+            Invocable.InvocationType.BLOCKING,
+            request,
+            response,
+            callback,
+            mock(Router.class),
+            4000,
+            4000);
+
+    var channel = FileChannel.open(path);
+    context.send(channel);
+
+    assertArrayEquals(new byte[0], body.toByteArray());
+    assertEquals(List.of(true), lasts);
+    assertFalse(channel.isOpen());
+    verify(callback).succeeded();
+  }
+
+  private static Response writeTo(ByteArrayOutputStream body, List<Boolean> lasts) {
+    var response = mock(Response.class);
+    when(response.getHeaders()).thenReturn(mock(HttpFields.Mutable.class));
+    doAnswer(
+            invocation -> {
+              lasts.add(invocation.getArgument(0));
+              ByteBuffer buffer = invocation.getArgument(1);
+              while (buffer.hasRemaining()) {
+                body.write(buffer.get());
+              }
+              invocation.<Callback>getArgument(2).succeeded();
+              return null;
+            })
+        .when(response)
+        .write(anyBoolean(), any(), any());
+    return response;
+  }
+
+  private static Components components() {
+    var components = mock(Components.class);
+    when(components.getByteBufferPool()).thenReturn(new ArrayByteBufferPool());
+    return components;
+  }
+}
@@ -35,7 +35,7 @@ public class JStachioModule implements Extension {
 
   private @Nullable JStachio jstachio;
   private int bufferSize = 8 * 1024;
-  private BiFunction<Context, String, String> contextFunction = Context::getAttribute;
+  private @Nullable BiFunction<Context, String, String> contextFunction;
 
   /**
    * Sets the jstachio to use instead of the default.
@@ -77,9 +77,9 @@ public class JStachioModule implements Extension {
   }
 
   /**
-   * JStachio will by default bind {@linkplain Context#getAttributes() Context attributes} to <code>
-   * &#64;context</code>. This configuration option allows fetching context keys from something
-   * else. <a
+   * JStachio will by default bind {@linkplain io.jooby.TemplateEngine#attributes(Context) template
+   * attributes} to <code>&#64;context</code>, like other template engines do. This configuration
+   * option allows fetching context keys from something else. <a
    * href="https://jstach.io/jstachio/io.jstach.jstachio/io/jstach/jstachio/context/package-summary.html">
    * See JStachio doc on context. </a>
    *
@@ -8,8 +8,10 @@ package io.jooby.jstachio;
 import java.io.IOException;
 import java.util.function.BiFunction;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.Context;
 import io.jooby.MediaType;
+import io.jooby.TemplateEngine;
 import io.jstach.jstachio.JStachio;
 import io.jstach.jstachio.context.ContextJStachio;
 import io.jstach.jstachio.context.ContextNode;
@@ -25,12 +27,12 @@ abstract class JStachioRenderer<T> {
 
   private final ContextJStachio jstachio;
   private final JStachioBuffer buffer;
-  private final BiFunction<Context, String, String> contextFunction;
+  private final @Nullable BiFunction<Context, String, String> contextFunction;
 
   public JStachioRenderer(
       JStachio jstachio,
       JStachioBuffer buffer,
-      BiFunction<Context, String, String> contextFunction) {
+      @Nullable BiFunction<Context, String, String> contextFunction) {
     super();
     this.jstachio = ContextJStachio.of(jstachio);
     this.buffer = buffer;
@@ -49,7 +51,12 @@ abstract class JStachioRenderer<T> {
        * So for now we will as well.
        */
       ctx.setResponseType(MediaType.html);
-      ContextNode contextNode = ContextNode.of(s -> contextFunction.apply(ctx, s));
+      // consume flash scope and resolve session on access, like other template engines
+      var attributes = TemplateEngine.attributes(ctx);
+      ContextNode contextNode =
+          contextFunction == null
+              ? ContextNode.of(attributes::get)
+              : ContextNode.of(s -> contextFunction.apply(ctx, s));
       jstachio.write(model, contextNode, stream);
       return extractOutput(ctx, stream);
     } finally {
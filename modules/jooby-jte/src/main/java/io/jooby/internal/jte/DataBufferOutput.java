@@ -5,7 +5,6 @@
  */
 package io.jooby.internal.jte;
 
-import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 
 import gg.jte.TemplateOutput;
@@ -27,11 +26,11 @@ public class DataBufferOutput implements TemplateOutput {
 
   @Override
   public void writeContent(String s) {
-    buffer.write(s, charset);
+    buffer.write(s.getBytes(charset));
   }
 
   @Override
   public void writeContent(String s, int beginIndex, int endIndex) {
-    buffer.write(CharBuffer.wrap(s, beginIndex, endIndex), charset);
+    writeContent(s.substring(beginIndex, endIndex));
   }
 }
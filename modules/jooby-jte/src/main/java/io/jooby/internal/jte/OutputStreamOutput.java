@@ -0,0 +1,42 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.jte;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+import gg.jte.TemplateOutput;
+
+public class OutputStreamOutput implements TemplateOutput {
+  private final OutputStream output;
+  private final Charset charset;
+
+  public OutputStreamOutput(OutputStream output, Charset charset) {
+    this.output = output;
+    this.charset = charset;
+  }
+
+  @Override
+  public void writeBinaryContent(byte[] value) {
+    try {
+      output.write(value);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
+  }
+
+  @Override
+  public void writeContent(String s) {
+    writeBinaryContent(s.getBytes(charset));
+  }
+
+  @Override
+  public void writeContent(String s, int beginIndex, int endIndex) {
+    writeContent(s.substring(beginIndex, endIndex));
+  }
+}
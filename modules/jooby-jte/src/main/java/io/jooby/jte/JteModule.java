@@ -40,6 +40,8 @@ public class JteModule implements Extension {
 
   private TemplateEngine templateEngine;
 
+  private boolean streaming;
+
   /**
    * Creates a new instance. Compiled templates in production mode are expected to be found in the
    * provided class directory.
@@ -77,6 +79,18 @@ public class JteModule implements Extension {
     this.templateEngine = requireNonNull(templateEngine, "Template engine is required.");
   }
 
+  /**
+   * Stream large pages to the response while the template is rendered, see {@link
+   * io.jooby.StreamingTemplateEngine}. Default is <code>false</code>.
+   *
+   * @param streaming True to stream large pages.
+   * @return This module.
+   */
+  public @NonNull JteModule setStreaming(boolean streaming) {
+    this.streaming = streaming;
+    return this;
+  }
+
   @Override
   public void install(@NonNull Jooby application) {
     if (templateEngine == null) {
@@ -85,7 +99,7 @@ public class JteModule implements Extension {
 
     ServiceRegistry services = application.getServices();
     services.put(TemplateEngine.class, templateEngine);
-    application.encoder(MediaType.html, new JteTemplateEngine(templateEngine));
+    application.encoder(MediaType.html, new JteTemplateEngine(templateEngine, streaming));
   }
 
   /**
@@ -118,6 +132,8 @@ public class JteModule implements Extension {
               requiredClassDirectory,
               ContentType.Html,
               environment.getClassLoader());
+      // Static template parts are encoded once, at compile time
+      engine.setBinaryStaticContent(true);
       // Helps jte to use correct classpath while running from jooby run (maven or gradle)
       Optional.ofNullable(System.getProperty("jooby.run.classpath"))
           .map(it -> it.split(File.pathSeparator))
@@ -5,25 +5,30 @@
  */
 package io.jooby.jte;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.List;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import gg.jte.TemplateEngine;
+import gg.jte.TemplateOutput;
 import io.jooby.Context;
 import io.jooby.MapModelAndView;
 import io.jooby.ModelAndView;
+import io.jooby.StreamingTemplateEngine;
 import io.jooby.buffer.DataBuffer;
 import io.jooby.internal.jte.DataBufferOutput;
+import io.jooby.internal.jte.OutputStreamOutput;
 
-class JteTemplateEngine implements io.jooby.TemplateEngine {
+class JteTemplateEngine implements StreamingTemplateEngine {
   private final TemplateEngine jte;
   private final List<String> extensions;
+  private final boolean streaming;
 
-  public JteTemplateEngine(TemplateEngine jte) {
+  public JteTemplateEngine(TemplateEngine jte, boolean streaming) {
     this.jte = jte;
     this.extensions = List.of(".jte", ".kte");
+    this.streaming = streaming;
   }
 
   @NonNull @Override
@@ -31,20 +36,30 @@ class JteTemplateEngine implements io.jooby.TemplateEngine {
     return extensions;
   }
 
+  @Override
+  public boolean isStreaming() {
+    return streaming;
+  }
+
   @Override
   public DataBuffer render(Context ctx, ModelAndView<?> modelAndView) {
     var buffer = ctx.getBufferFactory().allocateBuffer();
-    var output = new DataBufferOutput(buffer, StandardCharsets.UTF_8);
-    var attributes = ctx.getAttributes();
+    render(ctx, modelAndView, new DataBufferOutput(buffer, StandardCharsets.UTF_8));
+    return buffer;
+  }
+
+  @Override
+  public void render(Context ctx, ModelAndView<?> modelAndView, OutputStream output) {
+    render(ctx, modelAndView, new OutputStreamOutput(output, StandardCharsets.UTF_8));
+  }
+
+  private void render(Context ctx, ModelAndView<?> modelAndView, TemplateOutput output) {
     if (modelAndView instanceof MapModelAndView mapModelAndView) {
-      var mapModel = new HashMap<>();
-      mapModel.putAll(attributes);
+      var mapModel = io.jooby.TemplateEngine.attributes(ctx);
       mapModel.putAll(mapModelAndView.getModel());
       jte.render(modelAndView.getView(), mapModel, output);
     } else {
       jte.render(modelAndView.getView(), modelAndView.getModel(), output);
     }
-
-    return buffer;
   }
 }
@@ -41,4 +41,15 @@ public class DataBufferOutputTest {
     output.writeBinaryContent("Hello".getBytes(StandardCharsets.UTF_8));
     assertEquals("Hello", buffer.toString(StandardCharsets.UTF_8));
   }
+
+  @Test
+  public void checkWriteMixedContent() {
+    var factory = new DefaultDataBufferFactory();
+    var buffer = factory.allocateBuffer();
+    var output = new DataBufferOutput(buffer, StandardCharsets.UTF_8);
+    output.writeBinaryContent("<h1>".getBytes(StandardCharsets.UTF_8));
+    output.writeContent("Olá ñandú");
+    output.writeBinaryContent("</h1>".getBytes(StandardCharsets.UTF_8));
+    assertEquals("<h1>Olá ñandú</h1>", buffer.toString(StandardCharsets.UTF_8));
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.netty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.jooby.StatusCode;
+import io.jooby.exception.StatusCodeException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelConfig;
+
+/**
+ * Request body of a streaming route. The event loop offers content as it arrives, a worker thread
+ * reads it. Reading from the socket is paused (auto-read off) while there are more than <code>
+ * highWaterMark</code> bytes pending and resumed once the reader catches up.
+ */
+class NettyBodyStream extends InputStream {
+  private static final ByteBuf EOF = Unpooled.EMPTY_BUFFER;
+
+  private final BlockingQueue<ByteBuf> queue = new LinkedBlockingQueue<>();
+
+  private final AtomicLong pending = new AtomicLong();
+
+  private final ChannelConfig config;
+
+  private final long highWaterMark;
+
+  private final long lowWaterMark;
+
+  private final long maxRequestSize;
+
+  private long received;
+
+  private ByteBuf current;
+
+  private volatile boolean closed;
+
+  private volatile Throwable failure;
+
+  NettyBodyStream(ChannelConfig config, int bufferSize, long maxRequestSize) {
+    this.config = config;
+    this.highWaterMark = bufferSize * 4L;
+    this.lowWaterMark = bufferSize;
+    this.maxRequestSize = maxRequestSize;
+  }
+
+  /**
+   * Offer content, from event loop.
+   *
+   * @param content Content, retained by this method.
+   */
+  void offer(ByteBuf content) {
+    int length = content.readableBytes();
+    if (closed || failure != null || length == 0) {
+      return;
+    }
+    received += length;
+    if (received > maxRequestSize) {
+      fail(new StatusCodeException(StatusCode.REQUEST_ENTITY_TOO_LARGE));
+      return;
+    }
+    queue.add(content.retain());
+    if (closed) {
+      // raced with close
+      discard();
+      return;
+    }
+    if (pending.addAndGet(length) > highWaterMark && config.isAutoRead()) {
+      config.setAutoRead(false);
+      // reader might have caught up before auto-read was turned off
+      if (pending.get() < lowWaterMark) {
+        config.setAutoRead(true);
+      }
+    }
+  }
+
+  /** No more content, from event loop. */
+  void complete() {
+    queue.add(EOF);
+  }
+
+  /**
+   * Abort the stream, reader gets an exception.
+   *
+   * @param cause Cause.
+   */
+  void fail(Throwable cause) {
+    if (failure == null) {
+      failure = cause;
+      queue.add(EOF);
+      // keep reading, so the connection doesn't stall
+      config.setAutoRead(true);
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    ByteBuf buffer = next();
+    if (buffer == null) {
+      return -1;
+    }
+    consumed(1);
+    return buffer.readByte() & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    ByteBuf buffer = next();
+    if (buffer == null) {
+      return -1;
+    }
+    int count = Math.min(len, buffer.readableBytes());
+    buffer.readBytes(b, off, count);
+    consumed(count);
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return current == null ? 0 : current.readableBytes();
+  }
+
+  /** Discard pending content (and any content still to come). */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      release(current);
+      current = null;
+      discard();
+      config.setAutoRead(true);
+    }
+  }
+
+  private void discard() {
+    ByteBuf buffer;
+    while ((buffer = queue.poll()) != null) {
+      release(buffer);
+    }
+  }
+
+  private ByteBuf next() throws IOException {
+    if (closed) {
+      return null;
+    }
+    if (current != null && current.isReadable()) {
+      return current;
+    }
+    release(current);
+    current = null;
+    try {
+      ByteBuf buffer = queue.take();
+      if (buffer == EOF) {
+        queue.add(EOF);
+        if (failure != null) {
+          if (failure instanceof IOException x) {
+            throw x;
+          }
+          if (failure instanceof RuntimeException x) {
+            throw x;
+          }
+          throw new IOException(failure);
+        }
+        return null;
+      }
+      current = buffer;
+      return buffer;
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private void consumed(int count) {
+    long value = pending.addAndGet(-count);
+    if (value < lowWaterMark && !config.isAutoRead() && failure == null && !closed) {
+      config.setAutoRead(true);
+    }
+  }
+
+  private static void release(ByteBuf buffer) {
+    if (buffer != null && buffer != EOF && buffer.refCnt() > 0) {
+      buffer.release();
+    }
+  }
+}
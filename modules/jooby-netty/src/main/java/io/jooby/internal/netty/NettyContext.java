@@ -71,7 +71,7 @@ import io.jooby.Value;
 import io.jooby.ValueNode;
 import io.jooby.WebSocket;
 import io.jooby.buffer.DataBuffer;
-import io.jooby.netty.buffer.NettyDataBuffer;
+import io.jooby.netty.buffer.NettyDataBufferFactory;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
@@ -105,6 +105,8 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   HeadersMultiMap setHeaders = new HeadersMultiMap();
   private int bufferSize;
   InterfaceHttpPostRequestDecoder decoder;
+  NettyBodyStream bodyStream;
+  private NettyOutputStream outputStream;
   private Router router;
   private Route route;
   ChannelHandlerContext ctx;
@@ -356,6 +358,9 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
 
   @NonNull @Override
   public Body body() {
+    if (bodyStream != null) {
+      return Body.of(this, bodyStream, HttpUtil.getContentLength(req, -1L));
+    }
     if (decoder != null && decoder.hasNext()) {
       return new NettyBody(this, (HttpData) decoder.next(), HttpUtil.getContentLength(req, -1L));
     }
@@ -597,7 +602,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
 
   @NonNull @Override
   public Context send(@NonNull DataBuffer data) {
-    return send(((NettyDataBuffer) data).getNativeBuffer());
+    return send(NettyDataBufferFactory.toByteBuf(data));
   }
 
   private Context send(@NonNull ByteBuf data) {
@@ -740,6 +745,17 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
         || ctx.pipeline().channel().getClass().getName().startsWith("IOUring");
   }
 
+  @NonNull @Override
+  public Context abort() {
+    responseStarted = true;
+    if (outputStream != null) {
+      outputStream.abort();
+    } else {
+      ctx.close();
+    }
+    return this;
+  }
+
   @Override
   public boolean isResponseStarted() {
     return responseStarted;
@@ -823,7 +839,11 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   private boolean pendingTasks() {
-    return getSession() != null || filesCreated || decoder != null || listeners != null;
+    return getSession() != null
+        || filesCreated
+        || decoder != null
+        || bodyStream != null
+        || listeners != null;
   }
 
   void destroy(Throwable cause) {
@@ -864,15 +884,21 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       }
       decoder = null;
     }
+    if (bodyStream != null) {
+      bodyStream.close();
+      bodyStream = null;
+    }
   }
 
   private NettyOutputStream newOutputStream() {
     prepareChunked();
-    return new NettyOutputStream(
-        this,
-        ctx,
-        bufferSize,
-        new AssembledHttpResponse(route.isHttpHead(), HTTP_1_1, status, setHeaders));
+    outputStream =
+        new NettyOutputStream(
+            this,
+            ctx,
+            bufferSize,
+            new AssembledHttpResponse(route.isHttpHead(), HTTP_1_1, status, setHeaders));
+    return outputStream;
   }
 
   private FileUpload register(FileUpload upload) {
@@ -8,6 +8,7 @@ package io.jooby.internal.netty;
 import static io.jooby.internal.netty.SlowPathChecks.*;
 import static io.netty.handler.codec.http.HttpUtil.isTransferEncodingChunked;
 
+import java.nio.channels.ClosedChannelException;
 import java.nio.charset.StandardCharsets;
 
 import org.slf4j.Logger;
@@ -76,7 +77,14 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
         // possibly body:
         contentLength = contentLength(req);
         if (contentLength > 0 || isTransferEncodingChunked(req)) {
-          context.decoder = newDecoder(req, factory);
+          if (router.isStreamingBody(context)) {
+            // execute now, route reads the body as it arrives
+            context.bodyStream =
+                new NettyBodyStream(ctx.channel().config(), bufferSize, maxRequestSize);
+            router.match(context).execute(context);
+          } else {
+            context.decoder = newDecoder(req, factory);
+          }
         } else {
           // no body, move on
           router.match(context).execute(context);
@@ -86,7 +94,10 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
       var chunk = (HttpContent) msg;
       try {
         // when decoder == null, chunk is always a LastHttpContent.EMPTY, ignore it
-        if (context.decoder != null) {
+        if (context.bodyStream != null) {
+          context.bodyStream.offer(chunk.content());
+          context.bodyStream.complete();
+        } else if (context.decoder != null) {
           offer(context, chunk);
           Router.Match route = router.match(context);
           resetDecoderState(context, !route.matches());
@@ -99,7 +110,9 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
       var chunk = (HttpContent) msg;
       try {
         // when decoder == null, chunk is always a LastHttpContent.EMPTY, ignore it
-        if (context.decoder != null) {
+        if (context.bodyStream != null) {
+          context.bodyStream.offer(chunk.content());
+        } else if (context.decoder != null) {
           chunkSize += chunk.content().readableBytes();
           if (chunkSize > maxRequestSize) {
             resetDecoderState(context, true);
@@ -132,6 +145,14 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    if (context != null && context.bodyStream != null) {
+      context.bodyStream.fail(new ClosedChannelException());
+    }
+    super.channelInactive(ctx);
+  }
+
   @Override
   public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
     if (evt instanceof IdleStateEvent) {
@@ -10,7 +10,6 @@ import java.io.OutputStream;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultHttpContent;
@@ -77,6 +76,7 @@ public class NettyOutputStream extends OutputStream {
   @Override
   public void flush() throws IOException {
     flush(null, null);
+    context.flush();
   }
 
   private void flush(ChannelFutureListener callback, ChannelFutureListener listener) {
@@ -98,10 +98,19 @@ public class NettyOutputStream extends OutputStream {
         }
         buffer.clear();
       }
-    } else {
-      ChannelFuture future = context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
-      if (listener != null) {
-        future.addListener(listener);
+    } else if (listener != null) {
+      context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(listener);
+    }
+  }
+
+  /** Close the connection without sending the last chunk, so the client sees a truncated body. */
+  public void abort() {
+    if (closed.compareAndSet(false, true)) {
+      try {
+        buffer.release();
+        context.close().addListener(closeListener);
+      } finally {
+        ctx.requestComplete();
       }
     }
   }
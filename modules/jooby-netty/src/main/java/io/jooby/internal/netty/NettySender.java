@@ -8,7 +8,7 @@ package io.jooby.internal.netty;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Sender;
 import io.jooby.buffer.DataBuffer;
-import io.jooby.netty.buffer.NettyDataBuffer;
+import io.jooby.netty.buffer.NettyDataBufferFactory;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -36,7 +36,7 @@ public class NettySender implements Sender {
   @NonNull @Override
   public Sender write(@NonNull DataBuffer data, @NonNull Callback callback) {
     context
-        .writeAndFlush(new DefaultHttpContent(((NettyDataBuffer) data).getNativeBuffer()))
+        .writeAndFlush(new DefaultHttpContent(NettyDataBufferFactory.toByteBuf(data)))
         .addListener(newChannelFutureListener(ctx, callback));
     return this;
   }
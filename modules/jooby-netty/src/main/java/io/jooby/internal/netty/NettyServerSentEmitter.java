@@ -6,7 +6,6 @@
 package io.jooby.internal.netty;
 
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -18,8 +17,9 @@ import io.jooby.Server;
 import io.jooby.ServerSentEmitter;
 import io.jooby.ServerSentMessage;
 import io.jooby.SneakyThrows;
-import io.jooby.netty.buffer.NettyDataBuffer;
-import io.netty.channel.EventLoop;
+import io.jooby.TimerWheel;
+import io.jooby.netty.buffer.NettyDataBufferFactory;
+import io.netty.buffer.Unpooled;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 
@@ -35,6 +35,8 @@ public class NettyServerSentEmitter implements ServerSentEmitter, GenericFutureL
 
   private SneakyThrows.Runnable closeTask;
 
+  private volatile Heartbeat heartbeat;
+
   public NettyServerSentEmitter(NettyContext netty) {
     this.netty = netty;
     this.id = UUID.randomUUID().toString();
@@ -64,9 +66,11 @@ public class NettyServerSentEmitter implements ServerSentEmitter, GenericFutureL
   @NonNull @Override
   public ServerSentEmitter send(ServerSentMessage data) {
     if (checkOpen()) {
-      // TODO: FIX usage of new DataBuffer
-      var nettyDataBuffer = (NettyDataBuffer) data.encode(netty);
-      netty.ctx.writeAndFlush(nettyDataBuffer.getNativeBuffer()).addListener(this);
+      var buffer = NettyDataBufferFactory.toByteBuf(data.encode(netty));
+      netty.ctx.writeAndFlush(buffer).addListener(this);
+      if (heartbeat != null) {
+        heartbeat.touch();
+      }
     } else {
       log.warn("server-sent-event closed: {}", id);
     }
@@ -76,12 +80,32 @@ public class NettyServerSentEmitter implements ServerSentEmitter, GenericFutureL
   @Override
   public ServerSentEmitter keepAlive(long timeInMillis) {
     if (checkOpen()) {
-      EventLoop executor = netty.ctx.channel().eventLoop().next();
-      executor.schedule(new KeepAlive(this, timeInMillis), timeInMillis, TimeUnit.MILLISECONDS);
+      heartbeat().keepAlive(timeInMillis);
+    }
+    return this;
+  }
+
+  @Override
+  public ServerSentEmitter idleTimeout(long timeInMillis) {
+    if (checkOpen()) {
+      heartbeat().idleTimeout(timeInMillis);
     }
     return this;
   }
 
+  private synchronized Heartbeat heartbeat() {
+    if (heartbeat == null) {
+      var timer = netty.getRouter().getServices().require(TimerWheel.class);
+      heartbeat =
+          new Heartbeat(
+              this,
+              timer,
+              netty.ctx.channel().eventLoop(),
+              bytes -> netty.ctx.writeAndFlush(Unpooled.wrappedBuffer(bytes)).addListener(this));
+    }
+    return heartbeat;
+  }
+
   @Override
   public void onClose(SneakyThrows.Runnable task) {
     this.closeTask = task;
@@ -90,6 +114,9 @@ public class NettyServerSentEmitter implements ServerSentEmitter, GenericFutureL
   @NonNull @Override
   public void close() {
     if (open.compareAndSet(true, false)) {
+      if (heartbeat != null) {
+        heartbeat.cancel();
+      }
       try {
         if (closeTask != null) {
           log.debug("running close task on sse {}", id);
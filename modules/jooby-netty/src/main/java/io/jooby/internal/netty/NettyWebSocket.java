@@ -8,14 +8,11 @@ package io.jooby.internal.netty;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
@@ -27,7 +24,8 @@ import io.jooby.WebSocketCloseStatus;
 import io.jooby.WebSocketConfigurer;
 import io.jooby.WebSocketMessage;
 import io.jooby.buffer.DataBuffer;
-import io.jooby.netty.buffer.NettyDataBuffer;
+import io.jooby.internal.websocket.WebSocketRegistry;
+import io.jooby.netty.buffer.NettyDataBufferFactory;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
@@ -83,7 +81,7 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
     }
   }
 
-  public static final ConcurrentMap<String, List<NettyWebSocket>> all = new ConcurrentHashMap<>();
+  public static final WebSocketRegistry<NettyWebSocket> all = new WebSocketRegistry<>();
 
   static final AttributeKey<NettyWebSocket> WS =
       AttributeKey.newInstance(NettyWebSocket.class.getName());
@@ -140,12 +138,53 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
 
   @NonNull @Override
   public WebSocket sendBinary(@NonNull DataBuffer message, @NonNull WriteCallback callback) {
-    return sendMessage(((NettyDataBuffer) message).getNativeBuffer(), true, callback);
+    return sendMessage(NettyDataBufferFactory.toByteBuf(message), true, callback);
   }
 
   @NonNull @Override
   public WebSocket send(@NonNull DataBuffer message, @NonNull WriteCallback callback) {
-    return sendMessage(((NettyDataBuffer) message).getNativeBuffer(), false, callback);
+    return sendMessage(NettyDataBufferFactory.toByteBuf(message), false, callback);
+  }
+
+  @NonNull @Override
+  public WebSocket broadcast(@NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    return broadcastMessage(NettyDataBufferFactory.toByteBuf(message), false, filter);
+  }
+
+  @NonNull @Override
+  public WebSocket broadcastBinary(
+      @NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    return broadcastMessage(NettyDataBufferFactory.toByteBuf(message), true, filter);
+  }
+
+  /**
+   * Write the same payload to all matching sessions. Each frame gets a retained duplicate of the
+   * payload, so content is shared (no copy) and released once last frame is written.
+   */
+  private WebSocket broadcastMessage(ByteBuf payload, boolean binary, Predicate<WebSocket> filter) {
+    try {
+      all.forEach(
+          key,
+          ws -> {
+            try {
+              if (ws.isOpen() && filter.test(ws)) {
+                ByteBuf content = payload.retainedDuplicate();
+                WebSocketFrame frame =
+                    binary ? new BinaryWebSocketFrame(content) : new TextWebSocketFrame(content);
+                ws.netty
+                    .ctx
+                    .channel()
+                    .writeAndFlush(frame)
+                    .addListener(new WriteCallbackAdaptor(ws, WriteCallback.NOOP));
+              }
+            } catch (Throwable x) {
+              ws.handleError(x);
+            }
+          });
+    } finally {
+      payload.release();
+    }
+    return this;
   }
 
   @Override
@@ -189,11 +228,7 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
 
   @NonNull @Override
   public List<WebSocket> getSessions() {
-    List<NettyWebSocket> sessions = all.get(key);
-    if (sessions == null) {
-      return Collections.emptyList();
-    }
-    List<WebSocket> result = new ArrayList<>(sessions);
+    List<WebSocket> result = new ArrayList<>(all.list(key));
     result.remove(this);
     return result;
   }
@@ -204,16 +239,18 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
 
   @Override
   public void forEach(SneakyThrows.Consumer<WebSocket> callback) {
-    for (NettyWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-      try {
-        callback.accept(ws);
-      } catch (Exception cause) {
-        netty
-            .getRouter()
-            .getLog()
-            .debug("Broadcast of: {} resulted in exception", netty.getRequestPath(), cause);
-      }
-    }
+    all.forEach(
+        key,
+        ws -> {
+          try {
+            callback.accept(ws);
+          } catch (Exception cause) {
+            netty
+                .getRouter()
+                .getLog()
+                .debug("Broadcast of: {} resulted in exception", netty.getRequestPath(), cause);
+          }
+        });
   }
 
   @Override
@@ -375,14 +412,11 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
   }
 
   private void addSession(NettyWebSocket ws) {
-    all.computeIfAbsent(ws.key, k -> new CopyOnWriteArrayList<>()).add(ws);
+    all.add(ws.key, ws);
   }
 
   private void removeSession(NettyWebSocket ws) {
-    List<NettyWebSocket> sockets = all.get(ws.key);
-    if (sockets != null) {
-      sockets.remove(ws);
-    }
+    all.remove(ws.key, ws);
   }
 
   private Runnable webSocketTask(Runnable runnable, boolean isInit) {
@@ -8,10 +8,13 @@ package io.jooby.netty.buffer;
 import static java.util.Objects.requireNonNull;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import io.jooby.buffer.DataBuffer;
 import io.jooby.buffer.DataBufferFactory;
+import io.jooby.buffer.DataBufferUtils;
+import io.jooby.buffer.PooledDataBuffer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
@@ -146,8 +149,9 @@ public class NettyDataBufferFactory implements DataBufferFactory {
    * Return the given Netty {@link DataBuffer} as a {@link ByteBuf}.
    *
    * <p>Returns the {@linkplain NettyDataBuffer#getNativeBuffer() native buffer} if {@code
-   * dataBuffer} is a {@link NettyDataBuffer}; returns {@link Unpooled#wrappedBuffer(ByteBuffer)}
-   * otherwise.
+   * dataBuffer} is a {@link NettyDataBuffer}. Any other buffer is wrapped without copying its
+   * memory, except for {@link PooledDataBuffer} which are copied and released, because its memory
+   * goes back to a pool Netty doesn't know about.
    *
    * @param dataBuffer the {@code DataBuffer} to return a {@code ByteBuf} for
    * @return the netty {@code ByteBuf}
@@ -155,10 +159,24 @@ public class NettyDataBufferFactory implements DataBufferFactory {
   public static ByteBuf toByteBuf(DataBuffer dataBuffer) {
     if (dataBuffer instanceof NettyDataBuffer nettyDataBuffer) {
       return nettyDataBuffer.getNativeBuffer();
+    } else if (dataBuffer instanceof PooledDataBuffer) {
+      try {
+        ByteBuf byteBuf = Unpooled.buffer(dataBuffer.readableByteCount());
+        try (var iterator = dataBuffer.readableByteBuffers()) {
+          while (iterator.hasNext()) {
+            byteBuf.writeBytes(iterator.next());
+          }
+        }
+        return byteBuf;
+      } finally {
+        DataBufferUtils.release(dataBuffer);
+      }
     } else {
-      ByteBuffer byteBuffer = ByteBuffer.allocate(dataBuffer.readableByteCount());
-      dataBuffer.toByteBuffer(byteBuffer);
-      return Unpooled.wrappedBuffer(byteBuffer);
+      var buffers = new ArrayList<ByteBuffer>(1);
+      try (var iterator = dataBuffer.readableByteBuffers()) {
+        iterator.forEachRemaining(buffers::add);
+      }
+      return Unpooled.wrappedBuffer(buffers.toArray(new ByteBuffer[0]));
     }
   }
 
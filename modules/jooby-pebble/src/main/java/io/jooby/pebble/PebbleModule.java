@@ -262,6 +262,8 @@ public class PebbleModule implements Extension {
 
   private String templatesPath;
 
+  private boolean streaming;
+
   /**
    * Creates a new pebble module.
    *
@@ -286,12 +288,24 @@ public class PebbleModule implements Extension {
     this(TemplateEngine.PATH);
   }
 
+  /**
+   * Stream large pages to the response while the template is rendered, see {@link
+   * io.jooby.StreamingTemplateEngine}. Default is <code>false</code>.
+   *
+   * @param streaming True to stream large pages.
+   * @return This module.
+   */
+  public @NonNull PebbleModule setStreaming(boolean streaming) {
+    this.streaming = streaming;
+    return this;
+  }
+
   @Override
   public void install(@NonNull Jooby application) throws Exception {
     if (builder == null) {
       builder = create().setTemplatesPath(templatesPath).build(application.getEnvironment());
     }
-    application.encoder(new PebbleTemplateEngine(builder, EXT));
+    application.encoder(new PebbleTemplateEngine(builder, EXT, streaming));
 
     ServiceRegistry services = application.getServices();
     services.put(PebbleEngine.Builder.class, builder);
@@ -5,8 +5,10 @@
  */
 package io.jooby.pebble;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -14,18 +16,20 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
 import io.jooby.MapModelAndView;
 import io.jooby.ModelAndView;
+import io.jooby.StreamingTemplateEngine;
 import io.jooby.TemplateEngine;
-import io.jooby.buffer.DataBuffer;
 import io.pebbletemplates.pebble.PebbleEngine;
 
-class PebbleTemplateEngine implements TemplateEngine {
+class PebbleTemplateEngine implements StreamingTemplateEngine {
 
   private final List<String> extensions;
   private final PebbleEngine engine;
+  private final boolean streaming;
 
-  PebbleTemplateEngine(PebbleEngine.Builder builder, List<String> extensions) {
+  PebbleTemplateEngine(PebbleEngine.Builder builder, List<String> extensions, boolean streaming) {
     this.engine = builder.build();
     this.extensions = Collections.unmodifiableList(extensions);
+    this.streaming = streaming;
   }
 
   @NonNull @Override
@@ -34,18 +38,24 @@ class PebbleTemplateEngine implements TemplateEngine {
   }
 
   @Override
-  public DataBuffer render(Context ctx, ModelAndView<?> modelAndView) throws Exception {
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  @Override
+  public void render(Context ctx, ModelAndView<?> modelAndView, OutputStream output)
+      throws Exception {
     if (modelAndView instanceof MapModelAndView mapModelAndView) {
-      var buffer = ctx.getBufferFactory().allocateBuffer();
       var template = engine.getTemplate(modelAndView.getView());
-      Map<String, Object> model = new HashMap<>(ctx.getAttributes());
+      Map<String, Object> model = TemplateEngine.attributes(ctx);
       model.putAll(mapModelAndView.getModel());
       var locale = modelAndView.getLocale();
       if (locale == null) {
         locale = ctx.locale();
       }
-      template.evaluate(buffer.asWriter(), model, locale);
-      return buffer;
+      var writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+      template.evaluate(writer, model, locale);
+      writer.flush();
     } else {
       throw new ModelAndView.UnsupportedModelAndView(MapModelAndView.class);
     }
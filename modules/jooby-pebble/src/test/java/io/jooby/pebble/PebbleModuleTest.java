@@ -50,7 +50,7 @@ public class PebbleModuleTest {
         PebbleModule.create()
             .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty()));
     PebbleTemplateEngine engine =
-        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"));
+        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"), false);
     MockContext ctx =
         new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
     ctx.getAttributes().put("local", "var");
@@ -67,7 +67,7 @@ public class PebbleModuleTest {
         PebbleModule.create()
             .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty()));
     PebbleTemplateEngine engine =
-        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"));
+        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"), false);
     MockContext ctx = new MockContext();
     assertThrows(
         ModelAndView.UnsupportedModelAndView.class,
@@ -81,7 +81,7 @@ public class PebbleModuleTest {
             .setTemplatesPath(Paths.get("src", "test", "resources", "views").toString())
             .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty()));
     PebbleTemplateEngine engine =
-        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"));
+        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"), false);
     MockContext ctx =
         new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
     ctx.getAttributes().put("local", "var");
@@ -98,7 +98,7 @@ public class PebbleModuleTest {
         PebbleModule.create()
             .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty()));
     PebbleTemplateEngine engine =
-        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"));
+        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"), false);
     MockContext ctx =
         new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
 
@@ -5,13 +5,19 @@
  */
 package io.jooby.redis;
 
+import java.net.SocketAddress;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
@@ -25,19 +31,35 @@ import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 import io.jooby.SneakyThrows;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisChannelHandler;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.TrackingArgs;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.api.async.RedisAsyncCommands;
-import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.support.ConnectionPoolSupport;
 
 /**
  * Redis session store.
  *
+ * <p>Sessions are saved as Redis hashes. Looking up a session reads the hash and refreshes the
+ * session timeout in a single round trip.
+ *
+ * <p>The {@link #setNearCache(int)} mode keeps recently used sessions in memory, so most lookups
+ * don't go to Redis. Entries are invalidated using Redis client side caching (requires Redis 6 or
+ * higher). In this mode, saving a session only writes the attributes that changed.
+ *
+ * <p>The store is closed on application shutdown: see {@link #close()}.
+ *
  * @author edgar
  * @since 2.8.5
  */
-public class RedisSessionStore implements SessionStore {
+public class RedisSessionStore implements SessionStore, AutoCloseable {
 
   private static final String LAST_ACCESSED_AT = "__accessed_at";
   private static final String CREATED_AT = "__created_at";
@@ -48,6 +70,104 @@ public class RedisSessionStore implements SessionStore {
   private String namespace = "sessions";
   private Duration timeout = Duration.ofMinutes(DEFAULT_TIMEOUT);
   private GenericObjectPool<StatefulRedisConnection<String, String>> pool;
+  private boolean closePool;
+  private NearCache nearCache;
+  private volatile StatefulRedisConnection<String, String> connection;
+
+  /** Session data as seen by the near cache. */
+  private record Snapshot(Map<String, String> attributes, Instant createdAt, Instant accessedAt) {}
+
+  /**
+   * Bounded map of recent sessions, invalidated by Redis client side caching (broadcast mode over
+   * the session namespace). Entries are served only while tracking is active.
+   */
+  private class NearCache implements PushListener, RedisConnectionStateListener {
+    private final Map<String, Snapshot> entries;
+
+    /** Incremented on every invalidation, prevents caching a read that raced an invalidation. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean tracking;
+
+    NearCache(int maxSessions) {
+      this.entries =
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+              return size() > maxSessions;
+            }
+          };
+    }
+
+    void track(StatefulRedisConnection<String, String> connection) {
+      // NOLOOP: writes from this store don't invalidate its own entries
+      connection
+          .async()
+          .clientTracking(TrackingArgs.Builder.enabled().bcast().prefixes(namespace + ":").noloop())
+          .whenComplete(
+              (value, cause) -> {
+                if (cause == null) {
+                  tracking = true;
+                } else {
+                  log.error("unable to enable client tracking, near cache is disabled", cause);
+                }
+              });
+    }
+
+    long generation() {
+      return generation.get();
+    }
+
+    synchronized Snapshot get(String key) {
+      return tracking ? entries.get(key) : null;
+    }
+
+    synchronized void put(String key, Snapshot snapshot, long generation) {
+      if (tracking && this.generation.get() == generation) {
+        entries.put(key, snapshot);
+      }
+    }
+
+    synchronized void invalidate(String key) {
+      generation.incrementAndGet();
+      entries.remove(key);
+    }
+
+    synchronized void invalidateAll() {
+      generation.incrementAndGet();
+      entries.clear();
+    }
+
+    @Override
+    public void onPushMessage(PushMessage message) {
+      if (message.getType().equals("invalidate")) {
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        if (content.size() > 1 && content.get(1) instanceof List<?> keys) {
+          for (Object key : keys) {
+            invalidate((String) key);
+          }
+        } else {
+          // FLUSHALL/FLUSHDB
+          invalidateAll();
+        }
+      }
+    }
+
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+      // invalidations are lost while disconnected
+      tracking = false;
+      invalidateAll();
+    }
+
+    @Override
+    public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+      StatefulRedisConnection<String, String> connection = RedisSessionStore.this.connection;
+      if (connection != null) {
+        track(connection);
+      }
+    }
+  }
 
   /**
    * Creates a new session store.
@@ -68,6 +188,7 @@ public class RedisSessionStore implements SessionStore {
     this(
         ConnectionPoolSupport.createGenericObjectPool(
             () -> redis.connect(), new GenericObjectPoolConfig()));
+    this.closePool = true;
   }
 
   /**
@@ -140,10 +261,52 @@ public class RedisSessionStore implements SessionStore {
     return this;
   }
 
+  /**
+   * Keep up to <code>maxSessions</code> recently used sessions in memory. Cached sessions are
+   * invalidated when they are modified by other applications or expire, using Redis client side
+   * caching, so it requires Redis 6 or higher. In this mode:
+   *
+   * <ul>
+   *   <li>A session found in the near cache doesn't wait for Redis. Its timeout is refreshed in the
+   *       background.
+   *   <li>Saving a session only writes the attributes that changed.
+   *   <li>Creation and last accessed time are saved as epoch milliseconds.
+   * </ul>
+   *
+   * The store takes a connection from the pool and uses it for all the session operations
+   * (connections are thread-safe).
+   *
+   * @param maxSessions Max number of sessions to keep in memory.
+   * @return This store.
+   */
+  public @NonNull RedisSessionStore setNearCache(int maxSessions) {
+    this.nearCache = maxSessions > 0 ? new NearCache(maxSessions) : null;
+    return this;
+  }
+
   @NonNull @Override
   public Session newSession(@NonNull Context ctx) {
     String sessionId = token.newToken();
 
+    if (nearCache != null) {
+      Instant now = Instant.now();
+      Map<String, String> data = new HashMap<>();
+      data.put(LAST_ACCESSED_AT, Long.toString(now.toEpochMilli()));
+      data.put(CREATED_AT, Long.toString(now.toEpochMilli()));
+      String redisId = key(sessionId);
+      long generation = nearCache.generation();
+      RedisAsyncCommands<String, String> commands = connection().async();
+      logError(commands.hset(redisId, data), "unable to create session: {}", sessionId);
+      expire(commands, redisId);
+      nearCache.put(redisId, new Snapshot(Map.of(), now, now), generation);
+
+      token.saveToken(ctx, sessionId);
+
+      return Session.create(ctx, sessionId, new ConcurrentHashMap<>())
+          .setLastAccessedTime(now)
+          .setCreationTime(now);
+    }
+
     Instant now = Instant.now();
     String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
 
@@ -166,19 +329,22 @@ public class RedisSessionStore implements SessionStore {
     if (sessionId == null) {
       return null;
     }
+    if (nearCache != null) {
+      return findCachedSession(ctx, sessionId);
+    }
     return withConnection(
         connection -> {
-          RedisCommands<String, String> commands = connection.sync();
+          RedisAsyncCommands<String, String> commands = connection.async();
           String redisId = key(sessionId);
-          Map<String, String> data = commands.hgetall(redisId);
+          // pipeline read and timeout refresh
+          RedisFuture<Map<String, String>> hgetall = commands.hgetall(redisId);
+          expire(commands, redisId);
+          Map<String, String> data = await(connection, hgetall);
           if (data == null || data.isEmpty()) {
             return null;
           }
-          Optional.ofNullable(timeout)
-              .map(Duration::getSeconds)
-              .ifPresent(seconds -> commands.expire(redisId, seconds));
-          Instant lastAccessedTime = Instant.parse(data.remove(LAST_ACCESSED_AT));
-          Instant createdAt = Instant.parse(data.remove(CREATED_AT));
+          Instant lastAccessedTime = instant(data.remove(LAST_ACCESSED_AT));
+          Instant createdAt = instant(data.remove(CREATED_AT));
 
           token.saveToken(ctx, sessionId);
 
@@ -188,11 +354,45 @@ public class RedisSessionStore implements SessionStore {
         });
   }
 
+  private Session findCachedSession(Context ctx, String sessionId) {
+    StatefulRedisConnection<String, String> connection = connection();
+    RedisAsyncCommands<String, String> commands = connection.async();
+    String redisId = key(sessionId);
+    Snapshot snapshot = nearCache.get(redisId);
+    if (snapshot == null) {
+      long generation = nearCache.generation();
+      RedisFuture<Map<String, String>> hgetall = commands.hgetall(redisId);
+      expire(commands, redisId);
+      Map<String, String> data = await(connection, hgetall);
+      if (data == null || data.isEmpty()) {
+        return null;
+      }
+      Instant accessedAt = instant(data.remove(LAST_ACCESSED_AT));
+      Instant createdAt = instant(data.remove(CREATED_AT));
+      snapshot = new Snapshot(Map.copyOf(data), createdAt, accessedAt);
+      nearCache.put(redisId, snapshot, generation);
+    } else {
+      expire(commands, redisId);
+    }
+
+    token.saveToken(ctx, sessionId);
+
+    return Session.create(ctx, sessionId, new ConcurrentHashMap<>(snapshot.attributes()))
+        .setCreationTime(snapshot.createdAt())
+        .setLastAccessedTime(snapshot.accessedAt());
+  }
+
   @Override
   public void deleteSession(@NonNull Context ctx, @NonNull Session session) {
     String sessionId = session.getId();
 
-    withConnection(connection -> connection.async().del(key(sessionId)));
+    if (nearCache != null) {
+      String redisId = key(sessionId);
+      connection().async().del(redisId);
+      nearCache.invalidate(redisId);
+    } else {
+      withConnection(connection -> connection.async().del(key(sessionId)));
+    }
 
     token.deleteToken(ctx, sessionId);
   }
@@ -206,21 +406,95 @@ public class RedisSessionStore implements SessionStore {
 
   @Override
   public void saveSession(@NonNull Context ctx, @NonNull Session session) {
-    saveSession(session.getId(), new HashMap<>(session.toMap()));
+    if (nearCache != null) {
+      saveChanges(session);
+    } else {
+      saveSession(session.getId(), new HashMap<>(session.toMap()));
+    }
   }
 
   @Override
   public void renewSessionId(@NonNull Context ctx, @NonNull Session session) {}
 
+  /**
+   * Release the connection used by the near cache mode. The connection pool is closed too when this
+   * store created it, see {@link #RedisSessionStore(RedisClient)}.
+   *
+   * <p>Invoked at application shutdown when the store was set with {@link
+   * io.jooby.Jooby#setSessionStore(SessionStore)}.
+   */
+  @Override
+  public void close() {
+    StatefulRedisConnection<String, String> connection;
+    synchronized (this) {
+      connection = this.connection;
+      this.connection = null;
+    }
+    if (connection != null) {
+      try {
+        // don't give back a connection with client tracking and listeners on
+        pool.invalidateObject(connection);
+      } catch (Exception cause) {
+        log.debug("unable to release near cache connection", cause);
+      }
+    }
+    if (closePool) {
+      pool.close();
+    }
+  }
+
   private void saveSession(String sessionId, Map<String, String> data) {
-    withConnection(
-        connection -> {
-          Instant now = Instant.now();
-          String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
+    Instant now = Instant.now();
+    String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
 
-          data.put(LAST_ACCESSED_AT, isoNow);
-          data.put(CREATED_AT, isoNow);
+    data.put(LAST_ACCESSED_AT, isoNow);
+    data.put(CREATED_AT, isoNow);
+
+    replaceSession(sessionId, data);
+  }
 
+  /** Write attributes that differ from the near cache snapshot, or all of them on cache miss. */
+  private void saveChanges(Session session) {
+    String sessionId = session.getId();
+    String redisId = key(sessionId);
+    Map<String, String> attributes = Map.copyOf(session.toMap());
+    Instant now = Instant.now();
+    long generation = nearCache.generation();
+    Snapshot snapshot = nearCache.get(redisId);
+    if (snapshot == null) {
+      // unknown state in Redis, replace it
+      Map<String, String> data = new HashMap<>(attributes);
+      data.put(LAST_ACCESSED_AT, Long.toString(now.toEpochMilli()));
+      data.put(CREATED_AT, Long.toString(session.getCreationTime().toEpochMilli()));
+      // runs on a pooled connection, so tracking invalidates the entry
+      replaceSession(sessionId, data);
+    } else {
+      Map<String, String> changes = new HashMap<>();
+      for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+        if (!attribute.getValue().equals(snapshot.attributes().get(attribute.getKey()))) {
+          changes.put(attribute.getKey(), attribute.getValue());
+        }
+      }
+      changes.put(LAST_ACCESSED_AT, Long.toString(now.toEpochMilli()));
+      List<String> removed = new ArrayList<>();
+      for (String name : snapshot.attributes().keySet()) {
+        if (!attributes.containsKey(name)) {
+          removed.add(name);
+        }
+      }
+      RedisAsyncCommands<String, String> commands = connection().async();
+      logError(commands.hset(redisId, changes), "unable to save session: {}", sessionId);
+      if (!removed.isEmpty()) {
+        commands.hdel(redisId, removed.toArray(new String[0]));
+      }
+      expire(commands, redisId);
+      nearCache.put(redisId, new Snapshot(attributes, session.getCreationTime(), now), generation);
+    }
+  }
+
+  private void replaceSession(String sessionId, Map<String, String> data) {
+    withConnection(
+        connection -> {
           RedisAsyncCommands<String, String> commands = connection.async();
           String redisId = key(sessionId);
           // start transaction
@@ -238,15 +512,66 @@ public class RedisSessionStore implements SessionStore {
                       log.error("unable to create session: {}", sessionId, cause);
                       return sessionId;
                     } else {
-                      Optional.ofNullable(timeout)
-                          .map(Duration::getSeconds)
-                          .ifPresent(seconds -> commands.expire(redisId, seconds));
+                      expire(commands, redisId);
                       return value;
                     }
                   });
         });
   }
 
+  private void expire(RedisAsyncCommands<String, String> commands, String redisId) {
+    Optional.ofNullable(timeout)
+        .map(Duration::getSeconds)
+        .ifPresent(seconds -> commands.expire(redisId, seconds));
+  }
+
+  private void logError(RedisFuture<?> future, String message, String sessionId) {
+    future.whenComplete(
+        (value, cause) -> {
+          if (cause != null) {
+            log.error(message, sessionId, cause);
+          }
+        });
+  }
+
+  private static <T> T await(StatefulRedisConnection connection, RedisFuture<T> future) {
+    return LettuceFutures.awaitOrCancel(
+        future, connection.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /** Parse epoch millis (near cache mode) or ISO-8601 timestamps. */
+  private static Instant instant(String value) {
+    return value.indexOf('T') < 0
+        ? Instant.ofEpochMilli(Long.parseLong(value))
+        : Instant.parse(value);
+  }
+
+  /**
+   * Shared connection used by the near cache mode. It receives the invalidation messages.
+   *
+   * @return Shared connection.
+   */
+  private StatefulRedisConnection<String, String> connection() {
+    StatefulRedisConnection<String, String> connection = this.connection;
+    if (connection == null) {
+      synchronized (this) {
+        connection = this.connection;
+        if (connection == null) {
+          try {
+            connection = pool.borrowObject();
+          } catch (Exception cause) {
+            throw SneakyThrows.propagate(cause);
+          }
+          connection.addListener((PushListener) nearCache);
+          connection.addListener((RedisConnectionStateListener) nearCache);
+          nearCache.track(connection);
+          this.connection = connection;
+        }
+      }
+    }
+    return connection;
+  }
+
   private <T> T withConnection(SneakyThrows.Function<StatefulRedisConnection, T> callback) {
     try (StatefulRedisConnection<String, String> connection = pool.borrowObject()) {
       return callback.apply(connection);
@@ -0,0 +1,234 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.jooby.Session;
+import io.jooby.SessionToken;
+import io.jooby.test.MockContext;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+
+public class RedisSessionStoreTest {
+
+  /** Completed redis future. */
+  private static class Done<T> extends CompletableFuture<T> implements RedisFuture<T> {
+    Done(T value) {
+      complete(value);
+    }
+
+    @Override
+    public String getError() {
+      return null;
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) {
+      return true;
+    }
+  }
+
+  private static final Instant CREATED = Instant.parse("2024-01-10T10:15:30.123Z");
+
+  private static final Instant ACCESSED = Instant.parse("2024-01-10T10:20:00.456Z");
+
+  private GenericObjectPool<StatefulRedisConnection<String, String>> pool;
+
+  private StatefulRedisConnection<String, String> connection;
+
+  private RedisAsyncCommands<String, String> commands;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() throws Exception {
+    commands = mock(RedisAsyncCommands.class);
+    when(commands.clientTracking(any(TrackingArgs.class))).thenReturn(new Done<>("OK"));
+    when(commands.hset(any(), anyMap())).thenReturn(new Done<>(1L));
+    connection = mock(StatefulRedisConnection.class);
+    when(connection.async()).thenReturn(commands);
+    when(connection.getTimeout()).thenReturn(Duration.ofSeconds(1));
+    pool = mock(GenericObjectPool.class);
+    when(pool.borrowObject()).thenReturn(connection);
+  }
+
+  @Test
+  public void shouldReadIsoAndEpochTimestamps() {
+    // sessions saved before near cache mode use ISO-8601, near cache mode uses epoch millis
+    for (var store : List.of(store(), store().setNearCache(10))) {
+      hgetall("iso", CREATED.toString(), ACCESSED.toString());
+      hgetall(
+          "epoch", Long.toString(CREATED.toEpochMilli()), Long.toString(ACCESSED.toEpochMilli()));
+
+      for (String sid : List.of("iso", "epoch")) {
+        Session session = store.findSession(context(sid));
+        assertNotNull(session, sid);
+        assertEquals(CREATED, session.getCreationTime(), sid);
+        assertEquals(ACCESSED, session.getLastAccessedTime(), sid);
+        assertEquals("bar", session.get("foo").value(), sid);
+      }
+    }
+  }
+
+  @Test
+  public void shouldSaveEpochMillisInNearCacheMode() {
+    var store = store().setNearCache(10);
+    var session = store.newSession(context(null));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, String>> data = ArgumentCaptor.forClass(Map.class);
+    verify(commands).hset(eq("sessions:" + session.getId()), data.capture());
+    assertEquals(
+        Long.toString(session.getCreationTime().toEpochMilli()),
+        data.getValue().get("__created_at"));
+  }
+
+  @Test
+  public void shouldInvalidateNearCache() {
+    var store = store().setNearCache(10);
+    hgetall("a", CREATED.toString(), ACCESSED.toString());
+    hgetall("b", CREATED.toString(), ACCESSED.toString());
+
+    store.findSession(context("a"));
+    store.findSession(context("b"));
+    // served from memory
+    store.findSession(context("a"));
+    store.findSession(context("b"));
+    verify(commands, times(1)).hgetall("sessions:a");
+    verify(commands, times(1)).hgetall("sessions:b");
+
+    var push = pushListener();
+    push.onPushMessage(invalidate(List.of("sessions:a")));
+    store.findSession(context("a"));
+    store.findSession(context("b"));
+    verify(commands, times(2)).hgetall("sessions:a");
+    verify(commands, times(1)).hgetall("sessions:b");
+
+    // FLUSHALL/FLUSHDB
+    push.onPushMessage(invalidate(null));
+    store.findSession(context("a"));
+    store.findSession(context("b"));
+    verify(commands, times(3)).hgetall("sessions:a");
+    verify(commands, times(2)).hgetall("sessions:b");
+
+    // invalidations are lost while disconnected: memory isn't used until tracking is on again
+    var state = stateListener();
+    state.onRedisDisconnected(null);
+    store.findSession(context("a"));
+    store.findSession(context("a"));
+    verify(commands, times(5)).hgetall("sessions:a");
+
+    state.onRedisConnected(null, null);
+    store.findSession(context("a"));
+    store.findSession(context("a"));
+    verify(commands, times(6)).hgetall("sessions:a");
+  }
+
+  @Test
+  public void shouldNotCacheDeletedSession() {
+    var store = store().setNearCache(10);
+    hgetall("a", CREATED.toString(), ACCESSED.toString());
+
+    var ctx = context("a");
+    var session = store.findSession(ctx);
+    store.deleteSession(ctx, session);
+    when(commands.hgetall("sessions:a")).thenReturn(new Done<>(Map.of()));
+
+    assertNull(store.findSession(context("a")));
+    verify(commands).del("sessions:a");
+  }
+
+  @Test
+  public void shouldCloseNearCacheConnection() throws Exception {
+    var store = store().setNearCache(10);
+    store.newSession(context(null));
+
+    store.close();
+
+    verify(pool).invalidateObject(connection);
+    // pool was provided by application
+    verify(pool, never()).close();
+  }
+
+  @Test
+  public void shouldCloseWithoutNearCache() throws Exception {
+    var store = store();
+
+    store.close();
+
+    verify(pool, never()).invalidateObject(any());
+  }
+
+  private RedisSessionStore store() {
+    return new RedisSessionStore(pool).setToken(SessionToken.header("sid"));
+  }
+
+  private void hgetall(String sid, String createdAt, String accessedAt) {
+    Map<String, String> data = new HashMap<>();
+    data.put("foo", "bar");
+    data.put("__created_at", createdAt);
+    data.put("__accessed_at", accessedAt);
+    // each lookup gets a mutable copy, like lettuce does
+    when(commands.hgetall("sessions:" + sid))
+        .thenAnswer(invocation -> new Done<>(new HashMap<>(data)));
+  }
+
+  private PushListener pushListener() {
+    var captor = ArgumentCaptor.forClass(PushListener.class);
+    verify(connection).addListener(captor.capture());
+    return captor.getValue();
+  }
+
+  private RedisConnectionStateListener stateListener() {
+    var captor = ArgumentCaptor.forClass(RedisConnectionStateListener.class);
+    verify(connection).addListener(captor.capture());
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static PushMessage invalidate(List<String> keys) {
+    var message = mock(PushMessage.class);
+    when(message.getType()).thenReturn("invalidate");
+    List<Object> content = new ArrayList<>();
+    content.add("invalidate");
+    content.add(keys);
+    when(message.getContent(any())).thenReturn(content);
+    return message;
+  }
+
+  private static MockContext context(String sid) {
+    var ctx = new MockContext();
+    if (sid != null) {
+      ctx.setRequestHeader("sid", sid);
+    }
+    return ctx;
+  }
+}
@@ -47,7 +47,7 @@ public class DataBufferOutput implements RockerOutput<DataBufferOutput> {
 
   @Override
   public DataBufferOutput w(String string) {
-    buffer.write(string, getCharset());
+    buffer.write(string.getBytes(charset));
     return this;
   }
 
@@ -5,9 +5,13 @@
  */
 package io.jooby.rocker;
 
+import java.nio.charset.Charset;
+
 import com.fizzed.rocker.RockerModel;
 import com.fizzed.rocker.RockerOutputFactory;
+import com.fizzed.rocker.runtime.OutputStreamOutput;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.ChunkedOutputStream;
 import io.jooby.Context;
 import io.jooby.MediaType;
 import io.jooby.MessageEncoder;
@@ -15,14 +19,31 @@ import io.jooby.buffer.DataBuffer;
 
 class RockerMessageEncoder implements MessageEncoder {
   private final RockerOutputFactory<DataBufferOutput> factory;
+  private final Charset charset;
+  private final boolean streaming;
 
-  RockerMessageEncoder(RockerOutputFactory<DataBufferOutput> factory) {
+  RockerMessageEncoder(
+      RockerOutputFactory<DataBufferOutput> factory, Charset charset, boolean streaming) {
     this.factory = factory;
+    this.charset = charset;
+    this.streaming = streaming;
   }
 
   @Override
-  public DataBuffer encode(@NonNull Context ctx, @NonNull Object value) {
+  public DataBuffer encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
     if (value instanceof RockerModel template) {
+      if (streaming) {
+        ctx.setDefaultResponseType(MediaType.html);
+        var output = new ChunkedOutputStream(ctx);
+        try {
+          template.render(
+              (contentType, charsetName) -> new OutputStreamOutput(contentType, output, charset));
+          return output.finish();
+        } catch (Throwable x) {
+          output.abort();
+          throw x;
+        }
+      }
       var output = template.render(factory);
       ctx.setResponseLength(output.getByteLength());
       ctx.setDefaultResponseType(MediaType.html);
@@ -30,4 +51,17 @@ class RockerMessageEncoder implements MessageEncoder {
     }
     return null;
   }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull DataBuffer buffer)
+      throws Exception {
+    if (value instanceof RockerModel template) {
+      var output = buffer.asOutputStream();
+      template.render(
+          (contentType, charsetName) -> new OutputStreamOutput(contentType, output, charset));
+      ctx.setDefaultResponseType(MediaType.html);
+      return true;
+    }
+    return false;
+  }
 }
@@ -25,6 +25,7 @@ import io.jooby.ServiceRegistry;
 public class RockerModule implements Extension {
   private Boolean reloading;
   private int bufferSize;
+  private boolean streaming;
   private final Charset charset;
 
   public RockerModule(@NonNull Charset charset, int bufferSize) {
@@ -76,6 +77,18 @@ public class RockerModule implements Extension {
     return this;
   }
 
+  /**
+   * Stream large pages to the response while the template is rendered, see {@link
+   * io.jooby.StreamingTemplateEngine}. Default is <code>false</code>.
+   *
+   * @param streaming True to stream large pages.
+   * @return This module.
+   */
+  public @NonNull RockerModule streaming(boolean streaming) {
+    this.streaming = streaming;
+    return this;
+  }
+
   /**
    * Allow simple reuse of raw byte buffers. It is usually used through <code>ThreadLocal</code>
    * variable pointing to instance of {@link DataBufferOutput}.
@@ -100,7 +113,7 @@ public class RockerModule implements Extension {
     var factory = DataBufferOutput.factory(charset, application.getBufferFactory(), bufferSize);
     runtime.setReloading(reloading);
     // renderer
-    application.encoder(new RockerMessageEncoder(factory));
+    application.encoder(new RockerMessageEncoder(factory, charset, streaming));
     // factory
     ServiceRegistry services = application.getServices();
     services.put(RockerOutputFactory.class, factory);
@@ -774,6 +774,12 @@ public class MockContext implements DefaultContext {
     return this;
   }
 
+  @NonNull @Override
+  public MockContext abort() {
+    responseStarted = true;
+    return this;
+  }
+
   @Override
   public boolean isResponseStarted() {
     return responseStarted;
@@ -6,12 +6,13 @@
 package io.jooby.internal.thymeleaf;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.MapModelAndView;
@@ -20,6 +21,29 @@ import io.jooby.buffer.DataBuffer;
 
 public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
 
+  /** Read variables from model on access, session is resolved only when a template reads it. */
+  private record ModelContext(Locale locale, Map<String, Object> model) implements IContext {
+    @Override
+    public Locale getLocale() {
+      return locale;
+    }
+
+    @Override
+    public boolean containsVariable(String name) {
+      return model.containsKey(name);
+    }
+
+    @Override
+    public Set<String> getVariableNames() {
+      return model.keySet();
+    }
+
+    @Override
+    public Object getVariable(String name) {
+      return model.get(name);
+    }
+  }
+
   private TemplateEngine templateEngine;
   private List<String> extensions;
 
@@ -36,7 +60,7 @@ public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
   @Override
   public @NonNull DataBuffer render(io.jooby.Context ctx, ModelAndView<?> modelAndView) {
     if (modelAndView instanceof MapModelAndView mapModelAndView) {
-      Map<String, Object> model = new HashMap<>(ctx.getAttributes());
+      Map<String, Object> model = io.jooby.TemplateEngine.attributes(ctx);
       model.putAll(mapModelAndView.getModel());
 
       // Locale:
@@ -45,7 +69,7 @@ public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
         locale = ctx.locale();
       }
       var buffer = ctx.getBufferFactory().allocateBuffer();
-      var context = new Context(locale, model);
+      var context = new ModelContext(locale, model);
       var templateName = modelAndView.getView();
       if (!templateName.startsWith("/")) {
         templateName = "/" + templateName;
@@ -36,6 +36,7 @@ import java.util.concurrent.Executor;
 import javax.net.ssl.SSLPeerUnverifiedException;
 
 import org.slf4j.Logger;
+import org.xnio.IoUtils;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -80,6 +81,7 @@ public class UndertowContext implements DefaultContext, IoCallback {
   private Map<String, String> pathMap = Collections.EMPTY_MAP;
   private Map<String, Object> attributes;
   Body body;
+  boolean streamingBody;
   private MediaType responseType;
   private Map<String, String> cookies;
   private HashMap<String, String> responseCookies;
@@ -113,6 +115,10 @@ public class UndertowContext implements DefaultContext, IoCallback {
 
   @NonNull @Override
   public Body body() {
+    if (body == null && streamingBody) {
+      ifStartBlocking();
+      body = Body.of(this, exchange.getInputStream(), exchange.getRequestContentLength());
+    }
     return body == null ? Body.empty(this) : body;
   }
 
@@ -540,13 +546,26 @@ public class UndertowContext implements DefaultContext, IoCallback {
       ByteRange range =
           ByteRange.parse(exchange.getRequestHeaders().getFirst(RANGE), len).apply(this);
       file.position(range.getStart());
-      new UndertowChunkedStream(range.getEnd()).send(file, exchange, this);
+      if (range.getStart() + range.getContentLength() == len) {
+        // Up to the end of file: sendfile when the connection allows it
+        exchange.getResponseSender().transferFrom(file, new UndertowFileCallback(file, this));
+      } else {
+        new UndertowChunkedStream(range.getEnd()).send(file, exchange, this);
+      }
       return this;
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
     }
   }
 
+  @NonNull @Override
+  public Context abort() {
+    exchange.setPersistent(false);
+    IoUtils.safeClose(exchange.getConnection());
+    exchange.endExchange();
+    return this;
+  }
+
   @Override
   public boolean isResponseStarted() {
     return exchange.isResponseStarted();
@@ -9,16 +9,19 @@ import java.io.IOException;
 
 import io.jooby.SneakyThrows;
 import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
 import io.undertow.io.IoCallback;
 import io.undertow.io.Sender;
 import io.undertow.server.HttpServerExchange;
 
 public class UndertowDataBufferCallback implements IoCallback {
 
+  private DataBuffer buffer;
   private DataBuffer.ByteBufferIterator iterator;
   private IoCallback callback;
 
   public UndertowDataBufferCallback(DataBuffer buffer, IoCallback callback) {
+    this.buffer = buffer;
     this.iterator = buffer.readableByteBuffers();
     this.callback = callback;
   }
@@ -28,7 +31,7 @@ public class UndertowDataBufferCallback implements IoCallback {
       exchange.getResponseSender().send(iterator.next(), this);
     } catch (Throwable cause) {
       try {
-        iterator.close();
+        release();
       } finally {
         throw SneakyThrows.propagate(cause);
       }
@@ -43,7 +46,7 @@ public class UndertowDataBufferCallback implements IoCallback {
       try {
         callback.onComplete(exchange, sender);
       } finally {
-        iterator.close();
+        release();
       }
     }
   }
@@ -53,7 +56,15 @@ public class UndertowDataBufferCallback implements IoCallback {
     try {
       callback.onException(exchange, sender, exception);
     } finally {
+      release();
+    }
+  }
+
+  private void release() {
+    try {
       iterator.close();
+    } finally {
+      DataBufferUtils.release(buffer);
     }
   }
 }
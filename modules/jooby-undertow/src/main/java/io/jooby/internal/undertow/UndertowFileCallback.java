@@ -0,0 +1,40 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.undertow;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+import org.xnio.IoUtils;
+
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+
+/** Close the file once transferred, then notify the given callback. */
+public class UndertowFileCallback implements IoCallback {
+
+  private final FileChannel file;
+
+  private final IoCallback callback;
+
+  public UndertowFileCallback(FileChannel file, IoCallback callback) {
+    this.file = file;
+    this.callback = callback;
+  }
+
+  @Override
+  public void onComplete(HttpServerExchange exchange, Sender sender) {
+    IoUtils.safeClose(file);
+    callback.onComplete(exchange, sender);
+  }
+
+  @Override
+  public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+    IoUtils.safeClose(file);
+    callback.onException(exchange, sender, exception);
+  }
+}
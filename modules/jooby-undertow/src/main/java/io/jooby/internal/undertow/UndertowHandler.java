@@ -65,6 +65,14 @@ public class UndertowHandler implements HttpHandler {
           return;
         }
 
+        if (router.isStreamingBody(context)) {
+          // execute now, route reads the body as it arrives
+          exchange.setMaxEntitySize(maxRequestSize);
+          context.streamingBody = true;
+          router.match(context).execute(context);
+          return;
+        }
+
         /** Eager body parsing: */
         FormDataParser parser =
             FormParserFactory.builder(false)
@@ -94,7 +94,25 @@ public class UndertowServerSentConnection implements Channel {
       }
       return;
     }
-    queue.add(new UndertowServerSentConnection.SSEData(message, callback));
+    enqueue(new UndertowServerSentConnection.SSEData(message, callback));
+  }
+
+  /**
+   * Sends an already encoded event, like a heartbeat.
+   *
+   * @param encoded Encoded event.
+   */
+  public synchronized void send(DataBuffer encoded) {
+    if (open == 0 || shutdown) {
+      return;
+    }
+    var data = new UndertowServerSentConnection.SSEData(null, null);
+    data.encoded = encoded;
+    enqueue(data);
+  }
+
+  private void enqueue(UndertowServerSentConnection.SSEData data) {
+    queue.add(data);
     sink.getIoThread()
         .execute(
             () -> {
@@ -128,7 +146,7 @@ public class UndertowServerSentConnection implements Channel {
       UndertowServerSentConnection.SSEData data = queue.poll();
       buffered.add(data);
       if (data.leftOverData == null) {
-        var message = data.message.encode(context);
+        var message = data.encoded == null ? data.message.encode(context) : data.encoded;
         if (message.readableByteCount() < buffer.remaining()) {
           message.toByteBuffer(buffer);
           buffer.position(buffer.position() + message.readableByteCount());
@@ -246,6 +264,7 @@ public class UndertowServerSentConnection implements Channel {
   private static class SSEData {
     final ServerSentMessage message;
     final UndertowServerSentConnection.EventCallback callback;
+    private DataBuffer encoded;
     private int endBufferPosition = -1;
     private DataBuffer leftOverData;
     private int leftOverDataOffset;
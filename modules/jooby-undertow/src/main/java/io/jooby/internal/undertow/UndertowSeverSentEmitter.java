@@ -7,12 +7,10 @@ package io.jooby.internal.undertow;
 
 import java.io.IOException;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xnio.XnioIoThread;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
@@ -20,6 +18,7 @@ import io.jooby.Server;
 import io.jooby.ServerSentEmitter;
 import io.jooby.ServerSentMessage;
 import io.jooby.SneakyThrows;
+import io.jooby.TimerWheel;
 
 public class UndertowSeverSentEmitter
     implements ServerSentEmitter, UndertowServerSentConnection.EventCallback {
@@ -35,6 +34,8 @@ public class UndertowSeverSentEmitter
 
   private SneakyThrows.Runnable closeTask;
 
+  private volatile Heartbeat heartbeat;
+
   public UndertowSeverSentEmitter(UndertowContext context) {
     this.context = context;
     this.id = UUID.randomUUID().toString();
@@ -50,6 +51,9 @@ public class UndertowSeverSentEmitter
   public ServerSentEmitter send(ServerSentMessage data) {
     if (checkOpen()) {
       connection.send(data, null);
+      if (heartbeat != null) {
+        heartbeat.touch();
+      }
     } else {
       log.debug("server-sent-event closed: {}", id);
     }
@@ -59,12 +63,32 @@ public class UndertowSeverSentEmitter
   @Override
   public ServerSentEmitter keepAlive(long timeInMillis) {
     if (checkOpen()) {
-      XnioIoThread executor = context.exchange.getIoThread();
-      executor.executeAfter(new KeepAlive(this, timeInMillis), timeInMillis, TimeUnit.MILLISECONDS);
+      heartbeat().keepAlive(timeInMillis);
     }
     return this;
   }
 
+  @Override
+  public ServerSentEmitter idleTimeout(long timeInMillis) {
+    if (checkOpen()) {
+      heartbeat().idleTimeout(timeInMillis);
+    }
+    return this;
+  }
+
+  private synchronized Heartbeat heartbeat() {
+    if (heartbeat == null) {
+      var timer = context.getRouter().getServices().require(TimerWheel.class);
+      heartbeat =
+          new Heartbeat(
+              this,
+              timer,
+              context.exchange.getIoThread(),
+              bytes -> connection.send(context.getBufferFactory().wrap(bytes)));
+    }
+    return heartbeat;
+  }
+
   @Override
   public String getId() {
     return id;
@@ -89,19 +113,22 @@ public class UndertowSeverSentEmitter
   @NonNull @Override
   public void close() {
     if (open.compareAndSet(true, false)) {
-      if (closeTask != null) {
-        try {
+      if (heartbeat != null) {
+        heartbeat.cancel();
+      }
+      try {
+        if (closeTask != null) {
           closeTask.run();
-        } finally {
-          try {
-            connection.close();
-          } catch (IOException cause) {
-            log.error(
-                "server-sent-event resulted in exception: id {} {}",
-                id,
-                context.getRequestPath(),
-                cause);
-          }
+        }
+      } finally {
+        try {
+          connection.close();
+        } catch (IOException cause) {
+          log.error(
+              "server-sent-event resulted in exception: id {} {}",
+              id,
+              context.getRequestPath(),
+              cause);
         }
       }
     }
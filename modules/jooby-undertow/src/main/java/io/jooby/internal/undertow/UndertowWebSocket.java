@@ -11,15 +11,12 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 import org.xnio.IoUtils;
 
@@ -33,6 +30,8 @@ import io.jooby.WebSocketCloseStatus;
 import io.jooby.WebSocketConfigurer;
 import io.jooby.WebSocketMessage;
 import io.jooby.buffer.DataBuffer;
+import io.jooby.buffer.DataBufferUtils;
+import io.jooby.internal.websocket.WebSocketRegistry;
 import io.undertow.websockets.core.AbstractReceiveListener;
 import io.undertow.websockets.core.BufferedBinaryMessage;
 import io.undertow.websockets.core.BufferedTextMessage;
@@ -134,8 +133,7 @@ public class UndertowWebSocket extends AbstractReceiveListener
   }
 
   /** All connected websocket. */
-  public static final ConcurrentMap<String, List<UndertowWebSocket>> all =
-      new ConcurrentHashMap<>();
+  public static final WebSocketRegistry<UndertowWebSocket> all = new WebSocketRegistry<>();
 
   private final UndertowContext ctx;
   private final WebSocketChannel channel;
@@ -179,11 +177,7 @@ public class UndertowWebSocket extends AbstractReceiveListener
 
   @NonNull @Override
   public List<WebSocket> getSessions() {
-    List<UndertowWebSocket> sessions = all.get(key);
-    if (sessions == null) {
-      return Collections.emptyList();
-    }
-    List<WebSocket> result = new ArrayList<>(sessions);
+    List<WebSocket> result = new ArrayList<>(all.list(key));
     result.remove(this);
     return result;
   }
@@ -195,15 +189,60 @@ public class UndertowWebSocket extends AbstractReceiveListener
 
   @Override
   public void forEach(SneakyThrows.Consumer<WebSocket> callback) {
-    for (UndertowWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-      try {
-        callback.accept(ws);
-      } catch (Exception cause) {
-        ctx.getRouter()
-            .getLog()
-            .debug("Broadcast of: {} resulted in exception", ws.ctx.getRequestPath(), cause);
-      }
+    all.forEach(
+        key,
+        ws -> {
+          try {
+            callback.accept(ws);
+          } catch (Exception cause) {
+            ctx.getRouter()
+                .getLog()
+                .debug("Broadcast of: {} resulted in exception", ws.ctx.getRequestPath(), cause);
+          }
+        });
+  }
+
+  @NonNull @Override
+  public WebSocket broadcast(@NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    return broadcastMessage(message, false, filter);
+  }
+
+  @NonNull @Override
+  public WebSocket broadcastBinary(
+      @NonNull DataBuffer message, @NonNull Predicate<WebSocket> filter) {
+    return broadcastMessage(message, true, filter);
+  }
+
+  /**
+   * Copy the message once into a heap buffer and write a read-only view of it to all matching
+   * sessions.
+   */
+  private WebSocket broadcastMessage(
+      DataBuffer message, boolean binary, Predicate<WebSocket> filter) {
+    ByteBuffer payload;
+    try {
+      payload = ByteBuffer.allocate(message.readableByteCount());
+      message.toByteBuffer(payload);
+    } finally {
+      DataBufferUtils.release(message);
     }
+    all.forEach(
+        key,
+        ws -> {
+          try {
+            if (ws.isOpen() && filter.test(ws)) {
+              var callback = new WriteCallbackAdaptor(ws, WriteCallback.NOOP);
+              if (binary) {
+                WebSockets.sendBinary(payload.asReadOnlyBuffer(), ws.channel, callback);
+              } else {
+                WebSockets.sendText(payload.asReadOnlyBuffer(), ws.channel, callback);
+              }
+            }
+          } catch (Throwable x) {
+            ws.onError(ws.channel, x);
+          }
+        });
+    return this;
   }
 
   @NonNull @Override
@@ -474,14 +513,11 @@ public class UndertowWebSocket extends AbstractReceiveListener
   }
 
   private void addSession(UndertowWebSocket ws) {
-    all.computeIfAbsent(ws.key, k -> new CopyOnWriteArrayList<>()).add(ws);
+    all.add(ws.key, ws);
   }
 
   private void removeSession(UndertowWebSocket ws) {
-    List<UndertowWebSocket> sockets = all.get(ws.key);
-    if (sockets != null) {
-      sockets.remove(ws);
-    }
+    all.remove(ws.key, ws);
   }
 
   private Runnable webSocketTask(Runnable runnable, boolean isInit) {
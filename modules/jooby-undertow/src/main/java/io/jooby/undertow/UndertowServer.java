@@ -23,6 +23,8 @@ import io.jooby.Server;
 import io.jooby.ServerOptions;
 import io.jooby.SneakyThrows;
 import io.jooby.SslOptions;
+import io.jooby.buffer.DataBufferFactory;
+import io.jooby.buffer.PooledDataBufferFactory;
 import io.jooby.exception.StartupException;
 import io.jooby.internal.undertow.UndertowHandler;
 import io.jooby.internal.undertow.UndertowWebSocket;
@@ -57,6 +59,20 @@ public class UndertowServer extends Server.Base {
       new ServerOptions().setIoThreads(ServerOptions.IO_THREADS).setServer("utow");
   private XnioWorker worker;
 
+  private DataBufferFactory bufferFactory;
+
+  /**
+   * Creates a server.
+   *
+   * @param bufferFactory Byte buffer allocator.
+   */
+  public UndertowServer(@NonNull DataBufferFactory bufferFactory) {
+    this.bufferFactory = bufferFactory;
+  }
+
+  /** Creates a server. */
+  public UndertowServer() {}
+
   @NonNull @Override
   public UndertowServer setOptions(@NonNull ServerOptions options) {
     this.options = options.setIoThreads(options.getIoThreads());
@@ -76,6 +92,12 @@ public class UndertowServer extends Server.Base {
   @Override
   public @NonNull Server start(@NonNull Jooby application) {
     try {
+      if (bufferFactory == null) {
+        // Direct memory is written to the socket as it is, without a heap to native copy
+        bufferFactory = new PooledDataBufferFactory(true);
+      }
+      // Make sure context use same buffer factory
+      application.setBufferFactory(bufferFactory);
       applications.add(application);
 
       addShutdownHook();
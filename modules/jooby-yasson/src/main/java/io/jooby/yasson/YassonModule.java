@@ -107,4 +107,12 @@ public class YassonModule implements Extension, MessageDecoder, MessageEncoder {
     ctx.setDefaultResponseType(MediaType.json);
     return ctx.getBufferFactory().wrap(jsonb.toJson(value).getBytes(UTF_8));
   }
+
+  @Override
+  public boolean encode(
+      @NonNull final Context ctx, @NonNull final Object value, @NonNull final DataBuffer buffer) {
+    ctx.setDefaultResponseType(MediaType.json);
+    jsonb.toJson(value, buffer.asOutputStream());
+    return true;
+  }
 }
@@ -113,6 +113,11 @@ public abstract class AbstractDataBufferAllocatingTests {
   }
 
   private void verifyAllocations() {
+    if (this.bufferFactory instanceof PooledDataBufferFactory pool) {
+      assertThat(pool.getOutstanding())
+          .as("DataBuffer Leak: " + pool.getOutstanding() + " unreleased allocations")
+          .isEqualTo(0);
+    }
     if (this.bufferFactory instanceof NettyDataBufferFactory) {
       ByteBufAllocator allocator =
           ((NettyDataBufferFactory) this.bufferFactory).getByteBufAllocator();
@@ -187,6 +192,15 @@ public abstract class AbstractDataBufferAllocatingTests {
         arguments(
             named(
                 "DefaultDataBufferFactory - preferDirect = false",
-                new DefaultDataBufferFactory(false))));
+                new DefaultDataBufferFactory(false))),
+        // Pooled
+        arguments(
+            named(
+                "PooledDataBufferFactory - preferDirect = true",
+                new PooledDataBufferFactory(true))),
+        arguments(
+            named(
+                "PooledDataBufferFactory - preferDirect = false",
+                new PooledDataBufferFactory(false))));
   }
 }
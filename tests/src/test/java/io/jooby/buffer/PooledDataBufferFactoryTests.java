@@ -0,0 +1,141 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.jetty.JettyServer;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import io.jooby.undertow.UndertowServer;
+
+class PooledDataBufferFactoryTests {
+
+  @Test
+  void reuseReleasedBuffers() {
+    var factory = new PooledDataBufferFactory();
+
+    var buffer = factory.allocateBuffer();
+    assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+    assertThat(factory.getMisses()).isEqualTo(1);
+    assertThat(factory.getOutstanding()).isEqualTo(1);
+    DataBufferUtils.release(buffer);
+    assertThat(factory.getOutstanding()).isEqualTo(0);
+
+    var next = factory.allocateBuffer(100);
+    assertThat(next.capacity()).isEqualTo(100);
+    assertThat(factory.getHits()).isEqualTo(1);
+    assertThat(factory.getMisses()).isEqualTo(1);
+    DataBufferUtils.release(next);
+  }
+
+  @Test
+  void expandWithinSizeClasses() {
+    var factory = new PooledDataBufferFactory();
+
+    var buffer = factory.allocateBuffer(10);
+    buffer.write(new byte[5000]);
+    buffer.write("end", StandardCharsets.UTF_8);
+    assertThat(buffer.readableByteCount()).isEqualTo(5003);
+    assertThat(buffer.toString(5000, 3, StandardCharsets.UTF_8)).isEqualTo("end");
+    DataBufferUtils.release(buffer);
+
+    // first chunk was recycled while expanding
+    var small = factory.allocateBuffer(10);
+    assertThat(factory.getHits()).isEqualTo(1);
+    DataBufferUtils.release(small);
+    assertThat(factory.getOutstanding()).isEqualTo(0);
+  }
+
+  @Test
+  void neverPoolBigBuffers() {
+    var factory = new PooledDataBufferFactory(false, 1024, 4096, 1, 1);
+
+    DataBufferUtils.release(factory.allocateBuffer(8192));
+    DataBufferUtils.release(factory.allocateBuffer(8192));
+    assertThat(factory.getHits()).isEqualTo(0);
+    assertThat(factory.getMisses()).isEqualTo(2);
+    assertThat(factory.getOutstanding()).isEqualTo(0);
+  }
+
+  @ServerTest(server = {JettyServer.class, UndertowServer.class})
+  void releaseAfterWrite(ServerTestRunner runner) {
+    var factory = new AtomicReference<PooledDataBufferFactory>();
+    runner
+        .define(
+            app -> {
+              app.get(
+                  "/pooled",
+                  ctx -> {
+                    factory.set((PooledDataBufferFactory) ctx.getBufferFactory());
+                    var buffer = ctx.getBufferFactory().allocateBuffer();
+                    buffer.write("pooled", StandardCharsets.UTF_8);
+                    return ctx.send(buffer);
+                  });
+            })
+        .ready(
+            client -> {
+              for (int i = 0; i < 3; i++) {
+                client.get(
+                    "/pooled",
+                    rsp -> {
+                      assertEquals("pooled", rsp.body().string());
+                    });
+              }
+              // buffers are released once server completes the write
+              var pool = factory.get();
+              for (int i = 0; i < 20 && pool.getOutstanding() > 0; i++) {
+                Thread.sleep(50);
+              }
+              assertEquals(0, pool.getOutstanding());
+            });
+  }
+
+  @ServerTest
+  void sendForeignBuffers(ServerTestRunner runner) {
+    var pool = new PooledDataBufferFactory();
+    runner
+        .define(
+            app -> {
+              app.get(
+                  "/default",
+                  ctx ->
+                      ctx.send(
+                          DefaultDataBufferFactory.sharedInstance.wrap(
+                              "default".getBytes(StandardCharsets.UTF_8))));
+              app.get(
+                  "/pooled",
+                  ctx -> {
+                    var buffer = pool.allocateBuffer();
+                    buffer.write("pooled", StandardCharsets.UTF_8);
+                    return ctx.send(buffer);
+                  });
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/default",
+                  rsp -> {
+                    assertEquals("default", rsp.body().string());
+                  });
+              client.get(
+                  "/pooled",
+                  rsp -> {
+                    assertEquals("pooled", rsp.body().string());
+                  });
+              for (int i = 0; i < 20 && pool.getOutstanding() > 0; i++) {
+                Thread.sleep(50);
+              }
+              assertEquals(0, pool.getOutstanding());
+            });
+  }
+}
@@ -57,6 +57,24 @@ class PooledDataBufferTests {
     }
   }
 
+  @Nested
+  class PooledDataBufferFactoryWithPreferDirectTrueTests implements PooledDataBufferTestingTrait {
+
+    @Override
+    public DataBufferFactory createDataBufferFactory() {
+      return new PooledDataBufferFactory(true);
+    }
+  }
+
+  @Nested
+  class PooledDataBufferFactoryWithPreferDirectFalseTests implements PooledDataBufferTestingTrait {
+
+    @Override
+    public DataBufferFactory createDataBufferFactory() {
+      return new PooledDataBufferFactory(false);
+    }
+  }
+
   interface PooledDataBufferTestingTrait {
 
     DataBufferFactory createDataBufferFactory();
@@ -0,0 +1,93 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.jooby.handler.AccessLogHandler;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class AccessLogHandlerTest {
+
+  @ServerTest
+  public void async(ServerTestRunner runner) {
+    BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    runner
+        .define(
+            app -> {
+              var accessLog =
+                  new AccessLogHandler()
+                      .requestHeader("X-Req")
+                      .responseHeader("X-Rsp")
+                      .async(16)
+                      .log(lines::add);
+              app.use(accessLog);
+              app.onStop(accessLog);
+              app.get(
+                  "/log",
+                  ctx -> {
+                    ctx.setResponseHeader("X-Rsp", "out");
+                    return "OK";
+                  });
+            })
+        .ready(
+            client -> {
+              client.header("X-Req", "in");
+              client.get("/log?q=1", rsp -> assertEquals("OK", rsp.body().string()));
+              String line = lines.poll(5, TimeUnit.SECONDS);
+              assertTrue(
+                  line.matches(
+                      "\\S+ - - \\[.+] \"GET /log\\?q=1 HTTP/1.1\" 200 2 \\d+ \"in\" \"out\""),
+                  line);
+
+              for (int i = 0; i < 10; i++) {
+                client.get("/log", rsp -> assertEquals("OK", rsp.body().string()));
+              }
+              for (int i = 0; i < 10; i++) {
+                line = lines.poll(5, TimeUnit.SECONDS);
+                assertTrue(line.contains("\"GET /log HTTP/1.1\" 200 2"), line);
+                assertTrue(line.endsWith("\"-\" \"out\""), line);
+              }
+            });
+  }
+
+  @ServerTest
+  public void file(ServerTestRunner runner) throws Exception {
+    Path file = Files.createTempFile("access", ".log");
+    AccessLogHandler accessLog = new AccessLogHandler().log(file);
+    try {
+      runner
+          .define(
+              app -> {
+                app.use(accessLog);
+                app.get("/file", ctx -> "OK");
+              })
+          .ready(
+              client -> {
+                for (int i = 0; i < 3; i++) {
+                  client.get("/file", rsp -> assertEquals("OK", rsp.body().string()));
+                }
+              });
+      accessLog.close();
+      List<String> lines = Files.readAllLines(file);
+      assertEquals(3, lines.size());
+      for (String line : lines) {
+        assertTrue(line.contains("\"GET /file HTTP/1.1\" 200 2"), line);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+
+import io.jooby.handler.AssetHandler;
+import io.jooby.handler.AssetSource;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class AssetCacheTest {
+
+  @ServerTest
+  public void precompressed(ServerTestRunner runner) throws IOException {
+    String js = Files.readString(userdir("src", "test", "resources", "precompressed", "app.js"));
+    runner
+        .define(
+            app -> {
+              app.assets(
+                  "/?*",
+                  new AssetHandler(
+                          AssetSource.create(userdir("src", "test", "resources", "precompressed")))
+                      .setPrecompressed(true));
+            })
+        .ready(
+            client -> {
+              client.header("Accept-Encoding", "gzip, br");
+              client.get(
+                  "/app.js",
+                  rsp -> {
+                    assertEquals("br", rsp.header("Content-Encoding"));
+                    assertEquals("Accept-Encoding", rsp.header("Vary"));
+                    assertEquals("brotli", rsp.body().string());
+                  });
+              // no .gz file
+              client.header("Accept-Encoding", "gzip, br;q=0");
+              client.get(
+                  "/app.js",
+                  rsp -> {
+                    assertNull(rsp.header("Content-Encoding"));
+                    assertEquals(js, rsp.body().string());
+                  });
+              client.get(
+                  "/app.js",
+                  rsp -> {
+                    assertNull(rsp.header("Content-Encoding"));
+                    assertEquals(js, rsp.body().string());
+                  });
+              // explicit encoding wins over wildcard
+              client.header("Accept-Encoding", "*");
+              client.get("/app.js", rsp -> assertEquals("br", rsp.header("Content-Encoding")));
+              client.header("Accept-Encoding", "*, br;q=0");
+              client.get(
+                  "/app.js",
+                  rsp -> {
+                    assertNull(rsp.header("Content-Encoding"));
+                    assertEquals(js, rsp.body().string());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void cache(ServerTestRunner runner) throws IOException {
+    String css =
+        Files.readString(userdir("src", "test", "resources", "precompressed", "style.css"));
+    runner
+        .define(
+            app -> {
+              app.assets(
+                  "/?*",
+                  new AssetHandler(
+                          AssetSource.create(userdir("src", "test", "resources", "precompressed")))
+                      .setCache(true)
+                      .setPrecompressed(true));
+            })
+        .ready(
+            client -> {
+              String[] etag = new String[1];
+              for (int i = 0; i < 2; i++) {
+                client.header("Accept-Encoding", "identity");
+                client.get(
+                    "/style.css",
+                    rsp -> {
+                      assertNull(rsp.header("Content-Encoding"));
+                      assertEquals(css.length(), rsp.body().contentLength());
+                      assertEquals(css, rsp.body().string());
+                    });
+              }
+              // compressed when loaded
+              client.header("Accept-Encoding", "gzip");
+              client.get(
+                  "/style.css",
+                  rsp -> {
+                    assertEquals("gzip", rsp.header("Content-Encoding"));
+                    etag[0] = rsp.header("ETag");
+                    assertTrue(etag[0].endsWith("-gzip\""));
+                    assertEquals(css, gunzip(rsp.body().bytes()));
+                  });
+              client.header("Accept-Encoding", "gzip");
+              client.header("If-None-Match", etag[0]);
+              client.get("/style.css", rsp -> assertEquals(304, rsp.code()));
+
+              client.header("Accept-Encoding", "gzip");
+              client.header("Range", "bytes=0-5");
+              client.get(
+                  "/style.css",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertNull(rsp.header("Content-Encoding"));
+                    assertEquals(css.substring(0, 6), rsp.body().string());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void largeFile(ServerTestRunner runner) throws IOException {
+    String js = Files.readString(userdir("src", "test", "resources", "precompressed", "app.js"));
+    runner
+        .define(
+            app -> {
+              app.assets(
+                  "/?*",
+                  new AssetHandler(
+                          AssetSource.create(userdir("src", "test", "resources", "precompressed")))
+                      .setCache(64, 1024));
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/app.js",
+                  rsp -> {
+                    assertEquals(js.length(), rsp.body().contentLength());
+                    assertEquals(js, rsp.body().string());
+                  });
+              client.header("Range", "bytes=10-19");
+              client.get(
+                  "/app.js",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertEquals(js.substring(10, 20), rsp.body().string());
+                  });
+              client.header("Range", "bytes=400-");
+              client.get(
+                  "/app.js",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertEquals(js.substring(400), rsp.body().string());
+                  });
+              // small one is cached
+              client.get("/app.js.br", rsp -> assertEquals("brotli", rsp.body().string()));
+              client.get("/app.js.br", rsp -> assertEquals("brotli", rsp.body().string()));
+            });
+  }
+
+  private static String gunzip(byte[] bytes) throws IOException {
+    try (var in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static Path userdir(String... segments) {
+    Path path = Paths.get(System.getProperty("user.dir"));
+    for (String segment : segments) {
+      path = path.resolve(segment);
+    }
+    return path;
+  }
+}
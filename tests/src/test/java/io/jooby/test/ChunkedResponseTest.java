@@ -0,0 +1,100 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import io.jooby.MediaType;
+import io.jooby.jackson.JacksonModule;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import io.jooby.reactor.Reactor;
+import reactor.core.publisher.Flux;
+
+public class ChunkedResponseTest {
+
+  private static final int SIZE = 5_000;
+
+  @ServerTest
+  public void stream(ServerTestRunner runner) {
+    var closed = new AtomicBoolean();
+    runner
+        .define(
+            app -> {
+              app.install(new JacksonModule());
+              app.get("/stream", ctx -> IntStream.range(0, SIZE).mapToObj(i -> Map.of("id", i)));
+              app.get(
+                  "/closeable", ctx -> Stream.of(Map.of("id", 0)).onClose(() -> closed.set(true)));
+              app.get("/iterator", ctx -> List.of("a", "b").iterator());
+              app.get("/empty", ctx -> Stream.empty());
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/stream",
+                  rsp -> {
+                    assertEquals("application/json;charset=UTF-8", rsp.header("Content-Type"));
+                    assertNull(rsp.header("Content-Length"));
+                    assertEquals(
+                        IntStream.range(0, SIZE)
+                            .mapToObj(i -> "{\"id\":" + i + "}")
+                            .collect(Collectors.joining(",", "[", "]")),
+                        rsp.body().string());
+                  });
+              client.get(
+                  "/closeable",
+                  rsp -> {
+                    assertEquals("[{\"id\":0}]", rsp.body().string());
+                    assertTrue(closed.get());
+                  });
+              client.get("/iterator", rsp -> assertEquals("ab", rsp.body().string()));
+              client.get("/empty", rsp -> assertEquals("[]", rsp.body().string()));
+            });
+  }
+
+  @ServerTest
+  public void ndjson(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.install(new JacksonModule());
+              app.get("/list", ctx -> List.of(Map.of("id", 1), Map.of("id", 2)))
+                  .produces(MediaType.ndjson, MediaType.json);
+              app.use(Reactor.reactor());
+              app.get(
+                  "/flux",
+                  ctx -> {
+                    ctx.setResponseType(MediaType.ndjson);
+                    return Flux.range(1, 3).map(i -> Map.of("id", i));
+                  });
+            })
+        .ready(
+            client -> {
+              client.header("Accept", MediaType.NDJSON);
+              client.get(
+                  "/list",
+                  rsp -> {
+                    assertEquals("application/x-ndjson;charset=UTF-8", rsp.header("Content-Type"));
+                    assertEquals("{\"id\":1}\n{\"id\":2}\n", rsp.body().string());
+                  });
+              client.header("Accept", MediaType.JSON);
+              client.get(
+                  "/list", rsp -> assertEquals("[{\"id\":1},{\"id\":2}]", rsp.body().string()));
+              client.get(
+                  "/flux",
+                  rsp -> assertEquals("{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n", rsp.body().string()));
+            });
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import io.jooby.MediaType;
+import io.jooby.handler.CompressionHandler;
+import io.jooby.handler.Compressor;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class CompressionHandlerTest {
+
+  private static final String TEXT = "Lorem ipsum dolor sit amet. ".repeat(100);
+
+  @ServerTest
+  public void compress(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.use(new CompressionHandler());
+
+              app.get("/text", ctx -> TEXT);
+
+              app.get("/bytes", ctx -> ctx.send(TEXT.getBytes(StandardCharsets.UTF_8)));
+
+              app.get(
+                  "/buffer",
+                  ctx ->
+                      ctx.setResponseType(MediaType.json)
+                          .send(ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.UTF_8))));
+
+              app.get("/small", ctx -> "small");
+
+              app.get(
+                  "/binary",
+                  ctx ->
+                      ctx.setResponseType(MediaType.octetStream)
+                          .send(TEXT.getBytes(StandardCharsets.UTF_8)));
+            })
+        .ready(
+            client -> {
+              for (String path : new String[] {"/text", "/bytes", "/buffer"}) {
+                client
+                    .get(path)
+                    .prepare(req -> req.addHeader("Accept-Encoding", "br;q=1, gzip;q=0.8"))
+                    .execute(
+                        rsp -> {
+                          assertEquals("gzip", rsp.header("Content-Encoding"));
+                          assertEquals("Accept-Encoding", rsp.header("Vary"));
+                          byte[] body = rsp.body().bytes();
+                          assertEquals(
+                              Long.toString(body.length), rsp.header("Content-Length"), path);
+                          assertEquals(TEXT, ungzip(body));
+                        });
+              }
+
+              client
+                  .get("/text")
+                  .prepare(req -> req.addHeader("Accept-Encoding", "gzip;q=0, br"))
+                  .execute(
+                      rsp -> {
+                        assertNull(rsp.header("Content-Encoding"));
+                        assertEquals(TEXT, rsp.body().string());
+                      });
+
+              client
+                  .get("/small")
+                  .prepare(req -> req.addHeader("Accept-Encoding", "gzip"))
+                  .execute(
+                      rsp -> {
+                        assertNull(rsp.header("Content-Encoding"));
+                        assertEquals("small", rsp.body().string());
+                      });
+
+              client
+                  .get("/binary")
+                  .prepare(req -> req.addHeader("Accept-Encoding", "gzip"))
+                  .execute(
+                      rsp -> {
+                        assertNull(rsp.header("Content-Encoding"));
+                        assertEquals(TEXT, rsp.body().string());
+                      });
+            });
+  }
+
+  @ServerTest
+  public void compressorsAndCache(ServerTestRunner runner) {
+    AtomicInteger calls = new AtomicInteger();
+    runner
+        .define(
+            app -> {
+              app.use(
+                  new CompressionHandler()
+                      .compressor(new ReverseCompressor(calls))
+                      .compressor(Compressor.gzip(9))
+                      .minSize(10)
+                      .cacheSize(1024 * 1024));
+
+              app.get(
+                  "/etag",
+                  ctx -> {
+                    ctx.setResponseHeader("ETag", "\"v1\"");
+                    return TEXT;
+                  });
+
+              app.get(
+                  "/weak",
+                  ctx -> {
+                    ctx.setResponseHeader("ETag", "W/\"v1\"");
+                    return TEXT;
+                  });
+            })
+        .ready(
+            client -> {
+              for (int i = 0; i < 3; i++) {
+                client
+                    .get("/etag")
+                    .prepare(req -> req.addHeader("Accept-Encoding", "rev, gzip"))
+                    .execute(
+                        rsp -> {
+                          assertEquals("rev", rsp.header("Content-Encoding"));
+                          assertEquals("\"v1-rev\"", rsp.header("ETag"));
+                          assertArrayEquals(
+                              ReverseCompressor.reverse(TEXT.getBytes(StandardCharsets.UTF_8)),
+                              rsp.body().bytes());
+                        });
+              }
+              assertEquals(1, calls.get());
+
+              client
+                  .get("/etag")
+                  .prepare(req -> req.addHeader("Accept-Encoding", "gzip"))
+                  .execute(
+                      rsp -> {
+                        assertEquals("gzip", rsp.header("Content-Encoding"));
+                        assertEquals("\"v1-gzip\"", rsp.header("ETag"));
+                        assertEquals(TEXT, ungzip(rsp.body().bytes()));
+                      });
+
+              for (int i = 0; i < 2; i++) {
+                client
+                    .get("/weak")
+                    .prepare(req -> req.addHeader("Accept-Encoding", "rev"))
+                    .execute(
+                        rsp -> {
+                          assertEquals("rev", rsp.header("Content-Encoding"));
+                          assertEquals("W/\"v1-rev\"", rsp.header("ETag"));
+                        });
+              }
+              assertEquals(3, calls.get());
+            });
+  }
+
+  @ServerTest
+  public void cacheKeyAndVary(ServerTestRunner runner) {
+    String other = "Sed ut perspiciatis unde omnis. ".repeat(100);
+    runner
+        .define(
+            app -> {
+              app.use(
+                  next ->
+                      ctx -> {
+                        ctx.setResponseHeader("Vary", "Origin");
+                        return next.apply(ctx);
+                      });
+              app.use(new CompressionHandler().cacheSize(1024 * 1024));
+
+              // same etag, different resources
+              app.get(
+                  "/a",
+                  ctx -> {
+                    ctx.setResponseHeader("ETag", "\"v1\"");
+                    return TEXT;
+                  });
+
+              app.get(
+                  "/b",
+                  ctx -> {
+                    ctx.setResponseHeader("ETag", "\"v1\"");
+                    return other;
+                  });
+            })
+        .ready(
+            client -> {
+              for (int i = 0; i < 2; i++) {
+                client
+                    .get("/a")
+                    .prepare(req -> req.addHeader("Accept-Encoding", "gzip"))
+                    .execute(
+                        rsp -> {
+                          assertEquals("Origin, Accept-Encoding", rsp.header("Vary"));
+                          assertEquals(TEXT, ungzip(rsp.body().bytes()));
+                        });
+                client
+                    .get("/b")
+                    .prepare(req -> req.addHeader("Accept-Encoding", "gzip"))
+                    .execute(
+                        rsp -> {
+                          assertEquals("Origin, Accept-Encoding", rsp.header("Vary"));
+                          assertEquals(other, ungzip(rsp.body().bytes()));
+                        });
+              }
+            });
+  }
+
+  /** Not a compressor, but good enough to test custom encodings. Output is 1 byte shorter. */
+  private static class ReverseCompressor implements Compressor {
+    private final AtomicInteger calls;
+
+    ReverseCompressor(AtomicInteger calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public String getEncoding() {
+      return "rev";
+    }
+
+    @Override
+    public byte[] compress(byte[] data, int offset, int length) {
+      calls.incrementAndGet();
+      return reverse(Arrays.copyOfRange(data, offset, offset + length));
+    }
+
+    static byte[] reverse(byte[] bytes) {
+      byte[] result = new byte[bytes.length - 1];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = bytes[bytes.length - 1 - i];
+      }
+      return result;
+    }
+  }
+
+  private static String ungzip(byte[] bytes) throws IOException {
+    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
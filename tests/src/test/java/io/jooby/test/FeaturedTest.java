@@ -3387,6 +3387,36 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void templateEngineConsumeFlashAndNeverCreateSession(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.install(new HandlebarsModule());
+              app.get("/home", ctx -> ModelAndView.map("index.hbs").put("name", "Jooby"));
+              app.get("/session", ctx -> ModelAndView.map("session.hbs"));
+            })
+        .ready(
+            client -> {
+              client.header("Cookie", "jooby.flash=name=Flash");
+              client.get(
+                  "/home",
+                  rsp -> {
+                    assertEquals("Hello Jooby!", rsp.body().string().trim());
+                    String clearCookie = rsp.header("Set-Cookie");
+                    assertTrue(
+                        clearCookie.startsWith("jooby.flash=;Path=/;HttpOnly;Max-Age=0;"),
+                        clearCookie);
+                  });
+              client.get(
+                  "/session",
+                  rsp -> {
+                    assertEquals("no session", rsp.body().string().trim());
+                    assertEquals(null, rsp.header("Set-Cookie"));
+                  });
+            });
+  }
+
   @ServerTest(executionMode = EVENT_LOOP)
   @DisplayName("Context detaches when running in event-loop")
   public void detachOnEventLoop(ServerTestRunner runner) {
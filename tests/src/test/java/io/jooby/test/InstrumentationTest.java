@@ -0,0 +1,63 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import io.jooby.instrumentation.Instrumentation;
+import io.jooby.instrumentation.RouteMetrics;
+import io.jooby.instrumentation.Stage;
+import io.jooby.jackson.JacksonModule;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class InstrumentationTest {
+
+  @ServerTest
+  public void routeMetrics(ServerTestRunner runner) {
+    var instrumentation = new Instrumentation();
+    runner
+        .define(
+            app -> {
+              app.install(instrumentation);
+              app.install(new JacksonModule());
+              app.get("/users/{id}", ctx -> Map.of("id", ctx.path("id").value()));
+              app.get("/text", ctx -> "hello");
+              app.ws("/ws", (ctx, configurer) -> {});
+            })
+        .ready(
+            client -> {
+              client.get("/users/1", rsp -> assertEquals("{\"id\":\"1\"}", rsp.body().string()));
+              client.get("/users/2", rsp -> assertEquals("{\"id\":\"2\"}", rsp.body().string()));
+              client.get("/text", rsp -> assertEquals("hello", rsp.body().string()));
+
+              var users = await(instrumentation.getRoute("GET", "/users/{id}"), 2);
+              for (Stage stage : Stage.values()) {
+                if (stage != Stage.QUEUE) {
+                  assertEquals(2, users.getHistogram(stage).getCount(), stage.name());
+                }
+              }
+              assertEquals(10, users.getBytes().getMax());
+
+              var text = await(instrumentation.getRoute("GET", "/text"), 1);
+              assertEquals(5, text.getBytes().getMax());
+
+              assertNull(instrumentation.getRoute("GET", "/ws"));
+            });
+  }
+
+  private static RouteMetrics await(RouteMetrics metrics, long count) throws InterruptedException {
+    // response might be reported as complete after client got it
+    for (int i = 0; i < 100 && metrics.getCount() < count; i++) {
+      Thread.sleep(20);
+    }
+    assertEquals(count, metrics.getCount());
+    return metrics;
+  }
+}
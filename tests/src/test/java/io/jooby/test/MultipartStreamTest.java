@@ -0,0 +1,187 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import io.jooby.Multipart;
+import io.jooby.ServerOptions;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+
+public class MultipartStreamTest {
+
+  @ServerTest
+  public void streamingMultipart(ServerTestRunner runner) throws Exception {
+    byte[] big = new byte[3 * 1024 * 1024];
+    new Random(7).nextBytes(big);
+    Path dir = Files.createTempDirectory("multipart");
+    try {
+      runner
+          .define(
+              app -> {
+                app.setServerOptions(
+                    new ServerOptions().setMaxRequestSize(ServerOptions._16KB * 1024));
+                app.post(
+                        "/upload",
+                        ctx -> {
+                          StringJoiner result = new StringJoiner(";");
+                          for (Multipart.Part part : ctx.multipart()) {
+                            if (part.getName().equals("skip")) {
+                              continue;
+                            }
+                            if (part.isFile()) {
+                              Path file = dir.resolve(part.getFileName());
+                              long size = part.transferTo(file);
+                              result.add(
+                                  part.getName()
+                                      + "="
+                                      + part.getFileName()
+                                      + ":"
+                                      + part.getContentType()
+                                      + ":"
+                                      + size
+                                      + ":"
+                                      + sha1(Files.readAllBytes(file)));
+                            } else {
+                              result.add(part.getName() + "=" + part.value());
+                            }
+                          }
+                          return result.toString();
+                        })
+                    .setStreamingBody(true);
+
+                app.post("/not-streaming", ctx -> ctx.multipart().next().getName());
+              })
+          .ready(
+              client -> {
+                client.post(
+                    "/upload",
+                    new MultipartBody.Builder()
+                        .setType(MultipartBody.FORM)
+                        .addFormDataPart("user", "edgar")
+                        .addFormDataPart(
+                            "skip",
+                            "skip.txt",
+                            RequestBody.create("ignored", MediaType.get("text/plain")))
+                        .addFormDataPart("empty", "")
+                        .addFormDataPart(
+                            "f",
+                            "big.bin",
+                            RequestBody.create(big, MediaType.get("application/octet-stream")))
+                        .addFormDataPart("last", "á")
+                        .build(),
+                    rsp -> {
+                      assertEquals(200, rsp.code());
+                      assertEquals(
+                          "user=edgar;empty=;f=big.bin:application/octet-stream:"
+                              + big.length
+                              + ":"
+                              + sha1(big)
+                              + ";last=á",
+                          rsp.body().string());
+                    });
+
+                client.post(
+                    "/not-streaming",
+                    new MultipartBody.Builder()
+                        .setType(MultipartBody.FORM)
+                        .addFormDataPart("user", "edgar")
+                        .build(),
+                    rsp -> assertEquals(500, rsp.code()));
+              });
+    } finally {
+      try (var files = Files.list(dir)) {
+        files.forEach(file -> file.toFile().delete());
+      }
+      Files.deleteIfExists(dir);
+    }
+  }
+
+  @ServerTest
+  public void streamingBodyLimit(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.setServerOptions(new ServerOptions().setMaxRequestSize(ServerOptions._16KB));
+              app.post(
+                      "/upload",
+                      ctx -> {
+                        long size = 0;
+                        for (Multipart.Part part : ctx.multipart()) {
+                          size += part.stream().readAllBytes().length;
+                        }
+                        return size;
+                      })
+                  .setStreamingBody(true);
+            })
+        .ready(
+            client -> {
+              client.post(
+                  "/upload",
+                  new MultipartBody.Builder()
+                      .setType(MultipartBody.FORM)
+                      .addFormDataPart(
+                          "f",
+                          "f.txt",
+                          RequestBody.create(
+                              new byte[ServerOptions._16KB * 2],
+                              MediaType.get("application/octet-stream")))
+                      .build(),
+                  rsp -> assertEquals(413, rsp.code()));
+
+              client.post(
+                  "/upload",
+                  new MultipartBody.Builder()
+                      .setType(MultipartBody.FORM)
+                      .addFormDataPart(
+                          "f",
+                          "f.txt",
+                          RequestBody.create(
+                              new byte[1024], MediaType.get("application/octet-stream")))
+                      .build(),
+                  rsp -> assertEquals("1024", rsp.body().string()));
+            });
+  }
+
+  @ServerTest
+  public void streamingBodyOnPredicateRouter(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.mount(
+                  ctx -> ctx.header("X-Stream").isPresent(),
+                  () ->
+                      app.post("/upload", ctx -> ctx.multipart().next().value())
+                          .setStreamingBody(true));
+            })
+        .ready(
+            client -> {
+              client.header("X-Stream", "true");
+              client.post(
+                  "/upload",
+                  new MultipartBody.Builder()
+                      .setType(MultipartBody.FORM)
+                      .addFormDataPart("user", "edgar")
+                      .build(),
+                  rsp -> assertEquals("edgar", rsp.body().string()));
+            });
+  }
+
+  private static String sha1(byte[] bytes) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(bytes));
+  }
+}
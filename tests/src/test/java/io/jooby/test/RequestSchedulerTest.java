@@ -0,0 +1,190 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.ExecutionMode;
+import io.jooby.ForwardingContext;
+import io.jooby.PriorityScheduler;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+public class RequestSchedulerTest {
+
+  @ServerTest
+  public void priorityScheduler(ServerTestRunner runner) throws Exception {
+    int requests = 4;
+    // one thread: a single request runs at a time, the others wait in the scheduler queue
+    ExecutorService worker = Executors.newFixedThreadPool(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    // slow + low + high requests handed to the scheduler queue
+    CountDownLatch queued = new CountDownLatch(1 + requests * 2);
+    Queue<String> order = new ConcurrentLinkedQueue<>();
+    runner
+        .define(
+            app -> {
+              app.setRequestScheduler(
+                  new PriorityScheduler() {
+                    @Override
+                    public void schedule(
+                        @NonNull Context ctx, @NonNull Executor executor, @NonNull Runnable task) {
+                      super.schedule(
+                          new ForwardingContext(ctx) {
+                            @NonNull @Override
+                            public Context dispatch(
+                                @NonNull Executor executor, @NonNull Runnable action) {
+                              ctx.dispatch(
+                                  command -> {
+                                    executor.execute(command);
+                                    queued.countDown();
+                                  },
+                                  action);
+                              return this;
+                            }
+                          },
+                          executor,
+                          task);
+                    }
+                  });
+
+              app.dispatch(
+                  worker,
+                  () -> {
+                    app.get(
+                        "/slow",
+                        ctx -> {
+                          started.countDown();
+                          release.await(5, TimeUnit.SECONDS);
+                          return "slow";
+                        });
+
+                    app.get(
+                        "/low/{id}",
+                        ctx -> {
+                          order.add("low");
+                          return "low" + ctx.path("id").value();
+                        });
+
+                    app.get(
+                            "/high/{id}",
+                            ctx -> {
+                              order.add("high");
+                              return "high" + ctx.path("id").value();
+                            })
+                        .attribute(PriorityScheduler.PRIORITY, 10);
+                  });
+
+              app.onStop(worker::shutdownNow);
+            })
+        .ready(
+            client -> {
+              OkHttpClient http = new OkHttpClient();
+              ExecutorService clients = Executors.newFixedThreadPool(1 + requests * 2);
+              try {
+                Future<String> slow = clients.submit(() -> get(http, runner, "/slow"));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+
+                List<String> paths = new ArrayList<>();
+                List<Future<String>> responses = new ArrayList<>();
+                for (int i = 0; i < requests; i++) {
+                  paths.add("/low/" + i);
+                  paths.add("/high/" + i);
+                }
+                for (String path : paths) {
+                  responses.add(clients.submit(() -> get(http, runner, path)));
+                }
+                assertTrue(queued.await(5, TimeUnit.SECONDS));
+                release.countDown();
+
+                assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+                for (int i = 0; i < paths.size(); i++) {
+                  // every request gets its own response
+                  assertEquals(
+                      paths.get(i).substring(1).replace("/", ""),
+                      responses.get(i).get(10, TimeUnit.SECONDS));
+                }
+                List<String> expected = new ArrayList<>();
+                for (int i = 0; i < requests; i++) {
+                  expected.add(0, "high");
+                  expected.add("low");
+                }
+                assertEquals(expected, new ArrayList<>(order));
+              } finally {
+                clients.shutdownNow();
+              }
+            });
+  }
+
+  @ServerTest
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  public void virtualRoutesBypassScheduler(ServerTestRunner runner) throws Exception {
+    int requests = 4;
+    // every request waits for the others: completes only if all of them run at the same time
+    CountDownLatch running = new CountDownLatch(requests);
+    runner
+        .define(
+            app -> {
+              app.setRequestScheduler(new PriorityScheduler().parallelism(1));
+
+              app.get(
+                      "/virtual",
+                      ctx -> {
+                        running.countDown();
+                        return running.await(5, TimeUnit.SECONDS);
+                      })
+                  .setExecutionMode(ExecutionMode.VIRTUAL);
+            })
+        .ready(
+            client -> {
+              OkHttpClient http = new OkHttpClient();
+              ExecutorService clients = Executors.newFixedThreadPool(requests);
+              try {
+                List<Future<String>> responses = new ArrayList<>();
+                for (int i = 0; i < requests; i++) {
+                  responses.add(clients.submit(() -> get(http, runner, "/virtual")));
+                }
+                for (Future<String> response : responses) {
+                  assertEquals("true", response.get(10, TimeUnit.SECONDS));
+                }
+              } finally {
+                clients.shutdownNow();
+              }
+            });
+  }
+
+  private static String get(OkHttpClient http, ServerTestRunner runner, String path)
+      throws Exception {
+    try (var rsp =
+        http.newCall(
+                new Request.Builder()
+                    .url("http://localhost:" + runner.getAllocatedPort() + path)
+                    .build())
+            .execute()) {
+      return rsp.body().string();
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.jooby.ExecutionMode;
+import io.jooby.MediaType;
+import io.jooby.handler.ResponseCacheHandler;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+public class ResponseCacheHandlerTest {
+
+  @ServerTest
+  public void cache(ServerTestRunner runner) {
+    AtomicInteger calls = new AtomicInteger();
+    runner
+        .define(
+            app -> {
+              app.use(new ResponseCacheHandler().keyHeaders("Accept-Language"));
+
+              app.get(
+                  "/catalog",
+                  ctx ->
+                      ctx.setResponseType(MediaType.json)
+                          .send(
+                              "{\"call\":"
+                                  + calls.incrementAndGet()
+                                  + ",\"q\":\""
+                                  + ctx.query("q").value("")
+                                  + "\"}"));
+
+              app.get(
+                  "/vary",
+                  ctx -> {
+                    ctx.setResponseHeader("Vary", "X-Tenant");
+                    return calls.incrementAndGet() + ":" + ctx.header("X-Tenant").value("");
+                  });
+
+              app.get(
+                  "/no-store",
+                  ctx -> {
+                    ctx.setResponseHeader("Cache-Control", "no-store");
+                    return calls.incrementAndGet();
+                  });
+
+              app.get(
+                  "/no-cache",
+                  ctx -> {
+                    ctx.setResponseHeader("Cache-Control", "no-cache");
+                    return calls.incrementAndGet();
+                  });
+
+              app.post("/catalog", ctx -> calls.incrementAndGet());
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/catalog",
+                  rsp -> {
+                    assertEquals("{\"call\":1,\"q\":\"\"}", rsp.body().string());
+                    assertEquals("application/json;charset=UTF-8", rsp.header("Content-Type"));
+                    assertNotNull(rsp.header("ETag"));
+                  });
+              client.get(
+                  "/catalog",
+                  rsp -> {
+                    assertEquals("{\"call\":1,\"q\":\"\"}", rsp.body().string());
+                    assertEquals("application/json;charset=UTF-8", rsp.header("Content-Type"));
+                  });
+              client.get(
+                  "/catalog?q=x",
+                  rsp -> assertEquals("{\"call\":2,\"q\":\"x\"}", rsp.body().string()));
+              client
+                  .get("/catalog")
+                  .prepare(req -> req.addHeader("Accept-Language", "es"))
+                  .execute(rsp -> assertEquals("{\"call\":3,\"q\":\"\"}", rsp.body().string()));
+
+              String[] etag = new String[1];
+              client.get("/catalog", rsp -> etag[0] = rsp.header("ETag"));
+              client
+                  .get("/catalog")
+                  .prepare(req -> req.addHeader("If-None-Match", "\"other\", " + etag[0]))
+                  .execute(
+                      rsp -> {
+                        assertEquals(304, rsp.code());
+                        assertEquals(etag[0], rsp.header("ETag"));
+                      });
+
+              client.post("/catalog", rsp -> assertEquals("4", rsp.body().string()));
+
+              // Vary
+              client
+                  .get("/vary")
+                  .prepare(req -> req.addHeader("X-Tenant", "a"))
+                  .execute(rsp -> assertEquals("5:a", rsp.body().string()));
+              client
+                  .get("/vary")
+                  .prepare(req -> req.addHeader("X-Tenant", "b"))
+                  .execute(rsp -> assertEquals("6:b", rsp.body().string()));
+              client
+                  .get("/vary")
+                  .prepare(req -> req.addHeader("X-Tenant", "a"))
+                  .execute(rsp -> assertEquals("5:a", rsp.body().string()));
+
+              client.get("/no-store", rsp -> assertEquals("7", rsp.body().string()));
+              client.get("/no-store", rsp -> assertEquals("8", rsp.body().string()));
+
+              // no-cache: must be revalidated, never served from cache
+              client.get("/no-cache", rsp -> assertEquals("9", rsp.body().string()));
+              client.get("/no-cache", rsp -> assertEquals("10", rsp.body().string()));
+            });
+  }
+
+  @ServerTest
+  public void privateRequests(ServerTestRunner runner) {
+    AtomicInteger calls = new AtomicInteger();
+    runner
+        .define(
+            app -> {
+              app.use(new ResponseCacheHandler());
+
+              app.get("/profile", ctx -> calls.incrementAndGet());
+
+              app.get(
+                  "/shared",
+                  ctx -> {
+                    ctx.setResponseHeader("Cache-Control", "public, max-age=60");
+                    return calls.incrementAndGet();
+                  });
+            })
+        .ready(
+            client -> {
+              client
+                  .get("/profile")
+                  .prepare(req -> req.addHeader("Authorization", "Bearer a"))
+                  .execute(rsp -> assertEquals("1", rsp.body().string()));
+              client
+                  .get("/profile")
+                  .prepare(req -> req.addHeader("Cookie", "jooby.sid=b"))
+                  .execute(rsp -> assertEquals("2", rsp.body().string()));
+              // not stored: anonymous request executes the route
+              client.get("/profile", rsp -> assertEquals("3", rsp.body().string()));
+              // anonymous response is never sent to requests with credentials
+              client
+                  .get("/profile")
+                  .prepare(req -> req.addHeader("Authorization", "Bearer a"))
+                  .execute(rsp -> assertEquals("4", rsp.body().string()));
+
+              // explicitly shared
+              client
+                  .get("/shared")
+                  .prepare(req -> req.addHeader("Authorization", "Bearer a"))
+                  .execute(rsp -> assertEquals("5", rsp.body().string()));
+              client.get("/shared", rsp -> assertEquals("5", rsp.body().string()));
+            });
+  }
+
+  @ServerTest(executionMode = ExecutionMode.WORKER)
+  public void coalesce(ServerTestRunner runner) throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    int requests = 8;
+    runner
+        .define(
+            app -> {
+              app.use(new ResponseCacheHandler());
+
+              app.get(
+                  "/slow",
+                  ctx -> {
+                    calls.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "slow";
+                  });
+            })
+        .ready(
+            client -> {
+              OkHttpClient http = new OkHttpClient();
+              ExecutorService executor = Executors.newFixedThreadPool(requests);
+              try {
+                List<Future<String>> responses = new ArrayList<>();
+                for (int i = 0; i < requests; i++) {
+                  responses.add(
+                      executor.submit(
+                          () -> {
+                            try (var rsp =
+                                http.newCall(
+                                        new Request.Builder()
+                                            .url(
+                                                "http://localhost:"
+                                                    + runner.getAllocatedPort()
+                                                    + "/slow")
+                                            .build())
+                                    .execute()) {
+                              return rsp.body().string();
+                            }
+                          }));
+                }
+                // let all the requests arrive
+                Thread.sleep(500);
+                release.countDown();
+                for (Future<String> response : responses) {
+                  assertEquals("slow", response.get(10, TimeUnit.SECONDS));
+                }
+                assertEquals(1, calls.get());
+              } finally {
+                executor.shutdownNow();
+              }
+            });
+  }
+}
@@ -6,6 +6,7 @@
 package io.jooby.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -22,6 +24,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import io.jooby.ExecutionMode;
 import io.jooby.ServerSentMessage;
+import io.jooby.SneakyThrows;
 import io.jooby.jackson.JacksonModule;
 import io.jooby.junit.ServerTest;
 import io.jooby.junit.ServerTestRunner;
@@ -293,6 +296,37 @@ public class ServerSentEventTest {
             });
   }
 
+  @ServerTest
+  public void shouldCloseIdleConnection(ServerTestRunner runner) {
+    CountDownLatch closed = new CountDownLatch(1);
+    runner
+        .define(
+            app -> {
+              app.sse(
+                  "/idle",
+                  sse -> {
+                    sse.onClose(closed::countDown);
+                    sse.idleTimeout(200);
+                    sse.send("ready");
+                  });
+            })
+        .ready(
+            client -> {
+              client
+                  .sse("/idle")
+                  .next(
+                      message -> {
+                        assertEquals("ready", message.getData());
+                        try {
+                          assertTrue(closed.await(5, TimeUnit.SECONDS));
+                        } catch (InterruptedException x) {
+                          throw SneakyThrows.propagate(x);
+                        }
+                      })
+                  .verify();
+            });
+  }
+
   @ServerTest
   public void shouldHaveAccessToLastEventID(ServerTestRunner runner) {
     runner
@@ -434,6 +434,45 @@ public class SessionTest {
             });
   }
 
+  @ServerTest
+  public void memoryStoreBounded(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.setSessionStore(
+                  SessionStore.memory(
+                      SessionToken.cookieId(SessionToken.SID), Duration.ofMinutes(30), 1));
+              app.get(
+                  "/session",
+                  ctx -> {
+                    Session session = ctx.session();
+                    session.put("k:1", "a=b;c:d").put("empty", "");
+                    return session.getId();
+                  });
+              app.get(
+                  "/findSession",
+                  ctx ->
+                      Optional.ofNullable(ctx.sessionOrNull())
+                          .map(
+                              session ->
+                                  session.get("k:1").value() + "|" + session.get("empty").value())
+                          .orElse("none"));
+            })
+        .ready(
+            client -> {
+              String[] sid = new String[2];
+              client.get("/session", rsp -> sid[0] = rsp.body().string());
+              client.get("/session", rsp -> sid[1] = rsp.body().string());
+
+              // evicted
+              client.header("Cookie", "jooby.sid=" + sid[0]);
+              client.get("/findSession", rsp -> assertEquals("none", rsp.body().string()));
+
+              client.header("Cookie", "jooby.sid=" + sid[1]);
+              client.get("/findSession", rsp -> assertEquals("a=b;c:d|", rsp.body().string()));
+            });
+  }
+
   private String sid(Response rsp, String prefix) {
     String setCookie = rsp.header("Set-Cookie");
     assertNotNull(setCookie);
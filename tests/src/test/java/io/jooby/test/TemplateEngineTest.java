@@ -6,6 +6,12 @@
 package io.jooby.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
 
 import io.jooby.ModelAndView;
 import io.jooby.freemarker.FreemarkerModule;
@@ -133,4 +139,84 @@ public class TemplateEngineTest {
                   });
             });
   }
+
+  @ServerTest
+  public void shouldStreamLargePages(ServerTestRunner runner) {
+    String large = "x".repeat(100_000);
+    runner
+        .define(
+            app -> {
+              app.install(new FreemarkerModule().setStreaming(true));
+
+              app.get("/small", ctx -> ModelAndView.map("index.ftl").put("name", "Freemarker"));
+              app.get("/large", ctx -> ModelAndView.map("index.ftl").put("name", large));
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/small",
+                  rsp -> {
+                    assertEquals("18", rsp.header("Content-Length"));
+                    assertEquals("Hello Freemarker!", rsp.body().string().trim());
+                  });
+              client.get(
+                  "/large",
+                  rsp -> {
+                    assertEquals("chunked", rsp.header("Transfer-Encoding"));
+                    assertEquals("Hello " + large + "!", rsp.body().string().trim());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void shouldCloseConnectionWhenStreamedPageFails(ServerTestRunner runner) {
+    String large = "x".repeat(100_000);
+    runner
+        .define(
+            app -> {
+              app.install(new FreemarkerModule().setStreaming(true));
+
+              app.get("/small", ctx -> ModelAndView.map("fail.ftl").put("name", "Freemarker"));
+              app.get("/large", ctx -> ModelAndView.map("fail.ftl").put("name", large));
+            })
+        .ready(
+            client -> {
+              // nothing was sent: error page
+              client.get("/small", rsp -> assertEquals(500, rsp.code()));
+              // streaming started: truncated response, not a complete one or a hang
+              client.get(
+                  "/large",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    IOException x = assertThrows(IOException.class, () -> rsp.body().string());
+                    assertFalse(x instanceof SocketTimeoutException, x::toString);
+                  });
+            });
+  }
+
+  @ServerTest
+  public void shouldSendFlashCookieOnStreamedPages(ServerTestRunner runner) {
+    String large = "x".repeat(100_000);
+    runner
+        .define(
+            app -> {
+              app.install(new FreemarkerModule().setStreaming(true));
+
+              app.get("/large", ctx -> ModelAndView.map("index.ftl").put("name", large));
+            })
+        .ready(
+            client -> {
+              client.header("Cookie", "jooby.flash=name=Flash");
+              client.get(
+                  "/large",
+                  rsp -> {
+                    assertEquals("chunked", rsp.header("Transfer-Encoding"));
+                    String clearCookie = rsp.header("Set-Cookie");
+                    assertTrue(
+                        clearCookie.startsWith("jooby.flash=;Path=/;HttpOnly;Max-Age=0;"),
+                        clearCookie);
+                    assertEquals("Hello " + large + "!", rsp.body().string().trim());
+                  });
+            });
+  }
 }
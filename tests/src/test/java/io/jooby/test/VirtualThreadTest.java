@@ -0,0 +1,85 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import io.jooby.ExecutionMode;
+import io.jooby.ReactiveSupport;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class VirtualThreadTest {
+
+  @ServerTest(executionMode = ExecutionMode.VIRTUAL)
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  public void virtualMode(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.get("/blocking", ctx -> Thread.currentThread().getName());
+
+              app.routes(
+                  () -> {
+                    app.use(ReactiveSupport.concurrent());
+                    app.get("/reactive", ctx -> CompletableFuture.supplyAsync(() -> "reactive"));
+                  });
+
+              app.get("/worker", ctx -> Thread.currentThread().getName())
+                  .setExecutionMode(ExecutionMode.WORKER);
+            })
+        .ready(
+            http -> {
+              http.get(
+                  "/blocking",
+                  rsp -> {
+                    assertTrue(rsp.body().string().startsWith("virtual-"));
+                  });
+              http.get(
+                  "/reactive",
+                  rsp -> {
+                    assertEquals("reactive", rsp.body().string());
+                  });
+              http.get(
+                  "/worker",
+                  rsp -> {
+                    assertTrue(!rsp.body().string().startsWith("virtual-"));
+                  });
+            });
+  }
+
+  @ServerTest
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  public void virtualRoute(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.get("/virtual", ctx -> Thread.currentThread().getName())
+                  .setExecutionMode(ExecutionMode.VIRTUAL);
+
+              app.get("/default", ctx -> Thread.currentThread().getName());
+            })
+        .ready(
+            http -> {
+              http.get(
+                  "/virtual",
+                  rsp -> {
+                    assertTrue(rsp.body().string().startsWith("virtual-"));
+                  });
+              http.get(
+                  "/default",
+                  rsp -> {
+                    assertTrue(!rsp.body().string().startsWith("virtual-"));
+                  });
+            });
+  }
+}
@@ -8,6 +8,7 @@ package io.jooby.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.jooby.jackson.JacksonModule;
@@ -166,6 +167,65 @@ public class WebSocketTest {
             });
   }
 
+  @ServerTest
+  public void webSocketBroadcast(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.install(new JacksonModule());
+
+              app.ws(
+                  "/ws/chat",
+                  (ctx, initializer) -> {
+                    initializer.onMessage(
+                        (ws, message) -> {
+                          String text = message.value();
+                          if (text.startsWith("others:")) {
+                            ws.renderBroadcast(
+                                Map.of("text", text.substring(7)), session -> session != ws);
+                            ws.send("sent");
+                          } else if (text.startsWith("fail:")) {
+                            // a failing session doesn't stop the broadcast
+                            ws.broadcast(
+                                text.substring(5),
+                                session -> {
+                                  if (session == ws) {
+                                    throw new IllegalStateException("filter failure");
+                                  }
+                                  return true;
+                                });
+                            ws.send("sent");
+                          } else if (text.startsWith("bin:")) {
+                            ws.broadcastBinary(text.substring(4).getBytes(StandardCharsets.UTF_8));
+                          } else {
+                            ws.broadcast(text);
+                          }
+                        });
+                  });
+            })
+        .ready(
+            client -> {
+              client.syncWebSocket(
+                  "/ws/chat",
+                  a ->
+                      client.syncWebSocket(
+                          "/ws/chat",
+                          b -> {
+                            assertEquals("hello", b.send("hello"));
+                            assertEquals("hello", a.lastMessage());
+
+                            assertEquals("bytes", b.send("bin:bytes"));
+                            assertEquals("bytes", a.lastMessage());
+
+                            assertEquals("sent", b.send("others:hi"));
+                            assertEquals("{\"text\":\"hi\"}", a.lastMessage());
+
+                            assertEquals("sent", b.send("fail:still"));
+                            assertEquals("still", a.lastMessage());
+                          }));
+            });
+  }
+
   private String sid(String setCookie) {
     return setCookie.substring("jooby.sid=".length(), setCookie.indexOf(';'));
   }
@@ -0,0 +1,14 @@
+(function () {
+  console.log('precompressed 0');
+  console.log('precompressed 1');
+  console.log('precompressed 2');
+  console.log('precompressed 3');
+  console.log('precompressed 4');
+  console.log('precompressed 5');
+  console.log('precompressed 6');
+  console.log('precompressed 7');
+  console.log('precompressed 8');
+  console.log('precompressed 9');
+  console.log('precompressed 10');
+  console.log('precompressed 11');
+})();